@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.build.gcc.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.build.gcc.core.internal.BuiltinScannerInfoCache;
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.junit.Test;
+
+/**
+ * Tests for the sharing and persistence of the built-in scanner info of compilers.
+ */
+public class TestBuiltinScannerInfoCache {
+	private static final String[] INCLUDE_PATHS = { "/usr/include" };
+
+	@Test
+	public void detectOnce() throws Exception {
+		File file = Files.createTempFile("builtins", ".json").toFile();
+		file.delete();
+		BuiltinScannerInfoCache cache = new BuiltinScannerInfoCache(file);
+		AtomicInteger detections = new AtomicInteger();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// A concurrent request for the same key waits for the running detection
+		Thread thread = new Thread(() -> cache.get("key", () -> {
+			detections.incrementAndGet();
+			started.countDown();
+			release.await();
+			return new ExtendedScannerInfo(Map.of("__GNUC__", "13"), INCLUDE_PATHS);
+		}));
+		thread.start();
+		started.await();
+		Thread waiter = new Thread(() -> cache.get("key", () -> {
+			detections.incrementAndGet();
+			return null;
+		}));
+		waiter.start();
+		release.countDown();
+		thread.join();
+		waiter.join();
+
+		IExtendedScannerInfo info = cache.get("key", () -> {
+			detections.incrementAndGet();
+			return null;
+		});
+		assertEquals(1, detections.get());
+		assertNotNull(info);
+		assertArrayEquals(INCLUDE_PATHS, info.getIncludePaths());
+		assertEquals("13", info.getDefinedSymbols().get("__GNUC__"));
+
+		// The built-ins are kept across sessions
+		info = new BuiltinScannerInfoCache(file).get("key", () -> null);
+		assertNotNull(info);
+		assertArrayEquals(INCLUDE_PATHS, info.getIncludePaths());
+		file.delete();
+	}
+
+	@Test
+	public void failedDetection() throws Exception {
+		BuiltinScannerInfoCache cache = new BuiltinScannerInfoCache(null);
+		assertNull(cache.get("key", () -> null));
+
+		// Failed detections are run again
+		IExtendedScannerInfo info = cache.get("key", () -> new ExtendedScannerInfo(Map.of(), new String[0]));
+		assertNotNull(info);
+		assertEquals(0, info.getIncludePaths().length);
+		info = cache.get("key", () -> new ExtendedScannerInfo(Map.of("__GNUC__", "13"), INCLUDE_PATHS));
+		assertNotNull(info);
+		assertArrayEquals(INCLUDE_PATHS, info.getIncludePaths());
+		assertNotNull(cache.get("key", () -> null));
+	}
+}
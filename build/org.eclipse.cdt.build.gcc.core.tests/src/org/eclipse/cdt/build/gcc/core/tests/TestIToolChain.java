@@ -11,20 +11,29 @@
 package org.eclipse.cdt.build.gcc.core.tests;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 import org.eclipse.cdt.build.gcc.core.GCCToolChain;
+import org.eclipse.cdt.build.gcc.core.internal.BuiltinsCommand;
 import org.eclipse.cdt.core.build.IToolChain;
 import org.eclipse.cdt.core.build.IToolChainManager;
 import org.eclipse.cdt.core.build.IToolChainProvider;
 import org.eclipse.cdt.core.envvar.IEnvironmentVariable;
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -37,6 +46,7 @@ import org.osgi.framework.ServiceReference;
  */
 public class TestIToolChain {
 	private final static List<String> expectedBinParserIds = List.of("binParserId0", "binParserId1");
+	private final static Set<String> sourceExtensions = Set.of("c", "cpp");
 	private IToolChainManager toolchainMgr = null;
 
 	@Before
@@ -92,6 +102,79 @@ public class TestIToolChain {
 				actualBinParserIds.toArray(new String[0]));
 	}
 
+	/**
+	 * Tests that -I, -D and -U options with separate values are removed from the command that
+	 * detects the built-ins and applied to the detected built-ins.
+	 */
+	@Test
+	public void builtinsCommandSplitOptions() throws Exception {
+		Path buildDir = Files.createTempDirectory("builtins");
+		Files.createDirectory(buildDir.resolve("inc"));
+		BuiltinsCommand split = BuiltinsCommand.parse(
+				List.of("gcc", "-I", "inc", "-D", "X=2", "-U", "Y", "-O2", "-c", "a.c", "-o", "a.o"), sourceExtensions);
+		assertNotNull(split);
+		assertEquals(List.of("gcc", "-O2", "-c", "a.c", "-o", "a.o"), split.getCommand());
+
+		BuiltinsCommand joined = BuiltinsCommand.parse(List.of("gcc", "-Iinc", "-DX=2", "-UY", "-O2", "-c", "b.c"),
+				sourceExtensions);
+		assertNotNull(joined);
+		assertEquals("Commands must share the built-ins", split.getKey(), joined.getKey());
+
+		IExtendedScannerInfo builtins = new ExtendedScannerInfo(Map.of("Y", "1", "Z", "3"),
+				new String[] { "/usr/include" });
+		IExtendedScannerInfo info = split.addTo(builtins, buildDir, UnaryOperator.identity());
+		assertArrayEquals(new String[] { buildDir.resolve("inc").toString(), "/usr/include" },
+				info.getIncludePaths());
+		assertEquals(Map.of("X", "2", "Z", "3"), info.getDefinedSymbols());
+	}
+
+	/**
+	 * Tests that dependency file options do not take part in the detection of the built-ins.
+	 */
+	@Test
+	public void builtinsCommandDependencyFile() throws Exception {
+		BuiltinsCommand command = BuiltinsCommand.parse(List.of("gcc", "-MMD", "-MP", "-MF", "a.d", "-c", "a.c"),
+				sourceExtensions);
+		assertNotNull(command);
+		assertEquals(List.of("gcc", "-c", "a.c"), command.getCommand());
+		assertFalse(command.getKey().contains("a.d"));
+		assertEquals(BuiltinsCommand.parse(List.of("gcc", "-c", "b.c"), sourceExtensions).getKey(),
+				command.getKey());
+	}
+
+	/**
+	 * Tests that commands including files are detected in full, the included files may depend on
+	 * the macros of the command.
+	 */
+	@Test
+	public void builtinsCommandIncludeFallback() throws Exception {
+		assertNull(BuiltinsCommand.parse(List.of("gcc", "-include", "config.h", "-c", "a.c"), sourceExtensions));
+		assertNull(BuiltinsCommand.parse(List.of("gcc", "-imacros", "config.h", "-c", "a.c"), sourceExtensions));
+		assertNull(BuiltinsCommand.parse(List.of("gcc", "-I-", "-c", "a.c"), sourceExtensions));
+	}
+
+	/**
+	 * Tests that the include paths of the command keep their order and come before the built-in
+	 * ones, without duplicating the built-in ones.
+	 */
+	@Test
+	public void builtinsCommandIncludeOrder() throws Exception {
+		Path buildDir = Files.createTempDirectory("builtins");
+		Path b = Files.createDirectory(buildDir.resolve("b"));
+		Path a = Files.createDirectory(buildDir.resolve("a"));
+		Path c = Files.createDirectory(buildDir.resolve("c"));
+		Path system = Files.createDirectory(buildDir.resolve("system"));
+		BuiltinsCommand command = BuiltinsCommand.parse(List.of("gcc", "-Ib", "-Imissing", "-I" + a, "-I",
+				system.toString(), "-Ic", "-Ib", "-c", "a.c"), sourceExtensions);
+		assertNotNull(command);
+
+		IExtendedScannerInfo builtins = new ExtendedScannerInfo(Map.of(),
+				new String[] { system.toString(), "/usr/include" });
+		IExtendedScannerInfo info = command.addTo(builtins, buildDir, UnaryOperator.identity());
+		assertArrayEquals(new String[] { b.toString(), a.toString(), c.toString(), system.toString(), "/usr/include" },
+				info.getIncludePaths());
+	}
+
 	private class TestToolchain extends GCCToolChain {
 
 		public TestToolchain(IToolChainProvider provider, Path pathToToolChain, String arch,
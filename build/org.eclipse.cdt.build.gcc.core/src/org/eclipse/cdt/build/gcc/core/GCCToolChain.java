@@ -15,10 +15,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -31,6 +34,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.build.gcc.core.internal.Activator;
+import org.eclipse.cdt.build.gcc.core.internal.BuiltinScannerInfoCache;
+import org.eclipse.cdt.build.gcc.core.internal.BuiltinsCommand;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.build.IToolChain;
 import org.eclipse.cdt.core.build.IToolChainProvider;
@@ -63,6 +68,10 @@ public class GCCToolChain extends PlatformObject implements IToolChain {
 
 	private static Pattern definePattern = Pattern.compile("#define ([^\\s]*)\\s(.*)"); //$NON-NLS-1$
 
+	// Environment variables affecting the built-in include paths of the compiler
+	private static final String[] BUILTINS_ENVIRONMENT = { "CPATH", "C_INCLUDE_PATH", "CPLUS_INCLUDE_PATH", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			"OBJC_INCLUDE_PATH", "GCC_EXEC_PREFIX", "COMPILER_PATH", "SDKROOT" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
 	private final IToolChainProvider provider;
 	private final String id;
 	private final Path path;
@@ -268,6 +277,80 @@ public class GCCToolChain extends PlatformObject implements IToolChain {
 	@Override
 	public IExtendedScannerInfo getScannerInfo(IBuildConfiguration buildConfig, List<String> commandStrings,
 			IExtendedScannerInfo baseScannerInfo, IResource resource, URI buildDirectoryURI) {
+		BuiltinsCommand builtinsCommand = baseScannerInfo == null
+				? BuiltinsCommand.parse(commandStrings, resourcesFileExtensions)
+				: null;
+		if (builtinsCommand == null) {
+			return detectScannerInfo(buildConfig, commandStrings, baseScannerInfo, resource, buildDirectoryURI);
+		}
+
+		// The built-ins are detected once for all the commands that only differ in the options
+		// that do not affect them, the include paths and macros of the command are added to them.
+		Path buildDirectory = Paths.get(buildDirectoryURI);
+		String key = getBuiltinsKey(buildConfig, builtinsCommand, buildDirectory);
+		if (key == null) {
+			return detectScannerInfo(buildConfig, commandStrings, baseScannerInfo, resource, buildDirectoryURI);
+		}
+		IExtendedScannerInfo builtins = BuiltinScannerInfoCache.getDefault().get(key,
+				() -> detectScannerInfo(buildConfig, builtinsCommand.getCommand(), null, resource, buildDirectoryURI));
+		if (builtins == null) {
+			return null;
+		}
+		return builtinsCommand.addTo(builtins, buildDirectory, this::fixMingwPath);
+	}
+
+	/**
+	 * Returns the key identifying the built-ins of the given command, which includes the size
+	 * and time stamp of the compiler, such that updating the compiler invalidates its built-ins.
+	 * Returns {@code null} if the compiler cannot be found.
+	 */
+	private String getBuiltinsKey(IBuildConfiguration buildConfig, BuiltinsCommand builtinsCommand,
+			Path buildDirectory) {
+		int offset = builtinsCommand.getCommand().get(0).contains("ccache") ? 1 : 0; //$NON-NLS-1$
+		Path commandPath;
+		try {
+			commandPath = getCommandPath(Paths.get(builtinsCommand.getCommand().get(offset)));
+		} catch (InvalidPathException e) {
+			return null;
+		}
+		if (commandPath == null) {
+			return null;
+		}
+		File compiler = commandPath.toFile();
+		if (!compiler.isFile()) {
+			return null;
+		}
+
+		Map<String, String> env = new HashMap<>(System.getenv());
+		CCorePlugin.getDefault().getBuildEnvironmentManager().setEnvironment(env, buildConfig, true);
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			List<String> strings = new ArrayList<>();
+			strings.add(getClass().getName());
+			strings.add(compiler.getAbsolutePath());
+			strings.add(Long.toString(compiler.length()));
+			strings.add(Long.toString(compiler.lastModified()));
+			strings.add(buildDirectory.toString());
+			for (String name : BUILTINS_ENVIRONMENT) {
+				strings.add(name + '=' + env.get(name));
+			}
+			strings.addAll(builtinsCommand.getKey());
+			for (String string : strings) {
+				digest.update(string.getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) 0);
+			}
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest.digest()) {
+				key.append(String.format("%02x", b)); //$NON-NLS-1$
+			}
+			return key.toString();
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	private IExtendedScannerInfo detectScannerInfo(IBuildConfiguration buildConfig, List<String> commandStrings,
+			IExtendedScannerInfo baseScannerInfo, IResource resource, URI buildDirectoryURI) {
 		try {
 			Path buildDirectory = Paths.get(buildDirectoryURI);
 
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.build.gcc.core.internal;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * The built-in include paths and macros of compilers, detected by running the compiler on an
+ * empty file. They are shared by all toolchains and build configurations and kept across
+ * sessions.
+ * <p>
+ * The key of the built-in scanner info identifies the compiler binary and the options affecting
+ * the built-ins. A detection that is running is shared by the callers asking for the same key.
+ */
+public class BuiltinScannerInfoCache {
+	private static final String CACHE_FILE = "builtins.json"; //$NON-NLS-1$
+	private static final int MAX_ENTRIES = 100;
+
+	private static BuiltinScannerInfoCache instance;
+
+	private static class Builtins {
+		Map<String, String> symbols;
+		String[] includePaths;
+	}
+
+	private final File file;
+	private final Map<String, Builtins> entries = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Builtins> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+	private final Map<String, FutureTask<IExtendedScannerInfo>> detections = new HashMap<>();
+
+	public static synchronized BuiltinScannerInfoCache getDefault() {
+		if (instance == null) {
+			File file = null;
+			if (Activator.getPlugin() != null) {
+				file = Activator.getPlugin().getStateLocation().append(CACHE_FILE).toFile();
+			}
+			instance = new BuiltinScannerInfoCache(file);
+		}
+		return instance;
+	}
+
+	public BuiltinScannerInfoCache(File file) {
+		this.file = file;
+		load();
+	}
+
+	/**
+	 * Returns the built-in scanner info stored under the given key, runs the given detection
+	 * if there is none. Returns {@code null} if the detection fails. Results without macros or
+	 * include paths are returned but not stored.
+	 */
+	public IExtendedScannerInfo get(String key, Callable<IExtendedScannerInfo> detection) {
+		FutureTask<IExtendedScannerInfo> task;
+		boolean detect = false;
+		synchronized (this) {
+			Builtins builtins = entries.get(key);
+			if (builtins != null) {
+				return new ExtendedScannerInfo(builtins.symbols, builtins.includePaths);
+			}
+			task = detections.get(key);
+			if (task == null) {
+				task = new FutureTask<>(detection);
+				detections.put(key, task);
+				detect = true;
+			}
+		}
+
+		if (detect) {
+			task.run();
+		}
+		IExtendedScannerInfo info = null;
+		try {
+			info = task.get();
+		} catch (ExecutionException e) {
+			if (detect) {
+				Activator.log(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (detect) {
+			synchronized (this) {
+				detections.remove(key);
+				// An empty result means that the compiler failed, it is detected again next time
+				if (info != null && !info.getDefinedSymbols().isEmpty() && info.getIncludePaths().length > 0) {
+					Builtins builtins = new Builtins();
+					builtins.symbols = new HashMap<>(info.getDefinedSymbols());
+					builtins.includePaths = info.getIncludePaths();
+					entries.put(key, builtins);
+					save();
+				}
+			}
+		}
+		return info;
+	}
+
+	private void load() {
+		if (file == null || !file.exists()) {
+			return;
+		}
+		try (FileReader reader = new FileReader(file)) {
+			Type type = new TypeToken<LinkedHashMap<String, Builtins>>() {
+			}.getType();
+			Map<String, Builtins> loaded = new Gson().fromJson(reader, type);
+			if (loaded != null) {
+				entries.putAll(loaded);
+			}
+		} catch (IOException | JsonParseException e) {
+			// The built-ins are detected again
+			Activator.log(e);
+		}
+	}
+
+	private void save() {
+		if (file == null) {
+			return;
+		}
+		try (FileWriter writer = new FileWriter(file)) {
+			new Gson().toJson(entries, writer);
+		} catch (IOException e) {
+			Activator.log(e);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.build.gcc.core.internal;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * A compile command without the options that do not affect the built-in include paths and
+ * macros of the compiler, together with the include paths and macros of the removed options.
+ */
+public class BuiltinsCommand {
+	// The command to detect the built-ins with
+	private final List<String> command = new ArrayList<>();
+	// The arguments identifying the built-ins, without the source and output files
+	private final List<String> key = new ArrayList<>();
+	// The -I, -D and -U options of the command
+	private final List<String> includePaths = new ArrayList<>();
+	private final List<String> macroOptions = new ArrayList<>();
+
+	private BuiltinsCommand() {
+	}
+
+	/**
+	 * Splits the given compile command into the options affecting the built-ins and the options
+	 * that don't. Returns {@code null} if the built-ins may depend on all options of the command,
+	 * e.g. because it includes a file that may depend on macros of the command.
+	 *
+	 * @param commandStrings the compile command
+	 * @param sourceExtensions the file extensions of the source files
+	 */
+	public static BuiltinsCommand parse(List<String> commandStrings, Set<String> sourceExtensions) {
+		BuiltinsCommand result = new BuiltinsCommand();
+		int offset = 0;
+		if (commandStrings.get(0).contains("ccache")) { //$NON-NLS-1$
+			result.command.add(commandStrings.get(offset++));
+		}
+		if (offset >= commandStrings.size()) {
+			return null;
+		}
+		result.command.add(commandStrings.get(offset));
+		for (int i = offset + 1; i < commandStrings.size(); ++i) {
+			String arg = commandStrings.get(i);
+			String value = stripQuotes(arg);
+			if (value.startsWith("-I") || value.startsWith("-D") || value.startsWith("-U")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				String option = value.substring(0, 2);
+				if (value.length() == 2) {
+					if (++i >= commandStrings.size()) {
+						return null;
+					}
+					value = stripQuotes(commandStrings.get(i));
+				} else {
+					value = value.substring(2);
+				}
+				if (option.equals("-I")) { //$NON-NLS-1$
+					if (value.equals("-") || value.startsWith("=") || value.startsWith("$")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+						// Include paths that gcc treats specially
+						return null;
+					}
+					result.includePaths.add(value);
+				} else {
+					result.macroOptions.add(option + value);
+				}
+			} else if (value.equals("-include") || value.equals("-imacros")) { //$NON-NLS-1$ //$NON-NLS-2$
+				return null;
+			} else if (value.equals("-MF") || value.equals("-MT") || value.equals("-MQ")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				// Dependency file options, usually different for each source file
+				i++;
+			} else if (value.startsWith("-M") || value.startsWith("-W") && !value.startsWith("-Wp,")) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				// Dependency file and warning options
+			} else if (value.equals("-o") && i + 1 < commandStrings.size()) { //$NON-NLS-1$
+				result.command.add(arg);
+				result.command.add(commandStrings.get(++i));
+			} else if (!value.startsWith("-") && sourceExtensions.contains(getFileExtension(value))) { //$NON-NLS-1$
+				// The source file, only its extension selects the language
+				result.command.add(arg);
+				result.key.add('.' + getFileExtension(value));
+			} else {
+				result.command.add(arg);
+				result.key.add(arg);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the command to detect the built-ins with.
+	 */
+	public List<String> getCommand() {
+		return Collections.unmodifiableList(command);
+	}
+
+	/**
+	 * Returns the arguments identifying the built-ins. Commands with the same key have the same
+	 * built-ins.
+	 */
+	public List<String> getKey() {
+		return Collections.unmodifiableList(key);
+	}
+
+	/**
+	 * Adds the include paths and macros of the options of the command to its built-ins, the way
+	 * the compiler reports them.
+	 *
+	 * @param builtins the built-ins detected with {@link #getCommand()}
+	 * @param buildDirectory the directory relative include paths are resolved against
+	 * @param pathConverter converts the include paths of the command to local paths
+	 */
+	public IExtendedScannerInfo addTo(IExtendedScannerInfo builtins, Path buildDirectory,
+			UnaryOperator<String> pathConverter) {
+		List<String> builtinPaths = Arrays.asList(builtins.getIncludePaths());
+		Set<String> paths = new LinkedHashSet<>();
+		for (String includePath : includePaths) {
+			String dir = pathConverter.apply(includePath);
+			if (dir.equals(".")) { //$NON-NLS-1$
+				dir = buildDirectory.toString();
+			} else {
+				try {
+					Path dirPath = Paths.get(dir);
+					if (!dirPath.isAbsolute()) {
+						dirPath = buildDirectory.resolve(dirPath);
+					}
+					if (!Files.isDirectory(dirPath)) {
+						// Ignored by the compiler
+						continue;
+					}
+					dir = dirPath.toString();
+				} catch (InvalidPathException e) {
+					continue;
+				}
+			}
+			// The compiler ignores duplicates of the system include paths
+			if (!builtinPaths.contains(dir)) {
+				paths.add(dir);
+			}
+		}
+		paths.addAll(builtinPaths);
+
+		Map<String, String> symbols = new HashMap<>(builtins.getDefinedSymbols());
+		for (String option : macroOptions) {
+			String macro = option.substring(2);
+			if (option.startsWith("-U")) { //$NON-NLS-1$
+				symbols.remove(macro);
+			} else {
+				int equals = macro.indexOf('=');
+				if (equals < 0) {
+					symbols.put(macro, "1"); //$NON-NLS-1$
+				} else {
+					symbols.put(macro.substring(0, equals), macro.substring(equals + 1));
+				}
+			}
+		}
+		return new ExtendedScannerInfo(symbols, paths.toArray(new String[paths.size()]));
+	}
+
+	private static String stripQuotes(String arg) {
+		if (Platform.OS_WIN32.equals(Platform.getOS()) && arg.length() > 1 && arg.startsWith("\"") //$NON-NLS-1$
+				&& arg.endsWith("\"")) { //$NON-NLS-1$
+			return arg.substring(1, arg.length() - 1);
+		}
+		return arg;
+	}
+
+	private static String getFileExtension(String fileName) {
+		int i = fileName.lastIndexOf('.');
+		return i > 0 ? fileName.substring(i + 1) : ""; //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.managedbuilder.buildmodel.BuildDescriptionManager;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildCache;
+import org.eclipse.cdt.managedbuilder.testplugin.AbstractBuilderTest;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.junit.jupiter.api.Test;
+
+public class BuildCacheTest extends AbstractBuilderTest {
+
+	@Test
+	public void testStoreAndRestore() throws Exception {
+		final IProject app = loadIndexedProject();
+		IBuildDescription des = createBuildDescription(app);
+		IBuildStep step = findCompileStep(des);
+		assertNotNull(step, "No compile step");
+		IBuildCommand[] cmds = step.getCommands(des.getDefaultBuildDirLocation(), null, null, true);
+
+		File directory = Files.createTempDirectory("buildCache").toFile();
+		BuildCache cache = new BuildCache(directory, Long.MAX_VALUE);
+		String key = cache.computeKey(step, cmds);
+		assertNotNull(key, "No key computed");
+		assertEquals(key, cache.computeKey(step, cmds));
+
+		File output = step.getOutputResources()[0].getLocation().toFile();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		assertFalse(cache.restore(key, step, out, err), "Restored from an empty cache");
+		output.getParentFile().mkdirs();
+		Files.write(output.toPath(), "object".getBytes());
+		cache.store(key, step, "gcc -c helloworldC.c\n".getBytes(), "warning: unused variable\n".getBytes());
+
+		output.delete();
+		assertTrue(cache.restore(key, step, out, err), "Not restored from the cache");
+		assertEquals("object", new String(Files.readAllBytes(output.toPath())));
+		// The console output is replayed for the error parsers
+		assertEquals("gcc -c helloworldC.c\n", out.toString());
+		assertEquals("warning: unused variable\n", err.toString());
+
+		// Changing an input changes the key
+		IFile source = app.getWorkspace().getRoot().getFile(getSource(step).getFullPath());
+		source.setContents(new ByteArrayInputStream("int changed;\n".getBytes()), true, false, null);
+		cache.fileChanged(source.getLocation());
+		CCorePlugin.getIndexManager().joinIndexer(-1, new NullProgressMonitor());
+		String changedKey = cache.computeKey(step, cmds);
+		assertNotNull(changedKey, "No key computed");
+		assertNotEquals(key, changedKey);
+
+		// Trimming to a size of zero removes all entries
+		new BuildCache(directory, 0).trim();
+		assertFalse(cache.restore(key, step, out, err), "Entry not removed");
+	}
+
+	@Test
+	public void testInactiveInclude() throws Exception {
+		final IProject app = loadIndexedProject();
+		IFile source = app.getFile("src/helloworldC.c");
+		source.setContents(new ByteArrayInputStream(
+				"#if 0\n#include \"missing.h\"\n#endif\nint main() { return 0; }\n".getBytes()), true, false, null);
+		CCorePlugin.getIndexManager().joinIndexer(-1, new NullProgressMonitor());
+
+		IBuildDescription des = createBuildDescription(app);
+		IBuildStep step = findCompileStep(des);
+		assertNotNull(step, "No compile step");
+		IBuildCommand[] cmds = step.getCommands(des.getDefaultBuildDirLocation(), null, null, true);
+		File directory = Files.createTempDirectory("buildCache").toFile();
+		// The unresolved include is not read by the compiler
+		assertNotNull(new BuildCache(directory, Long.MAX_VALUE).computeKey(step, cmds), "No key computed");
+	}
+
+	@Test
+	public void testHeaderChange() throws Exception {
+		final IProject app = loadIndexedProject();
+		IFile header = app.getFile("src/header.h");
+		header.create(new ByteArrayInputStream("#define VALUE 0\n".getBytes()), true, null);
+		IFile source = app.getFile("src/helloworldC.c");
+		source.setContents(new ByteArrayInputStream("#include \"header.h\"\nint main() { return VALUE; }\n".getBytes()),
+				true, false, null);
+		CCorePlugin.getIndexManager().joinIndexer(-1, new NullProgressMonitor());
+
+		IBuildDescription des = createBuildDescription(app);
+		IBuildStep step = findCompileStep(des);
+		assertNotNull(step, "No compile step");
+		IBuildCommand[] cmds = step.getCommands(des.getDefaultBuildDirLocation(), null, null, true);
+		File directory = Files.createTempDirectory("buildCache").toFile();
+		String key = new BuildCache(directory, Long.MAX_VALUE).computeKey(step, cmds);
+		assertNotNull(key, "No key computed");
+
+		// A header modified after it was indexed makes the key unknown
+		File headerFile = header.getLocation().toFile();
+		long timestamp = headerFile.lastModified();
+		Files.write(headerFile.toPath(), "#define VALUE 1\n".getBytes());
+		headerFile.setLastModified(timestamp + 2000);
+		assertNull(new BuildCache(directory, Long.MAX_VALUE).computeKey(step, cmds), "Key computed for a stale index");
+
+		// Once the header is indexed again, the key differs from the one of the old header
+		header.refreshLocal(IResource.DEPTH_ZERO, null);
+		CCorePlugin.getIndexManager().joinIndexer(-1, new NullProgressMonitor());
+		String changedKey = new BuildCache(directory, Long.MAX_VALUE).computeKey(step, cmds);
+		assertNotNull(changedKey, "No key computed");
+		assertNotEquals(key, changedKey);
+	}
+
+	private IProject loadIndexedProject() throws Exception {
+		setWorkspace("regressions");
+		final IProject app = loadProject("helloworldC");
+		setActiveConfigurationByName(app, "Debug");
+		ICProject cproject = CoreModel.getDefault().create(app);
+		CCorePlugin.getIndexManager().setIndexerId(cproject, IPDOMManager.ID_FAST_INDEXER);
+		CCorePlugin.getIndexManager().reindex(cproject);
+		CCorePlugin.getIndexManager().joinIndexer(-1, new NullProgressMonitor());
+		return app;
+	}
+
+	private static IBuildDescription createBuildDescription(IProject project) throws CoreException {
+		IConfiguration cfg = ManagedBuildManager.getBuildInfo(project).getDefaultConfiguration();
+		return BuildDescriptionManager.createBuildDescription(cfg, null,
+				BuildDescriptionManager.REBUILD | BuildDescriptionManager.DEPS);
+	}
+
+	private static IBuildStep findCompileStep(IBuildDescription des) {
+		for (IBuildStep step : des.getSteps()) {
+			IBuildResource[] outputs = step.getOutputResources();
+			if (outputs.length == 1 && "o".equals(outputs[0].getLocation().getFileExtension())
+					&& getSource(step) != null) {
+				return step;
+			}
+		}
+		return null;
+	}
+
+	private static IBuildResource getSource(IBuildStep step) {
+		for (IBuildResource rc : step.getInputResources()) {
+			if ("c".equals(rc.getLocation().getFileExtension()) && rc.getFullPath() != null)
+				return rc;
+		}
+		return null;
+	}
+}
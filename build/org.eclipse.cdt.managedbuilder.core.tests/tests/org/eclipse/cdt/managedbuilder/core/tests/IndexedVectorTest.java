@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.cdt.managedbuilder.internal.core.IndexedVector;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The lists of the makefile generator must not contain duplicates, also when they are modified
+ * other than through {@link IndexedVector#addIfAbsent(List, Object)}.
+ */
+public class IndexedVectorTest {
+
+	@Test
+	public void testAddIfAbsent() {
+		IndexedVector<String> list = new IndexedVector<>();
+		assertTrue(IndexedVector.addIfAbsent(list, "a"));
+		assertTrue(IndexedVector.addIfAbsent(list, "b"));
+		assertFalse(IndexedVector.addIfAbsent(list, "a"));
+		assertEquals(List.of("a", "b"), list);
+	}
+
+	@Test
+	public void testDirectModifications() {
+		IndexedVector<String> list = new IndexedVector<>();
+		IndexedVector.addIfAbsent(list, "a");
+		IndexedVector.addIfAbsent(list, "b");
+
+		// Same size as before, but different elements
+		list.remove("a");
+		list.add("c");
+		assertTrue(IndexedVector.addIfAbsent(list, "a"));
+		assertFalse(IndexedVector.addIfAbsent(list, "c"));
+
+		list.set(0, "d");
+		assertTrue(IndexedVector.addIfAbsent(list, "b"));
+		assertFalse(IndexedVector.addIfAbsent(list, "d"));
+
+		list.subList(0, 2).clear();
+		assertTrue(IndexedVector.addIfAbsent(list, "d"));
+		assertEquals(List.of("a", "b", "d"), list);
+	}
+
+	@Test
+	public void testOtherLists() {
+		List<String> list = new ArrayList<>();
+		assertTrue(IndexedVector.addIfAbsent(list, "a"));
+		assertFalse(IndexedVector.addIfAbsent(list, "a"));
+		assertEquals(List.of("a"), list);
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
+import org.eclipse.cdt.managedbuilder.makegen.gnu2.GnuMakefileGenerator;
+import org.eclipse.cdt.managedbuilder.testplugin.AbstractBuilderTest;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Regenerating the makefiles must not rewrite the ones that did not change, and must rewrite
+ * the ones that changed or were modified outside of the generator.
+ */
+public class MakefileRegenerationTest extends AbstractBuilderTest {
+	private static final int FOLDER_COUNT = 3;
+
+	@Test
+	public void testRegenerateMakefiles() throws CoreException, IOException {
+		setWorkspace("regressions");
+		final IProject app = loadProject("helloworldC");
+		setActiveConfigurationByName(app, "Debug");
+
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			for (int i = 0; i < FOLDER_COUNT; i++) {
+				IFolder folder = app.getFolder("src/folder" + i);
+				folder.create(false, true, null);
+				String contents = "int function" + i + "(void) { return " + i + "; }\n";
+				// The same file name in each folder gives a rule for each of them
+				folder.getFile("source.c").create(new ByteArrayInputStream(contents.getBytes()), false, null);
+			}
+		}, null);
+
+		regenerateMakefiles(app);
+
+		Map<IFile, Long> stamps = new LinkedHashMap<>();
+		for (int i = 0; i < FOLDER_COUNT; i++) {
+			IFile fragment = app.getFile("Debug/src/folder" + i + "/subdir.mk");
+			assertTrue(fragment.exists(), "Makefile not generated: " + fragment);
+			assertTrue(getContents(fragment).contains("src/folder" + i + "/source.o"),
+					"Rule missing in " + fragment);
+			stamps.put(fragment, fragment.getModificationStamp());
+		}
+		IFile objects = app.getFile("Debug/objects.mk");
+		IFile sources = app.getFile("Debug/sources.mk");
+		IFile makefile = app.getFile("Debug/makefile");
+		stamps.put(objects, objects.getModificationStamp());
+		stamps.put(sources, sources.getModificationStamp());
+		stamps.put(makefile, makefile.getModificationStamp());
+
+		regenerateMakefiles(app);
+
+		for (Map.Entry<IFile, Long> entry : stamps.entrySet()) {
+			assertEquals(entry.getValue().longValue(), entry.getKey().getModificationStamp(),
+					"Unchanged makefile rewritten: " + entry.getKey());
+		}
+
+		// A new source file changes the makefile of its folder only
+		IFile fragment = app.getFile("Debug/src/folder0/subdir.mk");
+		app.getFile("src/folder0/extra.c").create(new ByteArrayInputStream("int extra;\n".getBytes()), false, null);
+		regenerateMakefiles(app);
+		assertNotEquals(stamps.get(fragment).longValue(), fragment.getModificationStamp(), "Makefile not updated");
+		assertTrue(getContents(fragment).contains("extra.o"), "Rule missing in " + fragment);
+		IFile otherFragment = app.getFile("Debug/src/folder1/subdir.mk");
+		assertEquals(stamps.get(otherFragment).longValue(), otherFragment.getModificationStamp(),
+				"Unchanged makefile rewritten");
+
+		// A makefile modified outside of the generator is restored
+		String expected = getContents(otherFragment);
+		otherFragment.setContents(new ByteArrayInputStream("# modified\n".getBytes()), true, false, null);
+		regenerateMakefiles(app);
+		assertEquals(expected, getContents(otherFragment), "Modified makefile not restored");
+	}
+
+	private static void regenerateMakefiles(IProject project) throws CoreException {
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			IConfiguration cfg = ManagedBuildManager.getBuildInfo(project).getDefaultConfiguration();
+			GnuMakefileGenerator generator = new GnuMakefileGenerator();
+			generator.initialize(IncrementalProjectBuilder.FULL_BUILD, cfg, cfg.getEditableBuilder(), monitor);
+			IStatus status = generator.regenerateMakefiles();
+			assertTrue(status.getSeverity() != IStatus.ERROR, status.toString());
+		}, null);
+	}
+
+	private static String getContents(IFile file) throws CoreException, IOException {
+		try (InputStream is = file.getContents(true)) {
+			return new String(is.readAllBytes());
+		}
+	}
+}
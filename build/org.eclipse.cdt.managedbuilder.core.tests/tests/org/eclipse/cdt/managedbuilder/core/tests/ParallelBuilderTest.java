@@ -0,0 +1,448 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.core.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildIOType;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildCache;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.BuildProcessManager;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.GenDirInfo;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.ParallelBuilder;
+import org.eclipse.cdt.managedbuilder.internal.buildmodel.ProcessLauncher;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the scheduling of the steps by the parallel internal builder. The steps run the
+ * Java launcher of the test VM, such that no tool chain is needed.
+ */
+public class ParallelBuilderTest extends BaseTestCase5 {
+	private static final IPath JAVA = new Path(System.getProperty("java.home")).append("bin").append("java");
+	private static final String[] SUCCEED = { "-version" };
+	private static final String[] FAIL = { "-XX:+UnknownOptionOfParallelBuilderTest" };
+	private static final long TIMEOUT = 60000;
+
+	private final OutputStream fOut = new ByteArrayOutputStream();
+	private final List<TestStep> fStarted = Collections.synchronizedList(new ArrayList<>());
+	private final TestDescription fDescription = new TestDescription();
+	private IPath fDirectory;
+
+	@BeforeEach
+	public void createDirectory() throws Exception {
+		fDirectory = new Path(Files.createTempDirectory("parallelBuilder").toString());
+	}
+
+	@AfterEach
+	public void deleteDirectory() {
+		fDirectory.toFile().delete();
+	}
+
+	@Test
+	public void testCriticalPathFirst() {
+		TestStep independent = new TestStep("independent.o", SUCCEED);
+		TestStep first = new TestStep("first.o", SUCCEED);
+		TestStep second = new TestStep("second.o", SUCCEED, first);
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), false);
+
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(1, independent, first, second));
+		assertEquals(List.of(first, independent, second), fStarted);
+		assertEquals(3, builder.getStepDurations().size());
+	}
+
+	@Test
+	public void testPrerequisitesBuiltFirst() {
+		TestStep first = new TestStep("first.o", SUCCEED);
+		TestStep second = new TestStep("second.o", SUCCEED, first);
+		TestStep third = new TestStep("third.o", SUCCEED, second);
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), false);
+
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(4, third, second, first));
+		assertEquals(List.of(first, second, third), fStarted);
+	}
+
+	@Test
+	public void testSameFileNames() {
+		TestStep a = new TestStep("a/util.o", SUCCEED);
+		TestStep b = new TestStep("b/util.o", SUCCEED);
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), false);
+
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(2, a, b));
+		Map<String, Long> durations = builder.getStepDurations();
+		assertEquals(2, durations.size());
+		assertNotNull(durations.get(fDirectory.append("a/util.o").toString()));
+		assertNotNull(durations.get(fDirectory.append("b/util.o").toString()));
+	}
+
+	@Test
+	public void testErrorStopsBuild() {
+		TestStep independent = new TestStep("independent.o", SUCCEED);
+		TestStep failing = new TestStep("failing.o", FAIL);
+		TestStep dependent = new TestStep("dependent.o", SUCCEED, failing);
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), false);
+
+		assertEquals(ParallelBuilder.STATUS_ERROR, builder.build(1, independent, failing, dependent));
+		assertEquals(List.of(failing), fStarted);
+	}
+
+	@Test
+	public void testResumeOnErrors() {
+		TestStep independent = new TestStep("independent.o", SUCCEED);
+		TestStep failing = new TestStep("failing.o", FAIL);
+		TestStep dependent = new TestStep("dependent.o", SUCCEED, failing);
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), true);
+
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(1, independent, failing, dependent));
+		assertEquals(List.of(failing, independent, dependent), fStarted);
+	}
+
+	@Test
+	public void testCancel() {
+		TestStep first = new TestStep("first.o", SUCCEED);
+		TestStep second = new TestStep("second.o", SUCCEED, first);
+		TestStep third = new TestStep("third.o", SUCCEED);
+		// The build is canceled once the second step is started
+		IProgressMonitor monitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return fStarted.size() > 1;
+			}
+		};
+		TestBuilder builder = new TestBuilder(monitor, false);
+
+		assertEquals(ParallelBuilder.STATUS_CANCELED, builder.build(1, first, second, third));
+		assertEquals(2, fStarted.size());
+		assertFalse(fStarted.contains(third), "Step started after cancellation");
+	}
+
+	@Test
+	public void testRestoreFromCache() throws Exception {
+		TestCache cache = new TestCache();
+		// The command does not write the output, it exists beforehand
+		fDirectory.append("cached.o").toFile().createNewFile();
+		TestBuilder builder = new TestBuilder(new NullProgressMonitor(), false, cache);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(1, new TestStep("cached.o", SUCCEED)));
+		String output = fOut.toString();
+		assertFalse(output.isEmpty(), "No console output");
+
+		// The failing command is not executed, the console output of the first build is replayed instead
+		builder = new TestBuilder(new NullProgressMonitor(), false, cache);
+		assertEquals(ParallelBuilder.STATUS_OK, builder.build(1, new TestStep("cached.o", FAIL)));
+		assertTrue(fOut.toString().substring(output.length()).startsWith(output), "Console output not replayed");
+		assertFalse(cache.fKeyThreads.contains(Thread.currentThread()), "Key computed by the dispatching thread");
+	}
+
+	@Test
+	public void testWaitForCompletion() {
+		BuildProcessManager mgr = new BuildProcessManager(fOut, fOut, false, 2);
+		ProcessLauncher succeeding = mgr.launchProcess(new TestCommand(SUCCEED), fDirectory,
+				new NullProgressMonitor());
+		assertNotNull(succeeding);
+		waitUntilDone(mgr, succeeding);
+		assertEquals(0, succeeding.getExitCode());
+
+		ProcessLauncher failing = mgr.launchProcess(new TestCommand(FAIL), fDirectory, new NullProgressMonitor());
+		assertNotNull(failing);
+		waitUntilDone(mgr, failing);
+		assertNotEquals(0, failing.getExitCode());
+
+		// Without a completed process, the wait ends with the timeout
+		long start = System.currentTimeMillis();
+		mgr.waitForCompletion(100);
+		assertTrue(System.currentTimeMillis() - start >= 100, "Wait returned early");
+	}
+
+	/**
+	 * Waits for the process to complete, the completion must be signaled long before the timeout.
+	 */
+	private static void waitUntilDone(BuildProcessManager mgr, ProcessLauncher launcher) {
+		long start = System.currentTimeMillis();
+		while (launcher.queryState() == ProcessLauncher.STATE_RUNNING) {
+			mgr.waitForCompletion(TIMEOUT);
+			assertTrue(System.currentTimeMillis() - start < TIMEOUT, "Completion not signaled");
+		}
+		assertEquals(ProcessLauncher.STATE_DONE, launcher.queryState());
+	}
+
+	private class TestBuilder extends ParallelBuilder {
+		TestBuilder(IProgressMonitor monitor, boolean resumeOnErrors) {
+			this(monitor, resumeOnErrors, null);
+		}
+
+		TestBuilder(IProgressMonitor monitor, boolean resumeOnErrors, BuildCache cache) {
+			super(fDirectory, new GenDirInfo(ResourcesPlugin.getWorkspace().getRoot().getProject("parallelBuilder")),
+					fOut, fOut, monitor, resumeOnErrors, false, null, fDescription);
+			buildCache = cache;
+		}
+
+		int build(int threads, TestStep... steps) {
+			for (TestStep step : steps) {
+				queue.add(new BuildQueueElement(step, 0));
+			}
+			return dispatch(new BuildProcessManager(fOut, fOut, false, threads));
+		}
+
+		Map<String, Long> getStepDurations() {
+			return stepDurations;
+		}
+	}
+
+	private static class TestCache extends BuildCache {
+		private final Set<Thread> fKeyThreads = ConcurrentHashMap.newKeySet();
+
+		TestCache() throws IOException {
+			super(Files.createTempDirectory("buildCache").toFile(), Long.MAX_VALUE);
+		}
+
+		@Override
+		public String computeKey(IBuildStep step, IBuildCommand[] cmds) {
+			fKeyThreads.add(Thread.currentThread());
+			// The steps of the test have the same output and are built from the same inputs
+			return "0123456789abcdef";
+		}
+	}
+
+	private class TestStep implements IBuildStep {
+		private final IBuildResource[] fInputs;
+		private final IBuildResource[] fOutputs;
+		private final String[] fArgs;
+
+		TestStep(String output, String[] args, TestStep... prerequisites) {
+			fInputs = new IBuildResource[prerequisites.length];
+			for (int i = 0; i < prerequisites.length; i++) {
+				fInputs[i] = prerequisites[i].fOutputs[0];
+			}
+			fOutputs = new IBuildResource[] { new TestResource(fDirectory.append(output), this) };
+			fArgs = args;
+		}
+
+		@Override
+		public IBuildIOType[] getInputIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public IBuildIOType[] getOutputIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public boolean needsRebuild() {
+			return true;
+		}
+
+		@Override
+		public IBuildResource[] getInputResources() {
+			return fInputs;
+		}
+
+		@Override
+		public IBuildResource[] getOutputResources() {
+			return fOutputs;
+		}
+
+		@Override
+		public boolean isRemoved() {
+			return false;
+		}
+
+		@Override
+		public IBuildDescription getBuildDescription() {
+			return fDescription;
+		}
+
+		@Override
+		public IBuildCommand[] getCommands(IPath cwd, Map inStepMap, Map outStepMap, boolean resolveAll) {
+			// The commands are requested when the step is started
+			fStarted.add(this);
+			return new IBuildCommand[] { new TestCommand(fArgs) };
+		}
+
+		@Override
+		public String toString() {
+			return fOutputs[0].getLocation().lastSegment();
+		}
+	}
+
+	private class TestResource implements IBuildResource {
+		private final IPath fLocation;
+		private final IBuildStep fProducer;
+
+		TestResource(IPath location, IBuildStep producer) {
+			fLocation = location;
+			fProducer = producer;
+		}
+
+		@Override
+		public IPath getLocation() {
+			return fLocation;
+		}
+
+		@Override
+		public IPath getFullPath() {
+			return new Path("/parallelBuilder").append(fLocation.makeRelativeTo(fDirectory));
+		}
+
+		@Override
+		public URI getLocationURI() {
+			return fLocation.toFile().toURI();
+		}
+
+		@Override
+		public IBuildIOType getProducerIOType() {
+			return null;
+		}
+
+		@Override
+		public IBuildIOType[] getDependentIOTypes() {
+			return new IBuildIOType[0];
+		}
+
+		@Override
+		public IBuildStep getProducerStep() {
+			return fProducer;
+		}
+
+		@Override
+		public IBuildStep[] getDependentSteps() {
+			return new IBuildStep[0];
+		}
+
+		@Override
+		public boolean needsRebuild() {
+			return true;
+		}
+
+		@Override
+		public boolean isProjectResource() {
+			return false;
+		}
+
+		@Override
+		public boolean isRemoved() {
+			return false;
+		}
+
+		@Override
+		public IBuildDescription getBuildDescription() {
+			return fDescription;
+		}
+	}
+
+	private class TestCommand implements IBuildCommand {
+		private final String[] fArgs;
+
+		TestCommand(String[] args) {
+			fArgs = args;
+		}
+
+		@Override
+		public IPath getCommand() {
+			return JAVA;
+		}
+
+		@Override
+		public String[] getArgs() {
+			return fArgs;
+		}
+
+		@Override
+		public Map<String, String> getEnvironment() {
+			return null;
+		}
+
+		@Override
+		public IPath getCWD() {
+			return fDirectory;
+		}
+	}
+
+	private class TestDescription implements IBuildDescription {
+		@Override
+		public IBuildStep getInputStep() {
+			return null;
+		}
+
+		@Override
+		public IBuildStep getOutputStep() {
+			return null;
+		}
+
+		@Override
+		public IBuildResource getBuildResource(IPath location) {
+			return null;
+		}
+
+		@Override
+		public IBuildResource getBuildResource(IResource resource) {
+			return null;
+		}
+
+		@Override
+		public IBuildResource[] getResources() {
+			return new IBuildResource[0];
+		}
+
+		@Override
+		public IBuildStep[] getSteps() {
+			return new IBuildStep[0];
+		}
+
+		@Override
+		public IConfiguration getConfiguration() {
+			return null;
+		}
+
+		@Override
+		public IPath getDefaultBuildDirLocation() {
+			return fDirectory;
+		}
+
+		@Override
+		public URI getDefaultBuildDirLocationURI() {
+			return fDirectory.toFile().toURI();
+		}
+
+		@Override
+		public IPath getDefaultBuildDirFullPath() {
+			return null;
+		}
+	}
+}
@@ -59,6 +59,7 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 	private static final int TICKS_DELETE_MARKERS = 1 * PROGRESS_MONITOR_SCALE;
 	private static final int TICKS_EXECUTE_COMMAND = 1 * PROGRESS_MONITOR_SCALE;
 	private static final int TICKS_REFRESH_PROJECT = 1 * PROGRESS_MONITOR_SCALE;
+	private static final int REPORTED_STEPS = 5;
 
 	@Override
 	public boolean invokeBuild(int kind, IProject project, IConfiguration configuration, IBuilder builder,
@@ -156,6 +157,11 @@ public class InternalBuildRunner extends AbstractBuildRunner {
 						cBS.setState(0);
 					buildRunnerHelper.printLine(ManagedMakeMessages.getFormattedString("CommonBuilder.7", //$NON-NLS-1$
 							Integer.toString(ParallelBuilder.lastThreadsUsed)));
+					if (!ParallelBuilder.lastStepDurations.isEmpty()) {
+						String slowestSteps = ParallelBuilder.getSlowestSteps(REPORTED_STEPS);
+						buildRunnerHelper.printLine(
+								ManagedMakeMessages.getFormattedString("CommonBuilder.25", slowestSteps)); //$NON-NLS-1$
+					}
 				}
 			} finally {
 				epm.deDuplicate();
@@ -20,6 +20,7 @@ import java.util.Set;
 import org.eclipse.cdt.core.CCProjectNature;
 import org.eclipse.cdt.core.CProjectNature;
 import org.eclipse.cdt.core.settings.model.util.ResourceChangeHandlerBase;
+import org.eclipse.cdt.managedbuilder.internal.core.MakefileChecksums;
 import org.eclipse.cdt.managedbuilder.internal.core.ManagedBuildInfo;
 import org.eclipse.cdt.managedbuilder.internal.core.ManagedMakeMessages;
 import org.eclipse.cdt.managedbuilder.internal.dataprovider.ConfigurationDataProvider;
@@ -48,6 +49,7 @@ class ResourceChangeHandler2 extends ResourceChangeHandlerBase {
 		@Override
 		public void handleProjectClose(IProject project) {
 			sendClose(project);
+			MakefileChecksums.forget(project);
 			try {
 				ManagedBuildManager.setLoaddedBuildInfo(project, null);
 			} catch (CoreException e) {
@@ -65,6 +67,7 @@ class ResourceChangeHandler2 extends ResourceChangeHandlerBase {
 					info.updateOwner(toRc);
 					ManagedBuildManager.updateLoaddedInfo(fromProject, toProject, info);
 				}
+				MakefileChecksums.forget(fromProject);
 			}
 			return false;
 		}
@@ -75,6 +78,7 @@ class ResourceChangeHandler2 extends ResourceChangeHandlerBase {
 			case IResource.PROJECT:
 				IProject project = rc.getProject();
 				sendClose(project);
+				MakefileChecksums.forget(project);
 				try {
 					ManagedBuildManager.setLoaddedBuildInfo(project, null);
 				} catch (CoreException e) {
@@ -0,0 +1,480 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.buildmodel;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.dom.IPDOMManager;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
+import org.eclipse.cdt.core.settings.model.ICProjectDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildDescription;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildResource;
+import org.eclipse.cdt.managedbuilder.buildmodel.IBuildStep;
+import org.eclipse.cdt.managedbuilder.core.IConfiguration;
+import org.eclipse.cdt.managedbuilder.core.ManagedBuilderCorePlugin;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * A local cache of the outputs of build steps, shared by the builds of the workspace and
+ * kept across sessions.
+ * <p>
+ * The outputs are stored under a key computed from the commands of the step and the contents
+ * of its inputs, including the files included by its sources. A step whose key is found in the
+ * cache does not need to be executed, its outputs are copied from the cache and the console
+ * output of the step is written to the console again, such that the error parsers report the
+ * warnings of the step once more.
+ * <p>
+ * The included files are taken from the index. Steps are not cached when the index cannot tell
+ * which files their sources include, e.g. because the indexer is disabled, the index was built
+ * for another configuration or it is not up to date for one of the files.
+ * <p>
+ * The cache is disabled by default. It is enabled with the {@link #PREF_ENABLED} preference
+ * of the managed build plug-in, e.g. in the <code>plugin_customization.ini</code> of a
+ * build server.
+ */
+public class BuildCache {
+	public static final String PREF_ENABLED = "buildCache"; //$NON-NLS-1$
+	/** Directory of the cache, defaults to a directory in the plug-in state location */
+	public static final String PREF_LOCATION = "buildCache.location"; //$NON-NLS-1$
+	/** Maximum size of the cache in megabytes */
+	public static final String PREF_MAX_SIZE = "buildCache.maxSize"; //$NON-NLS-1$
+
+	private static final String DEFAULT_DIRECTORY = "buildCache"; //$NON-NLS-1$
+	private static final int DEFAULT_MAX_SIZE = 1024;
+	private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+	// Changes whenever the computation of the keys changes
+	private static final String KEY_VERSION = "1"; //$NON-NLS-1$
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray(); //$NON-NLS-1$
+	// Names of the files of an entry holding the console output of the step
+	private static final String OUTPUT = "out"; //$NON-NLS-1$
+	private static final String ERROR_OUTPUT = "err"; //$NON-NLS-1$
+
+	private final File fDirectory;
+	private final long fMaxSize;
+	// Content hashes of the input files, computed once per build. The keys of the steps are
+	// computed concurrently.
+	private final Map<IPath, byte[]> fContentHashes = new ConcurrentHashMap<>();
+	private final Map<String, String> fExecutables = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the cache to be used for a build, or {@code null} if the cache is disabled.
+	 */
+	public static BuildCache create() {
+		String pluginId = ManagedBuilderCorePlugin.getUniqueIdentifier();
+		if (!Platform.getPreferencesService().getBoolean(pluginId, PREF_ENABLED, false, null))
+			return null;
+
+		String location = Platform.getPreferencesService().getString(pluginId, PREF_LOCATION, null, null);
+		File directory;
+		if (location != null && !location.isEmpty()) {
+			directory = new File(location);
+		} else {
+			directory = ManagedBuilderCorePlugin.getDefault().getStateLocation().append(DEFAULT_DIRECTORY).toFile();
+		}
+		int maxSize = Platform.getPreferencesService().getInt(pluginId, PREF_MAX_SIZE, DEFAULT_MAX_SIZE, null);
+		return new BuildCache(directory, maxSize * 1024L * 1024L);
+	}
+
+	public BuildCache(File directory, long maxSize) {
+		fDirectory = directory;
+		fMaxSize = maxSize;
+	}
+
+	/**
+	 * Computes the key of a step that is executed with the given commands. Returns {@code null}
+	 * if the outputs of the step cannot be cached, e.g. because it has no outputs, one of its
+	 * inputs does not exist or the files included by its sources are not known.
+	 */
+	public String computeKey(IBuildStep step, IBuildCommand[] cmds) {
+		IBuildResource[] outputs = step.getOutputResources();
+		if (cmds == null || cmds.length == 0 || outputs.length == 0)
+			return null;
+
+		try {
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			update(digest, KEY_VERSION);
+			for (IBuildCommand cmd : cmds) {
+				update(digest, cmd.getCommand().toString());
+				update(digest, describeExecutable(cmd));
+				for (String arg : cmd.getArgs()) {
+					update(digest, arg);
+				}
+				update(digest, String.valueOf(cmd.getCWD()));
+				Map<String, String> env = cmd.getEnvironment();
+				if (env != null) {
+					for (Map.Entry<String, String> entry : new TreeMap<>(env).entrySet()) {
+						update(digest, entry.getKey());
+						update(digest, entry.getValue());
+					}
+				}
+			}
+			for (IBuildResource rc : outputs) {
+				if (rc.getLocation() == null)
+					return null;
+				update(digest, rc.getLocation().toString());
+			}
+
+			// The order of the inputs does not matter
+			Map<String, byte[]> inputs = new TreeMap<>();
+			for (IBuildResource rc : step.getInputResources()) {
+				IPath location = rc.getLocation();
+				if (location == null)
+					return null;
+				byte[] hash = getContentHash(location);
+				if (hash == null)
+					return null;
+				inputs.put(location.toString(), hash);
+			}
+			Set<IPath> includedFiles = getIncludedFiles(step);
+			if (includedFiles == null)
+				return null;
+			for (IPath location : includedFiles) {
+				byte[] hash = getContentHash(location);
+				if (hash == null)
+					return null;
+				inputs.put(location.toString(), hash);
+			}
+			for (Map.Entry<String, byte[]> entry : inputs.entrySet()) {
+				update(digest, entry.getKey());
+				digest.update(entry.getValue());
+			}
+			return toHex(digest.digest());
+		} catch (NoSuchAlgorithmException | IOException | CoreException e) {
+			return null;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the locations of the files included by the sources of the step, or {@code null} if
+	 * the index does not know them. Only the includes in active code are followed. The dependencies
+	 * among the inputs of the step do not suffice, they are not computed for every tool and are
+	 * taken from the index as it is.
+	 */
+	private static Set<IPath> getIncludedFiles(IBuildStep step) throws CoreException, InterruptedException {
+		IBuildDescription des = step.getBuildDescription();
+		IConfiguration cfg = des.getConfiguration();
+		IProject project = cfg.getOwner().getProject();
+		ICProject cproject = CoreModel.getDefault().create(project);
+		IIndexManager indexManager = CCorePlugin.getIndexManager();
+		if (cproject == null || IPDOMManager.ID_NO_INDEXER.equals(indexManager.getIndexerId(cproject)))
+			return null;
+		// The include paths of other configurations may select other files
+		ICProjectDescription projectDes = CoreModel.getDefault().getProjectDescription(project, false);
+		ICConfigurationDescription cfgDes = projectDes != null ? projectDes.getDefaultSettingConfiguration() : null;
+		if (cfgDes == null || !cfgDes.getId().equals(cfg.getId()))
+			return null;
+
+		Set<IPath> result = new HashSet<>();
+		IIndex index = indexManager.getIndex(cproject, IIndexManager.ADD_DEPENDENCIES);
+		index.acquireReadLock();
+		try {
+			Set<IIndexFile> visited = new HashSet<>();
+			Deque<IIndexFile> files = new ArrayDeque<>();
+			for (IBuildResource rc : step.getInputResources()) {
+				// The outputs of other steps are not parsed, their contents are part of the key
+				if (rc.getProducerStep() != des.getInputStep())
+					continue;
+				IIndexFile[] sourceFiles = index
+						.getFiles(IndexLocationFactory.getIFLExpensive(cproject, rc.getLocation().toOSString()));
+				if (sourceFiles.length == 0)
+					return null;
+				files.addAll(Arrays.asList(sourceFiles));
+			}
+			visited.addAll(files);
+			while (!files.isEmpty()) {
+				IIndexFile file = files.poll();
+				if (!isUpToDate(file))
+					return null;
+				for (IIndexInclude include : file.getIncludes()) {
+					// Includes in inactive code, e.g. guarded by #if 0, are not read by the compiler
+					if (!include.isActive())
+						continue;
+					IIndexFile includedFile = include.isResolved() ? index.resolveInclude(include) : null;
+					if (includedFile == null)
+						return null;
+					if (visited.add(includedFile)) {
+						result.add(IndexLocationFactory.getAbsolutePath(include.getIncludesLocation()));
+						files.add(includedFile);
+					}
+				}
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the file was not modified since it was indexed.
+	 */
+	private static boolean isUpToDate(IIndexFile file) throws CoreException {
+		// Files modified outside of the workspace are detected as well
+		IPath location = IndexLocationFactory.getAbsolutePath(file.getLocation());
+		if (location == null)
+			return false;
+		long lastModified = location.toFile().lastModified();
+		return lastModified != 0 && lastModified == file.getTimestamp();
+	}
+
+	/**
+	 * Identifies the version of the executable of the command by its size and time stamp,
+	 * such that updating a tool invalidates the outputs it has produced.
+	 */
+	private String describeExecutable(IBuildCommand cmd) {
+		IPath command = cmd.getCommand();
+		IPath cwd = cmd.getCWD();
+		Map<String, String> env = cmd.getEnvironment();
+		String path = env != null ? env.get("PATH") : null; //$NON-NLS-1$
+		if (path == null)
+			path = System.getenv("PATH"); //$NON-NLS-1$
+		String searchPath = path;
+		return fExecutables.computeIfAbsent(command + File.pathSeparator + cwd + File.pathSeparator + searchPath,
+				k -> describeExecutable(findExecutable(command, cwd, searchPath)));
+	}
+
+	private static File findExecutable(IPath command, IPath cwd, String searchPath) {
+		if (command.isAbsolute())
+			return command.toFile();
+		if (command.segmentCount() > 1)
+			return cwd != null ? cwd.append(command).toFile() : null;
+		if (searchPath == null)
+			return null;
+		for (String dir : searchPath.split(File.pathSeparator)) {
+			File file = new File(dir, command.toString());
+			if (!file.isFile() && Platform.getOS().equals(Platform.OS_WIN32))
+				file = new File(dir, command + ".exe"); //$NON-NLS-1$
+			if (file.isFile())
+				return file;
+		}
+		return null;
+	}
+
+	private static String describeExecutable(File executable) {
+		if (executable == null || !executable.isFile())
+			return ""; //$NON-NLS-1$
+		return executable.getAbsolutePath() + File.pathSeparator + executable.length() + File.pathSeparator
+				+ executable.lastModified();
+	}
+
+	private byte[] getContentHash(IPath location) throws IOException, NoSuchAlgorithmException {
+		byte[] hash = fContentHashes.get(location);
+		if (hash == null) {
+			File file = location.toFile();
+			if (!file.isFile())
+				return null;
+			MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+			byte[] buffer = new byte[8192];
+			try (InputStream in = Files.newInputStream(file.toPath())) {
+				int n;
+				while ((n = in.read(buffer)) > 0) {
+					digest.update(buffer, 0, n);
+				}
+			}
+			hash = digest.digest();
+			fContentHashes.put(location, hash);
+		}
+		return hash;
+	}
+
+	/**
+	 * Notifies the cache that the given file is written by a step of the build.
+	 */
+	public void fileChanged(IPath location) {
+		fContentHashes.remove(location);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		// Separates the strings, such that different sequences of strings give different keys
+		digest.update((byte) 0);
+	}
+
+	private static String toHex(byte[] bytes) {
+		char[] chars = new char[bytes.length * 2];
+		for (int i = 0; i < bytes.length; i++) {
+			chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xf];
+			chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xf];
+		}
+		return new String(chars);
+	}
+
+	private File getEntry(String key) {
+		return new File(new File(fDirectory, key.substring(0, 2)), key);
+	}
+
+	/**
+	 * Copies the outputs stored under the given key to the locations of the outputs of the step,
+	 * and writes the console output of the step to the given streams. Returns {@code false} if the
+	 * cache does not contain the outputs.
+	 */
+	public boolean restore(String key, IBuildStep step, OutputStream out, OutputStream err) {
+		File entry = getEntry(key);
+		IBuildResource[] outputs = step.getOutputResources();
+		for (int i = 0; i < outputs.length; i++) {
+			if (!new File(entry, Integer.toString(i)).isFile())
+				return false;
+		}
+		try {
+			byte[] stdout = Files.readAllBytes(new File(entry, OUTPUT).toPath());
+			byte[] stderr = Files.readAllBytes(new File(entry, ERROR_OUTPUT).toPath());
+			for (int i = 0; i < outputs.length; i++) {
+				File output = outputs[i].getLocation().toFile();
+				output.getParentFile().mkdirs();
+				Files.copy(new File(entry, Integer.toString(i)).toPath(), output.toPath(),
+						StandardCopyOption.REPLACE_EXISTING);
+				fileChanged(outputs[i].getLocation());
+			}
+			write(out, stdout);
+			write(err, stderr);
+		} catch (IOException e) {
+			// The entry may have been removed concurrently, the step will be executed
+			return false;
+		}
+		// Keeps the entry from being removed by trim()
+		entry.setLastModified(System.currentTimeMillis());
+		return true;
+	}
+
+	private static void write(OutputStream stream, byte[] bytes) {
+		if (stream == null || bytes.length == 0)
+			return;
+		try {
+			stream.write(bytes);
+			stream.flush();
+		} catch (IOException e) {
+			// The console has been closed
+		}
+	}
+
+	/**
+	 * Stores the outputs of a step that has been executed successfully under the given key,
+	 * along with the console output of the step.
+	 */
+	public void store(String key, IBuildStep step, byte[] stdout, byte[] stderr) {
+		File entry = getEntry(key);
+		if (entry.exists())
+			return;
+		IBuildResource[] outputs = step.getOutputResources();
+		File temp = new File(fDirectory, entry.getName() + ".tmp" + System.nanoTime()); //$NON-NLS-1$
+		try {
+			temp.mkdirs();
+			for (int i = 0; i < outputs.length; i++) {
+				File output = outputs[i].getLocation().toFile();
+				if (!output.isFile())
+					return;
+				Files.copy(output.toPath(), new File(temp, Integer.toString(i)).toPath());
+			}
+			Files.write(new File(temp, OUTPUT).toPath(), stdout);
+			Files.write(new File(temp, ERROR_OUTPUT).toPath(), stderr);
+			entry.getParentFile().mkdirs();
+			// Other builds may store the same entry concurrently
+			Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException | AtomicMoveNotSupportedException e) {
+			// The entry is not stored
+		} catch (IOException e) {
+			ManagedBuilderCorePlugin.log(e);
+		} finally {
+			delete(temp);
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries from the cache until its size does not exceed
+	 * the maximum size.
+	 */
+	public void trim() {
+		List<File> entries = new ArrayList<>();
+		Map<File, Long> sizes = new HashMap<>();
+		long totalSize = 0;
+		File[] groups = fDirectory.listFiles(File::isDirectory);
+		if (groups == null)
+			return;
+		for (File group : groups) {
+			File[] groupEntries = group.listFiles(File::isDirectory);
+			if (groupEntries == null)
+				continue;
+			for (File entry : groupEntries) {
+				long size = 0;
+				File[] files = entry.listFiles();
+				if (files != null) {
+					for (File file : files) {
+						size += file.length();
+					}
+				}
+				entries.add(entry);
+				sizes.put(entry, size);
+				totalSize += size;
+			}
+		}
+		if (totalSize <= fMaxSize)
+			return;
+
+		entries.sort(Comparator.comparingLong(File::lastModified));
+		for (File entry : entries) {
+			if (totalSize <= fMaxSize)
+				break;
+			delete(entry);
+			totalSize -= sizes.get(entry);
+		}
+	}
+
+	private static void delete(File directory) {
+		if (!directory.exists())
+			return;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory.toPath())) {
+			for (Path file : files) {
+				Files.deleteIfExists(file);
+			}
+			Files.deleteIfExists(directory.toPath());
+		} catch (IOException e) {
+			// The entry will be removed by a later call
+		}
+	}
+}
@@ -14,6 +14,8 @@
 
 package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
+import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.List;
@@ -35,6 +37,8 @@ public class BuildProcessManager {
 	protected boolean show;
 	protected Vector<ProcessLauncher> processes;
 	protected int maxProcesses;
+	private final Object completionLock = new Object();
+	private boolean completed;
 
 	/**
 	 * Initializes process manager
@@ -68,19 +72,39 @@ public class BuildProcessManager {
 	 * @param monitor Progress monitor for this task
 	 */
 	public ProcessLauncher launchProcess(IBuildCommand cmd, IPath cwd, IProgressMonitor monitor) {
+		return launchProcess(cmd, cwd, monitor, null, null);
+	}
+
+	/**
+	 * Performs an attempt to launch new process, like
+	 * {@link #launchProcess(IBuildCommand, IPath, IProgressMonitor)}, and copies the output
+	 * of the process to the given streams.
+	 *
+	 * @param cmd Command to launch
+	 * @param cwd Command working directory
+	 * @param monitor Progress monitor for this task
+	 * @param outCopy Stream receiving a copy of the output, or null
+	 * @param errCopy Stream receiving a copy of the error output, or null
+	 */
+	public ProcessLauncher launchProcess(IBuildCommand cmd, IPath cwd, IProgressMonitor monitor,
+			OutputStream outCopy, OutputStream errCopy) {
+		OutputStream processOut = outCopy != null ? new CopyingOutputStream(out, outCopy) : out;
+		OutputStream processErr = errCopy != null ? new CopyingOutputStream(err, errCopy) : err;
 		for (int i = 0; i < maxProcesses; i++) {
 			if (i >= processes.size()) {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
-						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
+						mapToStringArray(cmd.getEnvironment()), cwd, processOut, processErr, monitor, show);
 				processes.add(process);
+				process.setCompletionListener(this::processCompleted);
 				process.launch();
 				return process;
 
 			}
 			if (processes.get(i).queryState() == ProcessLauncher.STATE_DONE) {
 				ProcessLauncher process = new ProcessLauncher(cmd.getCommand(), cmd.getArgs(),
-						mapToStringArray(cmd.getEnvironment()), cwd, out, err, monitor, show);
+						mapToStringArray(cmd.getEnvironment()), cwd, processOut, processErr, monitor, show);
 				processes.set(i, process);
+				process.setCompletionListener(this::processCompleted);
 				process.launch();
 				return process;
 			}
@@ -88,6 +112,38 @@ public class BuildProcessManager {
 		return null;
 	}
 
+	/**
+	 * Called by the launched processes when they complete, and by the builder when
+	 * other work that it waits for is done
+	 */
+	protected void processCompleted() {
+		synchronized (completionLock) {
+			completed = true;
+			completionLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Waits until one of the launched processes completes, or until the given
+	 * timeout (in milliseconds) elapses. Returns immediately if a process has
+	 * completed since the previous call.
+	 */
+	public void waitForCompletion(long timeout) {
+		synchronized (completionLock) {
+			long end = System.currentTimeMillis() + timeout;
+			long remaining = timeout;
+			while (!completed && remaining > 0) {
+				try {
+					completionLock.wait(remaining);
+				} catch (InterruptedException e) {
+					// do nothing
+				}
+				remaining = end - System.currentTimeMillis();
+			}
+			completed = false;
+		}
+	}
+
 	/**
 	 * Checks states of all currently running processes. If it finds
 	 * one with state other than STATE_DONE or STATE_RUNNING, it is
@@ -140,4 +196,42 @@ public class BuildProcessManager {
 
 		return list.toArray(new String[list.size()]);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Writes to an output stream of the manager and to a copy
+	 */
+	private static class CopyingOutputStream extends FilterOutputStream {
+		private final OutputStream copy;
+
+		CopyingOutputStream(OutputStream out, OutputStream copy) {
+			super(out);
+			this.copy = copy;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			copy.write(b);
+			if (out != null)
+				out.write(b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			copy.write(b, off, len);
+			if (out != null)
+				out.write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (out != null)
+				out.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (out != null)
+				out.close();
+		}
+	}
+}
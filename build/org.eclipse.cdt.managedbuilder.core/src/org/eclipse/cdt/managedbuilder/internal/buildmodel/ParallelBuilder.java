@@ -15,14 +15,26 @@
  *******************************************************************************/
 package org.eclipse.cdt.managedbuilder.internal.buildmodel;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
-import java.util.Vector;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.managedbuilder.buildmodel.IBuildCommand;
@@ -57,7 +69,31 @@ public class ParallelBuilder {
 	private static final String BUILDER_MSG_HEADER = "InternalBuilder.msg.header"; //$NON-NLS-1$
 	private static final String LINE_SEPARATOR = System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
+	private static final int MAX_HISTORY_SIZE = 10000;
+
+	/**
+	 * Durations (in milliseconds) of the steps of previous builds, keyed by the locations
+	 * of the step outputs. Used to estimate which steps are on the critical path.
+	 */
+	private static final Map<String, Long> stepHistory = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+			return size() > MAX_HISTORY_SIZE;
+		}
+	};
+
+	/**
+	 * Orders the steps that are ready to be built: steps on the longest remaining
+	 * path through the dependency graph come first.
+	 */
+	private static final Comparator<BuildQueueElement> CRITICAL_PATH_ORDER = Comparator
+			.comparingLong((BuildQueueElement elem) -> -elem.pathLength).thenComparingInt(elem -> elem.level)
+			.thenComparingInt(elem -> elem.order);
+
 	public static int lastThreadsUsed = 0; // use externally for report purposes only
+	// Durations of the steps of the last build in milliseconds, keyed by the locations of the step outputs,
+	// use externally for report purposes only
+	public static Map<String, Long> lastStepDurations = Collections.emptyMap();
 
 	protected IPath cwd;
 	protected GenDirInfo dirs;
@@ -69,6 +105,8 @@ public class ParallelBuilder {
 	protected HashSet<BuildQueueElement> unsorted = new HashSet<>();
 	protected HashMap<IBuildStep, BuildQueueElement> queueHash = new HashMap<>();
 	protected LinkedList<BuildQueueElement> queue = new LinkedList<>();
+	protected Map<String, Long> stepDurations = new LinkedHashMap<>();
+	protected BuildCache buildCache;
 	private IResourceRebuildStateContainer fRebuildStateContainer;
 	private IBuildDescription fDes;
 
@@ -78,6 +116,12 @@ public class ParallelBuilder {
 	protected class BuildQueueElement implements Comparable<BuildQueueElement> {
 		protected IBuildStep step;
 		protected int level;
+		// Scheduling state, computed before the queue is dispatched
+		protected int order;
+		protected int unbuiltPrerequisites;
+		protected List<BuildQueueElement> dependents = new ArrayList<>();
+		protected long pathLength = -1;
+		protected boolean ready;
 
 		public BuildQueueElement(IBuildStep _step, int _level) {
 			step = _step;
@@ -142,9 +186,25 @@ public class ParallelBuilder {
 		protected int activeCmd;
 		protected boolean done;
 		protected ProcessLauncher launcher;
+		protected BuildQueueElement element;
+		protected long startTime;
+		protected String cacheKey;
+		// Pending while the step is looked up in the build cache
+		protected Future<?> cacheLookup;
+		protected boolean restored;
+		protected boolean failed;
+		// The console output of the commands, stored in the build cache
+		protected ByteArrayOutputStream stdout;
+		protected ByteArrayOutputStream stderr;
+
+		public ActiveBuildStep(BuildQueueElement _element) {
+			this(_element.getStep());
+			element = _element;
+		}
 
 		public ActiveBuildStep(IBuildStep _step) {
 			step = _step;
+			startTime = System.currentTimeMillis();
 
 			if (dirs == null)
 				stepDirs = new GenDirInfo(step.getBuildDescription().getConfiguration());
@@ -169,7 +229,15 @@ public class ParallelBuilder {
 				done = true;
 			else {
 				IBuildCommand cmd = cmds[++activeCmd];
-				launcher = mgr.launchProcess(cmd, stepCwd, monitor);
+				if (cacheKey != null) {
+					if (stdout == null) {
+						stdout = new ByteArrayOutputStream();
+						stderr = new ByteArrayOutputStream();
+					}
+					launcher = mgr.launchProcess(cmd, stepCwd, monitor, stdout, stderr);
+				} else {
+					launcher = mgr.launchProcess(cmd, stepCwd, monitor);
+				}
 				if (launcher != null)
 					return true;
 				activeCmd--;
@@ -258,6 +326,7 @@ public class ParallelBuilder {
 
 		ParallelBuilder builder = new ParallelBuilder(cwd, dirs, out, err, monitor, resumeOnErrors, buildIncrementally,
 				rs, des);
+		builder.buildCache = BuildCache.create();
 
 		status = builder.executePreBuildStep();
 		if (status != IBuildModelBuilder.STATUS_OK) {
@@ -271,6 +340,9 @@ public class ParallelBuilder {
 		BuildProcessManager buildProcessManager = new BuildProcessManager(out, err, true, threads);
 		status = builder.dispatch(buildProcessManager);
 		lastThreadsUsed = buildProcessManager.getThreadsUsed();
+		lastStepDurations = Collections.unmodifiableMap(builder.stepDurations);
+		if (builder.buildCache != null)
+			builder.buildCache.trim();
 		monitor.done();
 
 		if (status == IBuildModelBuilder.STATUS_OK) {
@@ -468,14 +540,33 @@ public class ParallelBuilder {
 	}
 
 	/**
-	 * Dispatches the build queue and returns build status
+	 * Dispatches the build queue and returns build status.
+	 *
+	 * A step is launched as soon as all the queued steps producing its inputs are built
+	 * and there is room for another process. Among the steps that are ready, the ones
+	 * on the longest remaining dependency path are launched first. With a build cache,
+	 * a step is looked up in the cache by a worker thread before it is launched, since
+	 * computing its key reads its inputs and the index.
 	 */
 	protected int dispatch(BuildProcessManager mgr) {
+		ExecutorService cacheLookups = buildCache != null ? Executors.newFixedThreadPool(mgr.getMaxProcesses())
+				: null;
+		try {
+			return dispatch(mgr, cacheLookups);
+		} finally {
+			if (cacheLookups != null)
+				cacheLookups.shutdownNow();
+		}
+	}
+
+	private int dispatch(BuildProcessManager mgr, ExecutorService cacheLookups) {
 		int maxProcesses = mgr.getMaxProcesses();
-		Vector<ActiveBuildStep> active = new Vector<>(Math.min(maxProcesses, 10), 10);
+		List<ActiveBuildStep> active = new ArrayList<>(Math.min(maxProcesses, 10));
+		List<BuildQueueElement> elements = new ArrayList<>(queue);
+		PriorityQueue<BuildQueueElement> ready = createSchedule(elements);
+		queue.clear();
 
-		int activeCount = 0;
-		int maxLevel = 0;
+		int remaining = elements.size();
 		int status = STATUS_OK;
 		String errorMsg = null;
 
@@ -497,135 +588,276 @@ public class ParallelBuilder {
 				errorMsg = launcher.getErrorMessage();
 				break main_loop;
 			}
-			// Everything goes OK.
-			boolean proceed = true;
 
-			// Check if there is room for new process
-			if (!mgr.hasEmpty()) {
-				proceed = false;
-			} else {
-				// Check "active steps" list for completed ones
-				for (ActiveBuildStep buildStep : active) {
-					ProcessLauncher pl = buildStep.getLauncher();
-					if (pl == null)
+			// Check "active steps" list for completed commands
+			for (Iterator<ActiveBuildStep> iter = active.iterator(); iter.hasNext();) {
+				ActiveBuildStep buildStep = iter.next();
+				if (buildStep.cacheLookup != null) {
+					if (!buildStep.cacheLookup.isDone())
 						continue;
-					if (pl.queryState() == ProcessLauncher.STATE_DONE) {
-						// If process has terminated with error, break loop
-						// (except resumeOnErrors == true)
+					buildStep.cacheLookup = null;
+					// Launch the first command unless the outputs have been restored
+					if (buildStep.restored || !buildStep.launchNextCmd(mgr)) {
+						iter.remove();
+						stepCompleted(buildStep, ready);
+						remaining--;
+					}
+					continue;
+				}
+				ProcessLauncher pl = buildStep.getLauncher();
+				if (pl.queryState() != ProcessLauncher.STATE_DONE)
+					continue;
+				// If process has terminated with error, break loop
+				// (except resumeOnErrors == true)
+				if (pl.getExitCode() != 0) {
+					if (!resumeOnErrors) {
+						status = STATUS_ERROR;
+						break main_loop;
+					}
+					buildStep.failed = true;
+				}
+				// Try to launch next command for the current active step
+				if (!buildStep.launchNextCmd(mgr)) {
+					// Command has not been launched: step complete
+					iter.remove();
+					stepCompleted(buildStep, ready);
+					remaining--;
+				}
+			}
 
-						if (!resumeOnErrors && pl.getExitCode() != 0) {
-							status = STATUS_ERROR;
-							break main_loop;
-						}
-						// Try to launch next command for the current active step
-						if (buildStep.isDone())
-							continue;
-						if (buildStep.launchNextCmd(mgr)) {
-							// Command has been launched. Check if process pool is not maximized yet
-							if (!mgr.hasEmpty()) {
-								proceed = false;
-								break;
-							}
-						} else {
-							// Command has not been launched: step complete
-							refreshOutputs(buildStep.getStep());
-							activeCount--;
-							monitor.worked(1);
+			// Launch the ready steps while there is room for new processes
+			while (active.size() < maxProcesses && !ready.isEmpty() && !monitor.isCanceled()) {
+				ActiveBuildStep buildStep = new ActiveBuildStep(ready.poll());
+				if (cacheLookups != null) {
+					buildStep.cacheLookup = cacheLookups.submit(() -> {
+						try {
+							restoreFromCache(buildStep);
+						} finally {
+							mgr.processCompleted();
 						}
-					}
+					});
+					active.add(buildStep);
+				} else if (buildStep.launchNextCmd(mgr)) {
+					active.add(buildStep);
+				} else {
+					// Step has no commands
+					stepCompleted(buildStep, ready);
+					remaining--;
 				}
 			}
 
-			// If nothing to do, then sleep and continue main loop
-			if (!proceed) {
-				try {
-					Thread.sleep(MAIN_LOOP_DELAY);
-				} catch (InterruptedException e) {
-					// do nothing
+			// Now finally, check if we're done
+			if (remaining <= 0)
+				break main_loop;
+
+			if (active.isEmpty() && ready.isEmpty()) {
+				// The remaining steps depend on each other, build them in the order of their levels
+				for (BuildQueueElement elem : elements) {
+					if (!elem.ready) {
+						elem.ready = true;
+						ready.add(elem);
+						break;
+					}
 				}
 				continue main_loop;
 			}
 
-			// Check if we need to schedule another process
-			if (queue.size() != 0 && activeCount < maxProcesses) {
-				// Need to schedule another process
-				Iterator<BuildQueueElement> iter = queue.iterator();
+			// Wait for a process to complete. The timeout makes sure that cancellation
+			// is noticed while long running commands are executed.
+			mgr.waitForCompletion(MAIN_LOOP_DELAY);
+		}
 
-				// Iterate over build queue
-				while (iter.hasNext()) {
-					BuildQueueElement elem = iter.next();
+		if (status != STATUS_OK && errorMsg != null)
+			printMessage(errorMsg, out);
+		return status;
+	}
 
-					// If "active steps" list reaches maximum, then break loop
-					if (activeCount == maxProcesses)
-						break;
+	/**
+	 * Computes the dependencies between the given elements and the lengths of their
+	 * remaining dependency paths, and returns the elements that can be built right away.
+	 */
+	protected PriorityQueue<BuildQueueElement> createSchedule(List<BuildQueueElement> elements) {
+		Map<IBuildStep, BuildQueueElement> stepElements = new HashMap<>();
+		for (int i = 0; i < elements.size(); i++) {
+			BuildQueueElement elem = elements.get(i);
+			elem.order = i;
+			stepElements.put(elem.getStep(), elem);
+		}
+		for (BuildQueueElement elem : elements) {
+			Set<BuildQueueElement> prerequisites = new LinkedHashSet<>();
+			collectPrerequisites(elem.getStep(), stepElements, prerequisites, new HashSet<>());
+			prerequisites.remove(elem);
+			for (BuildQueueElement prerequisite : prerequisites) {
+				prerequisite.dependents.add(elem);
+				elem.unbuiltPrerequisites++;
+			}
+		}
 
-					// If current element's level exceeds maximum level of currently built
-					// resources, then stop iteration (we can not build it anyway)
-					if (elem.getLevel() > maxLevel + 1)
-						break;
+		Map<BuildQueueElement, Long> durations = new HashMap<>();
+		long totalDuration = 0;
+		synchronized (stepHistory) {
+			for (BuildQueueElement elem : elements) {
+				Long duration = stepHistory.get(getStepKey(elem.getStep()));
+				if (duration != null) {
+					durations.put(elem, duration);
+					totalDuration += duration;
+				}
+			}
+		}
+		// Steps that have not been built before are assumed to take an average time
+		long defaultDuration = durations.isEmpty() ? 1 : Math.max(1, totalDuration / durations.size());
+		for (BuildQueueElement elem : elements) {
+			computePathLength(elem, durations, defaultDuration);
+		}
 
-					//Check if all prerequisites are built
-					boolean prereqBuilt = true;
-					for (IBuildResource bldRes : elem.getStep().getInputResources()) {
-						IBuildStep step = bldRes.getProducerStep(); // step which produces input for curr
-						boolean built = true;
-						if (step != step.getBuildDescription().getInputStep()) {
-							for (ActiveBuildStep buildStep : active) {
-								if (buildStep != null && buildStep.getStep().equals(step) && !buildStep.isDone()) {
-									built = false;
-									break;
-								}
-							}
-						}
-						if (!built) {
-							prereqBuilt = false;
-							break;
-						}
-					}
+		PriorityQueue<BuildQueueElement> ready = new PriorityQueue<>(Math.max(1, elements.size()),
+				CRITICAL_PATH_ORDER);
+		for (BuildQueueElement elem : elements) {
+			if (elem.unbuiltPrerequisites == 0) {
+				elem.ready = true;
+				ready.add(elem);
+			}
+		}
+		return ready;
+	}
 
-					if (prereqBuilt) {
-						// All prereqs are built
-						IBuildStep step = elem.getStep();
+	/**
+	 * Collects the queued steps producing the inputs of the given step. Steps that are
+	 * not queued are looked through, since they may depend on queued steps themselves.
+	 */
+	private static void collectPrerequisites(IBuildStep step, Map<IBuildStep, BuildQueueElement> stepElements,
+			Set<BuildQueueElement> result, Set<IBuildStep> visited) {
+		for (IBuildResource rc : step.getInputResources()) {
+			IBuildStep producer = rc.getProducerStep();
+			if (producer == null || producer == producer.getBuildDescription().getInputStep()
+					|| !visited.add(producer))
+				continue;
+			BuildQueueElement elem = stepElements.get(producer);
+			if (elem != null)
+				result.add(elem);
+			else
+				collectPrerequisites(producer, stepElements, result, visited);
+		}
+	}
 
-						// Remove element from the build queue and add it to the
-						// "active steps" list.
-						iter.remove();
-						for (int i = 0; i < maxProcesses; i++) {
-							if (i >= active.size()) {
-								// add new item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.add(buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-							if (active.get(i).isDone()) {
-								// replace old item
-								ActiveBuildStep buildStep = new ActiveBuildStep(step);
-								active.set(i, buildStep);
-								if (buildStep.launchNextCmd(mgr))
-									activeCount++;
-								break;
-							}
-						}
+	/**
+	 * Computes the estimated duration of the longest dependency path starting at the
+	 * given element.
+	 */
+	private static long computePathLength(BuildQueueElement elem, Map<BuildQueueElement, Long> durations,
+			long defaultDuration) {
+		if (elem.pathLength >= 0)
+			return elem.pathLength;
+		// Guards against dependency cycles
+		elem.pathLength = 0;
+		long longest = 0;
+		for (BuildQueueElement dependent : elem.dependents) {
+			longest = Math.max(longest, computePathLength(dependent, durations, defaultDuration));
+		}
+		Long duration = durations.get(elem);
+		elem.pathLength = (duration != null ? duration : defaultDuration) + longest;
+		return elem.pathLength;
+	}
 
-						// Update maxLevel
-						if (elem.getLevel() > maxLevel)
-							maxLevel = elem.getLevel();
-						// We don't need to start new process immediately since
-						// it will be done on the next main loop iteration
-					}
+	/**
+	 * Records the duration of a completed step and makes the steps that depend on it
+	 * ready once all their prerequisites are built.
+	 */
+	protected void stepCompleted(ActiveBuildStep buildStep, PriorityQueue<BuildQueueElement> ready) {
+		IBuildStep step = buildStep.getStep();
+		long duration = System.currentTimeMillis() - buildStep.startTime;
+		String key = getStepKey(step);
+		if (key != null) {
+			// Restoring the outputs says nothing about the time needed to build them
+			if (!buildStep.restored) {
+				synchronized (stepHistory) {
+					stepHistory.put(key, duration);
 				}
 			}
+			stepDurations.put(key, duration);
+		}
 
-			// Now finally, check if we're done
-			if (activeCount <= 0 && queue.size() == 0)
-				break main_loop;
+		if (buildCache != null) {
+			for (IBuildResource rc : step.getOutputResources()) {
+				if (rc.getLocation() != null)
+					buildCache.fileChanged(rc.getLocation());
+			}
+			if (buildStep.cacheKey != null && buildStep.stdout != null && !buildStep.restored && !buildStep.failed
+					&& !monitor.isCanceled())
+				buildCache.store(buildStep.cacheKey, step, buildStep.stdout.toByteArray(),
+						buildStep.stderr.toByteArray());
 		}
 
-		if (status != STATUS_OK && errorMsg != null)
-			printMessage(errorMsg, out);
-		return status;
+		refreshOutputs(step);
+		monitor.worked(1);
+
+		if (buildStep.element == null)
+			return;
+		for (BuildQueueElement dependent : buildStep.element.dependents) {
+			if (--dependent.unbuiltPrerequisites == 0 && !dependent.ready) {
+				dependent.ready = true;
+				ready.add(dependent);
+			}
+		}
+	}
+
+	/**
+	 * Copies the outputs of the step from the build cache and replays its console output, if the
+	 * cache contains the outputs for the current inputs of the step. Returns {@code false} if the
+	 * step needs to be executed. Called by the worker threads looking up the steps.
+	 */
+	protected boolean restoreFromCache(ActiveBuildStep buildStep) {
+		if (buildCache == null)
+			return false;
+		IBuildStep step = buildStep.getStep();
+		buildStep.cacheKey = buildCache.computeKey(step, buildStep.cmds);
+		if (buildStep.cacheKey == null || !buildCache.restore(buildStep.cacheKey, step, out, err))
+			return false;
+		buildStep.restored = true;
+		buildStep.done = true;
+		printMessage(ManagedMakeMessages.getFormattedString("ParallelBuilder.restoredFromCache", //$NON-NLS-1$
+				getStepDisplayName(step)), out);
+		return true;
+	}
+
+	/**
+	 * Returns the key identifying the step across builds, or {@code null}
+	 * if the step has no outputs.
+	 */
+	private static String getStepKey(IBuildStep step) {
+		IBuildResource[] outputs = step.getOutputResources();
+		if (outputs.length == 0)
+			return null;
+		StringBuilder key = new StringBuilder();
+		for (IBuildResource rc : outputs) {
+			if (key.length() > 0)
+				key.append(File.pathSeparatorChar);
+			key.append(rc.getLocation());
+		}
+		return key.toString();
+	}
+
+	private static String getStepDisplayName(IBuildStep step) {
+		IBuildResource[] outputs = step.getOutputResources();
+		if (outputs.length == 0)
+			return DbgUtil.stepName(step);
+		return DbgUtil.resourceName(outputs[0]);
+	}
+
+	/**
+	 * Returns the given number of steps of the last build that took the longest,
+	 * along with their durations, for report purposes.
+	 */
+	public static String getSlowestSteps(int count) {
+		List<Map.Entry<String, Long>> entries = new ArrayList<>(lastStepDurations.entrySet());
+		entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+		StringBuilder buf = new StringBuilder();
+		for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(count, entries.size()))) {
+			if (buf.length() > 0)
+				buf.append(", "); //$NON-NLS-1$
+			buf.append(entry.getKey()).append(" (").append(entry.getValue()).append(" ms)"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return buf.toString();
 	}
 
 	/**
@@ -47,6 +47,8 @@ public class ProcessLauncher {
 	protected Process process;
 	protected ProcessClosure closure = null;
 	protected int state;
+	protected volatile boolean completed;
+	protected Runnable completionListener;
 
 	/**
 	 * Returns command line as a string array
@@ -96,7 +98,7 @@ public class ProcessLauncher {
 	 * Returns exit code of a process
 	 */
 	public int getExitCode() {
-		if (process == null || closure.isAlive())
+		if (process == null || (!completed && closure.isAlive()))
 			return 0;
 		try {
 			return process.waitFor();
@@ -129,6 +131,14 @@ public class ProcessLauncher {
 		lineSeparator = System.getProperty("line.separator", "\n"); //$NON-NLS-1$ //$NON-NLS-2$
 	}
 
+	/**
+	 * Sets the listener that is notified when the process has completed or has
+	 * failed to launch. The listener may be called from any thread.
+	 */
+	public void setCompletionListener(Runnable listener) {
+		completionListener = listener;
+	}
+
 	/**
 	 * Launches a process
 	 */
@@ -145,13 +155,23 @@ public class ProcessLauncher {
 			} catch (IOException e) {
 				// do nothing
 			}
-			closure.runNonBlocking();
+			closure.runNonBlocking(this::processCompleted);
 		} catch (IOException e) {
 			error = e.getMessage();
 			closure = null;
+			processCompleted();
 		}
 	}
 
+	/**
+	 * Called when the output of the process has been read completely
+	 */
+	protected void processCompleted() {
+		completed = true;
+		if (completionListener != null)
+			completionListener.run();
+	}
+
 	/**
 	 * Returns process state
 	 */
@@ -163,7 +183,7 @@ public class ProcessLauncher {
 				closure.terminate();
 				error = CCorePlugin.getResourceString("CommandLauncher.error.commandCanceled"); //$NON-NLS-1$
 				state = STATE_CANCELED;
-			} else if (!closure.isRunning()) {
+			} else if (completed || !closure.isRunning()) {
 				state = STATE_DONE;
 			}
 		}
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.core;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Vector;
+
+/**
+ * A vector of elements without duplicates, which keeps a set of its elements such that adding
+ * to it does not search it. The makefile generator collects many thousands of rules, dependency
+ * lines and build variable entries for large projects, searching the lists for each of them
+ * would dominate the time needed to generate the makefiles.
+ * <p>
+ * The set is rebuilt when the vector has been modified other than through
+ * {@link #addIfAbsent(List, Object)}, e.g. by a subclass of the generator.
+ */
+public class IndexedVector<E> extends Vector<E> {
+	private final Set<E> index = new HashSet<>();
+	// The modification count of the vector when the set was last in sync with it, -1 if it is not
+	private int indexModCount = -1;
+
+	/**
+	 * Adds the element to the list unless the list already contains it. Searches lists other than
+	 * indexed vectors.
+	 *
+	 * @return <code>true</code> if the element has been added
+	 */
+	public static <T> boolean addIfAbsent(List<T> list, T element) {
+		if (list instanceof IndexedVector<T> indexed)
+			return indexed.addIfAbsent(element);
+		if (list.contains(element))
+			return false;
+		list.add(element);
+		return true;
+	}
+
+	private synchronized boolean addIfAbsent(E element) {
+		if (indexModCount != modCount) {
+			index.clear();
+			index.addAll(this);
+		}
+		boolean added = index.add(element);
+		if (added)
+			add(element);
+		indexModCount = modCount;
+		return added;
+	}
+
+	@Override
+	public synchronized E set(int i, E element) {
+		// Replacing an element does not count as a modification
+		indexModCount = -1;
+		return super.set(i, element);
+	}
+
+	@Override
+	public synchronized void setElementAt(E element, int i) {
+		indexModCount = -1;
+		super.setElementAt(element, i);
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.managedbuilder.internal.core;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Checksums of the makefiles written by the makefile generator, along with the time stamp and
+ * the length of each file after it was written. They allow the generator to skip reading back
+ * the makefiles that are unchanged when it regenerates them.
+ * <p>
+ * The checksums are kept per project, the least recently written ones are dropped when a project
+ * has too many. They are dropped when the project is closed, deleted or moved.
+ */
+public class MakefileChecksums {
+	private static final int MAX_CHECKSUMS_PER_PROJECT = 10000;
+
+	private static final Map<IProject, Map<IPath, Checksum>> checksums = new HashMap<>();
+
+	private static final class Checksum {
+		final byte[] checksum;
+		final long lastModified;
+		final long length;
+
+		Checksum(byte[] checksum, File file) {
+			this.checksum = checksum;
+			this.lastModified = file.lastModified();
+			this.length = file.length();
+		}
+
+		boolean matches(byte[] checksum, File file) {
+			return Arrays.equals(this.checksum, checksum) && lastModified == file.lastModified()
+					&& length == file.length();
+		}
+	}
+
+	/**
+	 * Returns whether the makefile at the given location has been written with the given checksum
+	 * and has not been touched since.
+	 */
+	public static synchronized boolean isUnchanged(IProject project, IPath location, byte[] checksum) {
+		Map<IPath, Checksum> projectChecksums = checksums.get(project);
+		if (projectChecksums == null)
+			return false;
+		Checksum saved = projectChecksums.get(location);
+		return saved != null && saved.matches(checksum, location.toFile());
+	}
+
+	/**
+	 * Records the checksum of the makefile just written to the given location.
+	 */
+	public static synchronized void written(IProject project, IPath location, byte[] checksum) {
+		checksums.computeIfAbsent(project, p -> new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IPath, Checksum> eldest) {
+				return size() > MAX_CHECKSUMS_PER_PROJECT;
+			}
+		}).put(location, new Checksum(checksum, location.toFile()));
+	}
+
+	/**
+	 * Drops the checksums of the makefiles of the given project.
+	 */
+	public static synchronized void forget(IProject project) {
+		checksums.remove(project);
+	}
+}
@@ -22,10 +22,13 @@
 package org.eclipse.cdt.managedbuilder.makegen.gnu2;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -73,6 +76,8 @@ import org.eclipse.cdt.managedbuilder.core.IResourceInfo;
 import org.eclipse.cdt.managedbuilder.core.ITool;
 import org.eclipse.cdt.managedbuilder.core.ManagedBuildManager;
 import org.eclipse.cdt.managedbuilder.core.ManagedBuilderCorePlugin;
+import org.eclipse.cdt.managedbuilder.internal.core.IndexedVector;
+import org.eclipse.cdt.managedbuilder.internal.core.MakefileChecksums;
 import org.eclipse.cdt.managedbuilder.internal.core.ManagedMakeMessages;
 import org.eclipse.cdt.managedbuilder.internal.core.Tool;
 import org.eclipse.cdt.managedbuilder.internal.macros.BuildMacroProvider;
@@ -848,6 +853,12 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			bytes = buffer.toString().getBytes();
 		}
 
+		// Skip reading the file if it has not been touched since it was written with the same content
+		IPath location = file.getLocation();
+		byte[] checksum = location != null && bytes != null ? computeChecksum(bytes) : null;
+		if (checksum != null && MakefileChecksums.isUnchanged(file.getProject(), location, checksum))
+			return;
+
 		byte[] oldBytes = null;
 		try (InputStream is = file.getContents(true)) {
 			oldBytes = is.readAllBytes();
@@ -861,6 +872,18 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			boolean force = true;
 			file.setContents(stream, force, false, null); // Don't record history
 		}
+
+		if (checksum != null) {
+			MakefileChecksums.written(file.getProject(), location, checksum);
+		}
+	}
+
+	private static byte[] computeChecksum(byte[] bytes) {
+		try {
+			return MessageDigest.getInstance("MD5").digest(bytes); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
 	}
 
 	/* (non-Javadoc)
@@ -1054,7 +1077,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 							handledInputExtensions.add(extensionName);
 							buildMacro = getSourceMacroName(extensionName).toString();
 							if (!buildSrcVars.containsKey(buildMacro)) {
-								buildSrcVars.put(buildMacro, new ArrayList<IPath>());
+								buildSrcVars.put(buildMacro, new IndexedVector<IPath>());
 							}
 							// Add any generated dependency file macros
 							IManagedDependencyGeneratorType depType = buildTool
@@ -1070,7 +1093,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 												(calcType != IManagedDependencyGeneratorType.TYPE_PREBUILD_COMMANDS)));
 									}
 									if (!buildOutVars.containsKey(buildMacro)) {
-										buildOutVars.put(buildMacro, new ArrayList<IPath>());
+										buildOutVars.put(buildMacro, new IndexedVector<IPath>());
 									}
 								}
 							}
@@ -1082,14 +1105,14 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 						for (IOutputType outputType : outTypes) {
 							buildMacro = outputType.getBuildVariable();
 							if (!buildOutVars.containsKey(buildMacro)) {
-								buildOutVars.put(buildMacro, new ArrayList<IPath>());
+								buildOutVars.put(buildMacro, new IndexedVector<IPath>());
 							}
 						}
 					} else {
 						// For support of pre-CDT 3.0 integrations.
 						buildMacro = OBJS_MACRO;
 						if (!buildOutVars.containsKey(buildMacro)) {
-							buildOutVars.put(buildMacro, new ArrayList<IPath>());
+							buildOutVars.put(buildMacro, new IndexedVector<IPath>());
 						}
 					}
 				}
@@ -1710,9 +1733,8 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		}
 
 		// We can't have duplicates in a makefile
-		if (getRuleList().contains(buildRule)) {
+		if (!IndexedVector.addIfAbsent(getRuleList(), buildRule)) {
 		} else {
-			getRuleList().add(buildRule);
 			buffer.append(buildRule).append(NEWLINE);
 			if (bTargetTool) {
 				buffer.append(TAB).append(AT).append(escapedEcho(MESSAGE_START_BUILD + WHITESPACE + OUT_MACRO));
@@ -1806,8 +1828,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 				String output = addlOutputs.get(i);
 				String depLine = output + COLON + WHITESPACE + primaryOutput + WHITESPACE + calculatedDependencies
 						+ NEWLINE;
-				if (!getDepLineList().contains(depLine)) {
-					getDepLineList().add(depLine);
+				if (IndexedVector.addIfAbsent(getDepLineList(), depLine)) {
 					buffer.append(depLine);
 				}
 			}
@@ -2296,10 +2317,9 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 		//  Add the resource to the list of all resources associated with a variable.
 		//  Do not allow duplicates - there is no reason to and it can be 'bad' -
 		//  e.g., having the same object in the OBJS list can cause duplicate symbol errors from the linker
-		if ((varList != null) && !(varList.contains(sourceLocation))) {
-			//  Since we don't know how these files will be used, we store them using a "location"
-			//  path rather than a relative path
-			varList.add(sourceLocation);
+		//  Since we don't know how these files will be used, we store them using a "location"
+		//  path rather than a relative path
+		if ((varList != null) && IndexedVector.addIfAbsent(varList, sourceLocation)) {
 			if (!buildVarToRuleStringMap.containsKey(varName)) {
 				//  TODO - is this an error?
 			} else {
@@ -2633,10 +2653,9 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 				+ WHITESPACE + escapeWhitespaces(relativePath + MODFILE_NAME);
 
 		// No duplicates in a makefile.  If we already have this rule, don't add it or the commands to build the file
-		if (getRuleList().contains(buildRule)) {
+		if (!IndexedVector.addIfAbsent(getRuleList(), buildRule)) {
 			//  TODO:  Should we assert that this is a pattern rule?
 		} else {
-			getRuleList().add(buildRule);
 
 			// Echo starting message
 			buffer.append(buildRule).append(NEWLINE);
@@ -2845,8 +2864,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 
 		if (calculatedDependencies != null) {
 			depLine = primaryOutputName + COLON + calculatedDependencies + NEWLINE;
-			if (!getDepLineList().contains(depLine)) {
-				getDepLineList().add(depLine);
+			if (IndexedVector.addIfAbsent(getDepLineList(), depLine)) {
 				addedDepLines = true;
 				buffer.append(depLine);
 			}
@@ -2869,8 +2887,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 			if (calculatedDependencies != null)
 				depLine += calculatedDependencies;
 			depLine += NEWLINE;
-			if (!getDepLineList().contains(depLine)) {
-				getDepLineList().add(depLine);
+			if (IndexedVector.addIfAbsent(getDepLineList(), depLine)) {
 				addedDepLines = true;
 				buffer.append(depLine);
 			}
@@ -2904,8 +2921,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 				}
 				depLine += COLON + WHITESPACE + (patternRule ? patternBuildRuleDependencies : buildRuleDependencies)
 						+ WHITESPACE + escapeWhitespaces(relativePath + MODFILE_NAME);
-				if (!getDepRuleList().contains(depLine)) {
-					getDepRuleList().add(depLine);
+				if (IndexedVector.addIfAbsent(getDepRuleList(), depLine)) {
 					addedDepLines = true;
 					buffer.append(depLine).append(NEWLINE);
 					buffer.append(TAB).append(AT)
@@ -4150,7 +4166,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 	 */
 	protected Vector<String> getRuleList() {
 		if (ruleList == null) {
-			ruleList = new Vector<>();
+			ruleList = new IndexedVector<>();
 		}
 		return ruleList;
 	}
@@ -4163,7 +4179,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 	 */
 	protected Vector<String> getDepLineList() {
 		if (depLineList == null) {
-			depLineList = new Vector<>();
+			depLineList = new IndexedVector<>();
 		}
 		return depLineList;
 	}
@@ -4176,7 +4192,7 @@ public class GnuMakefileGenerator implements IManagedBuilderMakefileGenerator2 {
 	 */
 	protected Vector<String> getDepRuleList() {
 		if (depRuleList == null) {
-			depRuleList = new Vector<>();
+			depRuleList = new IndexedVector<>();
 		}
 		return depRuleList;
 	}
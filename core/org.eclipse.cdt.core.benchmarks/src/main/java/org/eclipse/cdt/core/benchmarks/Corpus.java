@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IProblemBinding;
+import org.eclipse.cdt.core.dom.ast.gnu.c.GCCLanguage;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.model.AbstractLanguage;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * The source files the benchmarks operate on. The files are self-contained, they are checked
+ * into this module such that results can be compared across releases.
+ */
+public enum Corpus {
+	/** Templates in the style of a standard library header. */
+	TEMPLATES("templates.hpp", ParserLanguage.CPP),
+	/** Class hierarchies, overloads and namespaces. */
+	CLASSES("classes.cpp", ParserLanguage.CPP),
+	/** Recursive templates, type lists and constexpr functions. */
+	METAPROGRAMMING("metaprogramming.cpp", ParserLanguage.CPP),
+	/** C code that relies on macros. */
+	MACROS("macros.c", ParserLanguage.C);
+
+	/** The options the indexer uses for parsing. */
+	private static final int AST_OPTIONS = ILanguage.OPTION_NO_IMAGE_LOCATIONS
+			| ILanguage.OPTION_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS;
+
+	private final String fFileName;
+	private final ParserLanguage fLanguage;
+	private char[] fContents;
+
+	Corpus(String fileName, ParserLanguage language) {
+		fFileName = fileName;
+		fLanguage = language;
+	}
+
+	public String getFileName() {
+		return fFileName;
+	}
+
+	public ParserLanguage getLanguage() {
+		return fLanguage;
+	}
+
+	/**
+	 * Returns the contents of the file.
+	 */
+	public synchronized char[] getContents() {
+		if (fContents == null) {
+			try (InputStream in = Corpus.class.getResourceAsStream("corpus/" + fFileName)) { //$NON-NLS-1$
+				if (in == null)
+					throw new IllegalStateException("Missing corpus file " + fFileName); //$NON-NLS-1$
+				fContents = new String(in.readAllBytes(), StandardCharsets.UTF_8).toCharArray();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return fContents;
+	}
+
+	public FileContent createFileContent() {
+		return FileContent.create("/corpus/" + fFileName, getContents()); //$NON-NLS-1$
+	}
+
+	public AbstractLanguage getParserLanguage() {
+		return fLanguage == ParserLanguage.CPP ? GPPLanguage.getDefault() : GCCLanguage.getDefault();
+	}
+
+	/**
+	 * Preprocesses and parses the file the way the indexer does, without an index.
+	 */
+	public IASTTranslationUnit parse() throws CoreException {
+		return getParserLanguage().getASTTranslationUnit(createFileContent(), new ScannerInfo(),
+				IncludeFileContentProvider.getEmptyFilesProvider(), null, AST_OPTIONS, new NullLogService());
+	}
+
+	/**
+	 * Resolves all names of the given translation unit and returns the number of names that
+	 * could not be resolved.
+	 */
+	public static int resolveAllNames(IASTTranslationUnit ast) {
+		final int[] problems = new int[1];
+		ast.accept(new ASTVisitor(true) {
+			@Override
+			public int visit(IASTName name) {
+				if (name.resolveBinding() instanceof IProblemBinding) {
+					problems[0]++;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		return problems[0];
+	}
+}
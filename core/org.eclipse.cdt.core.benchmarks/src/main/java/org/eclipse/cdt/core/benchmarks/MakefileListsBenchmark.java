@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.List;
+import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.managedbuilder.internal.core.IndexedVector;
+import org.eclipse.core.runtime.IPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Collects the rules, dependency lines and build variable entries of a project with many source
+ * folders the way the managed build makefile generator does, without duplicates. Compares
+ * searching the lists, as the generator used to, with the {@link IndexedVector} it uses now.
+ * <p>
+ * The generator itself needs a workspace and the build model, which are not available outside
+ * of OSGi. The rest of its work is linear in the number of source files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MakefileListsBenchmark {
+	private static final int SOURCES_PER_FOLDER = 5;
+
+	@Param({ "200", "2000" })
+	public int folders;
+
+	private String[] fRules;
+	private String[] fDependencyLines;
+	private IPath[] fSources;
+	private IPath[] fObjects;
+
+	@Setup
+	public void setup() {
+		int count = folders * SOURCES_PER_FOLDER;
+		fRules = new String[count];
+		fDependencyLines = new String[count];
+		fSources = new IPath[count];
+		fObjects = new IPath[count];
+		for (int i = 0; i < count; i++) {
+			String folder = "src/folder" + i / SOURCES_PER_FOLDER;
+			// The sources of a folder share the pattern rule of the folder
+			fRules[i] = folder + "/%.o: ../" + folder + "/%.c";
+			fDependencyLines[i] = folder + "/source" + i + ".d";
+			fSources[i] = IPath.fromOSString("/project/" + folder + "/source" + i + ".c");
+			fObjects[i] = IPath.fromOSString("/project/Debug/" + folder + "/source" + i + ".o");
+		}
+	}
+
+	@Benchmark
+	public int searchedLists() {
+		return collect(new Vector<>(), new Vector<>(), new Vector<>(), new Vector<>());
+	}
+
+	@Benchmark
+	public int indexedLists() {
+		return collect(new IndexedVector<>(), new IndexedVector<>(), new IndexedVector<>(), new IndexedVector<>());
+	}
+
+	private int collect(List<String> rules, List<String> dependencyLines, List<IPath> sources, List<IPath> objects) {
+		for (int i = 0; i < fRules.length; i++) {
+			IndexedVector.addIfAbsent(rules, fRules[i]);
+			IndexedVector.addIfAbsent(dependencyLines, fDependencyLines[i]);
+			IndexedVector.addIfAbsent(sources, fSources[i]);
+			IndexedVector.addIfAbsent(objects, fObjects[i]);
+		}
+		return rules.size() + dependencyLines.size() + sources.size() + objects.size();
+	}
+}
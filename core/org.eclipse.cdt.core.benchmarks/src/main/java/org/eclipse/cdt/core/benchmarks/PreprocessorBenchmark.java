@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.parser.IScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.c.GCCScannerExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.parser.EndOfFileException;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the {@link CPreprocessor} over the files of the corpus, which includes the expansion of
+ * macros by the macro expander.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreprocessorBenchmark {
+	@Param({ "MACROS", "TEMPLATES" })
+	public Corpus corpus;
+
+	private ScannerInfo fScannerInfo;
+	private IScannerExtensionConfiguration fConfiguration;
+
+	@Setup
+	public void setup() {
+		fScannerInfo = new ScannerInfo();
+		fConfiguration = corpus.getLanguage() == ParserLanguage.CPP
+				? GPPScannerExtensionConfiguration.getInstance(fScannerInfo)
+				: GCCScannerExtensionConfiguration.getInstance(fScannerInfo);
+	}
+
+	@Benchmark
+	public int preprocess() {
+		CPreprocessor preprocessor = new CPreprocessor(corpus.createFileContent(), fScannerInfo,
+				corpus.getLanguage(), new NullLogService(), fConfiguration,
+				IncludeFileContentProvider.getEmptyFilesProvider());
+		preprocessor.setComputeImageLocations(false);
+		int count = 0;
+		try {
+			while (true) {
+				preprocessor.nextToken();
+				count++;
+			}
+		} catch (EndOfFileException e) {
+		}
+		return count;
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.IVariable;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Resolves the names of a translation unit using template metaprogramming and computes the
+ * values of its constexpr variables, which is dominated by the instantiation of templates in
+ * {@code CPPTemplates} and by constexpr evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateInstantiationBenchmark {
+	private IASTTranslationUnit fAST;
+
+	@Setup(Level.Invocation)
+	public void parse() throws CoreException {
+		fAST = Corpus.METAPROGRAMMING.parse();
+	}
+
+	@Benchmark
+	public long instantiate() {
+		final long[] sum = new long[1];
+		fAST.accept(new ASTVisitor(true) {
+			@Override
+			public int visit(IASTName name) {
+				IBinding binding = name.resolveBinding();
+				if (name.isDefinition() && binding instanceof IVariable variable) {
+					IValue value = variable.getInitialValue();
+					Number number = value == null ? null : value.numberValue();
+					if (number != null) {
+						sum[0] += number.longValue();
+					}
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		return sum[0];
+	}
+}
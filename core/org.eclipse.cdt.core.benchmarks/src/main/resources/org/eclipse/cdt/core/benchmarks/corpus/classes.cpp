@@ -0,0 +1,341 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+// Object oriented C++ that stresses name lookup: nested namespaces, using directives and
+// declarations, class hierarchies with virtual and multiple inheritance, overloaded functions
+// and operators, argument dependent lookup and implicit conversions.
+
+namespace geometry {
+inline namespace v2 {
+
+struct Vector {
+	double x, y, z;
+
+	Vector() : x(0), y(0), z(0) {}
+	Vector(double x, double y, double z) : x(x), y(y), z(z) {}
+
+	Vector& operator+=(const Vector& v) { x += v.x; y += v.y; z += v.z; return *this; }
+	Vector& operator-=(const Vector& v) { x -= v.x; y -= v.y; z -= v.z; return *this; }
+	Vector& operator*=(double f) { x *= f; y *= f; z *= f; return *this; }
+	double length2() const { return x * x + y * y + z * z; }
+};
+
+Vector operator+(Vector a, const Vector& b) { return a += b; }
+Vector operator-(Vector a, const Vector& b) { return a -= b; }
+Vector operator*(Vector a, double f) { return a *= f; }
+Vector operator*(double f, Vector a) { return a *= f; }
+double dot(const Vector& a, const Vector& b) { return a.x * b.x + a.y * b.y + a.z * b.z; }
+Vector cross(const Vector& a, const Vector& b) {
+	return Vector(a.y * b.z - a.z * b.y, a.z * b.x - a.x * b.z, a.x * b.y - a.y * b.x);
+}
+
+struct Ray {
+	Vector origin;
+	Vector direction;
+	Vector at(double t) const { return origin + direction * t; }
+};
+
+struct Box {
+	Vector min, max;
+	bool contains(const Vector& p) const {
+		return p.x >= min.x && p.x <= max.x && p.y >= min.y && p.y <= max.y && p.z >= min.z && p.z <= max.z;
+	}
+	void extend(const Vector& p);
+};
+
+void Box::extend(const Vector& p) {
+	if (p.x < min.x) min.x = p.x;
+	if (p.y < min.y) min.y = p.y;
+	if (p.z < min.z) min.z = p.z;
+	if (p.x > max.x) max.x = p.x;
+	if (p.y > max.y) max.y = p.y;
+	if (p.z > max.z) max.z = p.z;
+}
+
+} // namespace v2
+} // namespace geometry
+
+namespace scene {
+
+using geometry::Vector;
+using geometry::Ray;
+using geometry::Box;
+
+enum class Kind { sphere, plane, mesh, group };
+
+class Visitor;
+
+class Node {
+public:
+	explicit Node(const char* name) : fName(name), fParent(nullptr) {}
+	virtual ~Node() {}
+
+	virtual Kind kind() const = 0;
+	virtual bool intersect(const Ray& ray, double& t) const = 0;
+	virtual Box bounds() const = 0;
+	virtual void accept(Visitor& visitor);
+
+	const char* name() const { return fName; }
+	Node* parent() const { return fParent; }
+	void setParent(Node* parent) { fParent = parent; }
+
+protected:
+	const char* fName;
+	Node* fParent;
+};
+
+class Sphere;
+class Plane;
+class Mesh;
+class Group;
+
+class Visitor {
+public:
+	virtual ~Visitor() {}
+	virtual void visit(Node& node) {}
+	virtual void visit(Sphere& sphere);
+	virtual void visit(Plane& plane);
+	virtual void visit(Mesh& mesh);
+	virtual void visit(Group& group);
+};
+
+void Node::accept(Visitor& visitor) { visitor.visit(*this); }
+
+class Sphere : public Node {
+public:
+	Sphere(const char* name, const Vector& center, double radius) : Node(name), fCenter(center), fRadius(radius) {}
+	Kind kind() const override { return Kind::sphere; }
+	bool intersect(const Ray& ray, double& t) const override {
+		Vector oc = ray.origin - fCenter;
+		double b = dot(oc, ray.direction);
+		double c = oc.length2() - fRadius * fRadius;
+		double d = b * b - c;
+		if (d < 0)
+			return false;
+		t = -b - d;
+		return t > 0;
+	}
+	Box bounds() const override {
+		Vector r(fRadius, fRadius, fRadius);
+		return Box{fCenter - r, fCenter + r};
+	}
+	void accept(Visitor& visitor) override { visitor.visit(*this); }
+
+private:
+	Vector fCenter;
+	double fRadius;
+};
+
+class Plane : public Node {
+public:
+	Plane(const char* name, const Vector& normal, double offset) : Node(name), fNormal(normal), fOffset(offset) {}
+	Kind kind() const override { return Kind::plane; }
+	bool intersect(const Ray& ray, double& t) const override {
+		double denominator = dot(fNormal, ray.direction);
+		if (denominator == 0)
+			return false;
+		t = (fOffset - dot(fNormal, ray.origin)) / denominator;
+		return t > 0;
+	}
+	Box bounds() const override { return Box{Vector(-1e9, -1e9, -1e9), Vector(1e9, 1e9, 1e9)}; }
+	void accept(Visitor& visitor) override { visitor.visit(*this); }
+
+private:
+	Vector fNormal;
+	double fOffset;
+};
+
+struct Triangle {
+	Vector a, b, c;
+	Vector normal() const { return cross(b - a, c - a); }
+};
+
+class Mesh : public Node {
+public:
+	static const int MAX_TRIANGLES = 64;
+
+	explicit Mesh(const char* name) : Node(name), fCount(0) {}
+	Kind kind() const override { return Kind::mesh; }
+	void add(const Triangle& triangle) {
+		if (fCount < MAX_TRIANGLES)
+			fTriangles[fCount++] = triangle;
+	}
+	bool intersect(const Ray& ray, double& t) const override {
+		bool hit = false;
+		for (int i = 0; i < fCount; ++i) {
+			const Triangle& tri = fTriangles[i];
+			Vector n = tri.normal();
+			double denominator = dot(n, ray.direction);
+			if (denominator != 0) {
+				double candidate = dot(n, tri.a - ray.origin) / denominator;
+				if (candidate > 0 && (!hit || candidate < t)) {
+					t = candidate;
+					hit = true;
+				}
+			}
+		}
+		return hit;
+	}
+	Box bounds() const override {
+		Box box{fTriangles[0].a, fTriangles[0].a};
+		for (int i = 0; i < fCount; ++i) {
+			box.extend(fTriangles[i].a);
+			box.extend(fTriangles[i].b);
+			box.extend(fTriangles[i].c);
+		}
+		return box;
+	}
+	void accept(Visitor& visitor) override { visitor.visit(*this); }
+
+private:
+	Triangle fTriangles[MAX_TRIANGLES];
+	int fCount;
+};
+
+class Group : public Node {
+public:
+	static const int MAX_CHILDREN = 32;
+
+	explicit Group(const char* name) : Node(name), fCount(0) {}
+	Kind kind() const override { return Kind::group; }
+	void add(Node* child) {
+		if (fCount < MAX_CHILDREN) {
+			fChildren[fCount++] = child;
+			child->setParent(this);
+		}
+	}
+	int size() const { return fCount; }
+	Node* child(int i) const { return fChildren[i]; }
+	bool intersect(const Ray& ray, double& t) const override {
+		bool hit = false;
+		for (int i = 0; i < fCount; ++i) {
+			double candidate;
+			if (fChildren[i]->intersect(ray, candidate) && (!hit || candidate < t)) {
+				t = candidate;
+				hit = true;
+			}
+		}
+		return hit;
+	}
+	Box bounds() const override {
+		Box box = fChildren[0]->bounds();
+		for (int i = 1; i < fCount; ++i) {
+			Box b = fChildren[i]->bounds();
+			box.extend(b.min);
+			box.extend(b.max);
+		}
+		return box;
+	}
+	void accept(Visitor& visitor) override {
+		visitor.visit(*this);
+		for (int i = 0; i < fCount; ++i)
+			fChildren[i]->accept(visitor);
+	}
+
+private:
+	Node* fChildren[MAX_CHILDREN];
+	int fCount;
+};
+
+void Visitor::visit(Sphere& sphere) { visit(static_cast<Node&>(sphere)); }
+void Visitor::visit(Plane& plane) { visit(static_cast<Node&>(plane)); }
+void Visitor::visit(Mesh& mesh) { visit(static_cast<Node&>(mesh)); }
+void Visitor::visit(Group& group) { visit(static_cast<Node&>(group)); }
+
+class Counter : public Visitor {
+public:
+	using Visitor::visit;
+	void visit(Node& node) override { ++fNodes; }
+	void visit(Mesh& mesh) override { ++fMeshes; Visitor::visit(mesh); }
+	int nodes() const { return fNodes; }
+	int meshes() const { return fMeshes; }
+
+private:
+	int fNodes = 0;
+	int fMeshes = 0;
+};
+
+namespace io {
+
+struct Stream {
+	Stream& operator<<(const char* text);
+	Stream& operator<<(int value);
+	Stream& operator<<(double value);
+};
+
+Stream& operator<<(Stream& out, const Vector& v) { return out << "(" << v.x << ", " << v.y << ", " << v.z << ")"; }
+Stream& operator<<(Stream& out, const Box& box) { return out << box.min << " - " << box.max; }
+Stream& operator<<(Stream& out, Kind kind) {
+	switch (kind) {
+	case Kind::sphere: return out << "sphere";
+	case Kind::plane: return out << "plane";
+	case Kind::mesh: return out << "mesh";
+	case Kind::group: return out << "group";
+	}
+	return out;
+}
+
+class Printer : public Visitor {
+public:
+	explicit Printer(Stream& out) : fOut(out) {}
+	using Visitor::visit;
+	void visit(Node& node) override {
+		for (Node* p = node.parent(); p; p = p->parent())
+			fOut << "  ";
+		fOut << node.name() << ": " << node.kind() << " " << node.bounds() << "\n";
+	}
+
+private:
+	Stream& fOut;
+};
+
+} // namespace io
+
+double trace(const Group& root, const Ray& ray, int depth) {
+	double t;
+	if (depth <= 0 || !root.intersect(ray, t))
+		return 0;
+	Vector hit = ray.at(t);
+	Ray reflected{hit, ray.direction * -1.0};
+	return 0.5 + 0.5 * trace(root, reflected, depth - 1);
+}
+
+int render(io::Stream& out) {
+	Group root("root");
+	Sphere s1("s1", Vector(0, 0, 5), 1);
+	Sphere s2("s2", Vector(2, 0, 6), 1.5);
+	Plane floor("floor", Vector(0, 1, 0), -1);
+	Mesh mesh("mesh");
+	mesh.add(Triangle{Vector(0, 0, 0), Vector(1, 0, 0), Vector(0, 1, 0)});
+	Group objects("objects");
+	objects.add(&s1);
+	objects.add(&s2);
+	objects.add(&mesh);
+	root.add(&objects);
+	root.add(&floor);
+
+	Counter counter;
+	root.accept(counter);
+	io::Printer printer(out);
+	root.accept(printer);
+
+	double sum = 0;
+	for (int y = 0; y < 8; ++y) {
+		for (int x = 0; x < 8; ++x) {
+			Ray ray{Vector(0, 0, 0), Vector(x / 8.0 - 0.5, y / 8.0 - 0.5, 1)};
+			sum += trace(root, ray, 3);
+		}
+	}
+	out << "nodes: " << counter.nodes() << ", meshes: " << counter.meshes() << ", light: " << sum << "\n";
+	return counter.nodes();
+}
+
+} // namespace scene
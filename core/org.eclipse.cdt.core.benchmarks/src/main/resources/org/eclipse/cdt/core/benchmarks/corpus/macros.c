@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+/* C code that relies on the preprocessor: X-macros, token pasting, stringification,
+ * variadic macros, repetition macros and conditional compilation. */
+
+#define CAT(a, b) CAT_I(a, b)
+#define CAT_I(a, b) a##b
+#define STR(x) STR_I(x)
+#define STR_I(x) #x
+#define EMPTY()
+#define DEFER(id) id EMPTY()
+#define EXPAND(...) __VA_ARGS__
+
+#define REPEAT_0(m, d)
+#define REPEAT_1(m, d) REPEAT_0(m, d) m(0, d)
+#define REPEAT_2(m, d) REPEAT_1(m, d) m(1, d)
+#define REPEAT_3(m, d) REPEAT_2(m, d) m(2, d)
+#define REPEAT_4(m, d) REPEAT_3(m, d) m(3, d)
+#define REPEAT_5(m, d) REPEAT_4(m, d) m(4, d)
+#define REPEAT_6(m, d) REPEAT_5(m, d) m(5, d)
+#define REPEAT_7(m, d) REPEAT_6(m, d) m(6, d)
+#define REPEAT_8(m, d) REPEAT_7(m, d) m(7, d)
+#define REPEAT_9(m, d) REPEAT_8(m, d) m(8, d)
+#define REPEAT_10(m, d) REPEAT_9(m, d) m(9, d)
+#define REPEAT_11(m, d) REPEAT_10(m, d) m(10, d)
+#define REPEAT_12(m, d) REPEAT_11(m, d) m(11, d)
+#define REPEAT_13(m, d) REPEAT_12(m, d) m(12, d)
+#define REPEAT_14(m, d) REPEAT_13(m, d) m(13, d)
+#define REPEAT_15(m, d) REPEAT_14(m, d) m(14, d)
+#define REPEAT_16(m, d) REPEAT_15(m, d) m(15, d)
+#define REPEAT(n, m, d) CAT(REPEAT_, n)(m, d)
+
+#define COUNT_ARGS(...) COUNT_ARGS_I(__VA_ARGS__, 8, 7, 6, 5, 4, 3, 2, 1, 0)
+#define COUNT_ARGS_I(_1, _2, _3, _4, _5, _6, _7, _8, n, ...) n
+
+#define MIN(a, b) ((a) < (b) ? (a) : (b))
+#define MAX(a, b) ((a) > (b) ? (a) : (b))
+#define CLAMP(x, lo, hi) MIN(MAX(x, lo), hi)
+#define ARRAY_SIZE(a) (sizeof(a) / sizeof((a)[0]))
+#define UNUSED(x) ((void) (x))
+
+#define LOG_LEVEL 2
+#define LOG(level, fmt, ...) \
+	do { \
+		if ((level) <= LOG_LEVEL) \
+			log_message(__FILE__, __LINE__, STR(level), fmt, ##__VA_ARGS__); \
+	} while (0)
+
+#if defined(__GNUC__) && !defined(NO_INLINE)
+#define STATIC_INLINE static inline __attribute__((always_inline))
+#elif defined(_MSC_VER)
+#define STATIC_INLINE static __forceinline
+#else
+#define STATIC_INLINE static
+#endif
+
+#ifndef BUFFER_SIZE
+#define BUFFER_SIZE (4 * 1024)
+#endif
+
+#if BUFFER_SIZE > 1024 && LOG_LEVEL >= 1
+#define CHECKED 1
+#else
+#define CHECKED 0
+#endif
+
+typedef unsigned int uint32;
+typedef unsigned long size_type;
+
+void log_message(const char *file, int line, const char *level, const char *fmt, ...);
+
+/* X-macro table of opcodes. */
+#define OPCODES(X) \
+	X(NOP, 0, "no operation") \
+	X(LOAD, 2, "load register") \
+	X(STORE, 2, "store register") \
+	X(ADD, 3, "add") \
+	X(SUB, 3, "subtract") \
+	X(MUL, 3, "multiply") \
+	X(DIV, 3, "divide") \
+	X(AND, 3, "bitwise and") \
+	X(OR, 3, "bitwise or") \
+	X(XOR, 3, "bitwise xor") \
+	X(SHL, 3, "shift left") \
+	X(SHR, 3, "shift right") \
+	X(JMP, 1, "jump") \
+	X(JZ, 2, "jump if zero") \
+	X(CALL, 1, "call") \
+	X(RET, 0, "return")
+
+#define OPCODE_ENUM(name, operands, description) CAT(OP_, name),
+enum opcode {
+	OPCODES(OPCODE_ENUM)
+	OP_COUNT
+};
+
+#define OPCODE_NAME(name, operands, description) STR(name),
+static const char *opcode_names[] = { OPCODES(OPCODE_NAME) };
+
+#define OPCODE_OPERANDS(name, operands, description) operands,
+static const int opcode_operands[] = { OPCODES(OPCODE_OPERANDS) };
+
+#define OPCODE_DESCRIPTION(name, operands, description) description,
+static const char *opcode_descriptions[] = { OPCODES(OPCODE_DESCRIPTION) };
+
+/* Generated register accessors. */
+#define DECLARE_REGISTER(i, prefix) uint32 CAT(prefix, i);
+struct registers {
+	REPEAT(16, DECLARE_REGISTER, r)
+	uint32 pc;
+	uint32 flags;
+};
+
+#define REGISTER_GETTER(i, prefix) \
+	STATIC_INLINE uint32 CAT(get_, CAT(prefix, i))(const struct registers *regs) { \
+		return regs->CAT(prefix, i); \
+	}
+REPEAT(16, REGISTER_GETTER, r)
+
+#define REGISTER_CASE(i, prefix) \
+	case i: \
+		return regs->CAT(prefix, i);
+uint32 get_register(const struct registers *regs, int index) {
+	switch (index) {
+		REPEAT(16, REGISTER_CASE, r)
+	default:
+		LOG(1, "bad register %d", index);
+		return 0;
+	}
+}
+
+/* Bit field helpers. */
+#define BIT(n) (1u << (n))
+#define MASK(width) (BIT(width) - 1u)
+#define FIELD_GET(value, shift, width) (((value) >> (shift)) & MASK(width))
+#define FIELD_SET(value, shift, width, field) \
+	(((value) & ~(MASK(width) << (shift))) | (((field) & MASK(width)) << (shift)))
+
+#define FLAG_ZERO 0
+#define FLAG_CARRY 1
+#define FLAG_OVERFLOW 2
+#define FLAG_NEGATIVE 3
+#define SET_FLAG(regs, flag, on) ((regs)->flags = FIELD_SET((regs)->flags, CAT(FLAG_, flag), 1, on))
+#define GET_FLAG(regs, flag) FIELD_GET((regs)->flags, CAT(FLAG_, flag), 1)
+
+#define BINARY_OP(name, op) \
+	STATIC_INLINE void CAT(exec_, name)(struct registers *regs, int d, int a, int b) { \
+		uint32 result = get_register(regs, a) op get_register(regs, b); \
+		SET_FLAG(regs, ZERO, result == 0); \
+		SET_FLAG(regs, NEGATIVE, FIELD_GET(result, 31, 1)); \
+		UNUSED(d); \
+		LOG(2, STR(name) " r%d = %u", d, result); \
+	}
+
+BINARY_OP(add, +)
+BINARY_OP(sub, -)
+BINARY_OP(mul, *)
+BINARY_OP(and, &)
+BINARY_OP(or, |)
+BINARY_OP(xor, ^)
+BINARY_OP(shl, <<)
+BINARY_OP(shr, >>)
+
+struct buffer {
+	char data[BUFFER_SIZE];
+	size_type length;
+};
+
+STATIC_INLINE size_type buffer_append(struct buffer *buffer, const char *text, size_type length) {
+	size_type available = ARRAY_SIZE(buffer->data) - buffer->length;
+	size_type n = MIN(length, available);
+	size_type i;
+	for (i = 0; i < n; i++)
+		buffer->data[buffer->length + i] = text[i];
+	buffer->length += n;
+#if CHECKED
+	if (n < length)
+		LOG(1, "buffer overflow, %lu bytes dropped", length - n);
+#endif
+	return n;
+}
+
+int disassemble(const unsigned char *code, size_type length, struct buffer *out) {
+	size_type pc = 0;
+	int count = 0;
+	while (pc < length) {
+		int op = CLAMP(code[pc], 0, OP_COUNT - 1);
+		const char *name = opcode_names[op];
+		size_type name_length = 0;
+		while (name[name_length])
+			name_length++;
+		buffer_append(out, name, name_length);
+		buffer_append(out, "\n", 1);
+		LOG(2, "%s: %s (%d operands)", name, opcode_descriptions[op], opcode_operands[op]);
+		pc += 1 + opcode_operands[op];
+		count++;
+	}
+	LOG(1, "%d instructions, %d arguments counted", count, COUNT_ARGS(a, b, c, d, e));
+	return count;
+}
+
+#undef BINARY_OP
+#undef REGISTER_CASE
+#undef REGISTER_GETTER
+#undef DECLARE_REGISTER
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+// Template metaprogramming that requires many instantiations: recursive class templates,
+// type lists, integer sequences, SFINAE, variadic templates and constexpr functions.
+
+typedef unsigned long size_t;
+
+template <typename T, T v>
+struct integral_constant {
+	static constexpr T value = v;
+	typedef integral_constant type;
+};
+
+template <bool B> using bool_constant = integral_constant<bool, B>;
+typedef bool_constant<true> true_type;
+typedef bool_constant<false> false_type;
+
+template <typename T, typename U> struct is_same : false_type {};
+template <typename T> struct is_same<T, T> : true_type {};
+
+template <bool B, typename T = void> struct enable_if {};
+template <typename T> struct enable_if<true, T> { typedef T type; };
+
+template <bool B, typename T, typename F> struct conditional { typedef T type; };
+template <typename T, typename F> struct conditional<false, T, F> { typedef F type; };
+
+// Recursive computations.
+template <int N> struct fibonacci : integral_constant<long, fibonacci<N - 1>::value + fibonacci<N - 2>::value> {};
+template <> struct fibonacci<0> : integral_constant<long, 0> {};
+template <> struct fibonacci<1> : integral_constant<long, 1> {};
+
+template <int N> struct factorial : integral_constant<long, N * factorial<N - 1>::value> {};
+template <> struct factorial<0> : integral_constant<long, 1> {};
+
+template <long A, long B> struct gcd : gcd<B, A % B> {};
+template <long A> struct gcd<A, 0> : integral_constant<long, A> {};
+
+template <int N, int D = 2>
+struct is_prime : bool_constant<(N % D != 0) && is_prime<N, D + 1>::value> {};
+template <int N> struct is_prime<N, N> : true_type {};
+template <> struct is_prime<2, 2> : true_type {};
+template <> struct is_prime<1, 2> : false_type {};
+
+constexpr long fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+constexpr long power(long base, int exp) { return exp == 0 ? 1 : base * power(base, exp - 1); }
+constexpr int count_bits(unsigned long v) { return v == 0 ? 0 : int(v & 1) + count_bits(v >> 1); }
+
+// Type lists.
+template <typename... Ts> struct type_list {};
+
+template <typename List> struct size;
+template <typename... Ts> struct size<type_list<Ts...>> : integral_constant<size_t, sizeof...(Ts)> {};
+
+template <typename List, typename T> struct push_front;
+template <typename... Ts, typename T> struct push_front<type_list<Ts...>, T> { typedef type_list<T, Ts...> type; };
+
+template <typename List, typename T> struct push_back;
+template <typename... Ts, typename T> struct push_back<type_list<Ts...>, T> { typedef type_list<Ts..., T> type; };
+
+template <typename List, size_t I> struct at;
+template <typename T, typename... Ts> struct at<type_list<T, Ts...>, 0> { typedef T type; };
+template <typename T, typename... Ts, size_t I>
+struct at<type_list<T, Ts...>, I> : at<type_list<Ts...>, I - 1> {};
+
+template <typename List> struct reverse;
+template <> struct reverse<type_list<>> { typedef type_list<> type; };
+template <typename T, typename... Ts>
+struct reverse<type_list<T, Ts...>> {
+	typedef typename push_back<typename reverse<type_list<Ts...>>::type, T>::type type;
+};
+
+template <typename List, typename T> struct index_of;
+template <typename T, typename... Ts> struct index_of<type_list<T, Ts...>, T> : integral_constant<size_t, 0> {};
+template <typename U, typename... Ts, typename T>
+struct index_of<type_list<U, Ts...>, T> : integral_constant<size_t, 1 + index_of<type_list<Ts...>, T>::value> {};
+
+template <template <typename> class F, typename List> struct transform;
+template <template <typename> class F, typename... Ts>
+struct transform<F, type_list<Ts...>> { typedef type_list<typename F<Ts>::type...> type; };
+
+template <template <typename> class P, typename List> struct filter;
+template <template <typename> class P> struct filter<P, type_list<>> { typedef type_list<> type; };
+template <template <typename> class P, typename T, typename... Ts>
+struct filter<P, type_list<T, Ts...>> {
+	typedef typename filter<P, type_list<Ts...>>::type rest;
+	typedef typename conditional<P<T>::value, typename push_front<rest, T>::type, rest>::type type;
+};
+
+template <typename T> struct add_pointer { typedef T* type; };
+template <typename T> struct is_pointer : false_type {};
+template <typename T> struct is_pointer<T*> : true_type {};
+template <typename T> struct is_not_pointer : bool_constant<!is_pointer<T>::value> {};
+
+typedef type_list<char, short, int, long, float, double, char*, int*> types;
+typedef typename reverse<types>::type reversed;
+typedef typename transform<add_pointer, types>::type pointers;
+typedef typename filter<is_not_pointer, types>::type values;
+
+// Integer sequences.
+template <size_t... Is> struct index_sequence {};
+template <size_t N, size_t... Is> struct make_index_sequence_impl : make_index_sequence_impl<N - 1, N - 1, Is...> {};
+template <size_t... Is> struct make_index_sequence_impl<0, Is...> { typedef index_sequence<Is...> type; };
+template <size_t N> using make_index_sequence = typename make_index_sequence_impl<N>::type;
+
+constexpr size_t sum_of() { return 0; }
+template <typename... Ts>
+constexpr size_t sum_of(size_t first, Ts... rest) { return first + sum_of(rest...); }
+
+template <size_t... Is>
+constexpr size_t sum(index_sequence<Is...>) {
+	return sum_of(Is...);
+}
+
+// SFINAE and overload resolution on templates.
+template <typename T>
+typename enable_if<is_pointer<T>::value, int>::type classify(T) { return 1; }
+template <typename T>
+typename enable_if<!is_pointer<T>::value, int>::type classify(T) { return 2; }
+
+template <typename T, typename = void> struct has_value_type : false_type {};
+template <typename T> struct has_value_type<T, typename enable_if<sizeof(typename T::value_type) != 0>::type> : true_type {};
+
+struct with_value_type { typedef int value_type; };
+struct without_value_type {};
+
+// Variadic recursion.
+template <typename T> constexpr T max_of(T v) { return v; }
+template <typename T, typename... Ts>
+constexpr T max_of(T v, Ts... vs) {
+	return v > max_of(vs...) ? v : max_of(vs...);
+}
+
+template <typename... Ts> struct max_size;
+template <typename T> struct max_size<T> : integral_constant<size_t, sizeof(T)> {};
+template <typename T, typename... Ts>
+struct max_size<T, Ts...> : integral_constant<size_t,
+		(sizeof(T) > max_size<Ts...>::value ? sizeof(T) : max_size<Ts...>::value)> {};
+
+template <typename... Ts>
+struct variant_storage {
+	alignas(8) char data[max_size<Ts...>::value];
+	size_t index;
+
+	template <typename T>
+	void set(const T&) { index = index_of<type_list<Ts...>, T>::value; }
+};
+
+// Values that require the instantiations above.
+constexpr long fib20 = fibonacci<20>::value;
+constexpr long fib20f = fib(20);
+constexpr long fact12 = factorial<12>::value;
+constexpr long gcd_value = gcd<1071, 462>::value;
+constexpr bool prime97 = is_prime<97>::value;
+constexpr bool prime91 = is_prime<91>::value;
+constexpr long pow_value = power(3, 15);
+constexpr int bits = count_bits(0xF0F0F0F0UL);
+constexpr size_t type_count = size<types>::value;
+constexpr size_t value_count = size<values>::value;
+constexpr size_t pointer_index = index_of<pointers, double*>::value;
+constexpr bool reversed_ok = is_same<typename at<reversed, 0>::type, int*>::value;
+constexpr size_t sequence_sum = sum(make_index_sequence<32>());
+constexpr bool detects_value_type = has_value_type<with_value_type>::value && !has_value_type<without_value_type>::value;
+constexpr int largest = max_of(3, 9, 4, 7, 1, 8);
+constexpr size_t storage_size = max_size<char, double, long, short>::value;
+
+static_assert(fib20 == fib20f, "fibonacci");
+static_assert(prime97 && !prime91, "primes");
+static_assert(type_count == 8, "size");
+
+int use() {
+	int* p = nullptr;
+	variant_storage<char, int, double> storage;
+	storage.set(1.0);
+	return classify(p) + classify(42) + int(storage.index) + largest;
+}
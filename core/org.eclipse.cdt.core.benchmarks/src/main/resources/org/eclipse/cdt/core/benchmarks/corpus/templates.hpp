@@ -0,0 +1,474 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+// A header in the style of a standard library implementation: type traits, an allocator,
+// containers with iterators, a tuple and algorithms, all defined as templates.
+
+#ifndef BENCH_TEMPLATES_HPP
+#define BENCH_TEMPLATES_HPP
+
+#define BENCH_NOEXCEPT noexcept
+#define BENCH_CONSTEXPR constexpr
+#define BENCH_INLINE inline
+
+namespace bench {
+
+typedef unsigned long size_t;
+typedef long ptrdiff_t;
+
+template <typename T, T v>
+struct integral_constant {
+	static constexpr T value = v;
+	typedef T value_type;
+	typedef integral_constant type;
+	constexpr operator value_type() const BENCH_NOEXCEPT { return value; }
+	constexpr value_type operator()() const BENCH_NOEXCEPT { return value; }
+};
+
+typedef integral_constant<bool, true> true_type;
+typedef integral_constant<bool, false> false_type;
+
+template <bool B>
+using bool_constant = integral_constant<bool, B>;
+
+template <typename T, typename U> struct is_same : false_type {};
+template <typename T> struct is_same<T, T> : true_type {};
+
+template <typename T> struct remove_const { typedef T type; };
+template <typename T> struct remove_const<const T> { typedef T type; };
+template <typename T> struct remove_volatile { typedef T type; };
+template <typename T> struct remove_volatile<volatile T> { typedef T type; };
+template <typename T> struct remove_cv {
+	typedef typename remove_volatile<typename remove_const<T>::type>::type type;
+};
+template <typename T> using remove_cv_t = typename remove_cv<T>::type;
+
+template <typename T> struct remove_reference { typedef T type; };
+template <typename T> struct remove_reference<T&> { typedef T type; };
+template <typename T> struct remove_reference<T&&> { typedef T type; };
+template <typename T> using remove_reference_t = typename remove_reference<T>::type;
+
+template <typename T> struct remove_pointer { typedef T type; };
+template <typename T> struct remove_pointer<T*> { typedef T type; };
+template <typename T> struct remove_pointer<T* const> { typedef T type; };
+
+template <typename T> struct is_pointer_helper : false_type {};
+template <typename T> struct is_pointer_helper<T*> : true_type {};
+template <typename T> struct is_pointer : is_pointer_helper<remove_cv_t<T>> {};
+
+template <typename T> struct is_lvalue_reference : false_type {};
+template <typename T> struct is_lvalue_reference<T&> : true_type {};
+template <typename T> struct is_rvalue_reference : false_type {};
+template <typename T> struct is_rvalue_reference<T&&> : true_type {};
+
+template <typename T> struct is_integral_helper : false_type {};
+template <> struct is_integral_helper<bool> : true_type {};
+template <> struct is_integral_helper<char> : true_type {};
+template <> struct is_integral_helper<short> : true_type {};
+template <> struct is_integral_helper<int> : true_type {};
+template <> struct is_integral_helper<long> : true_type {};
+template <> struct is_integral_helper<unsigned char> : true_type {};
+template <> struct is_integral_helper<unsigned short> : true_type {};
+template <> struct is_integral_helper<unsigned int> : true_type {};
+template <> struct is_integral_helper<unsigned long> : true_type {};
+template <typename T> struct is_integral : is_integral_helper<remove_cv_t<T>> {};
+
+template <bool B, typename T = void> struct enable_if {};
+template <typename T> struct enable_if<true, T> { typedef T type; };
+template <bool B, typename T = void> using enable_if_t = typename enable_if<B, T>::type;
+
+template <bool B, typename T, typename F> struct conditional { typedef T type; };
+template <typename T, typename F> struct conditional<false, T, F> { typedef F type; };
+template <bool B, typename T, typename F> using conditional_t = typename conditional<B, T, F>::type;
+
+template <typename T> struct add_rvalue_reference { typedef T&& type; };
+template <typename T> typename add_rvalue_reference<T>::type declval() BENCH_NOEXCEPT;
+
+template <typename T>
+BENCH_CONSTEXPR T&& forward(remove_reference_t<T>& t) BENCH_NOEXCEPT {
+	return static_cast<T&&>(t);
+}
+
+template <typename T>
+BENCH_CONSTEXPR remove_reference_t<T>&& move(T&& t) BENCH_NOEXCEPT {
+	return static_cast<remove_reference_t<T>&&>(t);
+}
+
+template <typename T>
+void swap(T& a, T& b) {
+	T tmp = move(a);
+	a = move(b);
+	b = move(tmp);
+}
+
+template <typename T>
+struct allocator {
+	typedef T value_type;
+	typedef T* pointer;
+	typedef const T* const_pointer;
+	typedef size_t size_type;
+
+	template <typename U> struct rebind { typedef allocator<U> other; };
+
+	allocator() BENCH_NOEXCEPT {}
+	template <typename U> allocator(const allocator<U>&) BENCH_NOEXCEPT {}
+
+	pointer allocate(size_type n) { return static_cast<pointer>(::operator new(n * sizeof(T))); }
+	void deallocate(pointer p, size_type) { ::operator delete(p); }
+};
+
+template <typename T1, typename T2>
+struct pair {
+	typedef T1 first_type;
+	typedef T2 second_type;
+	T1 first;
+	T2 second;
+
+	constexpr pair() : first(), second() {}
+	constexpr pair(const T1& a, const T2& b) : first(a), second(b) {}
+	template <typename U1, typename U2>
+	constexpr pair(U1&& a, U2&& b) : first(forward<U1>(a)), second(forward<U2>(b)) {}
+
+	void swap(pair& other) {
+		bench::swap(first, other.first);
+		bench::swap(second, other.second);
+	}
+};
+
+template <typename T1, typename T2>
+constexpr pair<T1, T2> make_pair(T1 a, T2 b) {
+	return pair<T1, T2>(a, b);
+}
+
+template <typename T1, typename T2>
+constexpr bool operator==(const pair<T1, T2>& a, const pair<T1, T2>& b) {
+	return a.first == b.first && a.second == b.second;
+}
+
+template <typename T1, typename T2>
+constexpr bool operator<(const pair<T1, T2>& a, const pair<T1, T2>& b) {
+	return a.first < b.first || (!(b.first < a.first) && a.second < b.second);
+}
+
+template <typename T>
+struct less {
+	constexpr bool operator()(const T& a, const T& b) const { return a < b; }
+};
+
+template <typename Iter>
+struct iterator_traits {
+	typedef typename Iter::value_type value_type;
+	typedef typename Iter::difference_type difference_type;
+	typedef typename Iter::pointer pointer;
+	typedef typename Iter::reference reference;
+};
+
+template <typename T>
+struct iterator_traits<T*> {
+	typedef T value_type;
+	typedef ptrdiff_t difference_type;
+	typedef T* pointer;
+	typedef T& reference;
+};
+
+template <typename T, typename Alloc = allocator<T>>
+class vector {
+public:
+	typedef T value_type;
+	typedef Alloc allocator_type;
+	typedef T& reference;
+	typedef const T& const_reference;
+	typedef T* iterator;
+	typedef const T* const_iterator;
+	typedef size_t size_type;
+
+	vector() : fBegin(nullptr), fEnd(nullptr), fCapacity(nullptr) {}
+	explicit vector(size_type n) : vector() { resize(n); }
+	vector(const vector& other) : vector() {
+		reserve(other.size());
+		for (const_iterator it = other.begin(); it != other.end(); ++it)
+			push_back(*it);
+	}
+	vector(vector&& other) BENCH_NOEXCEPT : fBegin(other.fBegin), fEnd(other.fEnd), fCapacity(other.fCapacity) {
+		other.fBegin = other.fEnd = other.fCapacity = nullptr;
+	}
+	~vector() { clear(); fAlloc.deallocate(fBegin, capacity()); }
+
+	vector& operator=(vector other) {
+		swap(other);
+		return *this;
+	}
+
+	iterator begin() BENCH_NOEXCEPT { return fBegin; }
+	iterator end() BENCH_NOEXCEPT { return fEnd; }
+	const_iterator begin() const BENCH_NOEXCEPT { return fBegin; }
+	const_iterator end() const BENCH_NOEXCEPT { return fEnd; }
+
+	size_type size() const BENCH_NOEXCEPT { return fEnd - fBegin; }
+	size_type capacity() const BENCH_NOEXCEPT { return fCapacity - fBegin; }
+	bool empty() const BENCH_NOEXCEPT { return fBegin == fEnd; }
+
+	reference operator[](size_type i) { return fBegin[i]; }
+	const_reference operator[](size_type i) const { return fBegin[i]; }
+	reference front() { return *fBegin; }
+	reference back() { return *(fEnd - 1); }
+
+	void reserve(size_type n) {
+		if (n <= capacity())
+			return;
+		T* storage = fAlloc.allocate(n);
+		size_type count = size();
+		for (size_type i = 0; i < count; ++i)
+			new (storage + i) T(move(fBegin[i]));
+		clear();
+		fAlloc.deallocate(fBegin, capacity());
+		fBegin = storage;
+		fEnd = storage + count;
+		fCapacity = storage + n;
+	}
+
+	void resize(size_type n) {
+		reserve(n);
+		while (size() < n)
+			emplace_back();
+	}
+
+	void push_back(const T& value) { emplace_back(value); }
+	void push_back(T&& value) { emplace_back(move(value)); }
+
+	template <typename... Args>
+	reference emplace_back(Args&&... args) {
+		if (fEnd == fCapacity)
+			reserve(empty() ? 4 : 2 * capacity());
+		new (fEnd) T(forward<Args>(args)...);
+		return *fEnd++;
+	}
+
+	void pop_back() { (--fEnd)->~T(); }
+
+	void clear() BENCH_NOEXCEPT {
+		while (fEnd != fBegin)
+			pop_back();
+	}
+
+	void swap(vector& other) BENCH_NOEXCEPT {
+		bench::swap(fBegin, other.fBegin);
+		bench::swap(fEnd, other.fEnd);
+		bench::swap(fCapacity, other.fCapacity);
+	}
+
+private:
+	T* fBegin;
+	T* fEnd;
+	T* fCapacity;
+	Alloc fAlloc;
+};
+
+template <typename Key, typename Value, typename Compare = less<Key>>
+class flat_map {
+public:
+	typedef pair<Key, Value> value_type;
+	typedef typename vector<value_type>::iterator iterator;
+	typedef typename vector<value_type>::const_iterator const_iterator;
+
+	iterator begin() { return fData.begin(); }
+	iterator end() { return fData.end(); }
+	const_iterator begin() const { return fData.begin(); }
+	const_iterator end() const { return fData.end(); }
+	size_t size() const { return fData.size(); }
+
+	iterator lower_bound(const Key& key) {
+		iterator first = fData.begin();
+		ptrdiff_t count = fData.end() - first;
+		while (count > 0) {
+			ptrdiff_t step = count / 2;
+			iterator it = first + step;
+			if (fCompare(it->first, key)) {
+				first = ++it;
+				count -= step + 1;
+			} else {
+				count = step;
+			}
+		}
+		return first;
+	}
+
+	iterator find(const Key& key) {
+		iterator it = lower_bound(key);
+		return it != end() && !fCompare(key, it->first) ? it : end();
+	}
+
+	pair<iterator, bool> insert(const value_type& value) {
+		iterator it = lower_bound(value.first);
+		if (it != end() && !fCompare(value.first, it->first))
+			return pair<iterator, bool>(it, false);
+		size_t index = it - begin();
+		fData.push_back(value);
+		for (size_t i = fData.size() - 1; i > index; --i)
+			bench::swap(fData[i], fData[i - 1]);
+		return pair<iterator, bool>(begin() + index, true);
+	}
+
+	Value& operator[](const Key& key) {
+		iterator it = find(key);
+		if (it == end())
+			it = insert(value_type(key, Value())).first;
+		return it->second;
+	}
+
+private:
+	vector<value_type> fData;
+	Compare fCompare;
+};
+
+template <typename... Ts> struct tuple;
+template <> struct tuple<> {};
+template <typename T, typename... Ts>
+struct tuple<T, Ts...> : tuple<Ts...> {
+	T fHead;
+	tuple() : fHead() {}
+	tuple(const T& head, const Ts&... tail) : tuple<Ts...>(tail...), fHead(head) {}
+};
+
+template <size_t I, typename Tuple> struct tuple_element;
+template <typename T, typename... Ts>
+struct tuple_element<0, tuple<T, Ts...>> {
+	typedef T type;
+	typedef tuple<T, Ts...> tuple_type;
+};
+template <size_t I, typename T, typename... Ts>
+struct tuple_element<I, tuple<T, Ts...>> : tuple_element<I - 1, tuple<Ts...>> {};
+
+template <size_t I, typename... Ts>
+typename tuple_element<I, tuple<Ts...>>::type& get(tuple<Ts...>& t) {
+	typedef typename tuple_element<I, tuple<Ts...>>::tuple_type base;
+	return static_cast<base&>(t).fHead;
+}
+
+template <typename... Ts>
+tuple<Ts...> make_tuple(const Ts&... args) {
+	return tuple<Ts...>(args...);
+}
+
+template <typename Iter, typename T>
+Iter find(Iter first, Iter last, const T& value) {
+	for (; first != last; ++first) {
+		if (*first == value)
+			return first;
+	}
+	return last;
+}
+
+template <typename Iter, typename Pred>
+Iter find_if(Iter first, Iter last, Pred pred) {
+	for (; first != last; ++first) {
+		if (pred(*first))
+			return first;
+	}
+	return last;
+}
+
+template <typename Iter, typename T>
+T accumulate(Iter first, Iter last, T init) {
+	for (; first != last; ++first)
+		init = init + *first;
+	return init;
+}
+
+template <typename Iter, typename Compare>
+void insertion_sort(Iter first, Iter last, Compare comp) {
+	for (Iter i = first; i != last; ++i) {
+		for (Iter j = i; j != first && comp(*j, *(j - 1)); --j)
+			bench::swap(*j, *(j - 1));
+	}
+}
+
+template <typename Iter>
+void insertion_sort(Iter first, Iter last) {
+	insertion_sort(first, last, less<typename iterator_traits<Iter>::value_type>());
+}
+
+template <typename T, typename = enable_if_t<is_integral<T>::value>>
+constexpr T gcd(T a, T b) {
+	return b == 0 ? a : gcd(b, a % b);
+}
+
+} // namespace bench
+
+#endif // BENCH_TEMPLATES_HPP
+
+namespace app {
+
+struct Point {
+	int x;
+	int y;
+	bool operator==(const Point& other) const { return x == other.x && y == other.y; }
+	bool operator<(const Point& other) const { return x < other.x || (x == other.x && y < other.y); }
+	Point operator+(const Point& other) const { return Point{x + other.x, y + other.y}; }
+};
+
+typedef bench::vector<Point> Polygon;
+typedef bench::flat_map<int, Polygon> Layer;
+
+int area(const Polygon& polygon) {
+	int sum = 0;
+	for (bench::size_t i = 0; i < polygon.size(); ++i) {
+		const Point& a = polygon[i];
+		const Point& b = polygon[(i + 1) % polygon.size()];
+		sum += a.x * b.y - b.x * a.y;
+	}
+	return sum / 2;
+}
+
+Point centroid(const Polygon& polygon) {
+	Point sum = bench::accumulate(polygon.begin(), polygon.end(), Point{0, 0});
+	int n = static_cast<int>(polygon.size());
+	return Point{sum.x / n, sum.y / n};
+}
+
+void normalize(Layer& layer) {
+	for (Layer::iterator it = layer.begin(); it != layer.end(); ++it) {
+		Polygon& polygon = it->second;
+		bench::insertion_sort(polygon.begin(), polygon.end());
+		Polygon::iterator first = bench::find_if(polygon.begin(), polygon.end(),
+				[](const Point& p) { return p.x > 0 && p.y > 0; });
+		if (first != polygon.end())
+			bench::swap(*first, polygon.front());
+	}
+}
+
+bench::tuple<int, long, Point> summary(Layer& layer) {
+	int polygons = 0;
+	long points = 0;
+	Point extent{0, 0};
+	for (Layer::iterator it = layer.begin(); it != layer.end(); ++it) {
+		++polygons;
+		points += it->second.size();
+		extent = extent + centroid(it->second);
+	}
+	return bench::make_tuple(polygons, points, extent);
+}
+
+int run() {
+	Layer layer;
+	for (int i = 0; i < 16; ++i) {
+		Polygon& polygon = layer[i];
+		for (int j = 0; j < 8; ++j)
+			polygon.push_back(Point{i * j, i + j});
+	}
+	normalize(layer);
+	bench::tuple<int, long, Point> s = summary(layer);
+	auto found = layer.find(3);
+	bench::pair<int, int> p = bench::make_pair(bench::get<0>(s), area(found->second));
+	return p.first + p.second + bench::gcd(12, 18) + bench::get<2>(s).x;
+}
+
+} // namespace app
@@ -320,4 +320,20 @@ public class ErrorParserManagerTest extends BaseTestCase5 {
 		assertEquals("Workspace level marker", problemMarkerInfo.description);
 		assertTrue(problemMarkerInfo.file instanceof IWorkspaceRoot);
 	}
+
+	@Test
+	public void testManyLinesInOneWrite() throws IOException {
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < 10000; i++) {
+			buf.append("gcc -c -o file").append(i).append(".o file").append(i).append(".c\r\n");
+		}
+		buf.append("\u001b[01m\u001b[Kfile.c:12:\u001b[m\u001b[K warning: unused variable\r\n");
+		buf.append("file.c:13: warning: last line");
+		output(buf.toString());
+		end();
+		assertEquals(2, errorList.size());
+		assertEquals("unused variable", errorList.get(0).description);
+		assertEquals("last line", errorList.get(1).description);
+		assertEquals(10002, epManager.getLineCounter());
+	}
 }
@@ -14,6 +14,7 @@
 
 package org.eclipse.cdt.core.internal.errorparsers.tests;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -37,6 +38,7 @@ import org.eclipse.cdt.core.testplugin.ResourceHelper;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.internal.errorparsers.ErrorParserExtensionManager;
 import org.eclipse.cdt.internal.errorparsers.GASErrorParser;
+import org.eclipse.cdt.internal.errorparsers.RegexLiterals;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -743,4 +745,53 @@ public class RegexErrorParserTests extends BaseTestCase5 {
 		assertEquals(0, errorList.size());
 	}
 
+	/**
+	 * Check the literals that lines have to contain to be matched by a pattern.
+	 */
+	@Test
+	public void testRequiredLiterals() throws Exception {
+		assertArrayEquals(new String[] { ":", ":", " ", "rror: " },
+				RegexLiterals.getRequiredLiterals("(.*?):(\\d+):(\\d+:)? [Ee]rror: (.*)"));
+		assertArrayEquals(new String[] { "(.", "+", "): " },
+				RegexLiterals.getRequiredLiterals("(.*?):?\\(\\.[^\\s+]+\\+.*\\): (.*)"));
+		assertArrayEquals(new String[] { "ab", "c" }, RegexLiterals.getRequiredLiterals("ab+c"));
+		assertArrayEquals(new String[] { "a", "c" }, RegexLiterals.getRequiredLiterals("ab?c"));
+		assertArrayEquals(new String[] { "a", "b" }, RegexLiterals.getRequiredLiterals("a{2,3}b"));
+		assertArrayEquals(new String[] { "yz" }, RegexLiterals.getRequiredLiterals("[]x]yz"));
+		// Expressions that are not analyzed
+		assertArrayEquals(new String[0], RegexLiterals.getRequiredLiterals("error|warning"));
+		assertArrayEquals(new String[0], RegexLiterals.getRequiredLiterals("(?i)error"));
+		assertArrayEquals(new String[0], RegexLiterals.getRequiredLiterals("\\x41bc"));
+		assertArrayEquals(new String[0], RegexLiterals.getRequiredLiterals("\\Qa|b\\E"));
+
+		assertTrue(RegexLiterals.containsInOrder("a.c:1: error: x", new String[] { ":", ":", " " }));
+		assertFalse(RegexLiterals.containsInOrder("gcc -c a.c", new String[] { ":", ":", " " }));
+		assertFalse(RegexLiterals.containsInOrder(" b:a", new String[] { "a", "b" }));
+	}
+
+	/**
+	 * Check that the patterns still match the lines containing their literals.
+	 */
+	@Test
+	public void testRegexErrorParserPrefilter() throws Exception {
+		RegexErrorParser regexErrorParser = new RegexErrorParser();
+		regexErrorParser.addPattern(new RegexErrorPattern("(.*):(\\d+): [Ww]arning:? (.*)", "$1", "$2", "$3", null,
+				IMarkerGenerator.SEVERITY_WARNING, true));
+		regexErrorParser.addPattern(new RegexErrorPattern("(?i)(.*):(\\d+): error (.*)", "$1", "$2", "$3", null,
+				IMarkerGenerator.SEVERITY_ERROR_RESOURCE, true));
+
+		errorList.clear();
+		ErrorParserManager epManager = new ErrorParserManager(fProject, markerGenerator, new String[0]);
+
+		assertFalse(regexErrorParser.processLine("gcc -c -o file.o file.c", epManager));
+		assertTrue(regexErrorParser.processLine("file.c:1: Warning description", epManager));
+		assertTrue(regexErrorParser.processLine("file.c:2: warning: description", epManager));
+		assertTrue(regexErrorParser.processLine("file.c:3: ERROR description", epManager));
+		assertFalse(regexErrorParser.processLine("file.c: warning: description", epManager));
+
+		assertEquals(3, errorList.size());
+		assertEquals(1, errorList.get(0).lineNumber);
+		assertEquals(3, errorList.get(2).lineNumber);
+		assertEquals("description", errorList.get(2).description);
+	}
 }
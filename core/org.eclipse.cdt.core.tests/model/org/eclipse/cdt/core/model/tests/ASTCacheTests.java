@@ -318,6 +318,90 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	public void testInactiveASTs() throws Exception {
+		final ASTCache cache = new ASTCache(1024 * 1024);
+		final IASTTranslationUnit[] asts = new IASTTranslationUnit[2];
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				asts[0] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		assertNotNull(asts[0]);
+
+		// The AST of the previously active element is kept.
+		cache.setActiveElement(fTU2);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertSame(asts[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertSame(asts[0], ast);
+				return Status.OK_STATUS;
+			}
+		});
+
+		// Reconciling discards the kept AST.
+		cache.setActiveElement(fTU2);
+		cache.aboutToBeReconciled(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+
+		// So does an index change.
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				asts[1] = ast;
+				return Status.OK_STATUS;
+			}
+		});
+		assertNotNull(asts[1]);
+		cache.setActiveElement(fTU2);
+		cache.disposeInactiveASTs(fProject);
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+	}
+
+	public void testMemoryBudget() throws Exception {
+		ASTCache cache = new ASTCache(0);
+		cache.setActiveElement(fTU1);
+		cache.runOnAST(fTU1, true, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNotNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+		cache.setActiveElement(fTU2);
+		cache.runOnAST(fTU1, false, null, new ASTRunnable() {
+			@Override
+			public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+				assertNull(ast);
+				return Status.OK_STATUS;
+			}
+		});
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
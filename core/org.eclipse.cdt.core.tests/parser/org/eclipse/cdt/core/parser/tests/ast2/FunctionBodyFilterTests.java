@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.dom.parser.cpp.GPPScannerExtensionConfiguration;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.tests.ASTComparer;
+import org.eclipse.cdt.internal.core.dom.parser.IFunctionBodyFilter;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for skipping the function bodies of included files that are not needed.
+ */
+public class FunctionBodyFilterTests extends AST2TestBase {
+	private static final String HEADER = "/test/header.h"; //$NON-NLS-1$
+
+	private final Map<String, String> fHeaders = new HashMap<>();
+	private final List<String> fFilteredIncludes = new ArrayList<>();
+
+	public static TestSuite suite() {
+		return suite(FunctionBodyFilterTests.class);
+	}
+
+	public FunctionBodyFilterTests() {
+		super();
+	}
+
+	public FunctionBodyFilterTests(String name) {
+		super(name);
+	}
+
+	private class HeaderProvider extends InternalFileContentProvider {
+		@Override
+		public boolean getInclusionExists(String path) {
+			return fHeaders.containsKey(path);
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(String path, IMacroDictionary macroDictionary) {
+			String code = fHeaders.get(path);
+			return code == null ? null : (InternalFileContent) FileContent.create(path, code.toCharArray());
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(IIndexFileLocation ifl, String astPath) {
+			return null;
+		}
+	}
+
+	private IASTTranslationUnit parseWithFilter(String code, boolean needsBodies) throws Exception {
+		return parse(code, include -> {
+			fFilteredIncludes.add(include.getPath());
+			return needsBodies;
+		});
+	}
+
+	private IASTTranslationUnit parse(String code, IFunctionBodyFilter filter) throws Exception {
+		IScannerInfo scannerInfo = createScannerInfo(ScannerKind.STD);
+		CPreprocessor scanner = new CPreprocessor(FileContent.create(TEST_CODE, code.toCharArray()), scannerInfo,
+				ParserLanguage.CPP, NULL_LOG, GPPScannerExtensionConfiguration.getInstance(scannerInfo),
+				new HeaderProvider());
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new GPPParserExtensionConfiguration(), null);
+		parser.setFunctionBodyFilter(filter);
+		IASTTranslationUnit tu = parser.parse();
+		assertFalse(parser.encounteredError());
+		return tu;
+	}
+
+	private IASTCompoundStatement getBody(IASTTranslationUnit tu, int i) {
+		IASTDeclaration[] declarations = tu.getDeclarations();
+		return (IASTCompoundStatement) ((IASTFunctionDefinition) declarations[i]).getBody();
+	}
+
+	//	int f(int x) { int y = x; return y + 1; }
+	//	constexpr int g() { return 2; }
+	//	inline auto h() { return 1.0; }
+	//	struct S { int m() { return f(1); } };
+	public void testBodiesOfSkippedHeaderAreOmitted() throws Exception {
+		fHeaders.put(HEADER, getAboveComment());
+		IASTTranslationUnit tu = parseWithFilter("#include \"" + HEADER + "\"\nint k() { return f(g()); }\n", false);
+		assertEquals(List.of(HEADER), fFilteredIncludes);
+		assertTrue(tu.hasNodesOmitted());
+
+		IASTCompoundStatement body = getBody(tu, 0);
+		assertEquals(0, body.getStatements().length);
+		assertEquals("{ int y = x; return y + 1; }", body.getRawSignature());
+		// Bodies needed to compute the types of the translation unit are parsed.
+		assertEquals(1, getBody(tu, 1).getStatements().length);
+		assertEquals(1, getBody(tu, 2).getStatements().length);
+		// The bodies of the file itself are always parsed.
+		assertEquals(1, getBody(tu, 4).getStatements().length);
+	}
+
+	//	int f(int x) { int y = x; return y + 1; }
+	//	struct S {
+	//		int m() { return f(1); }
+	//		void n() { void local() noexcept; local(); }
+	//	};
+	public void testNeededBodiesEqualFullParse() throws Exception {
+		fHeaders.put(HEADER, getAboveComment());
+		String code = "#include \"" + HEADER + "\"\nint k() { S s; return s.m(); }\n";
+		IASTTranslationUnit tu = parseWithFilter(code, true);
+		assertEquals(List.of(HEADER), fFilteredIncludes);
+		assertFalse(tu.hasNodesOmitted());
+
+		ASTComparer.assertCopy(parse(code, null), tu);
+	}
+}
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.cpp.ANSICPPParserExtensionConfiguration;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IScanner;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.core.parser.tests.ASTComparer;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.GNUCPPSourceParser;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for reusing the function bodies of a previous AST when parsing an edited file.
+ */
+public class IncrementalParseTests extends AST2TestBase {
+	private ReusableFunctionBodies fBodies;
+
+	public static TestSuite suite() {
+		return suite(IncrementalParseTests.class);
+	}
+
+	public IncrementalParseTests() {
+		super();
+	}
+
+	public IncrementalParseTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * Parses the new code reusing the bodies of the AST of the old code, and checks that the result
+	 * is equal to the AST of a full parse.
+	 */
+	private IASTTranslationUnit parseIncrementally(String oldCode, String newCode) throws Exception {
+		IASTTranslationUnit previousAST = parse(oldCode, ParserLanguage.CPP);
+		IScanner scanner = createScanner(FileContent.create(TEST_CODE, newCode.toCharArray()), ParserLanguage.CPP,
+				ParserMode.COMPLETE_PARSE, createScannerInfo(ScannerKind.STD));
+		GNUCPPSourceParser parser = new GNUCPPSourceParser(scanner, ParserMode.COMPLETE_PARSE, NULL_LOG,
+				new ANSICPPParserExtensionConfiguration(), null);
+		fBodies = ReusableFunctionBodies.create(previousAST,
+				scanner.getLocationResolver().getTranslationUnitSource());
+		parser.setReusableFunctionBodies(fBodies);
+		IASTTranslationUnit ast = parser.parse();
+		assertFalse(parser.encounteredError());
+		assertEquals(0, CPPVisitor.getProblems(ast).length);
+
+		ASTComparer.assertCopy(parse(newCode, ParserLanguage.CPP), ast);
+		return ast;
+	}
+
+	private int getReusedBodyCount() {
+		return fBodies == null ? 0 : fBodies.getReusedBodyCount();
+	}
+
+	//	int f(int x) { return x + 1; }
+	//	int g(int x) { return x * 2; }
+	//	struct S { int m() { return f(1) + g(2); } };
+	//	int h(int x) { S s; return s.m() + x; }
+	public void testEditInFunctionBody() throws Exception {
+		String code = getAboveComment();
+		String edited = code.replace("return x * 2;", "int y = x; return y * 2 + x;");
+		parseIncrementally(code, edited);
+		assertNotNull(fBodies);
+		// f before the edit, S::m and h after it.
+		assertEquals(3, getReusedBodyCount());
+	}
+
+	//	int f(int x) { return x + 1; }
+	//	int g(int x) { return x * 2; }
+	public void testUnchangedSource() throws Exception {
+		String code = getAboveComment();
+		parseIncrementally(code, code);
+		assertEquals(2, getReusedBodyCount());
+	}
+
+	//	int f(int x) { return x + 1; }
+	//	int v = 1;
+	//	int g(int x) { return x * 2; }
+	public void testEditOutsideOfFunctionBodies() throws Exception {
+		String code = getAboveComment();
+		parseIncrementally(code, code.replace("int v = 1;", "long v = 2;"));
+		assertNull(fBodies);
+	}
+
+	//	#define TWICE(x) ((x) * 2)
+	//	int f(int x) { return TWICE(x); }
+	//	int g(int x) { return x + 1; }
+	//	int h(int x) {
+	//	#ifdef TWICE
+	//		return TWICE(x);
+	//	#endif
+	//	}
+	public void testBodiesWithMacrosAreParsed() throws Exception {
+		String code = getAboveComment();
+		parseIncrementally(code, code.replace("return x + 1;", "return x + 11;"));
+		// The bodies of f and h are parsed again.
+		assertEquals(0, getReusedBodyCount());
+	}
+
+	//	int f(int x) { return x + 1; }
+	//	int g(int x) {
+	//		return x * 2;
+	//	}
+	//	int h(int x) { return x; }
+	public void testDirectiveInEditedBody() throws Exception {
+		String code = getAboveComment();
+		parseIncrementally(code, code.replace("return x * 2;", "#define X 2\n return x * X;"));
+		assertEquals(1, getReusedBodyCount());
+	}
+}
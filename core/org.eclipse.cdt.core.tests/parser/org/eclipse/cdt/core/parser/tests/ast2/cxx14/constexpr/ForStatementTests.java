@@ -12,6 +12,7 @@
 package org.eclipse.cdt.core.parser.tests.ast2.cxx14.constexpr;
 
 import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
 
 import junit.framework.TestSuite;
 
@@ -217,4 +218,22 @@ public abstract class ForStatementTests extends TestBase {
 	public void testForLoopWithNullStatementAsBody() throws Exception {
 		assertEvaluationEquals(120);
 	}
-}
\ No newline at end of file
+
+	//	constexpr int f(int n) {
+	//		int sum = 0;
+	//		for (int i = 0; i < n; i++)
+	//			sum += i;
+	//		return sum;
+	//	}
+
+	//	constexpr int x = f(2000);
+	public void testStepLimitIsConfigurable() throws Exception {
+		assertEvaluationProblem();
+		ConstexprEvaluationContext.setMaxSteps(100000);
+		try {
+			assertEvaluationEquals(1999000);
+		} finally {
+			ConstexprEvaluationContext.setMaxSteps(ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS);
+		}
+	}
+}
@@ -16,6 +16,7 @@ import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
 import org.eclipse.cdt.core.dom.ast.IASTInitializerClause;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 
 import junit.framework.TestSuite;
@@ -290,4 +291,20 @@ public abstract class FunctionTests extends TestBase {
 	public void testLambdaExpression2_560483() throws Exception {
 		assertEvaluationEquals(58);
 	}
-}
\ No newline at end of file
+
+	//	constexpr int fib(int n) {
+	//		return n < 2 ? n : fib(n - 1) + fib(n - 2);
+	//	}
+
+	//	constexpr int x = fib(30);
+	public void testRepeatedCallsWithSameArguments() throws Exception {
+		// Reused results count towards the step limit as if the calls were evaluated again
+		assertEvaluationProblem();
+		ConstexprEvaluationContext.setMaxSteps(Integer.MAX_VALUE);
+		try {
+			assertEvaluationEquals(832040);
+		} finally {
+			ConstexprEvaluationContext.setMaxSteps(ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS);
+		}
+	}
+}
@@ -15,10 +15,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.core.parser.tests.scanner;
 
+import java.io.File;
+import java.io.StringWriter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.parser.ExtendedScannerInfo;
 import org.eclipse.cdt.core.parser.FileContent;
@@ -30,6 +33,10 @@ import org.eclipse.cdt.core.parser.ParserMode;
 import org.eclipse.cdt.core.parser.ScannerInfo;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.parser.scanner.IncludeGuardCache;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics.FileStatistics;
+import org.eclipse.cdt.internal.core.pdom.IndexerTelemetry;
 import org.eclipse.cdt.internal.core.pdom.indexer.PDOMNullIndexer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -253,6 +260,100 @@ public class InclusionTests extends PreprocessorTestsBase {
 		}
 	}
 
+	public void testIncludeGuardCache() throws Exception {
+		importFile("guarded.h", "#ifndef GUARDED_H\n#define GUARDED_H\nint x;\n#endif\n");
+		importFile("unguarded.h", "int y;\n");
+		IFile base = importFile("base.cpp", "#include \"guarded.h\"\n#include \"unguarded.h\"\n");
+		IncludeGuardCache cache = new IncludeGuardCache();
+
+		// The second run takes the include guards from the cache.
+		for (int i = 0; i < 2; i++) {
+			initializeScanner(FileContent.create(base), ParserLanguage.CPP, ParserMode.COMPLETE_PARSE,
+					new ScannerInfo());
+			fScanner.setIncludeGuardCache(cache);
+			validateToken(IToken.t_int);
+			validateIdentifier("x");
+			validateToken(IToken.tSEMI);
+			validateToken(IToken.t_int);
+			validateIdentifier("y");
+			validateToken(IToken.tSEMI);
+			validateEOF();
+			IASTPreprocessorIncludeStatement[] includes = fLocationResolver.getIncludeDirectives();
+			assertEquals(2, includes.length);
+			assertTrue(includes[0].hasPragmaOnceSemantics());
+			assertFalse(includes[1].hasPragmaOnceSemantics());
+			assertEquals(3, cache.size());
+		}
+
+		File file = File.createTempFile("includeGuards", ".cache");
+		try {
+			cache.save(file);
+			cache = new IncludeGuardCache();
+			cache.load(file);
+			assertEquals(3, cache.size());
+		} finally {
+			file.delete();
+		}
+	}
+
+	public void testIncludeGuardCacheEviction() throws Exception {
+		IncludeGuardCache cache = new IncludeGuardCache();
+		final int count = 100000;
+		for (int i = 0; i < count; i++) {
+			cache.put(i, null);
+		}
+		assertEquals(count, cache.size());
+
+		// A full cache makes room for new entries.
+		cache.put(count, "GUARD_H".toCharArray());
+		assertTrue(cache.size() < count);
+		assertEquals("GUARD_H", new String(cache.get(count)));
+	}
+
+	public void testParseStatistics() throws Exception {
+		importFile("header.h", "int a;\n");
+		IFile base = importFile("base.cpp", "#include \"header.h\"\n#include \"header.h\"\nint b;\n");
+		initializeScanner(FileContent.create(base), ParserLanguage.CPP, ParserMode.COMPLETE_PARSE,
+				new ScannerInfo());
+		fScanner.setCollectStatistics(true);
+		for (int i = 0; i < 3; i++) {
+			validateToken(IToken.t_int);
+			validateIdentifier(i < 2 ? "a" : "b");
+			validateToken(IToken.tSEMI);
+		}
+		validateEOF();
+
+		ParseStatistics statistics = fLocationResolver.getParseStatistics();
+		assertNotNull(statistics);
+		String headerPath = fLocationResolver.getIncludeDirectives()[0].getPath();
+		FileStatistics header = statistics.getFile(headerPath);
+		assertEquals(2, header.getInclusionCount());
+		assertEquals(6, header.getTokenCount());
+		assertEquals(14, header.getCharCount());
+		FileStatistics root = statistics.getFile(fLocationResolver.getTranslationUnitPath());
+		assertEquals(1, root.getInclusionCount());
+		assertTrue(root.getTokenCount() >= 3);
+		assertEquals(root.getTokenCount() + header.getTokenCount(), statistics.getTokenCount());
+		assertEquals(root.getCharCount() + header.getCharCount(), statistics.getCharCount());
+		assertEquals(root.getPreprocessingNanos() + header.getPreprocessingNanos(),
+				statistics.getPreprocessingNanos());
+
+		IndexerTelemetry telemetry = new IndexerTelemetry();
+		telemetry.recordParse(fLocationResolver.getTranslationUnitPath(), statistics);
+		telemetry.recordWrite(headerPath, 1000000, 5, 1);
+		IndexerTelemetry.FileRecord record = telemetry.getRecord(headerPath);
+		assertEquals(0, record.getParseCount());
+		assertEquals(2, record.getInclusionCount());
+		assertEquals(6, record.getTokenCount());
+		assertEquals(5, record.getCacheHits());
+		StringWriter csv = new StringWriter();
+		telemetry.writeCSV(csv);
+		assertEquals(3, csv.toString().split("\n").length);
+		StringWriter json = new StringWriter();
+		telemetry.writeJSON(json);
+		assertTrue(json.toString().contains("\"cacheMisses\": 1"));
+	}
+
 	public void testBug156990() throws Exception {
 		IFile inclusion = importFile("file.h", "ok");
 		StringBuilder buffer = new StringBuilder("#include \"file.h\"");
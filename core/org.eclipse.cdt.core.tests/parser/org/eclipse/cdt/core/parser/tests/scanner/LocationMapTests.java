@@ -358,6 +358,26 @@ public class LocationMapTests extends BaseTestCase {
 		checkComment(comments[2], "56789abcdef", true, FN, 5, 11, 1, 1);
 	}
 
+	public void testManyComments() {
+		init(LONGDIGITS);
+		// LONGDIGITS contains a single newline, all comments are on the second line.
+		final int start = '\n' + 1;
+		for (int i = 0; i < 200; i++) {
+			fLocationMap.encounteredComment(start + i, start + i + 2, i % 2 == 0, fContent);
+		}
+		IASTComment[] comments = fLocationMap.getComments();
+		assertEquals(200, comments.length);
+		for (int i = 0; i < 200; i++) {
+			checkComment(comments[i], new String(LONGDIGITS, start + i, 2), i % 2 == 0, FN, start + i, 2, 2, 2);
+		}
+		// The nodes are created once
+		IASTComment[] again = fLocationMap.getComments();
+		assertNotSame(comments, again);
+		for (int i = 0; i < 200; i++) {
+			assertSame(comments[i], again[i]);
+		}
+	}
+
 	public void testProblems() {
 		init(DIGITS);
 		fLocationMap.encounterProblem(0, null, 0, 0);
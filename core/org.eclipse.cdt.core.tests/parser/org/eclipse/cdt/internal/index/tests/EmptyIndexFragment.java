@@ -31,6 +31,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentNameVisitor;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -100,6 +101,11 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public boolean findNames(IBinding binding, int flags, IIndexFragmentNameVisitor visitor) {
+		return true;
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findMacroContainers(Pattern pattern, IndexFilter filter, IProgressMonitor monitor) {
 		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
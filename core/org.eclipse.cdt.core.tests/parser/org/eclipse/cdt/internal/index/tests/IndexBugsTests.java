@@ -26,6 +26,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.CCorePreferenceConstants;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.IName;
 import org.eclipse.cdt.core.dom.IPDOMManager;
@@ -88,6 +89,7 @@ import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.pdom.CModelListener;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IContainer;
@@ -108,6 +110,8 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 
 import junit.framework.TestSuite;
 
@@ -2633,4 +2637,104 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	// int sharedVar;
+	// void sharedFunc(int a);
+
+	// #include "shared.h"
+	// void sharedFunc(int a) { sharedVar= a; }
+
+	// #include "shared.h"
+	// void user1() { sharedFunc(1); }
+
+	// #include "shared.h"
+	// void user2() { sharedFunc(sharedVar); }
+	public void testParallelParsingOfSources() throws Exception {
+		String[] contents = getContentsForTest(4);
+		IEclipsePreferences prefs = InstanceScope.INSTANCE.getNode(CCorePlugin.PLUGIN_ID);
+		prefs.putInt(CCorePreferenceConstants.INDEXER_PARSER_THREADS, 2);
+		try {
+			final IIndexManager indexManager = CCorePlugin.getIndexManager();
+			IFile header = TestSourceReader.createFile(fCProject.getProject(), "shared.h", contents[0]);
+			TestSourceReader.createFile(fCProject.getProject(), "impl.cpp", contents[1]);
+			TestSourceReader.createFile(fCProject.getProject(), "user1.cpp", contents[2]);
+			TestSourceReader.createFile(fCProject.getProject(), "user2.cpp", contents[3]);
+			indexManager.reindex(fCProject);
+			waitForIndexer();
+			fIndex.acquireReadLock();
+			try {
+				IIndexBinding[] bindings = fIndex.findBindings("sharedFunc".toCharArray(), IndexFilter.ALL, npm());
+				assertEquals(1, bindings.length);
+				assertEquals(1, fIndex.findDefinitions(bindings[0]).length);
+				assertEquals(2, fIndex.findReferences(bindings[0]).length);
+
+				bindings = fIndex.findBindings("sharedVar".toCharArray(), IndexFilter.ALL, npm());
+				assertEquals(1, bindings.length);
+				assertEquals(2, fIndex.findReferences(bindings[0]).length);
+
+				// The header is written once, although all sources include it.
+				IIndexFile[] files = fIndex.getFiles(ILinkage.CPP_LINKAGE_ID,
+						IndexLocationFactory.getWorkspaceIFL(header));
+				assertEquals(1, files.length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			prefs.remove(CCorePreferenceConstants.INDEXER_PARSER_THREADS);
+		}
+	}
+
+	//	template<typename T> struct S1 { typedef int type; };
+	//	template<typename T> struct S2 { typedef int type; };
+	//	template<typename T> using A1 = typename S1<T>::type;
+	//	template<typename T> using A2 = typename S2<T>::type;
+	//	template<typename T> using B1 = A1<T>;
+	//	template<typename T> using B2 = A2<T>;
+	//	template<typename T> using P = T*;
+	//	template<typename T> using Q = P<T>;
+
+	//	#include "header.h"
+	//	template<> struct S1<int> { typedef char type; };
+	//	B1<int> a1;
+	//	B2<int> a2;
+	//	Q<int> a3;
+
+	//	#include "header.h"
+	//	template<> struct S2<int> { typedef char type; };
+	//	B1<int> b1;
+	//	B2<int> b2;
+	//	Q<int> b3;
+	public void testInstantiationsWithLocalSpecializations() throws Exception {
+		String[] contents = getContentsForTest(3);
+		IProject project = fCProject.getProject();
+		TestSourceReader.createFile(project, "header.h", contents[0]);
+		TestSourceReader.createFile(project, "header.cpp", "#include \"header.h\"\n");
+		CCorePlugin.getIndexManager().reindex(fCProject);
+		waitForIndexer();
+
+		// Both sources are indexed in the same run and take the header from the index, each of
+		// them must see its own specializations regardless of the order they are parsed in.
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			TestSourceReader.createFile(project, "a.cpp", contents[1]);
+			TestSourceReader.createFile(project, "b.cpp", contents[2]);
+		}, null);
+		waitForIndexer();
+		fIndex.acquireReadLock();
+		try {
+			assertVariableType("char", "a1");
+			assertVariableType("int", "a2");
+			assertVariableType("int *", "a3");
+			assertVariableType("int", "b1");
+			assertVariableType("char", "b2");
+			assertVariableType("int *", "b3");
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	private void assertVariableType(String expected, String name) throws CoreException {
+		IIndexBinding[] bindings = fIndex.findBindings(name.toCharArray(), IndexFilter.ALL, npm());
+		assertEquals(1, bindings.length);
+		IType type = ((ICPPVariable) bindings[0]).getType();
+		assertEquals(expected, ASTTypeUtil.getType(SemanticUtil.getSimplifiedType(type)));
+	}
 }
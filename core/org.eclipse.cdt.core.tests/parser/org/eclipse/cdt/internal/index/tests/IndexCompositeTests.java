@@ -16,6 +16,7 @@ package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -29,11 +30,13 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPNamespace;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.NullProgressMonitor;
@@ -236,6 +239,65 @@ public class IndexCompositeTests extends BaseTestCase {
 		}
 	}
 
+	// class C1 {public: int i;};
+	// namespace X { class C2 {}; }
+	// void foo(C1 c) {}
+
+	// #include "h3.h"
+	// namespace X { class B2 {}; }
+	// X::C2 c2;
+	// void foo(X::C2 c) {}
+
+	// #include "h2.h"
+	// namespace X { class A2 {}; B2 b; C2 c; }
+	public void testTripleLinearParallelQueries() throws Exception {
+		CharSequence[] contents = getContentsForTest(3);
+		List<ICProject> projects = new ArrayList<>();
+
+		try {
+			ProjectBuilder pb = new ProjectBuilder("projC_" + getName(), true);
+			pb.addFile("h3.h", contents[0]);
+			ICProject cprojC = createAndAddProject(pb);
+			projects.add(cprojC);
+
+			pb = new ProjectBuilder("projB_" + getName(), true);
+			pb.addFile("h2.h", contents[1]).addDependency(cprojC.getProject());
+			ICProject cprojB = createAndAddProject(pb);
+			projects.add(cprojB);
+
+			pb = new ProjectBuilder("projA_" + getName(), true);
+			pb.addFile("h1.h", contents[2]).addDependency(cprojB.getProject());
+			ICProject cprojA = createAndAddProject(pb);
+			projects.add(cprojA);
+
+			setIndex(cprojA, REFS);
+			IBinding[] sequentialBindings = index.findBindings(Pattern.compile(".*"), false, FILTER, npm());
+			IBinding[] c2 = index.findBindings(new char[][] { "X".toCharArray(), "C2".toCharArray() }, FILTER, npm());
+			assertEquals(1, c2.length);
+			IIndexName[] sequentialNames = index.findNames(c2[0], IIndex.FIND_ALL_OCCURRENCES);
+
+			CIndex.setParallelQueries(true);
+			try {
+				IBinding[] bindings = index.findBindings(Pattern.compile(".*"), false, FILTER, npm());
+				assertEquals(sequentialBindings.length, bindings.length);
+				for (int i = 0; i < bindings.length; i++) {
+					assertEquals(sequentialBindings[i].getName(), bindings[i].getName());
+				}
+				IIndexName[] names = index.findNames(c2[0], IIndex.FIND_ALL_OCCURRENCES);
+				assertEquals(4, names.length);
+				assertEquals(Arrays.asList(sequentialNames), Arrays.asList(names));
+				assertNamespaceXMemberCount(5);
+				assertFieldCount("C1", 1);
+			} finally {
+				CIndex.setParallelQueries(false);
+			}
+		} finally {
+			for (ICProject project : projects) {
+				project.getProject().delete(true, true, new NullProgressMonitor());
+			}
+		}
+	}
+
 	// class B1 {};
 	// namespace X { class B2 {}; }
 	// void foo(B1 c) {}
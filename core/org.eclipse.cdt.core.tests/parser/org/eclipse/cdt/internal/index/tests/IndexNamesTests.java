@@ -14,6 +14,9 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -237,6 +240,49 @@ public class IndexNamesTests extends BaseTestCase {
 		}
 	}
 
+	// void log(int);
+	// void log(int v) {}
+	//
+	// void f1() { log(1); log(2); log(3); }
+	// void f2() { log(4); log(5); log(6); }
+	public void testVisitNames() throws Exception {
+		waitForIndexer();
+		String content = getComment();
+		IFile file = createFile(getProject().getProject(), "test.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] logBS = fIndex.findBindings(getPattern("log"), true, IndexFilter.ALL, npm());
+			assertLength(1, logBS);
+			IIndexBinding logB = logBS[0];
+			IIndexName[] all = fIndex.findNames(logB, IIndex.FIND_ALL_OCCURRENCES);
+			assertLength(8, all);
+
+			// All names, in the same order as the array.
+			List<IIndexName> visited = new ArrayList<>();
+			assertEquals(8, fIndex.findNames(logB, IIndex.FIND_ALL_OCCURRENCES, visited::add, -1));
+			assertEquals(Arrays.asList(all), visited);
+
+			// Limit.
+			visited.clear();
+			assertEquals(3, fIndex.findNames(logB, IIndex.FIND_ALL_OCCURRENCES, visited::add, 3));
+			assertEquals(Arrays.asList(all).subList(0, 3), visited);
+
+			// Early termination by the visitor.
+			visited.clear();
+			assertEquals(2, fIndex.findNames(logB, IIndex.FIND_REFERENCES, name -> {
+				visited.add(name);
+				return visited.size() < 2;
+			}, -1));
+			assertEquals(Arrays.asList(fIndex.findReferences(logB)).subList(0, 2), visited);
+
+			assertEquals(0, fIndex.findNames(logB, IIndex.FIND_ALL_OCCURRENCES, visited::add, 0));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	//	class X {
 	//		public:
 	//			virtual void vm() {
@@ -55,7 +55,10 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.pdom.CModelListener;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
 import org.eclipse.core.resources.IFile;
@@ -1484,6 +1487,26 @@ public class IndexUpdateTests extends IndexTestBase {
 		}
 	}
 
+	public void testCompactionAfterUpdate() throws Exception {
+		StringBuilder contents = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			contents.append("int function").append(i).append("(int a, int b) { return a + b; }\n");
+		}
+		fFile = TestSourceReader.createFile(fCppProject.getProject(), "file.cpp", contents.toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, fFile, INDEXER_TIMEOUT_MILLISEC);
+		waitForIndexer(fCppProject);
+
+		// Replacing the file frees most of the database, the compaction is part of the update
+		fFile = TestSourceReader.createFile(fCppProject.getProject(), "file.cpp", "int function;\n");
+		waitUntilFileIsIndexed(fIndex, fFile);
+		waitForIndexer(fCppProject);
+
+		WritablePDOM pdom = (WritablePDOM) CCoreInternals.getPDOMManager().getPDOM(fCppProject);
+		Database db = pdom.getDB();
+		assertTrue("Too little freed", db.getFreedBytes() * 100 > db.getSizeBytes() * 25);
+		assertFalse("Database not compacted", pdom.needsCompaction());
+	}
+
 	// int dummy;
 
 	//#include "A.h"
@@ -21,12 +21,14 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.FragmentationReport;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
@@ -151,6 +153,141 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testCompaction() throws Exception {
+		final int blockSize = 8 * Database.BLOCK_SIZE_DELTA;
+		final int n = 1000;
+		final int keep = 100;
+		long[] records = new long[n];
+		for (int i = 0; i < n; i++) {
+			records[i] = db.malloc(blockSize - Database.BLOCK_HEADER_SIZE);
+			db.putInt(records[i], i);
+		}
+		for (int i = keep; i < n; i++) {
+			db.free(records[i]);
+		}
+		FragmentationReport before = db.getFragmentationReport();
+		assertTrue(before.getFreeBlockCount(blockSize) >= n - keep);
+		assertEquals(0, before.getFreeChunksAtEnd());
+
+		// Merge the free blocks in slices.
+		int next = 1;
+		do {
+			next = db.mergeFreeBlocks(next, 3);
+		} while (next >= 0);
+		FragmentationReport after = db.getFragmentationReport();
+		assertEquals(before.getFreeBytes(), after.getFreeBytes());
+		assertEquals(0, after.getFreeBlockCount(blockSize));
+		assertTrue(after.getFreeChunksAtEnd() >= (n - keep) * blockSize / Database.CHUNK_SIZE - 1);
+
+		db.flush();
+		long size = db.getSizeBytes();
+		int released = db.releaseFreeChunksAtEnd();
+		assertEquals(after.getFreeChunksAtEnd(), released);
+		assertEquals(size - (long) released * Database.CHUNK_SIZE, db.getSizeBytes());
+		assertEquals(0, db.getFragmentationReport().getFreeChunksAtEnd());
+		for (int i = 0; i < keep; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+
+		// The database grows again when needed.
+		for (int i = keep; i < n; i++) {
+			records[i] = db.malloc(blockSize - Database.BLOCK_HEADER_SIZE);
+			db.putInt(records[i], i);
+		}
+		db.flush();
+		for (int i = 0; i < n; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+	}
+
+	@Test
+	public void testMappedStorage() throws Exception {
+		File file = getTestDir().append(getName() + System.currentTimeMillis() + "_mapped.dat").toFile();
+		long[] records = new long[10000];
+		Database mapped = new Database(file, new ChunkCache(16 * Database.CHUNK_SIZE), 0, false, true);
+		try {
+			assertTrue(mapped.usesMappedStorage());
+			mapped.setExclusiveLock();
+			for (int i = 0; i < records.length; i++) {
+				records[i] = mapped.malloc(16);
+				mapped.putInt(records[i], i);
+				mapped.putLong(records[i] + 4, i * 31L);
+			}
+			mapped.flush();
+			// Modify chunks that are on disk, these are accessed through the mapping.
+			for (int i = 0; i < records.length; i += 7) {
+				mapped.putInt(records[i], -i);
+			}
+			mapped.close();
+
+			Database heap = new Database(file, new ChunkCache(), 0, true, false);
+			heap.setLocked(true);
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i % 7 == 0 ? -i : i, heap.getInt(records[i]));
+				assertEquals(i * 31L, heap.getLong(records[i] + 4));
+			}
+			heap.setExclusiveLock();
+			heap.close();
+		} finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testConcurrentReadersOnSegmentedCache() throws Exception {
+		File file = getTestDir().append(getName() + System.currentTimeMillis() + "_segmented.dat").toFile();
+		ChunkCache cache = new ChunkCache(64 * Database.CHUNK_SIZE, 8);
+		assertEquals(8, cache.getSegmentCount());
+		assertEquals(64 * Database.CHUNK_SIZE, cache.getMaxSize());
+		Database segmented = new Database(file, cache, 0, false);
+		try {
+			segmented.setExclusiveLock();
+			final long[] records = new long[1000];
+			for (int i = 0; i < records.length; i++) {
+				records[i] = segmented.malloc(Database.MAX_MALLOC_SIZE / 2);
+				segmented.putInt(records[i], i);
+			}
+			segmented.giveUpExclusiveLock(true);
+			segmented.setLocked(true);
+			segmented.resetCacheCounters();
+
+			final AtomicInteger errors = new AtomicInteger();
+			Thread[] readers = new Thread[4];
+			for (int t = 0; t < readers.length; t++) {
+				final Random random = new Random(t);
+				readers[t] = new Thread(() -> {
+					try {
+						for (int k = 0; k < 20000; k++) {
+							int i = random.nextInt(records.length);
+							if (segmented.getInt(records[i]) != i) {
+								errors.incrementAndGet();
+							}
+						}
+					} catch (CoreException e) {
+						errors.incrementAndGet();
+					}
+				});
+				readers[t].start();
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			assertEquals(0, errors.get());
+			assertEquals(20000 * readers.length, segmented.getCacheHits() + segmented.getCacheMisses());
+
+			cache.setMaxSize(16 * Database.CHUNK_SIZE);
+			assertEquals(16 * Database.CHUNK_SIZE, cache.getMaxSize());
+			for (int i = 0; i < records.length; i++) {
+				assertEquals(i, segmented.getInt(records[i]));
+			}
+			segmented.setExclusiveLock();
+			segmented.close();
+		} finally {
+			file.delete();
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -238,6 +375,30 @@ public class DatabaseTest extends BaseTestCase5 {
 
 		assertCMP("a", EQ, "a", false);
 		assertCMP("a", EQ, "A", false);
+
+		assertCMP("\u0100a", LT, "\u0100b", true);
+		assertCMP("\u0100A", EQ, "\u0100a", false);
+		assertCMP("\u0101", GT, "a", false);
+	}
+
+	@Test
+	public void testStringCache() throws CoreException {
+		final int n = 50000;
+		long[] records = new long[n];
+		for (int i = 0; i < n; i++) {
+			records[i] = db.newString("string" + i).getRecord();
+		}
+		for (int i = n; --i >= 0;) {
+			IString string = db.getString(records[i]);
+			assertEquals("string" + i, string.getString());
+			assertTrue(string == db.getString(records[i]));
+		}
+
+		// A freed record must not be served from the cache.
+		db.getString(records[0]).delete();
+		IString string = db.newString("other");
+		assertEquals(records[0], string.getRecord());
+		assertEquals("other", db.getString(records[0]).getString());
 	}
 
 	@Test
@@ -316,6 +477,20 @@ public class DatabaseTest extends BaseTestCase5 {
 			assertSignEquals(expected, -biss.compareCompatibleWithIgnoreCase(aiss));
 			assertSignEquals(expected, -biss.compareCompatibleWithIgnoreCase(aisc));
 		}
+
+		if (aiss instanceof ShortString && biss instanceof ShortString) {
+			// Fresh instances compare directly with the characters in the database.
+			IString astored = new ShortString(db, aiss.getRecord());
+			IString bstored = new ShortString(db, biss.getRecord());
+			assertSignEquals(expected, astored.compare(bcs, caseSensitive));
+			assertSignEquals(expected, astored.comparePrefix(bcs, caseSensitive));
+			assertSignEquals(expected, -bstored.compare(acs, caseSensitive));
+			assertSignEquals(expected, -bstored.comparePrefix(acs, caseSensitive));
+			if (!caseSensitive && expected != 0) {
+				assertSignEquals(expected, astored.compareCompatibleWithIgnoreCase(bcs));
+				assertSignEquals(expected, -bstored.compareCompatibleWithIgnoreCase(acs));
+			}
+		}
 	}
 
 	private void assertSignEquals(int a, int b) {
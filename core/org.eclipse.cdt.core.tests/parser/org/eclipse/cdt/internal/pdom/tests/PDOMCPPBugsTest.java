@@ -41,6 +41,7 @@ import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.PDOMLockStatistics;
 import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
@@ -217,6 +218,38 @@ public class PDOMCPPBugsTest extends BaseTestCase5 {
 		pdom.releaseWriteLock();
 	}
 
+	@Test
+	public void testLockStatistics() throws Exception {
+		final PDOM pdom = (PDOM) CCoreInternals.getPDOMManager().getPDOM(cproject);
+		PDOMLockStatistics before = pdom.getLockStatistics();
+		Thread reader = new Thread() {
+			@Override
+			public void run() {
+				try {
+					pdom.acquireReadLock();
+					pdom.releaseReadLock();
+				} catch (InterruptedException e) {
+				}
+			}
+		};
+		pdom.acquireWriteLock(null);
+		try {
+			reader.start();
+			while (!pdom.hasWaitingReaders()) {
+				Thread.sleep(10);
+			}
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		reader.join();
+
+		PDOMLockStatistics after = pdom.getLockStatistics();
+		assertEquals(before.getYieldCount() + 1, after.getYieldCount());
+		assertEquals(before.getWriteWaitTimes().getCount() + 1, after.getWriteWaitTimes().getCount());
+		assertEquals(before.getWriteHoldTimes().getCount() + 1, after.getWriteHoldTimes().getCount());
+		assertTrue(after.getReadWaitTimes().getCount() > before.getReadWaitTimes().getCount());
+	}
+
 	@Test
 	public void test191679() throws Exception {
 		IProject project = cproject.getProject();
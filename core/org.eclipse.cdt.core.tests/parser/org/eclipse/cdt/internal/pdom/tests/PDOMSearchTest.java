@@ -19,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.dom.IName;
@@ -300,6 +302,37 @@ public class PDOMSearchTest extends PDOMTestBase {
 		assertEquals(offset("main.cpp", "int var;") + 4, loc.getNodeOffset()); // character offset
 	}
 
+	/**
+	 * Patterns with literals are answered with the trigram index, the same patterns wrapped in a group
+	 * are answered by visiting all bindings. Both must produce the same bindings.
+	 */
+	@Test
+	public void testPatternsWithLiterals() throws Exception {
+		assertSameBindings(new String[] { ".*lass1.*" }, 0, false, 7);
+		assertSameBindings(new String[] { ".*LASS.*" }, Pattern.CASE_INSENSITIVE, false, 13);
+		assertSameBindings(new String[] { "class1[xy]" }, 0, false, 2);
+		assertSameBindings(new String[] { "~Class.?" }, 0, false, 2);
+		assertSameBindings(new String[] { "namespace1", "Class.*" }, 0, false, 2);
+		assertSameBindings(new String[] { "namespace1", "Class.*" }, 0, true, 2);
+		assertSameBindings(new String[] { "Class1", ".*ass.*" }, 0, false, 5);
+		assertSameBindings(new String[] { ".*xyzzy.*" }, 0, false, 0);
+	}
+
+	private void assertSameBindings(String[] regexes, int flags, boolean isFullyQualified, int expectedCount)
+			throws CoreException {
+		Pattern[] patterns = new Pattern[regexes.length];
+		Pattern[] groups = new Pattern[regexes.length];
+		for (int i = 0; i < regexes.length; i++) {
+			patterns[i] = Pattern.compile(regexes[i], flags);
+			groups[i] = Pattern.compile("(" + regexes[i] + ")", flags);
+		}
+		IBinding[] bindings = pdom.findBindings(patterns, isFullyQualified, INDEX_FILTER, NULL_MONITOR);
+		IBinding[] expected = pdom.findBindings(groups, isFullyQualified, INDEX_FILTER, NULL_MONITOR);
+		Set<IBinding> expectedSet = new HashSet<>(Arrays.asList(expected));
+		assertEquals(expectedSet, new HashSet<>(Arrays.asList(bindings)), Arrays.toString(regexes));
+		assertEquals(expectedCount, bindings.length, Arrays.toString(regexes));
+	}
+
 	/**
 	 * Returns the fully qualified name for a given binding.
 	 */
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected TrigramIndex index;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("trigramindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		index = new TrigramIndex(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testRequiredLiterals() throws Exception {
+		assertLiterals(".*Vector.*", "Vector");
+		assertLiterals("get.*Name", "get", "Name");
+		assertLiterals("operator\\[\\]", "operator[]");
+		assertLiterals("ab?cd*ef+", "a", "c", "ef");
+		assertLiterals("x{2}yz[a-z]uv\\dw", "yz", "uv", "w");
+		assertLiterals("a\\Q.*\\Eb", "a.*b");
+		assertLiterals(".*", new String[0]);
+		assertNull(TrigramIndex.getRequiredLiterals(Pattern.compile("foo|bar")));
+		assertNull(TrigramIndex.getRequiredLiterals(Pattern.compile("(foo)")));
+		assertNull(TrigramIndex.getRequiredLiterals(Pattern.compile("foo", Pattern.LITERAL)));
+	}
+
+	@Test
+	public void testRequiredLiteralsOfEscapes() throws Exception {
+		// The characters of an escape sequence are not literals of their own
+		assertMatchingLiterals("ab\\x41cd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\x{41}cd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\u0041cd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\0101cd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\07cd", "ab\u0007cd", "ab", "cd");
+		assertMatchingLiterals("ab\\0477cd", "ab'7cd", "ab", "7cd");
+		assertMatchingLiterals("ab\\cAcd", "ab\u0001cd", "ab", "cd");
+		assertMatchingLiterals("ab\\p{Alpha}cd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\pLcd", "abAcd", "ab", "cd");
+		assertMatchingLiterals("ab\\x41*cd", "abcd", "ab", "cd");
+		// Back references need groups, which are not analyzed
+		assertNull(TrigramIndex.getRequiredLiterals(Pattern.compile("(?<name>a)b\\k<name>cd")));
+	}
+
+	private void assertMatchingLiterals(String regex, String input, String... expected) {
+		assertTrue(Pattern.compile(regex, Pattern.CASE_INSENSITIVE).matcher(input).matches(), regex);
+		assertLiterals(regex, expected);
+		for (String literal : expected) {
+			assertTrue(input.toLowerCase().contains(literal.toLowerCase()), regex);
+		}
+	}
+
+	private void assertLiterals(String regex, String... expected) {
+		char[][] literals = TrigramIndex.getRequiredLiterals(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+		String[] actual = new String[literals.length];
+		for (int i = 0; i < literals.length; i++) {
+			actual[i] = new String(literals[i]);
+		}
+		assertArrayEquals(expected, actual, regex);
+	}
+
+	@Test
+	public void testCandidates() throws Exception {
+		String[] names = { "Vector", "vector_base", "VectorIterator", "Matrix", "getVector", "ve", "size" };
+		for (String name : names) {
+			index.add(name.toCharArray());
+		}
+		index.add("Vector".toCharArray());
+
+		assertCandidates(new String[] { "Vector", "vector_base", "VectorIterator", "getVector" }, "ector");
+		assertCandidates(new String[] { "VectorIterator" }, "vector", "ITER");
+		assertCandidates(new String[] { "Matrix" }, "trix");
+		assertCandidates(new String[0], "xyz");
+		assertEquals(0, index.findName("ve".toCharArray()));
+		assertEquals(0, index.findName("vector".toCharArray()));
+	}
+
+	@Test
+	public void testLongPostingList() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			index.add(("name" + i).toCharArray());
+		}
+		long[] keys = TrigramIndex.getTrigramKeys(new char[][] { "nam".toCharArray() });
+		assertEquals(1000, index.findCandidates(keys).length);
+		assertCandidates(new String[] { "name123" }, "name123");
+	}
+
+	@Test
+	public void testRemove() throws Exception {
+		index.add("Vector".toCharArray());
+		index.add("Vector".toCharArray());
+		index.add("getVector".toCharArray());
+		index.add("Matrix".toCharArray());
+
+		// Names are removed with their last reference
+		index.remove("Vector".toCharArray());
+		assertCandidates(new String[] { "Vector", "getVector" }, "Vector");
+		index.remove("Vector".toCharArray());
+		assertCandidates(new String[] { "getVector" }, "Vector");
+		assertEquals(0, index.findName("Vector".toCharArray()));
+
+		index.remove("Matrix".toCharArray());
+		assertCandidates(new String[0], "trix");
+		index.remove("Matrix".toCharArray());
+		index.remove("ve".toCharArray());
+		assertCandidates(new String[] { "getVector" }, "get");
+	}
+
+	@Test
+	public void testRemoveFromLongPostingList() throws Exception {
+		for (int i = 0; i < 1000; i++) {
+			index.add(("name" + i).toCharArray());
+		}
+		for (int i = 0; i < 1000; i += 3) {
+			index.remove(("name" + i).toCharArray());
+		}
+		long[] keys = TrigramIndex.getTrigramKeys(new char[][] { "nam".toCharArray() });
+		long[] candidates = index.findCandidates(keys);
+		assertEquals(666, candidates.length);
+		for (long candidate : candidates) {
+			int i = Integer.parseInt(new String(index.getName(candidate)).substring(4));
+			assertTrue(i % 3 != 0);
+		}
+		assertCandidates(new String[0], "name123");
+		assertCandidates(new String[] { "name124" }, "name124");
+
+		// Adding names again reuses the free entries
+		for (int i = 0; i < 1000; i += 3) {
+			index.add(("name" + i).toCharArray());
+		}
+		assertEquals(1000, index.findCandidates(keys).length);
+	}
+
+	private void assertCandidates(String[] expected, String... literals) throws Exception {
+		char[][] chars = new char[literals.length][];
+		for (int i = 0; i < literals.length; i++) {
+			chars[i] = literals[i].toCharArray();
+		}
+		long[] candidates = index.findCandidates(TrigramIndex.getTrigramKeys(chars));
+		// Candidates are a superset, keep those that contain all literals.
+		List<String> matches = new ArrayList<>();
+		for (long candidate : candidates) {
+			String name = new String(index.getName(candidate));
+			boolean containsAll = true;
+			for (String literal : literals) {
+				containsAll &= name.toLowerCase().contains(literal.toLowerCase());
+			}
+			if (containsAll) {
+				matches.add(name);
+			}
+		}
+		assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(matches));
+		Set<Long> distinct = new HashSet<>();
+		for (long candidate : candidates) {
+			distinct.add(candidate);
+		}
+		assertEquals(candidates.length, distinct.size());
+	}
+}
@@ -84,6 +84,15 @@ public interface ILanguage extends IAdaptable {
 	 */
 	public final static int OPTION_PARSE_INACTIVE_CODE = 0x20;
 
+	/**
+	 * Option for {@link #getASTTranslationUnit(FileContent, IScannerInfo, IncludeFileContentProvider, IIndex, int, IParserLogService)}
+	 * Instructs the parser to measure the time spent in preprocessing, parsing and ambiguity resolution
+	 * and to count the tokens and characters processed per file. This adds some overhead to the parser.
+	 *
+	 * @since 9.3
+	 */
+	public final static int OPTION_COLLECT_STATISTICS = 0x40;
+
 	/**
 	 * Return the language id for this language.
 	 * This is to differentiate languages from each other.
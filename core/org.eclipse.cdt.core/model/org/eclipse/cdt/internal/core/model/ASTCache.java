@@ -15,10 +15,18 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.CCorePreferenceConstants;
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
@@ -33,7 +41,10 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of a single translation unit at a time, the active element. In addition
+ * the ASTs of recently active translation units, and of working copies requested while they were
+ * not active, are kept within a memory budget. These ASTs are discarded in least recently used
+ * order, when the translation unit is reconciled, or when the index changes.
  *
  * @since 4.0
  */
@@ -51,6 +62,12 @@ public class ASTCache {
 			| ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS
 			| ITranslationUnit.AST_PARSE_INACTIVE_CODE;
 
+	/**
+	 * A rough estimate of the memory used per AST node, including the location map and the
+	 * bindings of the AST.
+	 */
+	private static final int ESTIMATED_BYTES_PER_NODE = 200;
+
 	/**
 	 * Do something with an AST.
 	 *
@@ -74,6 +91,8 @@ public class ASTCache {
 	private ITranslationUnit fActiveTU;
 	/** The cached AST if any */
 	private IASTTranslationUnit fAST;
+	/** The estimated size of the cached AST in bytes, or -1 if it has not been estimated */
+	private long fASTSize = -1;
 	/**
 	 * The timestamp of the last index write access at the time
 	 * the AST got cached. A cached AST becomes invalid on any index
@@ -84,10 +103,47 @@ public class ASTCache {
 	private boolean fIsReconciling;
 
 	/**
-	 * Create a new AST cache.
+	 * The ASTs of translation units other than the active one, in least recently used order.
+	 * Guarded by {@link #fCacheMutex}.
+	 */
+	private final LinkedHashMap<ITranslationUnit, InactiveAST> fInactiveASTs = new LinkedHashMap<>(16, 0.75f, true);
+	/** The sum of the estimated sizes of the inactive ASTs */
+	private long fInactiveASTsSize;
+	/** The memory budget for inactive ASTs in bytes, or -1 to use the preference */
+	private final long fMemoryBudget;
+
+	/**
+	 * An AST kept for a translation unit that is not the active element.
+	 */
+	private static final class InactiveAST {
+		final IASTTranslationUnit fAST;
+		final long fLastWriteOnIndex;
+		final long fEstimatedSize;
+
+		InactiveAST(IASTTranslationUnit ast, long lastWriteOnIndex, long estimatedSize) {
+			fAST = ast;
+			fLastWriteOnIndex = lastWriteOnIndex;
+			fEstimatedSize = estimatedSize;
+		}
+	}
+
+	/**
+	 * Create a new AST cache. The memory budget for inactive ASTs is taken from the preference
+	 * {@link CCorePreferenceConstants#AST_CACHE_SIZE_MB}.
 	 */
 	public ASTCache() {
+		this(-1);
+	}
+
+	/**
+	 * Create a new AST cache with the given memory budget for the ASTs of translation units other
+	 * than the active one.
+	 *
+	 * @param memoryBudget the budget in bytes, 0 to keep the AST of the active element only
+	 */
+	public ASTCache(long memoryBudget) {
 		fParseMode = PARSE_MODE;
+		fMemoryBudget = memoryBudget;
 	}
 
 	/**
@@ -138,6 +194,19 @@ public class ASTCache {
 									+ tUnit.getElementName());
 						return null;
 					}
+				} else {
+					InactiveAST inactive = fInactiveASTs.get(tUnit);
+					if (inactive != null) {
+						if (inactive.fLastWriteOnIndex < index.getLastWriteAccess()) {
+							// AST has been invalidated by index write access
+							removeInactiveAST(tUnit);
+						} else {
+							if (DEBUG)
+								System.out.println(DEBUG_PREFIX + getThreadName() + "returning kept AST:" //$NON-NLS-1$
+										+ toString(inactive.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+							return inactive.fAST;
+						}
+					}
 				}
 				// no cached AST, but wait
 				if (isActiveElement && isReconciling(tUnit)) {
@@ -171,6 +240,7 @@ public class ASTCache {
 				System.err.println(DEBUG_PREFIX + getThreadName() + "creating AST for " + tUnit.getElementName()); //$NON-NLS-1$
 
 			IASTTranslationUnit ast = null;
+			final long lastWriteOnIndex = index.getLastWriteAccess();
 			try {
 				ast = createAST(tUnit, index, progressMonitor);
 				if (progressMonitor != null && progressMonitor.isCanceled())
@@ -184,9 +254,16 @@ public class ASTCache {
 							System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
 									+ tUnit.getElementName() + "- AST from reconciler is newer"); //$NON-NLS-1$
 						// other reconciler was faster, still need to trigger notify
-						reconciled(fAST, tUnit);
+						reconciled(fAST, fASTSize, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null && tUnit.isWorkingCopy()) {
+					// The content of working copies is reported by reconciling, keep the AST.
+					long size = estimateSize(ast);
+					synchronized (fCacheMutex) {
+						if (!tUnit.equals(fActiveTU))
+							addInactiveAST(tUnit, ast, lastWriteOnIndex, size);
+					}
 				}
 			}
 			return ast;
@@ -295,9 +372,10 @@ public class ASTCache {
 	 * Caches the given AST for the given translation unit.
 	 *
 	 * @param ast    the AST
+	 * @param size   the estimated size of the AST, or -1 if not known
 	 * @param tUnit  the translation unit
 	 */
-	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+	private void cache(IASTTranslationUnit ast, long size, ITranslationUnit tUnit) {
 		assert Thread.holdsLock(fCacheMutex);
 		if (fActiveTU != null && !fActiveTU.equals(tUnit)) {
 			if (DEBUG && tUnit != null) // don't report call from disposeAST()
@@ -313,6 +391,7 @@ public class ASTCache {
 			disposeAST();
 
 		fAST = ast;
+		fASTSize = size;
 		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
 
 		// Signal AST change
@@ -332,10 +411,100 @@ public class ASTCache {
 						+ toString(fActiveTU));
 
 			fAST = null;
-			cache(null, null);
+			cache(null, -1, null);
+		}
+	}
+
+	/**
+	 * Disposes the ASTs kept for translation units other than the active one.
+	 *
+	 * @param project  the project of the translation units, or <code>null</code> for all
+	 */
+	public void disposeInactiveASTs(ICProject project) {
+		synchronized (fCacheMutex) {
+			for (Iterator<Map.Entry<ITranslationUnit, InactiveAST>> iter = fInactiveASTs.entrySet().iterator(); iter
+					.hasNext();) {
+				Map.Entry<ITranslationUnit, InactiveAST> entry = iter.next();
+				if (project == null || project.equals(entry.getKey().getCProject())) {
+					fInactiveASTsSize -= entry.getValue().fEstimatedSize;
+					iter.remove();
+				}
+			}
 		}
 	}
 
+	/**
+	 * Disposes the AST kept for the given translation unit, unless it is the active element.
+	 *
+	 * @param tUnit  the translation unit
+	 */
+	public void disposeInactiveAST(ITranslationUnit tUnit) {
+		synchronized (fCacheMutex) {
+			removeInactiveAST(tUnit);
+		}
+	}
+
+	private InactiveAST removeInactiveAST(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		InactiveAST inactive = fInactiveASTs.remove(tUnit);
+		if (inactive != null)
+			fInactiveASTsSize -= inactive.fEstimatedSize;
+		return inactive;
+	}
+
+	/**
+	 * Keeps the AST of a translation unit that is not the active element, as long as it fits into
+	 * the memory budget together with the more recently used ASTs.
+	 *
+	 * @param size  the estimated size of the AST, see {@link #estimateSize(IASTTranslationUnit)}
+	 */
+	private void addInactiveAST(ITranslationUnit tUnit, IASTTranslationUnit ast, long lastWriteOnIndex,
+			long size) {
+		assert Thread.holdsLock(fCacheMutex);
+		removeInactiveAST(tUnit);
+		long budget = getMemoryBudget();
+		if (size < 0 || size > budget)
+			return;
+
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + getThreadName() + "keeping inactive AST: " + toString(ast) //$NON-NLS-1$
+					+ " for: " + toString(tUnit) + ", estimated size: " + size); //$NON-NLS-1$ //$NON-NLS-2$
+		fInactiveASTs.put(tUnit, new InactiveAST(ast, lastWriteOnIndex, size));
+		fInactiveASTsSize += size;
+		for (Iterator<InactiveAST> iter = fInactiveASTs.values().iterator(); fInactiveASTsSize > budget;) {
+			fInactiveASTsSize -= iter.next().fEstimatedSize;
+			iter.remove();
+		}
+	}
+
+	private long getMemoryBudget() {
+		if (fMemoryBudget >= 0)
+			return fMemoryBudget;
+		int megaBytes = Platform.getPreferencesService().getInt(CCorePlugin.PLUGIN_ID,
+				CCorePreferenceConstants.AST_CACHE_SIZE_MB,
+				Integer.parseInt(CCorePreferenceConstants.DEFAULT_AST_CACHE_SIZE_MB), null);
+		return megaBytes * 1024L * 1024L;
+	}
+
+	/**
+	 * Estimates the memory used by an AST from the number of its nodes. Traverses the whole AST,
+	 * so it is called by the thread that created the AST rather than when the AST is kept.
+	 * Returns -1 if no ASTs are kept for inactive translation units.
+	 */
+	private long estimateSize(IASTTranslationUnit ast) {
+		if (getMemoryBudget() <= 0)
+			return -1;
+		final long[] nodeCount = { 0 };
+		ast.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				nodeCount[0]++;
+				return PROCESS_CONTINUE;
+			}
+		});
+		return nodeCount[0] * ESTIMATED_BYTES_PER_NODE;
+	}
+
 	/**
 	 * Creates a new translation unit AST.
 	 *
@@ -386,9 +555,18 @@ public class ASTCache {
 			return;
 		}
 		synchronized (fCacheMutex) {
+			if (fActiveTU != null && fAST != null)
+				addInactiveAST(fActiveTU, fAST, fLastWriteOnIndex, fASTSize);
 			fIsReconciling = false;
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			cache(null, -1, tUnit);
+			InactiveAST inactive = tUnit != null ? removeInactiveAST(tUnit) : null;
+			if (inactive != null) {
+				// The AST is validated against the index when it is requested.
+				fAST = inactive.fAST;
+				fASTSize = inactive.fEstimatedSize;
+				fLastWriteOnIndex = inactive.fLastWriteOnIndex;
+			}
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
@@ -417,6 +595,8 @@ public class ASTCache {
 			return;
 
 		synchronized (fCacheMutex) {
+			// The content of the translation unit is changing.
+			removeInactiveAST(tUnit);
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
 				return;
 			}
@@ -425,7 +605,7 @@ public class ASTCache {
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
 			fIsReconciling = true;
-			cache(null, tUnit);
+			cache(null, -1, tUnit);
 		}
 	}
 
@@ -436,6 +616,11 @@ public class ASTCache {
 	 * @param tUnit  the translation unit
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		// Estimated by the thread that created the AST, it is needed when another element becomes active.
+		reconciled(ast, ast != null && isActiveElement(tUnit) ? estimateSize(ast) : -1, tUnit);
+	}
+
+	private void reconciled(IASTTranslationUnit ast, long size, ITranslationUnit tUnit) {
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
 				if (DEBUG)
@@ -447,7 +632,7 @@ public class ASTCache {
 						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
 
 			fIsReconciling = false;
-			cache(ast, tUnit);
+			cache(ast, size, tUnit);
 		}
 	}
 
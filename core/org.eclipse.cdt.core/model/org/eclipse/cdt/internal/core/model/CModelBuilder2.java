@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Stack;
 
 import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.CCorePreferenceConstants;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.IASTASMDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTCompositeTypeSpecifier;
@@ -94,6 +95,7 @@ import org.eclipse.cdt.internal.core.dom.parser.ASTQueries;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Platform;
 
 /**
  * Build TranslationUnit structure from an {@code IASTTranslationUnit}.
@@ -158,9 +160,16 @@ public class CModelBuilder2 implements IContributedModelBuilder {
 			}
 			parseFlags |= ITranslationUnit.AST_SKIP_TRIVIAL_EXPRESSIONS_IN_AGGREGATE_INITIALIZERS;
 			parseFlags |= ITranslationUnit.AST_PARSE_INACTIVE_CODE;
+			WorkingCopy incrementalCopy = null;
+			IASTTranslationUnit previousAST = null;
+			if (index != null && elementInfo instanceof ASTHolderTUInfo && fTranslationUnit instanceof WorkingCopy
+					&& isIncrementalParsingEnabled()) {
+				incrementalCopy = (WorkingCopy) fTranslationUnit;
+				previousAST = incrementalCopy.getReconciledAST(index, parseFlags);
+			}
 			final IASTTranslationUnit ast;
 			try {
-				ast = fTranslationUnit.getAST(index, parseFlags, fProgressMonitor);
+				ast = fTranslationUnit.getAST(index, parseFlags, previousAST, fProgressMonitor);
 				if (DEBUG) {
 					Util.debugLog("CModelBuilder2: parsing " //$NON-NLS-1$
 							+ fTranslationUnit.getElementName() + " mode=" //$NON-NLS-1$
@@ -175,6 +184,9 @@ public class CModelBuilder2 implements IContributedModelBuilder {
 			if (ast == null) {
 				return;
 			}
+			if (incrementalCopy != null) {
+				incrementalCopy.setReconciledAST(ast, index, parseFlags);
+			}
 
 			checkCanceled();
 			startTime = System.currentTimeMillis();
@@ -199,6 +211,11 @@ public class CModelBuilder2 implements IContributedModelBuilder {
 		}
 	}
 
+	private boolean isIncrementalParsingEnabled() {
+		return Platform.getPreferencesService().getBoolean(CCorePlugin.PLUGIN_ID,
+				CCorePreferenceConstants.RECONCILER_INCREMENTAL_PARSING, false, null);
+	}
+
 	private boolean isCanceled() {
 		return fProgressMonitor != null && fProgressMonitor.isCanceled();
 	}
@@ -34,6 +34,7 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.AbstractCLikeLanguage;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
@@ -844,6 +845,17 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	}
 
 	public IASTTranslationUnit getAST(IIndex index, int style, IProgressMonitor monitor) throws CoreException {
+		return getAST(index, style, null, monitor);
+	}
+
+	/**
+	 * Creates an AST, reusing parts of an AST that was created for a previous version of this
+	 * translation unit with the same index and style.
+	 *
+	 * @param previousAST the previous AST, or {@code null} to parse the entire file
+	 */
+	public IASTTranslationUnit getAST(IIndex index, int style, IASTTranslationUnit previousAST,
+			IProgressMonitor monitor) throws CoreException {
 		boolean incompleteIndex = index != null && !index.isFullyInitialized();
 		IIndexFile[] contextToHeader = getContextToHeader(index, style);
 		ITranslationUnit configureWith = getConfigureWith(contextToHeader);
@@ -883,8 +895,14 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		} else {
 			log = ParserUtil.getParserLogService();
 		}
-		ASTTranslationUnit ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent,
-				scanInfo, crf, index, options, log);
+		ASTTranslationUnit ast;
+		if (previousAST != null && language instanceof AbstractCLikeLanguage) {
+			ast = (ASTTranslationUnit) ((AbstractCLikeLanguage) language).getASTTranslationUnit(fileContent, scanInfo,
+					crf, index, options, log, previousAST);
+		} else {
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo, crf,
+					index, options, log);
+		}
 		if (ast == null)
 			return null;
 		ast.setOriginatingTranslationUnit(this);
@@ -17,10 +17,12 @@ package org.eclipse.cdt.internal.core.model;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.util.ArrayList;
 
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.core.model.IBuffer;
 import org.eclipse.cdt.core.model.ICElement;
@@ -53,6 +55,23 @@ public class WorkingCopy extends TranslationUnit implements IWorkingCopy {
 	 * translation unit is not a working copy.
 	 */
 	protected int useCount = 1;
+	/**
+	 * The AST of the last reconcile, which allows for parsing the next version incrementally.
+	 * Held softly, such that keeping it does not compete with the AST cache.
+	 */
+	private volatile SoftReference<ReconciledAST> fReconciledAST;
+
+	private static class ReconciledAST {
+		final IASTTranslationUnit fAST;
+		final int fStyle;
+		final long fLastWriteAccess;
+
+		ReconciledAST(IASTTranslationUnit ast, int style, long lastWriteAccess) {
+			fAST = ast;
+			fStyle = style;
+			fLastWriteAccess = lastWriteAccess;
+		}
+	}
 
 	/**
 	 * Creates a working copy of this element.
@@ -116,6 +135,7 @@ public class WorkingCopy extends TranslationUnit implements IWorkingCopy {
 		}
 		try {
 			problemRequestor = null;
+			fReconciledAST = null;
 			DestroyWorkingCopyOperation op = new DestroyWorkingCopyOperation(this);
 			op.runOperation(null);
 		} catch (CModelException e) {
@@ -355,6 +375,28 @@ public class WorkingCopy extends TranslationUnit implements IWorkingCopy {
 		((TranslationUnitInfo) getElementInfo()).fTimestamp = timeStamp;
 	}
 
+	/**
+	 * Returns the AST of the last reconcile if it was created with the given style and the index
+	 * has not changed since, or {@code null}. The caller must hold a read lock on the index.
+	 */
+	IASTTranslationUnit getReconciledAST(IIndex index, int style) throws CoreException {
+		SoftReference<ReconciledAST> ref = fReconciledAST;
+		ReconciledAST reconciled = ref != null ? ref.get() : null;
+		if (reconciled == null || reconciled.fStyle != style
+				|| reconciled.fLastWriteAccess != index.getLastWriteAccess()) {
+			return null;
+		}
+		return reconciled.fAST;
+	}
+
+	/**
+	 * Stores the AST of a reconcile as the base for parsing the next version incrementally.
+	 */
+	void setReconciledAST(IASTTranslationUnit ast, IIndex index, int style) throws CoreException {
+		fReconciledAST = ast == null ? null
+				: new SoftReference<>(new ReconciledAST(ast, style, index.getLastWriteAccess()));
+	}
+
 	@Override
 	public IASTTranslationUnit reconcile(boolean computeAST, boolean forceProblemDetection, IProgressMonitor monitor)
 			throws CModelException {
@@ -30,6 +30,11 @@ public interface IPDOMIndexerTask {
 	public static final String TRACE_SCANNER_PROBLEMS = CCorePlugin.PLUGIN_ID + "/debug/indexer/problems/scanner"; //$NON-NLS-1$
 	public static final String TRACE_SYNTAX_PROBLEMS = CCorePlugin.PLUGIN_ID + "/debug/indexer/problems/syntax"; //$NON-NLS-1$
 	public static final String TRACE_PROBLEMS = CCorePlugin.PLUGIN_ID + "/debug/indexer/problems"; //$NON-NLS-1$
+	/**
+	 * Records the costs per file and exports them to the state location of the plug-in.
+	 * @since 9.3
+	 */
+	public static final String TRACE_TELEMETRY = CCorePlugin.PLUGIN_ID + "/debug/indexer/telemetry"; //$NON-NLS-1$
 
 	/**
 	 * Called by the framework to perform the task.
@@ -42,7 +42,11 @@ import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParseError.ParseErrorKind;
 import org.eclipse.cdt.core.parser.ParserLanguage;
 import org.eclipse.cdt.core.parser.ParserMode;
+import org.eclipse.cdt.internal.core.dom.parser.AbstractGNUSourceCodeParser;
+import org.eclipse.cdt.internal.core.dom.parser.ReusableFunctionBodies;
 import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.util.ICancelable;
 import org.eclipse.cdt.internal.core.util.ICanceler;
 import org.eclipse.core.runtime.CoreException;
@@ -142,9 +146,28 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 	public IASTTranslationUnit getASTTranslationUnit(FileContent reader, IScannerInfo scanInfo,
 			IncludeFileContentProvider fileCreator, IIndex index, int options, IParserLogService log)
 			throws CoreException {
+		return getASTTranslationUnit(reader, scanInfo, fileCreator, index, options, log, null);
+	}
+
+	/**
+	 * Same as the method without the {@code previousAST} parameter, but parses the file incrementally, based
+	 * on an AST that was created for a previous version of the same file. When the edit between the two
+	 * versions is confined to the body of a single function, copies of the other function bodies of the
+	 * previous AST are added to the new AST rather than parsing them again.
+	 *
+	 * @param previousAST an AST of the file created with the same options, scanner configuration and index
+	 *     content, or {@code null}. The AST is not modified.
+	 * @since 9.3
+	 */
+	public IASTTranslationUnit getASTTranslationUnit(FileContent reader, IScannerInfo scanInfo,
+			IncludeFileContentProvider fileCreator, IIndex index, int options, IParserLogService log,
+			IASTTranslationUnit previousAST) throws CoreException {
 		final IScanner scanner = createScanner(reader, scanInfo, fileCreator, log);
 		scanner.setComputeImageLocations((options & OPTION_NO_IMAGE_LOCATIONS) == 0);
 		scanner.setProcessInactiveCode((options & OPTION_PARSE_INACTIVE_CODE) != 0);
+		if ((options & OPTION_COLLECT_STATISTICS) != 0 && scanner instanceof CPreprocessor cpp) {
+			cpp.setCollectStatistics(true);
+		}
 
 		IParserSettings parserSettings = null;
 		if (scanInfo instanceof ExtendedScannerInfo) {
@@ -152,6 +175,17 @@ public abstract class AbstractCLikeLanguage extends AbstractLanguage implements
 			parserSettings = extendedScannerInfo.getParserSettings();
 		}
 		final ISourceCodeParser parser = createParser(scanner, log, index, false, options, parserSettings);
+		final ILocationResolver resolver = scanner.getLocationResolver();
+		if (previousAST != null && resolver != null && parser instanceof AbstractGNUSourceCodeParser) {
+			ReusableFunctionBodies bodies = ReusableFunctionBodies.create(previousAST,
+					resolver.getTranslationUnitSource());
+			if (bodies != null)
+				((AbstractGNUSourceCodeParser) parser).setReusableFunctionBodies(bodies);
+		}
+		if (fileCreator instanceof InternalFileContentProvider && parser instanceof AbstractGNUSourceCodeParser) {
+			((AbstractGNUSourceCodeParser) parser)
+					.setFunctionBodyFilter(((InternalFileContentProvider) fileCreator).getFunctionBodyFilter());
+		}
 
 		// Make it possible to cancel parser by reconciler - http://bugs.eclipse.org/226682
 		ICanceler canceler = null;
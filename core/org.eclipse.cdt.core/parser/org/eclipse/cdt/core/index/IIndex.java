@@ -402,6 +402,30 @@ public interface IIndex {
 	 */
 	public IIndexName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Searches for the names that resolve to the given binding and passes them to the visitor
+	 * as they are found, rather than collecting them into an array. Names are reported in index
+	 * order: fragment by fragment, and within a fragment declarations, definitions and references
+	 * in the order they are stored. Duplicates are filtered the same way as by
+	 * {@link #findNames(IBinding, int)}.
+	 * <p>
+	 * The search stops as soon as the visitor returns {@code false} or the given number of names
+	 * has been visited, which allows for showing the first results of a search for a frequently
+	 * used binding without waiting for all of them. The caller must hold a read lock on the index
+	 * while the names are visited.
+	 *
+	 * @param binding a binding for which names are searched for
+	 * @param flags a combination of {@link #FIND_DECLARATIONS}, {@link #FIND_DEFINITIONS},
+	 * {@link #FIND_REFERENCES}, {@link #SEARCH_ACROSS_LANGUAGE_BOUNDARIES}, and
+	 * {@link #FIND_POTENTIAL_MATCHES}.
+	 * @param visitor the visitor receiving the names
+	 * @param maxNames the maximum number of names to visit, or a negative number for no limit
+	 * @return the number of names passed to the visitor
+	 * @throws CoreException
+	 * @since 9.3
+	 */
+	public int findNames(IBinding binding, int flags, IIndexNameVisitor visitor, int maxNames) throws CoreException;
+
 	/**
 	 * Searches for all references that resolve to the given binding.
 	 * This is fully equivalent to
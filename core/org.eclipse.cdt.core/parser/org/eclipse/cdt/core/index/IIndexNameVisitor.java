@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.index;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Receives the names found by {@link IIndex#findNames(org.eclipse.cdt.core.dom.ast.IBinding, int,
+ * IIndexNameVisitor, int)} one at a time, while the index is being searched.
+ * <p>
+ * Clients may implement this interface.
+ *
+ * @since 9.3
+ */
+@FunctionalInterface
+public interface IIndexNameVisitor {
+	/**
+	 * Called for each name found. The name is valid as long as the caller holds the read lock
+	 * on the index.
+	 *
+	 * @param name a name resolving to the binding searched for
+	 * @return {@code true} to continue the search, {@code false} to stop it
+	 * @throws CoreException to abort the search, the exception is passed on to the caller
+	 */
+	public boolean visit(IIndexName name) throws CoreException;
+}
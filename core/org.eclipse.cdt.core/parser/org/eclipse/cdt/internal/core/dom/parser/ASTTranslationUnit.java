@@ -58,6 +58,7 @@ import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
 import org.eclipse.cdt.internal.core.parser.scanner.ISkippedIndexedFilesListener;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -363,6 +364,14 @@ public abstract class ASTTranslationUnit extends ASTNode implements IASTTranslat
 		return null;
 	}
 
+	/**
+	 * Returns the statistics collected while parsing this translation unit, or {@code null} if the
+	 * parser was not asked to collect them.
+	 */
+	public ParseStatistics getParseStatistics() {
+		return fLocationResolver == null ? null : fLocationResolver.getParseStatistics();
+	}
+
 	@Override
 	public final boolean isHeaderUnit() {
 		return fIsHeader;
@@ -21,7 +21,9 @@
 package org.eclipse.cdt.internal.core.dom.parser;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ast.ASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
@@ -67,6 +69,7 @@ import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTNamedTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTNullStatement;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
 import org.eclipse.cdt.core.dom.ast.IASTProblem;
 import org.eclipse.cdt.core.dom.ast.IASTProblemDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTProblemExpression;
@@ -101,6 +104,8 @@ import org.eclipse.cdt.core.parser.ParseError;
 import org.eclipse.cdt.core.parser.ParserMode;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics;
+import org.eclipse.cdt.internal.core.parser.scanner.Token;
 
 /**
  * Base class for the c- and c++ parser.
@@ -227,6 +232,25 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	private final INodeFactory nodeFactory;
 	private boolean fActiveCode = true;
+	private ReusableFunctionBodies fReusableBodies;
+	private IFunctionBodyFilter fFunctionBodyFilter;
+	/** Bodies of included files, which are parsed after the rest of the translation unit */
+	private List<DeferredFunctionBody> fDeferredBodies;
+	/** Tokens of a deferred body, which are returned instead of the tokens of the scanner */
+	private IToken fReplayedTokens;
+
+	/**
+	 * The copied tokens of a function body, which is parsed in a second pass.
+	 */
+	private static final class DeferredFunctionBody {
+		final IASTCompoundStatement fPlaceholder;
+		final IToken fTokens;
+
+		DeferredFunctionBody(IASTCompoundStatement placeholder, IToken tokens) {
+			fPlaceholder = placeholder;
+			fTokens = tokens;
+		}
+	}
 
 	protected AbstractGNUSourceCodeParser(IScanner scanner, IParserLogService logService, ParserMode parserMode,
 			INodeFactory nodeFactory, boolean supportStatementsInExpressions, boolean supportTypeOfUnaries,
@@ -253,6 +277,25 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		maximumTrivialExpressionsInAggregateInitializers = limit;
 	}
 
+	/**
+	 * Instructs the parser to reuse function bodies of an AST for a previous version of the file,
+	 * rather than parsing them again.
+	 */
+	public void setReusableFunctionBodies(ReusableFunctionBodies bodies) {
+		fReusableBodies = bodies;
+	}
+
+	/**
+	 * Instructs the parser to defer parsing the function bodies of included files until the rest of
+	 * the translation unit has been parsed, and to skip the bodies of files the filter does not
+	 * need. Only a copy of the tokens of a deferred body is kept, which takes less memory than its
+	 * nodes.
+	 */
+	public void setFunctionBodyFilter(IFunctionBodyFilter filter) {
+		fFunctionBodyFilter = filter;
+		fDeferredBodies = filter != null ? new ArrayList<>() : null;
+	}
+
 	private AbstractParserLogService wrapLogService(IParserLogService logService) {
 		if (logService instanceof AbstractParserLogService) {
 			return (AbstractParserLogService) logService;
@@ -289,7 +332,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 	 */
 	private final IToken fetchToken(boolean skipInactive) throws EndOfFileException {
 		try {
-			IToken t = scanner.nextToken();
+			IToken t = fReplayedTokens != null ? nextReplayedToken() : scanner.nextToken();
 			if (skipInactive) {
 				while (t.getType() == IToken.tINACTIVE_CODE_START) {
 					scanner.skipInactiveCode();
@@ -323,6 +366,15 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		}
 	}
 
+	private IToken nextReplayedToken() {
+		final IToken t = fReplayedTokens;
+		if (t.getType() != IToken.tEOC) {
+			fReplayedTokens = t.getNext();
+			t.setNext(null);
+		}
+		return t;
+	}
+
 	private final IToken nextToken(boolean skipInactive) throws EndOfFileException {
 		final IToken t = nextToken;
 		if (t != null)
@@ -684,16 +736,24 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	@Override
 	public IASTTranslationUnit parse() {
-		long t0 = log.isTracing() ? System.currentTimeMillis() : 0;
+		long t0 = System.nanoTime();
 		translationUnit();
-		long t1 = log.isTracing() ? System.currentTimeMillis() : 0;
+		parseDeferredFunctionBodies();
+		long t1 = System.nanoTime();
 		resolveAmbiguities();
+		long t2 = System.nanoTime();
 		IASTTranslationUnit ast = getTranslationUnit();
+		if (ast instanceof ASTTranslationUnit astTu) {
+			ParseStatistics statistics = astTu.getParseStatistics();
+			if (statistics != null) {
+				statistics.setParserTimes(t1 - t0, t2 - t1);
+			}
+		}
 		if (log.isTracing()) {
 			ITranslationUnit tu = ast.getOriginatingTranslationUnit();
 			String name = tu == null ? "<unknown>" : tu.getElementName(); //$NON-NLS-1$
 			String message = String.format("Parsed %s: %d ms%s. Ambiguity resolution: %d ms", //$NON-NLS-1$
-					name, t1 - t0, parsePassed ? "" : " - parse failure", System.currentTimeMillis() - t1); //$NON-NLS-1$//$NON-NLS-2$
+					name, (t1 - t0) / 1000000, parsePassed ? "" : " - parse failure", (t2 - t1) / 1000000); //$NON-NLS-1$//$NON-NLS-2$
 			log.traceLog(message);
 		}
 		nullifyTranslationUnit();
@@ -1524,9 +1584,169 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		}
 
 		// full parse
+		if (fReusableBodies != null) {
+			IASTCompoundStatement body = reuseFunctionBody();
+			if (body != null)
+				return body;
+		}
+		if (fDeferredBodies != null) {
+			IASTCompoundStatement body = deferFunctionBody();
+			if (body != null)
+				return body;
+		}
 		return functionBody();
 	}
 
+	/**
+	 * Skips over a function body of an included file and keeps a copy of its tokens for parsing it
+	 * later.
+	 *
+	 * @return an empty placeholder for the body, or {@code null} if the body needs to be parsed now
+	 */
+	private IASTCompoundStatement deferFunctionBody() throws EndOfFileException, BacktrackException {
+		final IToken lbrace = LA(1);
+		final ILocationResolver resolver = getTranslationUnit().getAdapter(ILocationResolver.class);
+		if (lbrace.getType() != IToken.tLBRACE || resolver == null
+				|| resolver.isPartOfTranslationUnitFile(lbrace.getOffset())) {
+			return null;
+		}
+		final IToken rbrace;
+		try {
+			rbrace = skipOverCompoundStatement(false);
+		} catch (EndOfFileException e) {
+			// Let the parser report the incomplete body.
+			backup(lbrace);
+			return null;
+		}
+		Token first = null;
+		Token last = null;
+		for (IToken t = lbrace;; t = t.getNext()) {
+			if (!(t instanceof Token)) {
+				backup(lbrace);
+				return null;
+			}
+			final Token copy = ((Token) t).clone();
+			if (last == null) {
+				first = copy;
+			} else {
+				last.setNext(copy);
+			}
+			last = copy;
+			if (t == rbrace)
+				break;
+		}
+		// Lookahead beyond the end of the body yields the end of completion token.
+		final Token end = last.clone();
+		end.setType(IToken.tEOC);
+		end.setOffset(rbrace.getEndOffset(), rbrace.getEndOffset());
+		end.setNext(null);
+		last.setNext(end);
+
+		final IASTCompoundStatement placeholder = nodeFactory.newCompoundStatement();
+		setRange(placeholder, lbrace.getOffset(), rbrace.getEndOffset());
+		fDeferredBodies.add(new DeferredFunctionBody(placeholder, first));
+		return placeholder;
+	}
+
+	/**
+	 * Parses the deferred function bodies that are needed, the others remain empty.
+	 */
+	private void parseDeferredFunctionBodies() {
+		final List<DeferredFunctionBody> bodies = fDeferredBodies;
+		fDeferredBodies = null;
+		if (bodies == null)
+			return;
+
+		final IASTTranslationUnit tu = getTranslationUnit();
+		final Map<IASTPreprocessorIncludeStatement, Boolean> neededBodies = new IdentityHashMap<>();
+		fActiveCode = true;
+		for (DeferredFunctionBody body : bodies) {
+			final IASTNode parent = body.fPlaceholder.getParent();
+			if (!(parent instanceof IASTFunctionDefinition))
+				continue;
+			final IASTFunctionDefinition definition = (IASTFunctionDefinition) parent;
+			if (definition.getBody() != body.fPlaceholder)
+				continue;
+			if (!isFunctionBodyNeeded(definition, neededBodies)) {
+				tu.setHasNodesOmitted(true);
+				continue;
+			}
+			// Feed the copied tokens to the parser as if they were coming from the scanner.
+			fReplayedTokens = body.fTokens;
+			nextToken = null;
+			lastTokenFromScanner = null;
+			declarationMark = null;
+			try {
+				definition.setBody(functionBody());
+			} catch (BacktrackException bt) {
+				final IASTNode n = bt.getNodeBeforeProblem();
+				if (n instanceof IASTCompoundStatement)
+					definition.setBody((IASTCompoundStatement) n);
+				failParse();
+			} catch (EndOfFileException e) {
+				failParse();
+			}
+		}
+		fReplayedTokens = null;
+		nextToken = null;
+	}
+
+	private boolean isFunctionBodyNeeded(IASTFunctionDefinition definition,
+			Map<IASTPreprocessorIncludeStatement, Boolean> neededBodies) {
+		if (isFunctionBodyNeededForSemantics(definition))
+			return true;
+		final IASTFileLocation location = definition.getFileLocation();
+		if (location == null || location.getContextInclusionStatement() == null)
+			return true;
+		return neededBodies.computeIfAbsent(location.getContextInclusionStatement(),
+				fFunctionBodyFilter::needsFunctionBodies);
+	}
+
+	/**
+	 * Returns whether the semantics of the translation unit may depend on the body of the given
+	 * function, such that the body cannot be skipped.
+	 */
+	protected boolean isFunctionBodyNeededForSemantics(IASTFunctionDefinition definition) {
+		return false;
+	}
+
+	/**
+	 * Adds a copy of a function body of a previous AST of the file, instead of parsing it.
+	 *
+	 * @return the copy, or {@code null} if the body needs to be parsed
+	 */
+	private IASTCompoundStatement reuseFunctionBody() throws EndOfFileException, BacktrackException {
+		final IToken lbrace = LA(1);
+		final ILocationResolver resolver = getTranslationUnit().getAdapter(ILocationResolver.class);
+		if (lbrace.getType() != IToken.tLBRACE || resolver == null
+				|| !resolver.isPartOfTranslationUnitFile(lbrace.getOffset())) {
+			return null;
+		}
+		final int fileOffset = resolver.getMappedFileLocation(lbrace.getOffset(), 1).getNodeOffset();
+		if (fReusableBodies.isEditedBody(fileOffset)) {
+			final int directiveCount = resolver.getAllPreprocessorStatements().length;
+			final IASTCompoundStatement body = functionBody();
+			final ASTNode node = (ASTNode) body;
+			fReusableBodies.editedBodyParsed(resolver.getMappedFileLocation(node.getOffset(), node.getLength()),
+					resolver.getAllPreprocessorStatements().length != directiveCount);
+			return body;
+		}
+
+		final IASTCompoundStatement previous = fReusableBodies.getReusableBody(fileOffset);
+		if (previous == null)
+			return null;
+		final IToken mark = mark();
+		final int length = skipOverCompoundStatement(false).getEndOffset() - lbrace.getOffset();
+		final IASTFileLocation location = resolver.getMappedFileLocation(lbrace.getOffset(), length);
+		if (fReusableBodies.matches(previous, location, length) && resolver.getMacroExpansions(location).length == 0) {
+			IASTCompoundStatement body = fReusableBodies.copyBody(previous, lbrace.getOffset());
+			if (body != null)
+				return body;
+		}
+		backup(mark);
+		return null;
+	}
+
 	/**
 	 * Parses a function body.
 	 *
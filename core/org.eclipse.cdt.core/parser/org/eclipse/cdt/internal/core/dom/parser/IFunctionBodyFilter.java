@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
+
+/**
+ * Decides for which of the included files of a translation unit the parser needs to create the
+ * nodes of function bodies. The bodies of functions defined in other headers are skipped, unless
+ * they are needed to compute the semantics of the translation unit.
+ */
+public interface IFunctionBodyFilter {
+	/**
+	 * Returns whether the function bodies of an included file are needed. The method is called after
+	 * the entire translation unit has been preprocessed, such that the significant macros of the
+	 * include directive are known.
+	 *
+	 * @param include the include directive that created the file's content in the translation unit
+	 */
+	public boolean needsFunctionBodies(IASTPreprocessorIncludeStatement include);
+}
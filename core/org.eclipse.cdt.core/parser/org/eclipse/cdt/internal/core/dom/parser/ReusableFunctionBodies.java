@@ -0,0 +1,324 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTAttribute;
+import org.eclipse.cdt.core.dom.ast.IASTAttributeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTToken;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDecltypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * The function bodies of an AST for a previous version of a file, which the parser can reuse
+ * while parsing the current version of the file.
+ * <p>
+ * Bodies are reused only when the edit between the two versions is confined to the interior of
+ * a single function body of the root file of the translation unit:
+ * <ul>
+ * <li>A body before the edited one is reused when it starts at the same offset in the new
+ * version, a body after the edited one when it starts at the same offset moved by the difference
+ * in length of the two versions.
+ * <li>Bodies after the edited one are reused only after the edited body has been parsed, ended at
+ * the expected offset and was found not to contain any preprocessor directives. Otherwise the edit
+ * may have changed the structure of the file or the state of the preprocessor.
+ * <li>Bodies containing macro expansions, includes or other preprocessor directives are parsed.
+ * </ul>
+ * The preprocessor still processes the entire file, the parser skips over the tokens of a
+ * reusable body and adds a copy of the previous body with adjusted offsets to the new AST.
+ */
+public final class ReusableFunctionBodies {
+	/** File offsets of the reusable bodies of the previous AST, in ascending order */
+	private final int[] fOffsets;
+	private final IASTCompoundStatement[] fBodies;
+	/** File offset of the edited body of the previous AST, and the offset after its end */
+	private final int fEditedBodyOffset;
+	private final int fEditedBodyEndOffset;
+	/** Difference in length between the new and the previous version of the file */
+	private final int fDelta;
+	private boolean fEditedBodyVerified;
+	private int fReusedBodyCount;
+
+	private ReusableFunctionBodies(List<IASTCompoundStatement> bodies, int[] offsets, int editedBodyOffset,
+			int editedBodyEndOffset, int delta) {
+		fBodies = bodies.toArray(new IASTCompoundStatement[bodies.size()]);
+		fOffsets = offsets;
+		fEditedBodyOffset = editedBodyOffset;
+		fEditedBodyEndOffset = editedBodyEndOffset;
+		fDelta = delta;
+	}
+
+	/**
+	 * Collects the reusable function bodies of an AST for a previous version of a file.
+	 *
+	 * @param previousAST an AST that was created for a previous version of the file, with the same
+	 *     options, scanner configuration and index. The AST is not modified.
+	 * @param source the current content of the file
+	 * @return the reusable bodies, or {@code null} if the edit is not confined to a function body
+	 */
+	public static ReusableFunctionBodies create(IASTTranslationUnit previousAST, AbstractCharArray source) {
+		final ILocationResolver resolver = previousAST.getAdapter(ILocationResolver.class);
+		final AbstractCharArray previousSource = resolver != null ? resolver.getTranslationUnitSource() : null;
+		if (previousSource == null || source == null)
+			return null;
+
+		final int previousLength = previousSource.getLength();
+		final int length = source.getLength();
+		final int commonLength = Math.min(previousLength, length);
+		int prefix = 0;
+		while (prefix < commonLength && previousSource.get(prefix) == source.get(prefix)) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < commonLength - prefix
+				&& previousSource.get(previousLength - 1 - suffix) == source.get(length - 1 - suffix)) {
+			suffix++;
+		}
+
+		final int[] directives = getDirectiveOffsets(previousAST);
+		final List<IASTCompoundStatement> bodies = new ArrayList<>();
+		int[] offsets = new int[16];
+		int editedBodyOffset = -1;
+		int editedBodyEndOffset = -1;
+		final boolean unchanged = prefix == previousLength && previousLength == length;
+		if (unchanged) {
+			// Without an edit all bodies precede the (virtual) edited body.
+			editedBodyOffset = editedBodyEndOffset = previousLength;
+		}
+		for (IASTCompoundStatement body : collectBodies(previousAST)) {
+			final IASTFileLocation location = body.getFileLocation();
+			if (location == null)
+				continue;
+			final int offset = location.getNodeOffset();
+			final int endOffset = offset + location.getNodeLength();
+			final boolean hasDirectives = containsDirective(directives, offset, endOffset);
+			if (!unchanged && offset < prefix && previousLength - suffix < endOffset) {
+				// The braces of the edited body are not part of the edit.
+				if (hasDirectives || previousSource.get(offset) != '{' || previousSource.get(endOffset - 1) != '}')
+					return null;
+				editedBodyOffset = offset;
+				editedBodyEndOffset = endOffset;
+			} else if (!hasDirectives && isPlainFileContent(body, location)) {
+				if (bodies.size() == offsets.length)
+					offsets = Arrays.copyOf(offsets, 2 * offsets.length);
+				offsets[bodies.size()] = offset;
+				bodies.add(body);
+			}
+		}
+		if (editedBodyOffset < 0)
+			return null;
+		return new ReusableFunctionBodies(bodies, Arrays.copyOf(offsets, bodies.size()), editedBodyOffset,
+				editedBodyEndOffset, length - previousLength);
+	}
+
+	private static List<IASTCompoundStatement> collectBodies(IASTTranslationUnit ast) {
+		final List<IASTCompoundStatement> result = new ArrayList<>();
+		ast.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (!(declaration instanceof IASTFunctionDefinition))
+					return PROCESS_CONTINUE;
+				// Nested function bodies are part of the outer body.
+				final IASTStatement body = ((IASTFunctionDefinition) declaration).getBody();
+				if (body instanceof IASTCompoundStatement && body.isPartOfTranslationUnitFile())
+					result.add((IASTCompoundStatement) body);
+				return PROCESS_SKIP;
+			}
+		});
+		return result;
+	}
+
+	private static int[] getDirectiveOffsets(IASTTranslationUnit ast) {
+		final IASTPreprocessorStatement[] statements = ast.getAllPreprocessorStatements();
+		final int[] result = new int[statements.length];
+		int count = 0;
+		for (IASTPreprocessorStatement statement : statements) {
+			if (statement.isPartOfTranslationUnitFile()) {
+				final IASTFileLocation location = statement.getFileLocation();
+				if (location != null)
+					result[count++] = location.getNodeOffset();
+			}
+		}
+		final int[] offsets = Arrays.copyOf(result, count);
+		Arrays.sort(offsets);
+		return offsets;
+	}
+
+	private static boolean containsDirective(int[] directives, int offset, int endOffset) {
+		int idx = Arrays.binarySearch(directives, offset);
+		if (idx < 0)
+			idx = -idx - 1;
+		return idx < directives.length && directives[idx] < endOffset;
+	}
+
+	/**
+	 * Checks that the body consists of the characters of the root file, without macro expansions
+	 * or included content.
+	 */
+	private static boolean isPlainFileContent(IASTCompoundStatement body, IASTFileLocation location) {
+		final IASTNodeLocation[] locations = body.getNodeLocations();
+		return locations.length == 1 && locations[0] instanceof IASTFileLocation
+				&& ((ASTNode) body).getLength() == location.getNodeLength();
+	}
+
+	/**
+	 * Returns whether the function body starting at the given offset of the current version of
+	 * the file contains the edit.
+	 */
+	public boolean isEditedBody(int fileOffset) {
+		return fileOffset == fEditedBodyOffset;
+	}
+
+	/**
+	 * Reports the location of the edited body, after it has been parsed.
+	 *
+	 * @param location the location of the body in the current version of the file
+	 * @param containsDirectives whether preprocessor directives were encountered in the body
+	 */
+	public void editedBodyParsed(IASTFileLocation location, boolean containsDirectives) {
+		fEditedBodyVerified = !containsDirectives && location != null
+				&& location.getNodeOffset() == fEditedBodyOffset
+				&& location.getNodeOffset() + location.getNodeLength() == fEditedBodyEndOffset + fDelta;
+	}
+
+	/**
+	 * Returns the body of the previous AST that may be reused for a function body starting at the
+	 * given offset of the current version of the file, or {@code null}.
+	 */
+	public IASTCompoundStatement getReusableBody(int fileOffset) {
+		final int previousOffset;
+		if (fileOffset < fEditedBodyOffset) {
+			previousOffset = fileOffset;
+		} else if (fEditedBodyVerified && fileOffset - fDelta >= fEditedBodyEndOffset) {
+			previousOffset = fileOffset - fDelta;
+		} else {
+			return null;
+		}
+		final int idx = Arrays.binarySearch(fOffsets, previousOffset);
+		return idx >= 0 ? fBodies[idx] : null;
+	}
+
+	/**
+	 * Checks whether the tokens the parser skipped for a body of the current version of the file
+	 * correspond to the given body of the previous AST.
+	 *
+	 * @param body a body returned by {@link #getReusableBody(int)}
+	 * @param location the location of the skipped tokens in the current version of the file
+	 * @param sequenceLength the length of the skipped tokens in terms of sequence numbers
+	 */
+	public boolean matches(IASTCompoundStatement body, IASTFileLocation location, int sequenceLength) {
+		final int length = ((ASTNode) body).getLength();
+		return location.getNodeLength() == length && sequenceLength == length;
+	}
+
+	/**
+	 * Returns a copy of a body of the previous AST, which is moved to the given sequence number of
+	 * the AST being parsed, or {@code null} if the body cannot be copied.
+	 */
+	public IASTCompoundStatement copyBody(IASTCompoundStatement body, int sequenceNumber) {
+		final IASTCompoundStatement copy;
+		try {
+			copy = body.copy(CopyStyle.withoutLocations);
+		} catch (UnsupportedOperationException e) {
+			return null;
+		}
+		final int shift = sequenceNumber - ((ASTNode) body).getOffset();
+		if (shift != 0)
+			copy.accept(new OffsetShifter(shift));
+		fReusedBodyCount++;
+		return copy;
+	}
+
+	/**
+	 * Returns the number of bodies that were reused so far.
+	 */
+	public int getReusedBodyCount() {
+		return fReusedBodyCount;
+	}
+
+	/**
+	 * Moves all nodes of a subtree by a fixed number of sequence numbers.
+	 */
+	private static final class OffsetShifter extends ASTGenericVisitor {
+		private final int fShift;
+
+		OffsetShifter(int shift) {
+			super(true);
+			shouldVisitTokens = true;
+			fShift = shift;
+		}
+
+		@Override
+		protected int genericVisit(IASTNode node) {
+			final ASTNode astNode = (ASTNode) node;
+			astNode.setOffset(astNode.getOffset() + fShift);
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTAttribute attribute) {
+			return genericVisit(attribute);
+		}
+
+		@Override
+		public int visit(IASTAttributeSpecifier specifier) {
+			return genericVisit(specifier);
+		}
+
+		@Override
+		public int visit(IASTToken token) {
+			return genericVisit(token);
+		}
+
+		@Override
+		public int visit(ICPPASTDesignator designator) {
+			return genericVisit(designator);
+		}
+
+		@Override
+		public int visit(ICPPASTVirtSpecifier virtSpecifier) {
+			return genericVisit(virtSpecifier);
+		}
+
+		@Override
+		public int visit(ICPPASTClassVirtSpecifier classVirtSpecifier) {
+			return genericVisit(classVirtSpecifier);
+		}
+
+		@Override
+		public int visit(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+			return genericVisit(decltypeSpecifier);
+		}
+	}
+}
@@ -44,6 +44,7 @@ import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.IASTAmbiguityParent;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPInheritance.FinalOverriderMap;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPVisitor;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeInstantiationRequest;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
@@ -65,6 +66,7 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 	// template definition, so we wouldn't want to double-cache those. (But we could e.g.
 	// cache instantiations of function types if we found it worthwhile.)
 	private final Map<TypeInstantiationRequest, IType> fInstantiationCache = new HashMap<>();
+	private final ConstexprCallCache fConstexprCallCache = new ConstexprCallCache();
 
 	public CPPASTTranslationUnit() {
 		fScopeMapper = new CPPScopeMapper(this);
@@ -270,6 +272,10 @@ public class CPPASTTranslationUnit extends ASTTranslationUnit implements ICPPAST
 		return fInstantiationCache;
 	}
 
+	public ConstexprCallCache getConstexprCallCache() {
+		return fConstexprCallCache;
+	}
+
 	public void recordPartialSpecialization(ICPPClassTemplatePartialSpecialization indexSpec,
 			ICPPClassTemplatePartialSpecialization astSpec) {
 		fScopeMapper.recordPartialSpecialization(indexSpec, astSpec);
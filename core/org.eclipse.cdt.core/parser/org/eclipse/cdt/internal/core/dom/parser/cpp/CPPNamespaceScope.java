@@ -57,6 +57,8 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	private static final ICPPInternalNamespaceScope[] NO_NAMESPACE_SCOPES = {};
 
 	private List<ICPPUsingDirective> fUsingDirectives;
+	// The using directives as returned by getUsingDirectives(), recomputed after a directive is added.
+	private ICPPUsingDirective[] fUsingDirectiveArray;
 
 	private boolean fIsInline;
 	private boolean fIsInlineInitialized;
@@ -83,7 +85,11 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	public ICPPUsingDirective[] getUsingDirectives() {
 		initUsingDirectives();
 		populateCache();
-		return fUsingDirectives.toArray(new ICPPUsingDirective[fUsingDirectives.size()]);
+		if (fUsingDirectiveArray == null) {
+			fUsingDirectiveArray = fUsingDirectives.isEmpty() ? ICPPUsingDirective.EMPTY_ARRAY
+					: fUsingDirectives.toArray(new ICPPUsingDirective[fUsingDirectives.size()]);
+		}
+		return fUsingDirectiveArray;
 	}
 
 	private void initUsingDirectives() {
@@ -102,6 +108,7 @@ public class CPPNamespaceScope extends CPPScope implements ICPPInternalNamespace
 	public void addUsingDirective(ICPPUsingDirective directive) {
 		initUsingDirectives();
 		fUsingDirectives.add(directive);
+		fUsingDirectiveArray = null;
 	}
 
 	@Override
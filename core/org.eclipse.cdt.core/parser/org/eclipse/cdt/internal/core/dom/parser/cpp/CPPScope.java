@@ -43,6 +43,7 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
+import org.eclipse.cdt.core.parser.util.CharArraySet;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
 import org.eclipse.cdt.core.parser.util.ObjectSet;
@@ -67,6 +68,8 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 	private boolean isCached = false;
 	protected CharArrayObjectMap<Object> bindings;
 	private ICPPNamespace fIndexNamespace = UNINITIALIZED;
+	// Names that were searched in the global scope of the index without success.
+	private CharArraySet fNamesNotInIndex;
 
 	public static class CPPScopeProblem extends ProblemBinding implements ICPPScope {
 		public CPPScopeProblem(IASTNode node, int id, char[] arg) {
@@ -139,8 +142,7 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 				// Try looking this up in the index.
 				if (physicalNode instanceof IASTTranslationUnit) {
 					try {
-						IBinding[] bindings = index.findBindings(nchars,
-								IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE, NPM);
+						IBinding[] bindings = findGlobalIndexBindings(index, nchars);
 						if (fileSet != null) {
 							bindings = fileSet.filterFileLocalBindings(bindings);
 						}
@@ -201,7 +203,7 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 						final char[] nchars = lookup.getLookupKey();
 						IBinding[] bindings = lookup.isPrefixLookup()
 								? index.findBindingsForContentAssist(nchars, true, filter, null)
-								: index.findBindings(nchars, filter, null);
+								: findGlobalIndexBindings(index, nchars);
 						if (fileSet != null) {
 							bindings = fileSet.filterFileLocalBindings(bindings);
 						}
@@ -239,6 +241,23 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 		return ArrayUtil.trim(IBinding.class, result);
 	}
 
+	/**
+	 * Searches the global scope of the index for the given name. The index does not change while
+	 * the AST is in use, such that the names that are not found can be remembered.
+	 */
+	private IBinding[] findGlobalIndexBindings(IIndex index, char[] name) throws CoreException {
+		if (fNamesNotInIndex != null && fNamesNotInIndex.containsKey(name))
+			return IBinding.EMPTY_BINDING_ARRAY;
+		IBinding[] bindings = index.findBindings(name, IndexFilter.CPP_DECLARED_OR_IMPLICIT_NO_INSTANCE, NPM);
+		if (bindings.length == 0) {
+			if (fNamesNotInIndex == null) {
+				fNamesNotInIndex = new CharArraySet(16);
+			}
+			fNamesNotInIndex.put(name);
+		}
+		return bindings;
+	}
+
 	protected boolean nameIsVisibleToLookup(ScopeLookupData lookup) {
 		return true;
 	}
@@ -271,17 +290,27 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 			obj = bindings != null ? bindings.get(c) : null;
 		}
 
-		if (obj != null) {
-			if (obj instanceof ObjectSet<?>) {
-				ObjectSet<?> os = (ObjectSet<?>) obj;
+		if (obj instanceof ObjectSet<?>) {
+			ObjectSet<?> os = (ObjectSet<?>) obj;
+			if (os.size() > 0) {
+				result = new IBinding[os.size()];
+				int count = 0;
 				for (int j = 0; j < os.size(); j++) {
-					result = addCandidate(os.keyAt(j), lookup, result);
+					IBinding binding = getCandidateBinding(os.keyAt(j), lookup);
+					if (binding != null) {
+						result[count++] = binding;
+					}
 				}
-			} else {
-				result = addCandidate(obj, lookup, result);
+				result = ArrayUtil.trim(result, count);
+			}
+		} else if (obj != null) {
+			// Most names are declared only once in a scope.
+			IBinding binding = getCandidateBinding(obj, lookup);
+			if (binding != null) {
+				result = new IBinding[] { binding };
 			}
 		}
-		return ArrayUtil.trim(result);
+		return result;
 	}
 
 	private boolean isInsideClassScope(IScope scope) {
@@ -293,13 +322,16 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 		}
 	}
 
-	private IBinding[] addCandidate(Object candidate, ScopeLookupData lookup, IBinding[] result) {
+	/**
+	 * Returns the binding for the given candidate, or {@code null} if it is not visible to the lookup.
+	 */
+	private IBinding getCandidateBinding(Object candidate, ScopeLookupData lookup) {
 		final IASTNode point = lookup.getLookupPoint();
 		if (!lookup.isIgnorePointOfDeclaration()) {
 			IASTTranslationUnit tu = point.getTranslationUnit();
 			if (!CPPSemantics.declaredBefore(candidate, point, tu != null && tu.getIndex() != null)) {
 				if (!isInsideClassScope(this) || !LookupData.checkWholeClassScope(lookup.getLookupName()))
-					return result;
+					return null;
 			}
 		}
 
@@ -322,12 +354,9 @@ abstract public class CPPScope implements ICPPASTInternalScope {
 
 		// Deduction guides are not visible to ordinary name lookup
 		if (lookup.isDeductionGuidesOnly() ^ binding instanceof ICPPDeductionGuide) {
-			return result;
+			return null;
 		}
-
-		if (binding != null)
-			result = ArrayUtil.append(result, binding);
-		return result;
+		return binding;
 	}
 
 	@Override
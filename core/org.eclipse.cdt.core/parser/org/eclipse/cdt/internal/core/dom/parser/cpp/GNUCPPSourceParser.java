@@ -52,6 +52,7 @@ import org.eclipse.cdt.core.dom.ast.IASTExpression;
 import org.eclipse.cdt.core.dom.ast.IASTForStatement;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionCallExpression;
 import org.eclipse.cdt.core.dom.ast.IASTFunctionDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
 import org.eclipse.cdt.core.dom.ast.IASTInitializer;
 import org.eclipse.cdt.core.dom.ast.IASTInitializerClause;
@@ -5945,6 +5946,19 @@ public class GNUCPPSourceParser extends AbstractGNUSourceCodeParser {
 		}
 	}
 
+	@Override
+	protected boolean isFunctionBodyNeededForSemantics(IASTFunctionDefinition definition) {
+		// The bodies of constexpr functions are evaluated, deduced return types are computed from them.
+		final IASTDeclSpecifier declSpec = definition.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof ICPPASTSimpleDeclSpecifier) {
+			final int type = ((ICPPASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
 	protected IASTStatement parseSwitchStatement() throws EndOfFileException, BacktrackException {
 		int startOffset;
 		startOffset = consume().getOffset();
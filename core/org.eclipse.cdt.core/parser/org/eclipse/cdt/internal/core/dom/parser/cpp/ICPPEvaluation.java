@@ -100,19 +100,30 @@ public interface ICPPEvaluation {
 	 */
 	public final class ConstexprEvaluationContext {
 		/**
-		 * The maximum number of steps allowed in a single constexpr evaluation.
+		 * The default for the maximum number of steps allowed in a single constexpr evaluation.
 		 * This is used to prevent a buggy constexpr function from causing the
 		 * IDE to hang.
 		 */
 		public static final int MAX_CONSTEXPR_EVALUATION_STEPS = 1024;
 
+		private static volatile int sMaxSteps = MAX_CONSTEXPR_EVALUATION_STEPS;
+
 		private int fStepsPerformed;
+		private final int fMaxSteps;
 
 		/**
 		 * Constructs a ConstexprEvaluationContext for a new constexpr evaluation.
 		 */
 		public ConstexprEvaluationContext() {
 			fStepsPerformed = 0;
+			fMaxSteps = sMaxSteps;
+		}
+
+		/**
+		 * Sets the maximum number of steps allowed in the constexpr evaluations started afterwards.
+		 */
+		public static void setMaxSteps(int maxSteps) {
+			sMaxSteps = maxSteps;
 		}
 
 		/**
@@ -125,12 +136,29 @@ public interface ICPPEvaluation {
 			return this;
 		}
 
+		/**
+		 * Records the given number of steps, e.g. the steps of an evaluation whose result is reused.
+		 *
+		 * @return this constexpr evaluation
+		 */
+		public ConstexprEvaluationContext recordSteps(int steps) {
+			fStepsPerformed = (int) Math.min((long) fStepsPerformed + steps, Integer.MAX_VALUE);
+			return this;
+		}
+
 		/**
 		 * Returns the number of steps performed so far in the constexpr evaluation.
 		 */
 		public int getStepsPerformed() {
 			return fStepsPerformed;
 		}
+
+		/**
+		 * Returns the maximum number of steps allowed in the constexpr evaluation.
+		 */
+		public int getMaxSteps() {
+			return fMaxSteps;
+		}
 	}
 
 	/**
@@ -1082,7 +1082,7 @@ public class CPPSemantics {
 		Set<ICPPFunction> friendFns = new HashSet<>(2);
 		Set<ICPPNamespaceScope> associated = getAssociatedScopes(data, friendFns);
 		for (ICPPNamespaceScope scope : associated) {
-			if (!data.visited.containsKey(scope)) {
+			if (!data.isVisited(scope)) {
 				lookup(data, scope);
 			}
 		}
@@ -1600,7 +1600,7 @@ public class CPPSemantics {
 	private static void nominateNamespaces(LookupData data, final ICPPNamespaceScope blockScope) throws DOMException {
 		final boolean isBlockScope = blockScope.getKind() == EScopeKind.eLocal;
 		if (!isBlockScope) {
-			data.visited.put(blockScope); // Mark as searched.
+			data.markVisited(blockScope); // Mark as searched.
 			CPPASTTranslationUnit tu = data.getTranslationUnit();
 			if (tu != null) {
 				tu.handleAdditionalDirectives(blockScope);
@@ -1930,7 +1930,7 @@ public class CPPSemantics {
 		if (tu != null) {
 			nominated = (ICPPNamespaceScope) tu.mapToASTScope(nominated);
 		}
-		if (nominated == null || data.visited.containsKey(nominated) || (handled != null && !handled.add(nominated))) {
+		if (nominated == null || data.isVisited(nominated) || (handled != null && !handled.add(nominated))) {
 			return;
 		}
 		// 7.3.4.1 names appear at end of common enclosing scope of container and nominated scope.
@@ -2376,10 +2376,10 @@ public class CPPSemantics {
 		List<ICPPNamespaceScope> allNominated = data.usingDirectives.remove(scope);
 		while (allNominated != null) {
 			for (ICPPNamespaceScope nominated : allNominated) {
-				if (data.visited.containsKey(nominated)) {
+				if (data.isVisited(nominated)) {
 					continue;
 				}
-				data.visited.put(nominated);
+				data.markVisited(nominated);
 
 				boolean found = false;
 				IBinding[] bindings = getBindingsFromScope(nominated, data);
@@ -4882,7 +4882,7 @@ public class CPPSemantics {
 				data.ignoreUsingDirectives = true;
 				data.qualified = true;
 				for (ICPPScope nsScope : additionalNamespaces) {
-					if (!data.visited.containsKey(nsScope)) {
+					if (!data.isVisited(nsScope)) {
 						lookup(data, nsScope);
 					}
 				}
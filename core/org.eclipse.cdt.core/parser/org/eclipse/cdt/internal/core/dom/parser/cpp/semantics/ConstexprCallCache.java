@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import static org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory.PRVALUE;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.CVTYPE;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IBasicType;
+import org.eclipse.cdt.core.dom.ast.IEnumeration;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPParameter;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.internal.core.dom.parser.FloatingPointValue;
+import org.eclipse.cdt.internal.core.dom.parser.IntegralValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+
+/**
+ * Remembers the results of calls to constexpr functions with constant arguments of arithmetic or
+ * enumeration type, such that a function called repeatedly with the same arguments is evaluated
+ * only once. The number of steps the evaluation took is remembered along with the result and
+ * charged to each evaluation using the result, such that the step limit applies as if the call had
+ * been evaluated again.
+ * <p>
+ * A cache created for an index is shared by the ASTs created for that index, e.g. by the
+ * translation units of an indexer run. It only remembers calls of functions from the index that
+ * return a value of a built-in type. An evaluation may read any binding from the index, so the
+ * cache has to be cleared whenever a file is written to the index.
+ */
+public final class ConstexprCallCache {
+	private static final int MAX_SIZE = 10000;
+
+	/**
+	 * A call of a function with the values of its arguments.
+	 */
+	static final class Call {
+		final ICPPFunction fFunction;
+		final IValue[] fArguments;
+		private final int fHashCode;
+
+		private Call(ICPPFunction function, IValue[] arguments) {
+			fFunction = function;
+			fArguments = arguments;
+			fHashCode = 31 * function.hashCode() + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Call))
+				return false;
+			Call other = (Call) obj;
+			return fHashCode == other.fHashCode && fFunction.equals(other.fFunction)
+					&& Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	/**
+	 * The result of a call along with the number of steps it took to evaluate it.
+	 */
+	static final class Result {
+		final ICPPEvaluation fEvaluation;
+		final int fSteps;
+
+		private Result(ICPPEvaluation evaluation, int steps) {
+			fEvaluation = evaluation;
+			fSteps = steps;
+		}
+	}
+
+	private final boolean fSharedByIndex;
+	private final Map<Call, Result> fResults = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Call, Result> eldest) {
+			return size() > MAX_SIZE;
+		}
+	};
+
+	/**
+	 * Creates a cache for a single AST.
+	 */
+	public ConstexprCallCache() {
+		this(false);
+	}
+
+	/**
+	 * Creates a cache for a single AST or one shared by the ASTs created for an index.
+	 */
+	public ConstexprCallCache(boolean sharedByIndex) {
+		fSharedByIndex = sharedByIndex;
+	}
+
+	/**
+	 * Returns the call of the given function with the given arguments, or {@code null} if the result
+	 * of the call may depend on more than the values of the arguments. The first argument is the
+	 * evaluation of the function itself.
+	 */
+	static Call createCall(ICPPFunction function, ICPPEvaluation[] arguments) {
+		if (function instanceof ICPPMethod && !((ICPPMethod) function).isStatic())
+			return null;
+		ICPPParameter[] parameters = function.getParameters();
+		if (arguments.length - 1 > parameters.length)
+			return null;
+		for (ICPPParameter parameter : parameters) {
+			IType type = SemanticUtil.getNestedType(parameter.getType(), TDEF | CVTYPE);
+			if (!(type instanceof IBasicType) && !(type instanceof IEnumeration))
+				return null;
+		}
+		IValue[] values = new IValue[arguments.length - 1];
+		for (int i = 0; i < values.length; i++) {
+			IValue value = arguments[i + 1].getValue();
+			if (!isNumber(value))
+				return null;
+			values[i] = value;
+		}
+		return new Call(function, values);
+	}
+
+	private static boolean isNumber(IValue value) {
+		return (value instanceof IntegralValue || value instanceof FloatingPointValue) && value.numberValue() != null;
+	}
+
+	synchronized Result get(Call call) {
+		return fResults.get(call);
+	}
+
+	/**
+	 * Remembers the result of the given call, provided that it is a constant.
+	 *
+	 * @param steps the number of steps it took to evaluate the call
+	 */
+	synchronized void put(Call call, ICPPEvaluation result, int steps) {
+		if (result.getValueCategory() != PRVALUE || result.isValueDependent() || !isNumber(result.getValue()))
+			return;
+		IType type = result.getType();
+		if (fSharedByIndex && (!(call.fFunction instanceof IIndexBinding) || !(type instanceof IBasicType)))
+			return;
+		fResults.put(call, new Result(new EvalFixed(type, PRVALUE, result.getValue()), steps));
+	}
+
+	/**
+	 * Forgets all results, needs to be called when a file is written to the index.
+	 */
+	public synchronized void clear() {
+		fResults.clear();
+	}
+}
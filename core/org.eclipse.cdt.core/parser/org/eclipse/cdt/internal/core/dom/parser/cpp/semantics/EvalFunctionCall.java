@@ -46,6 +46,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
 import org.eclipse.cdt.internal.core.dom.parser.DependentValue;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClosureType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
@@ -53,6 +54,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPExecution;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.InstantiationContext;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.OverloadableOperator;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics.LookupMode;
+import org.eclipse.cdt.internal.core.index.WritableCIndex;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 
@@ -279,7 +281,7 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 
 	@Override
 	public ICPPEvaluation computeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
-		if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+		if (context.getStepsPerformed() >= context.getMaxSteps()) {
 			return EvalFixed.INCOMPLETE;
 		}
 
@@ -348,6 +350,48 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		// Calls with the same constant arguments yield the same result.
+		ConstexprCallCache.Call call = ConstexprCallCache.createCall(function, fArguments);
+		if (call == null)
+			return executeFunctionBody(function, context);
+
+		ConstexprCallCache astCache = null;
+		ConstexprCallCache indexCache = null;
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null && lookupPoint.getTranslationUnit() instanceof CPPASTTranslationUnit) {
+			CPPASTTranslationUnit tu = (CPPASTTranslationUnit) lookupPoint.getTranslationUnit();
+			astCache = tu.getConstexprCallCache();
+			if (tu.getIndex() instanceof WritableCIndex) {
+				indexCache = ((WritableCIndex) tu.getIndex()).getConstexprCallCache();
+			}
+		}
+		ConstexprCallCache.Result cached = astCache != null ? astCache.get(call) : null;
+		if (cached == null && indexCache != null) {
+			cached = indexCache.get(call);
+		}
+		if (cached != null) {
+			// The call fails if evaluating it again would exceed the step limit.
+			context.recordSteps(cached.fSteps);
+			if (context.getStepsPerformed() > context.getMaxSteps())
+				return EvalFixed.INCOMPLETE;
+			return cached.fEvaluation;
+		}
+
+		final int stepsBefore = context.getStepsPerformed();
+		ICPPEvaluation result = executeFunctionBody(function, context);
+		if (result != this) {
+			final int steps = context.getStepsPerformed() - stepsBefore;
+			if (astCache != null) {
+				astCache.put(call, result, steps);
+			}
+			if (indexCache != null) {
+				indexCache.put(call, result, steps);
+			}
+		}
+		return result;
+	}
+
+	private ICPPEvaluation executeFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
@@ -38,7 +38,7 @@ public class ExecFor implements ICPPExecution {
 	public ICPPExecution executeForFunctionCall(ActivationRecord record, ConstexprEvaluationContext context) {
 		for (evaluateInitializationStatement(record, context); conditionSatisfied(record,
 				context); evaluateIterationExpression(record, context)) {
-			if (context.getStepsPerformed() >= ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS) {
+			if (context.getStepsPerformed() >= context.getMaxSteps()) {
 				return ExecIncomplete.INSTANCE;
 			}
 
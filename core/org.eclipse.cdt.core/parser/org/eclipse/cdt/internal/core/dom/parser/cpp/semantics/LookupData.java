@@ -88,8 +88,8 @@ public class LookupData extends ScopeLookupData {
 	private static final ICPPTemplateArgument[] UNINITIALIZED_TEMPLATE_ARGUMENTS = {};
 	public Map<ICPPNamespaceScope, List<ICPPNamespaceScope>> usingDirectives = Collections.emptyMap();
 
-	/** Used to ensure we don't visit things more than once. */
-	public ObjectSet<IScope> visited = new ObjectSet<>(1);
+	/** Used to ensure we don't visit things more than once, created on demand. */
+	private ObjectSet<IScope> fVisited;
 
 	public boolean contentAssist;
 
@@ -328,6 +328,23 @@ public class LookupData extends ScopeLookupData {
 		return false;
 	}
 
+	/**
+	 * Returns whether the given scope has already been searched by this lookup.
+	 */
+	public boolean isVisited(IScope scope) {
+		return fVisited != null && fVisited.containsKey(scope);
+	}
+
+	/**
+	 * Marks the given scope as searched by this lookup.
+	 */
+	public void markVisited(IScope scope) {
+		if (fVisited == null) {
+			fVisited = new ObjectSet<>(1);
+		}
+		fVisited.put(scope);
+	}
+
 	public boolean hasResultOrProblem() {
 		return problem != null || hasResults();
 	}
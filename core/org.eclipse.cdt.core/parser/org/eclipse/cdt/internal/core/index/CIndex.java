@@ -20,13 +20,14 @@ package org.eclipse.cdt.internal.core.index;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -44,6 +45,7 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameVisitor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.dom.Linkage;
@@ -63,6 +65,8 @@ public class CIndex implements IIndex {
 	 */
 	private static final boolean SPECIALCASE_SINGLES = true;
 
+	private static volatile boolean sParallelQueries;
+
 	private final IIndexFragment[] fFragments;
 	private int fReadLock;
 	private ICompositesFactory cppCF, cCF, fCF;
@@ -108,27 +112,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(patterns, isFullyQualified, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(patterns, isFullyQualified,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor, (fragment, linkageFilter, m) -> fragment
+					.findBindings(patterns, isFullyQualified, linkageFilter, m));
 		}
 	}
 
@@ -138,76 +123,88 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findMacroContainers(pattern, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findMacroContainers(pattern,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, linkageFilter, m) -> fragment.findMacroContainers(pattern, linkageFilter, m));
 		}
 	}
 
 	@Override
 	public IIndexName[] findNames(IBinding binding, int flags) throws CoreException {
-		ArrayList<IIndexFragmentName> result = new ArrayList<>();
+		ArrayList<IIndexName> result = new ArrayList<>();
+		// All names are needed, such that the fragments can be queried concurrently.
+		findNames(binding, flags, result::add, -1, useParallelQueries());
+		return result.toArray(new IIndexName[result.size()]);
+	}
+
+	@Override
+	public int findNames(IBinding binding, int flags, IIndexNameVisitor visitor, int maxNames) throws CoreException {
+		return findNames(binding, flags, visitor, maxNames, false);
+	}
+
+	private int findNames(IBinding binding, int flags, IIndexNameVisitor visitor, int maxNames, boolean prefetch)
+			throws CoreException {
+		if (maxNames == 0)
+			return 0;
+		IBinding[] bindings = { binding };
 		if (binding instanceof ICPPUsingDeclaration) {
-			IBinding[] bindings = ((ICPPUsingDeclaration) binding).getDelegates();
-			if (bindings == null || bindings.length == 0) {
-				return IIndexName.EMPTY_ARRAY;
-			}
-			if (bindings.length > 1) {
-				ArrayList<IIndexName> multi = new ArrayList<>();
-				for (IBinding b : bindings) {
-					multi.addAll(Arrays.asList(findNames(b, flags)));
-				}
-				return multi.toArray(new IIndexName[multi.size()]);
-			}
-			binding = bindings[0];
+			bindings = ((ICPPUsingDeclaration) binding).getDelegates();
+			if (bindings == null)
+				return 0;
+		}
+		int count = 0;
+		for (IBinding b : bindings) {
+			NameMerger merger = new NameMerger(visitor, maxNames < 0 ? -1 : maxNames - count);
+			boolean completed = findNames(b, flags, merger, prefetch);
+			count += merger.fCount;
+			if (!completed)
+				break;
 		}
+		return count;
+	}
 
+	/**
+	 * Passes the names of all fragments to the merger. With {@code prefetch} the fragments are queried
+	 * concurrently first, otherwise the names are passed on while the fragments are searched.
+	 */
+	private boolean findNames(IBinding binding, int flags, NameMerger merger, boolean prefetch)
+			throws CoreException {
+		List<IIndexFragmentName[]> prefetched = null;
+		if (prefetch) {
+			prefetched = queryFragments((fragment, m) -> fragment.findNames(binding, flags), null);
+		}
 		// Collect the names from all fragments. Since the same file may be represented by multiple
 		// variants in one or more index fragments, we need to filter out duplicate names.
 		// See bug 192352.
 		// Read only fragments can be superseded by what the indexer writes into
 		// a writable fragment. Therefore names from a read-only fragment are
 		// ignored if there is a match in a writable fragment.
-		HashSet<NameKey> encounteredNames = new HashSet<>();
-		for (IIndexFragment fragment : fFragments) {
-			if (fragment instanceof IWritableIndexFragment) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
-				for (IIndexFragmentName name : names) {
-					if (encounteredNames.add(new NameKey(name, true))) {
-						result.add(name);
-					}
-				}
+		merger.fInWritableFragment = true;
+		for (int i = 0; i < fFragments.length; i++) {
+			if (fFragments[i] instanceof IWritableIndexFragment) {
+				if (!findNames(i, binding, flags, merger, prefetched))
+					return false;
 			}
 		}
-		for (IIndexFragment fragment : fFragments) {
-			if (!(fragment instanceof IWritableIndexFragment)) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
-				for (IIndexFragmentName name : names) {
-					if (encounteredNames.add(new NameKey(name, false))) {
-						result.add(name);
-					}
-				}
+		merger.fInWritableFragment = false;
+		for (int i = 0; i < fFragments.length; i++) {
+			if (!(fFragments[i] instanceof IWritableIndexFragment)) {
+				if (!findNames(i, binding, flags, merger, prefetched))
+					return false;
 			}
 		}
-		return result.toArray(new IIndexName[result.size()]);
+		return true;
+	}
+
+	private boolean findNames(int fragmentIndex, IBinding binding, int flags, NameMerger merger,
+			List<IIndexFragmentName[]> prefetched) throws CoreException {
+		if (prefetched == null)
+			return fFragments[fragmentIndex].findNames(binding, flags, merger);
+
+		for (IIndexFragmentName name : prefetched.get(fragmentIndex)) {
+			if (!merger.visit(name))
+				return false;
+		}
+		return true;
 	}
 
 	@Override
@@ -323,11 +320,18 @@ public class CIndex implements IIndex {
 		Set<FileContentKey> handled = new HashSet<>();
 		while (true) {
 			Collection<IIndexFile> nextLevel = depth != 0 ? new ArrayDeque<>() : null;
-			for (IIndexFile indexFile : in) {
-				IIndexFragmentFile file1 = (IIndexFragmentFile) indexFile;
-				for (IIndexFragment fragment : fFragments) {
-					IIndexInclude[] includedBy = fragment.findIncludedBy(file1);
-					for (IIndexInclude include : includedBy) {
+			IIndexFragmentFile[] level = in.toArray(new IIndexFragmentFile[in.size()]);
+			// One query per level, each fragment looks up the includers of all files of the level
+			List<IIndexInclude[][]> includers = queryFragments((fragment, m) -> {
+				IIndexInclude[][] includedBy = new IIndexInclude[level.length][];
+				for (int i = 0; i < level.length; i++) {
+					includedBy[i] = fragment.findIncludedBy(level[i]);
+				}
+				return includedBy;
+			}, null);
+			for (int i = 0; i < level.length; i++) {
+				for (IIndexInclude[][] fragmentIncluders : includers) {
+					for (IIndexInclude include : fragmentIncluders[i]) {
 						final IIndexFile includer = include.getIncludedBy();
 						FileContentKey key = new FileContentKey(file.getLinkageID(), includer.getLocation(),
 								includer.getSignificantMacros());
@@ -454,33 +458,8 @@ public class CIndex implements IIndex {
 				return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
 			}
 		} else {
-			if (monitor == null) {
-				monitor = new NullProgressMonitor();
-			}
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			SubMonitor loopMonitor = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label,
-					fFragments.length * linkages.length);
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(names, retargetFilter(linkage, filter),
-									loopMonitor.newChild(1));
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			monitor.done();
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, linkageFilter, m) -> fragment.findBindings(names, linkageFilter, m));
 		}
 	}
 
@@ -514,6 +493,111 @@ public class CIndex implements IIndex {
 	 * Non-API
 	 */
 
+	/**
+	 * Sets whether queries are executed on the fragments concurrently, see
+	 * {@link org.eclipse.cdt.core.CCorePreferenceConstants#INDEX_PARALLEL_QUERIES}.
+	 */
+	public static void setParallelQueries(boolean value) {
+		sParallelQueries = value;
+	}
+
+	private boolean useParallelQueries() {
+		return sParallelQueries && fFragments.length > 1;
+	}
+
+	/**
+	 * A query on a single fragment.
+	 */
+	@FunctionalInterface
+	private interface FragmentQuery<T> {
+		T execute(IIndexFragment fragment, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * A query for bindings on a single fragment, restricted to one linkage by the filter.
+	 */
+	@FunctionalInterface
+	private interface FragmentBindingQuery {
+		IBinding[] execute(IIndexFragment fragment, IndexFilter linkageFilter, IProgressMonitor monitor)
+				throws CoreException;
+	}
+
+	/**
+	 * Executes a query on all fragments and returns the results in the order of the fragments.
+	 * The fragments are queried one after the other, or concurrently if parallel queries are
+	 * enabled. In the latter case the calling thread waits for all fragments, such that the
+	 * results are always complete and merged in the same order. The fragments are read on behalf
+	 * of the calling thread, which must hold the read lock of this index. Index filters passed to
+	 * the queries may be called from several threads at once.
+	 */
+	private <T> List<T> queryFragments(FragmentQuery<T> query, IProgressMonitor monitor) throws CoreException {
+		List<T> results = new ArrayList<>(fFragments.length);
+		if (!useParallelQueries()) {
+			SubMonitor progress = SubMonitor.convert(monitor, fFragments.length);
+			for (IIndexFragment fragment : fFragments) {
+				results.add(query.execute(fragment, progress.newChild(1)));
+			}
+			return results;
+		}
+
+		// Progress monitors are not thread-safe, the queries only see the cancellation of the caller.
+		IProgressMonitor cancellation = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor != null && monitor.isCanceled();
+			}
+		};
+		List<FragmentQueryTask<T>> tasks = new ArrayList<>(fFragments.length);
+		for (IIndexFragment fragment : fFragments) {
+			FragmentQueryTask<T> task = new FragmentQueryTask<>(fragment, query, cancellation);
+			QueryPool.INSTANCE.execute(task);
+			tasks.add(task);
+		}
+		// Wait for all tasks before reporting a failure, the lock must not be released while the
+		// fragments are being read.
+		for (FragmentQueryTask<T> task : tasks) {
+			task.quietlyJoin();
+		}
+		for (FragmentQueryTask<T> task : tasks) {
+			task.join();
+			if (task.fException != null)
+				throw task.fException;
+			results.add(task.fResult);
+		}
+		return results;
+	}
+
+	/**
+	 * Executes a binding query on all fragments for each linkage accepted by the filter and
+	 * combines the bindings of the fragments into composite bindings.
+	 */
+	private IIndexBinding[] findCompositeBindings(IndexFilter filter, IProgressMonitor monitor,
+			FragmentBindingQuery query) throws CoreException {
+		List<IIndexBinding[]> result = new ArrayList<>();
+		ILinkage[] linkages = Linkage.getIndexerLinkages();
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, linkages.length);
+		for (ILinkage linkage : linkages) {
+			if (filter.acceptLinkage(linkage)) {
+				IndexFilter linkageFilter = retargetFilter(linkage, filter);
+				List<IIndexFragmentBinding[]> parts = queryFragments((fragment, m) -> {
+					try {
+						IBinding[] part = query.execute(fragment, linkageFilter, m);
+						IIndexFragmentBinding[] fragmentBindings = new IIndexFragmentBinding[part.length];
+						System.arraycopy(part, 0, fragmentBindings, 0, part.length);
+						return fragmentBindings;
+					} catch (CoreException e) {
+						CCorePlugin.log(e);
+						return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+					}
+				}, progress.newChild(1));
+				IIndexFragmentBinding[][] fragmentBindings = parts.toArray(new IIndexFragmentBinding[parts.size()][]);
+				ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
+				result.add(factory.getCompositeBindings(fragmentBindings));
+			}
+		}
+		return flatten(result);
+	}
+
 	private IIndexBinding[] flatten(List<IIndexBinding[]> bindingArrays) {
 		int size = 0;
 		for (int i = 0; i < bindingArrays.size(); i++) {
@@ -589,27 +673,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForPrefix(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForPrefix(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor, (fragment, linkageFilter, m) -> fragment
+					.findBindingsForPrefix(prefix, filescope, linkageFilter, m));
 		}
 	}
 
@@ -619,27 +684,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForContentAssist(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor, (fragment, linkageFilter, m) -> fragment
+					.findBindingsForContentAssist(prefix, filescope, linkageFilter, m));
 		}
 	}
 
@@ -649,27 +695,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(name, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(name, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, linkageFilter, m) -> fragment.findBindings(name, filescope, linkageFilter, m));
 		}
 	}
 
@@ -693,12 +720,18 @@ public class CIndex implements IIndex {
 		}
 		List<IIndexMacro> result = new ArrayList<>();
 		HashSet<IIndexFileLocation> handledIFLs = new HashSet<>();
-		SubMonitor loopMonitor = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, fFragments.length);
-		for (IIndexFragment fragment : fFragments) {
+		SubMonitor loopMonitor = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, 1);
+		List<IIndexMacro[]> fragmentMacros = queryFragments((fragment, m) -> {
+			try {
+				return fragment.findMacros(name, isPrefix, caseSensitive, filter, m);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+				return IIndexMacro.EMPTY_INDEX_MACRO_ARRAY;
+			}
+		}, loopMonitor.newChild(1));
+		for (IIndexMacro[] macros : fragmentMacros) {
 			HashSet<IIndexFile> allowedFiles = new HashSet<>();
 			try {
-				IIndexMacro[] macros = fragment.findMacros(name, isPrefix, caseSensitive, filter,
-						loopMonitor.newChild(1));
 				for (IIndexMacro indexMacro : macros) {
 					IIndexFile file = indexMacro.getFile();
 					if (!allowedFiles.contains(file)) {
@@ -821,6 +854,61 @@ public class CIndex implements IIndex {
 		return true;
 	}
 
+	/**
+	 * The pool executing the concurrent fragment queries of all indexes.
+	 */
+	private static final class QueryPool {
+		static final ForkJoinPool INSTANCE = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	private static final class FragmentQueryTask<T> extends RecursiveAction {
+		private final IIndexFragment fFragment;
+		private final FragmentQuery<T> fQuery;
+		private final IProgressMonitor fMonitor;
+		T fResult;
+		CoreException fException;
+
+		FragmentQueryTask(IIndexFragment fragment, FragmentQuery<T> query, IProgressMonitor monitor) {
+			fFragment = fragment;
+			fQuery = query;
+			fMonitor = monitor;
+		}
+
+		@Override
+		protected void compute() {
+			try {
+				fResult = fQuery.execute(fFragment, fMonitor);
+			} catch (CoreException e) {
+				fException = e;
+			}
+		}
+	}
+
+	/**
+	 * Passes the names of the fragments on to the visitor of the caller, skipping duplicates and
+	 * stopping at the limit.
+	 */
+	private static final class NameMerger implements IIndexFragmentNameVisitor {
+		private final IIndexNameVisitor fVisitor;
+		private final int fMaxNames;
+		private final HashSet<NameKey> fEncounteredNames = new HashSet<>();
+		boolean fInWritableFragment;
+		int fCount;
+
+		NameMerger(IIndexNameVisitor visitor, int maxNames) {
+			fVisitor = visitor;
+			fMaxNames = maxNames;
+		}
+
+		@Override
+		public boolean visit(IIndexFragmentName name) throws CoreException {
+			if (!fEncounteredNames.add(new NameKey(name, fInWritableFragment)))
+				return true;
+			fCount++;
+			return fVisitor.visit(name) && fCount != fMaxNames;
+		}
+	}
+
 	/**
 	 * A key used to uniquely identify an IIndexFragmentName object. Uniqueness is guaranteed only
 	 * for names corresponding to the same binding.
@@ -30,6 +30,7 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameVisitor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.core.runtime.CoreException;
@@ -61,6 +62,11 @@ final public class EmptyCIndex implements IIndex {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public int findNames(IBinding binding, int flags, IIndexNameVisitor visitor, int maxNames) {
+		return 0;
+	}
+
 	@Override
 	@Deprecated
 	public IIndexFile getFile(int linkageID, IIndexFileLocation location) {
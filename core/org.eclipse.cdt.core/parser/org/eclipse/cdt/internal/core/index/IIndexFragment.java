@@ -226,6 +226,17 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Passes the names that resolve to the given binding to the visitor, in the order they are
+	 * stored in this fragment.
+	 * @param binding a binding for which names are searched for
+	 * @param flags see {@link #findNames(IBinding, int)}
+	 * @param visitor the visitor receiving the names
+	 * @return {@code false} if the visitor stopped the search, {@code true} otherwise
+	 * @throws CoreException
+	 */
+	boolean findNames(IBinding binding, int flags, IIndexFragmentNameVisitor visitor) throws CoreException;
+
 	/**
 	 * Acquires a read lock.
 	 * @throws InterruptedException
@@ -0,0 +1,25 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Receives the names found by {@link IIndexFragment#findNames(org.eclipse.cdt.core.dom.ast.IBinding, int,
+ * IIndexFragmentNameVisitor)}.
+ */
+@FunctionalInterface
+public interface IIndexFragmentNameVisitor {
+	/**
+	 * Called for each name found, returns whether the search shall continue.
+	 */
+	boolean visit(IIndexFragmentName name) throws CoreException;
+}
@@ -19,6 +19,7 @@ import org.eclipse.cdt.core.dom.ast.IASTName;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.pdom.ASTFilePathResolver;
 import org.eclipse.cdt.internal.core.pdom.FailedToReAcquireLockException;
 import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
@@ -28,11 +29,19 @@ import org.eclipse.core.runtime.IProgressMonitor;
 public class WritableCIndex extends CIndex implements IWritableIndex {
 	private boolean fIsWriteLocked;
 	private Object fThread;
+	private final ConstexprCallCache fConstexprCallCache = new ConstexprCallCache(true);
 
 	public WritableCIndex(IWritableIndexFragment writable) {
 		super(new IWritableIndexFragment[] { writable });
 	}
 
+	/**
+	 * Returns the results of constexpr function calls shared by the ASTs that are created for this index.
+	 */
+	public ConstexprCallCache getConstexprCallCache() {
+		return fConstexprCallCache;
+	}
+
 	@Override
 	public IWritableIndexFragment getWritableFragment() {
 		return (IWritableIndexFragment) getFragments()[0];
@@ -82,6 +91,7 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 			YieldableIndexLock lock) throws CoreException, FailedToReAcquireLockException {
 		assert getWritableFragment() == file.getIndexFragment();
 
+		fConstexprCallCache.clear();
 		for (IncludeInformation include : includes) {
 			if (include.fLocation != null) {
 				include.fTargetFile = addFile(linkageID, include.fLocation, include.fSignificantMacros);
@@ -92,11 +102,13 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 
 	@Override
 	public void clear() throws CoreException {
+		fConstexprCallCache.clear();
 		getWritableFragment().clear();
 	}
 
 	@Override
 	public void clearFile(IIndexFragmentFile file) throws CoreException {
+		fConstexprCallCache.clear();
 		getWritableFragment().clearFile(file);
 	}
 
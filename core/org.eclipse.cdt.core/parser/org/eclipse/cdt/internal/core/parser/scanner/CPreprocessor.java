@@ -304,10 +304,13 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 
 	private InternalFileContent fRootContent;
 	private boolean fHandledEndOfTranslationUnit;
+	private ParseStatistics fStatistics;
 
 	// Detection of include guards used around an include directive
 	private char[] fExternIncludeGuard;
 	private Set<String> fTracedGuards;
+	private int fIncludeGuardConfigurationHash;
+	private IncludeGuardCache fIncludeGuardCache = IncludeGuardCache.getInstance();
 
 	public CPreprocessor(FileContent fileContent, IScannerInfo info, ParserLanguage language, IParserLogService log,
 			IScannerExtensionConfiguration configuration, IncludeFileContentProvider readerFactory) {
@@ -371,9 +374,42 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		fFileContentProvider.resetForTranslationUnit();
 	}
 
+	/**
+	 * Detects the include guard of the given file, or looks it up in the {@link IncludeGuardCache}.
+	 */
+	private char[] detectIncludeGuard(AbstractCharArray source) {
+		if (fIncludeGuardConfigurationHash == 0) {
+			fIncludeGuardConfigurationHash = computeIncludeGuardConfigurationHash();
+		}
+		final IncludeGuardCache cache = fIncludeGuardCache;
+		final long key = IncludeGuardCache.computeKey(source.getContentsHash(), fIncludeGuardConfigurationHash);
+		char[] guard = cache.get(key);
+		if (guard == null) {
+			guard = IncludeGuardDetection.detectIncludeGuard(source, fLexOptions, fPPKeywords);
+			cache.put(key, guard);
+		}
+		return guard == IncludeGuardCache.NO_GUARD ? null : guard;
+	}
+
+	/**
+	 * Computes a hash of the settings that influence the detection of include guards.
+	 */
+	private int computeIncludeGuardConfigurationHash() {
+		final LexerOptions o = fLexOptions;
+		final boolean[] flags = { o.fSupportDollarInIdentifiers, o.fSupportAtSignInIdentifiers, o.fSupportMinAndMax,
+				o.fSupportSlashPercentComments, o.fSupportUTFLiterals, o.fSupportRawStringLiterals,
+				o.fSupportUserDefinedLiterals, o.fSupportDigitSeparators, o.fSupportThreeWayComparisonOperator };
+		int hash = Arrays.hashCode(flags);
+		for (int i = 0; i < fPPKeywords.size(); i++) {
+			// The order of the keywords does not matter.
+			hash += Arrays.hashCode(fPPKeywords.keyAt(i)) * 31 + fPPKeywords.get(i);
+		}
+		return hash == 0 ? 1 : hash;
+	}
+
 	private char[] detectIncludeGuard(String filePath, AbstractCharArray source, ScannerContext ctx) {
 		if (!fFileContentProvider.shouldIndexAllHeaderVersions(filePath)) {
-			final char[] guard = IncludeGuardDetection.detectIncludeGuard(source, fLexOptions, fPPKeywords);
+			final char[] guard = detectIncludeGuard(source);
 			if (guard != null) {
 				IFileNomination nom = fLocationMap.reportPragmaOnceSemantics(ctx.getLocationCtx());
 				fFileContentProvider.reportPragmaOnceSemantics(filePath, nom);
@@ -426,6 +462,30 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		fRootContext.setParseInactiveCode(val);
 	}
 
+	/**
+	 * Sets the cache for the include guards of the files, the shared one by default. Must be
+	 * called before any tokens are obtained.
+	 */
+	public void setIncludeGuardCache(IncludeGuardCache cache) {
+		fIncludeGuardCache = cache;
+	}
+
+	/**
+	 * Instructs the preprocessor to collect {@link ParseStatistics}, they are made available via
+	 * {@link ILocationResolver#getParseStatistics()}. Must be called before any tokens are obtained.
+	 */
+	public void setCollectStatistics(boolean val) {
+		if (val && fStatistics == null) {
+			fStatistics = new ParseStatistics();
+			fRootContext.setFileStatistics(
+					fStatistics.enterFile(fRootContent.getFileLocation(), fRootContent.getSource().getLength()));
+		} else if (!val) {
+			fStatistics = null;
+			fRootContext.setFileStatistics(null);
+		}
+		fLocationMap.setParseStatistics(fStatistics);
+	}
+
 	public ITranslationUnit getTranslationUnit() {
 		return fRootContent.getTranslationUnit();
 	}
@@ -668,6 +728,7 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 	 * and also without splitting the shift-right operator.
 	 */
 	private Token fetchToken() throws OffsetLimitReachedException {
+		final long start = fStatistics == null ? 0 : System.nanoTime();
 		if (fIsFirstFetchToken) {
 			beforeFirstFetchToken();
 			fIsFirstFetchToken = false;
@@ -689,6 +750,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		final int endOffset = fLocationMap.getSequenceNumberForOffset(t.getEndOffset());
 		t.setOffset(offset, endOffset);
 		t.setNext(null);
+		if (fStatistics != null) {
+			fStatistics.tokenFetched(fCurrentContext.getFileStatistics(), System.nanoTime() - start);
+		}
 		return t;
 	}
 
@@ -1785,6 +1849,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 				ScannerContext fctx = new ScannerContext(ctx, fCurrentContext,
 						new Lexer(source, fLexOptions, this, this));
 				fctx.setFoundOnPath(fi.getFoundOnPath(), includeDirective);
+				if (fStatistics != null) {
+					fctx.setFileStatistics(fStatistics.enterFile(path, source.getLength()));
+				}
 				detectIncludeGuard(path, source, fctx);
 				fCurrentContext = fctx;
 				stmt = ctx.getInclusionStatement();
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.IASTComment;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+
+/**
+ * Stores the comments of a translation unit in parallel arrays. The nodes for the comments are
+ * created on demand, a large translation unit may contain hundreds of thousands of comments.
+ */
+final class CommentTable {
+	private static final int BLOCK_COMMENT = 1;
+
+	private int fSize;
+	// File offsets of the comments, they are converted to sequence numbers by the nodes.
+	private int[] fOffsets = new int[64];
+	private int[] fEndOffsets = new int[64];
+	// Index of the file path shifted left by one, combined with the BLOCK_COMMENT flag.
+	private int[] fKinds = new int[64];
+
+	private final List<String> fFilePaths = new ArrayList<>();
+	private final Map<String, Integer> fFileIndexes = new HashMap<>();
+	private String fLastFilePath;
+	private int fLastFileIndex;
+
+	public void add(String filePath, int offset, int endOffset, boolean isBlockComment) {
+		if (fSize == fOffsets.length) {
+			final int capacity = fSize * 2;
+			fOffsets = Arrays.copyOf(fOffsets, capacity);
+			fEndOffsets = Arrays.copyOf(fEndOffsets, capacity);
+			fKinds = Arrays.copyOf(fKinds, capacity);
+		}
+		fOffsets[fSize] = offset;
+		fEndOffsets[fSize] = endOffset;
+		fKinds[fSize] = getFileIndex(filePath) << 1 | (isBlockComment ? BLOCK_COMMENT : 0);
+		fSize++;
+	}
+
+	private int getFileIndex(String filePath) {
+		// Comments of the same file are typically reported one after the other.
+		if (filePath != fLastFilePath) {
+			Integer index = fFileIndexes.get(filePath);
+			if (index == null) {
+				index = fFilePaths.size();
+				fFilePaths.add(filePath);
+				fFileIndexes.put(filePath, index);
+			}
+			fLastFilePath = filePath;
+			fLastFileIndex = index;
+		}
+		return fLastFileIndex;
+	}
+
+	public int size() {
+		return fSize;
+	}
+
+	/**
+	 * Creates a new node for each of the comments.
+	 */
+	public IASTComment[] toNodes(IASTTranslationUnit tu) {
+		final IASTComment[] result = new IASTComment[fSize];
+		for (int i = 0; i < fSize; i++) {
+			final int kind = fKinds[i];
+			result[i] = new ASTComment(tu, fFilePaths.get(kind >>> 1), fOffsets[i], fEndOffsets[i],
+					(kind & BLOCK_COMMENT) != 0);
+		}
+		return result;
+	}
+}
@@ -73,7 +73,7 @@ public interface ILocationResolver {
 	int getScannerProblemsCount();
 
 	/**
-	 * Returns the comments encountered.
+	 * Returns the comments encountered. The nodes for the comments are created for each call.
 	 */
 	IASTComment[] getComments();
 
@@ -82,6 +82,11 @@ public interface ILocationResolver {
 	 */
 	String getTranslationUnitPath();
 
+	/**
+	 * Returns the content of the root file of the translation unit.
+	 */
+	AbstractCharArray getTranslationUnitSource();
+
 	/**
 	 * @see IASTTranslationUnit#getContainingFilename()
 	 */
@@ -187,4 +192,9 @@ public interface ILocationResolver {
 	 * Returns the lexer options that have been used by the preprocessor.
 	 */
 	LexerOptions getLexerOptions();
+
+	/**
+	 * Returns the statistics collected while parsing, or {@code null} if none were collected.
+	 */
+	ParseStatistics getParseStatistics();
 }
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache for the results of {@link IncludeGuardDetection}, keyed by the hash of the file contents
+ * and the lexer configuration. Detecting an include guard requires lexing the directives of the
+ * entire file in addition to the regular preprocessing, the cache saves this pass for files that
+ * were seen before. The cache can be stored to disk, such that it is reused across sessions and
+ * projects.
+ */
+public final class IncludeGuardCache {
+	/** Returned by {@link #get(long)} for files without an include guard. */
+	public static final char[] NO_GUARD = {};
+
+	private static final int FILE_VERSION = 1;
+	private static final int MAX_ENTRIES = 100000;
+	/** Entries that were not used in this many sessions are not stored anymore. */
+	private static final int MAX_UNUSED_SESSIONS = 10;
+
+	private static final IncludeGuardCache INSTANCE = new IncludeGuardCache();
+
+	private static final class Entry {
+		final char[] fGuard;
+		volatile int fSession;
+
+		Entry(char[] guard, int session) {
+			fGuard = guard;
+			fSession = session;
+		}
+	}
+
+	private final Map<Long, Entry> fEntries = new ConcurrentHashMap<>();
+	private volatile int fSession;
+
+	public static IncludeGuardCache getInstance() {
+		return INSTANCE;
+	}
+
+	public IncludeGuardCache() {
+	}
+
+	/**
+	 * Combines the hash of the file contents with the hash of the lexer configuration.
+	 */
+	public static long computeKey(long contentsHash, int configurationHash) {
+		return contentsHash ^ (configurationHash * 0x9E3779B97F4A7C15L);
+	}
+
+	/**
+	 * Returns the include guard for the given key, {@link #NO_GUARD} if the file has no include
+	 * guard or {@code null} if the key is not known.
+	 */
+	public char[] get(long key) {
+		final Entry entry = fEntries.get(key);
+		if (entry == null)
+			return null;
+		entry.fSession = fSession;
+		return entry.fGuard;
+	}
+
+	/**
+	 * Stores the include guard for the given key, {@code null} if the file has no include guard.
+	 */
+	public void put(long key, char[] guard) {
+		if (fEntries.size() >= MAX_ENTRIES) {
+			evict();
+		}
+		fEntries.put(key, new Entry(guard == null ? NO_GUARD : guard, fSession));
+	}
+
+	/**
+	 * Removes a quarter of the entries, the ones used in the least recent sessions first.
+	 */
+	private synchronized void evict() {
+		final int target = MAX_ENTRIES * 3 / 4;
+		if (fEntries.size() < MAX_ENTRIES)
+			return;
+		final int session = fSession;
+		for (int age = MAX_UNUSED_SESSIONS; age > 0 && fEntries.size() > target; age--) {
+			final int minAge = age;
+			fEntries.values().removeIf(entry -> session - entry.fSession >= minAge);
+		}
+		for (Iterator<Entry> it = fEntries.values().iterator(); it.hasNext() && fEntries.size() > target;) {
+			it.next();
+			it.remove();
+		}
+	}
+
+	public int size() {
+		return fEntries.size();
+	}
+
+	public void clear() {
+		fEntries.clear();
+	}
+
+	/**
+	 * Adds the entries stored in the given file to the cache and starts a new session.
+	 */
+	public void load(File file) throws IOException {
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION)
+				return;
+			final int session = in.readInt() + 1;
+			final int count = in.readInt();
+			for (int i = 0; i < count && fEntries.size() < MAX_ENTRIES; i++) {
+				final long key = in.readLong();
+				final int entrySession = in.readInt();
+				final int length = in.readShort();
+				char[] guard = NO_GUARD;
+				if (length > 0) {
+					guard = new char[length];
+					for (int j = 0; j < length; j++) {
+						guard[j] = in.readChar();
+					}
+				}
+				fEntries.putIfAbsent(key, new Entry(guard, entrySession));
+			}
+			fSession = session;
+		}
+	}
+
+	/**
+	 * Writes the entries that were used in the recent sessions to the given file.
+	 */
+	public void save(File file) throws IOException {
+		final int session = fSession;
+		final List<Map.Entry<Long, Entry>> entries = new ArrayList<>();
+		for (Map.Entry<Long, Entry> e : fEntries.entrySet()) {
+			final Entry entry = e.getValue();
+			if (session - entry.fSession < MAX_UNUSED_SESSIONS && entry.fGuard.length <= Short.MAX_VALUE) {
+				entries.add(e);
+			}
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(FILE_VERSION);
+			out.writeInt(session);
+			out.writeInt(entries.size());
+			for (Map.Entry<Long, Entry> e : entries) {
+				final char[] guard = e.getValue().fGuard;
+				out.writeLong(e.getKey());
+				out.writeInt(e.getValue().fSession);
+				out.writeShort(guard.length);
+				for (char c : guard) {
+					out.writeChar(c);
+				}
+			}
+		}
+	}
+}
@@ -29,6 +29,7 @@ import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.IFunctionBodyFilter;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
@@ -52,6 +53,7 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 	}
 
 	private IIncludeFileResolutionHeuristics fIncludeResolutionHeuristics;
+	private IFunctionBodyFilter fFunctionBodyFilter;
 	private final Map<String, IFileNomination> fPragmaOnce = new HashMap<>();
 	private final Map<String, List<ISignificantMacros>> fLoadedVersions = new HashMap<>();
 
@@ -133,6 +135,18 @@ public abstract class InternalFileContentProvider extends IncludeFileContentProv
 		fIncludeResolutionHeuristics = heuristics;
 	}
 
+	/**
+	 * Returns a filter for the function bodies of included files the parser needs to create nodes for,
+	 * or {@code null} if all function bodies are needed.
+	 */
+	public final IFunctionBodyFilter getFunctionBodyFilter() {
+		return fFunctionBodyFilter;
+	}
+
+	public final void setFunctionBodyFilter(IFunctionBodyFilter filter) {
+		fFunctionBodyFilter = filter;
+	}
+
 	public List<ISignificantMacros> getLoadedVersions(String path) {
 		List<ISignificantMacros> result = fLoadedVersions.get(path);
 		return result == null ? Collections.<ISignificantMacros>emptyList() : result;
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.parser.scanner;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,7 +60,9 @@ public class LocationMap implements ILocationResolver {
 
 	private ArrayList<ASTPreprocessorNode> fDirectives = new ArrayList<>();
 	private ArrayList<ASTProblem> fProblems = new ArrayList<>();
-	private ArrayList<ASTComment> fComments = new ArrayList<>();
+	private CommentTable fComments = new CommentTable();
+	// The nodes for the comments, created on demand and kept as long as memory permits.
+	private SoftReference<IASTComment[]> fCommentNodes;
 	private ArrayList<ASTMacroDefinition> fBuiltinMacros = new ArrayList<>();
 	private ArrayList<ASTPreprocessorName> fMacroReferences = new ArrayList<>();
 
@@ -72,6 +75,7 @@ public class LocationMap implements ILocationResolver {
 	private List<ISkippedIndexedFilesListener> fSkippedFilesListeners = new ArrayList<>();
 	// Keyed by file location.
 	private Map<String, LocationCtxFile> fFileContexts;
+	private ParseStatistics fParseStatistics;
 
 	public LocationMap(LexerOptions lexOptions) {
 		fLexerOptions = lexOptions;
@@ -82,6 +86,15 @@ public class LocationMap implements ILocationResolver {
 		return fLexerOptions;
 	}
 
+	@Override
+	public ParseStatistics getParseStatistics() {
+		return fParseStatistics;
+	}
+
+	void setParseStatistics(ParseStatistics statistics) {
+		fParseStatistics = statistics;
+	}
+
 	public void registerPredefinedMacro(IMacroBinding macro) {
 		registerPredefinedMacro(macro, null, -1);
 	}
@@ -277,7 +290,6 @@ public class LocationMap implements ILocationResolver {
 	}
 
 	public void encounteredComment(int offset, int endOffset, boolean isBlockComment, AbstractCharArray input) {
-		ASTComment comment = new ASTComment(fTranslationUnit, getCurrentFilePath(), offset, endOffset, isBlockComment);
 		if (fLexerOptions.fIncludeExportPatterns != null && fCurrentContext instanceof LocationCtxFile) {
 			CharSequence text = getTrimmedCommentText(input.subSequence(offset, endOffset), isBlockComment);
 			IncludeExportPatterns patterns = fLexerOptions.fIncludeExportPatterns;
@@ -292,7 +304,8 @@ public class LocationMap implements ILocationResolver {
 				((LocationCtxFile) fCurrentContext).setInsideIncludeExportBlock(false);
 			}
 		}
-		fComments.add(comment);
+		fComments.add(getCurrentFilePath(), offset, endOffset, isBlockComment);
+		fCommentNodes = null;
 	}
 
 	private CharSequence getTrimmedCommentText(CharSequence comment, boolean isBlockComment) {
@@ -457,6 +470,11 @@ public class LocationMap implements ILocationResolver {
 		return fTranslationUnitPath;
 	}
 
+	@Override
+	public AbstractCharArray getTranslationUnitSource() {
+		return fRootContext.getSource();
+	}
+
 	/**
 	 * Line number of offset in current context.
 	 * @param offset in current context.
@@ -564,6 +582,11 @@ public class LocationMap implements ILocationResolver {
 
 	@Override
 	public boolean isPartOfTranslationUnitFile(int sequenceNumber) {
+		// While the parser is running, the sequence lengths of the open files are not yet final.
+		for (LocationCtx ctx = fCurrentContext; ctx != fRootContext && ctx != null; ctx = ctx.fParent) {
+			if (ctx instanceof LocationCtxFile && sequenceNumber >= ctx.fSequenceNumber)
+				return false;
+		}
 		return fRootContext.isThisFile(sequenceNumber);
 	}
 
@@ -768,7 +791,12 @@ public class LocationMap implements ILocationResolver {
 
 	@Override
 	public IASTComment[] getComments() {
-		return fComments.toArray(new IASTComment[fComments.size()]);
+		IASTComment[] nodes = fCommentNodes != null ? fCommentNodes.get() : null;
+		if (nodes == null) {
+			nodes = fComments.toNodes(fTranslationUnit);
+			fCommentNodes = new SoftReference<>(nodes);
+		}
+		return nodes.clone();
 	}
 
 	@Override
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.model.ILanguage;
+
+/**
+ * Costs of preprocessing and parsing a translation unit, collected when the parser is invoked with
+ * {@link ILanguage#OPTION_COLLECT_STATISTICS}. The preprocessing costs are broken down to the files
+ * of the translation unit, the time needed to fetch a token is attributed to the file the token
+ * comes from. Parsing and ambiguity resolution cannot be attributed to individual files.
+ */
+public final class ParseStatistics {
+	/**
+	 * Preprocessing costs of a single file, accumulated over all inclusions of the file.
+	 */
+	public static final class FileStatistics {
+		private final String fPath;
+		private long fPreprocessingNanos;
+		private int fTokenCount;
+		private long fCharCount;
+		private int fInclusionCount;
+
+		FileStatistics(String path) {
+			fPath = path;
+		}
+
+		public String getPath() {
+			return fPath;
+		}
+
+		public long getPreprocessingNanos() {
+			return fPreprocessingNanos;
+		}
+
+		/**
+		 * Returns the number of tokens passed to the parser, including the ones resulting from
+		 * macro expansions in this file.
+		 */
+		public int getTokenCount() {
+			return fTokenCount;
+		}
+
+		/**
+		 * Returns the size of the file times the number of times it was included.
+		 */
+		public long getCharCount() {
+			return fCharCount;
+		}
+
+		public int getInclusionCount() {
+			return fInclusionCount;
+		}
+	}
+
+	private final Map<String, FileStatistics> fFiles = new LinkedHashMap<>();
+	private long fPreprocessingNanos;
+	private int fTokenCount;
+	private long fTranslationUnitNanos;
+	private long fAmbiguityResolutionNanos;
+
+	FileStatistics enterFile(String path, int charCount) {
+		FileStatistics file = fFiles.get(path);
+		if (file == null) {
+			file = new FileStatistics(path);
+			fFiles.put(path, file);
+		}
+		file.fCharCount += charCount;
+		file.fInclusionCount++;
+		return file;
+	}
+
+	void tokenFetched(FileStatistics file, long nanos) {
+		fPreprocessingNanos += nanos;
+		fTokenCount++;
+		if (file != null) {
+			file.fPreprocessingNanos += nanos;
+			file.fTokenCount++;
+		}
+	}
+
+	/**
+	 * Records the times spent by the parser. The time for creating the translation unit includes
+	 * the time spent by the preprocessor.
+	 */
+	public void setParserTimes(long translationUnitNanos, long ambiguityResolutionNanos) {
+		fTranslationUnitNanos = translationUnitNanos;
+		fAmbiguityResolutionNanos = ambiguityResolutionNanos;
+	}
+
+	public long getPreprocessingNanos() {
+		return fPreprocessingNanos;
+	}
+
+	/**
+	 * Returns the time spent by the parser, excluding preprocessing and ambiguity resolution.
+	 */
+	public long getParsingNanos() {
+		return Math.max(0, fTranslationUnitNanos - fPreprocessingNanos);
+	}
+
+	public long getAmbiguityResolutionNanos() {
+		return fAmbiguityResolutionNanos;
+	}
+
+	public int getTokenCount() {
+		return fTokenCount;
+	}
+
+	/**
+	 * Returns the number of characters processed for all files of the translation unit.
+	 */
+	public long getCharCount() {
+		long count = 0;
+		for (FileStatistics file : fFiles.values()) {
+			count += file.fCharCount;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the statistics for the files of the translation unit, in the order the files were
+	 * first encountered. The first element is the translation unit itself.
+	 */
+	public Collection<FileStatistics> getFiles() {
+		return fFiles.values();
+	}
+
+	/**
+	 * Returns the statistics for the file with the given path, or {@code null}.
+	 */
+	public FileStatistics getFile(String path) {
+		return fFiles.get(path);
+	}
+}
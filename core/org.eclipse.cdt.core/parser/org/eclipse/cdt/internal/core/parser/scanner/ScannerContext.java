@@ -21,6 +21,7 @@ import org.eclipse.cdt.core.parser.IToken;
 import org.eclipse.cdt.core.parser.OffsetLimitReachedException;
 import org.eclipse.cdt.core.parser.util.CharArrayObjectMap;
 import org.eclipse.cdt.core.parser.util.CharArraySet;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics.FileStatistics;
 
 /**
  * Represents part of the input to the preprocessor. This may be a file or the result of a macro expansion.
@@ -68,6 +69,7 @@ final class ScannerContext {
 	private CharArrayObjectMap<char[]> fSignificantMacros;
 	private boolean fPragmaOnce;
 	private int fLoadedVersionCount;
+	private FileStatistics fFileStatistics;
 
 	/**
 	 * @param ctx
@@ -112,6 +114,25 @@ final class ScannerContext {
 		return fDepth;
 	}
 
+	/**
+	 * Sets the statistics for the file that is processed by this context.
+	 */
+	public final void setFileStatistics(FileStatistics statistics) {
+		fFileStatistics = statistics;
+	}
+
+	/**
+	 * Returns the statistics of the file this context belongs to, or {@code null}.
+	 * Contexts for macro expansions belong to the file containing the expansion.
+	 */
+	public final FileStatistics getFileStatistics() {
+		for (ScannerContext ctx = this; ctx != null; ctx = ctx.fParent) {
+			if (ctx.fFileStatistics != null)
+				return ctx.fFileStatistics;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the lexer for this context.
 	 */
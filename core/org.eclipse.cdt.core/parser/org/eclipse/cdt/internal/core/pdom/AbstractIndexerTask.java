@@ -33,6 +33,16 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,6 +74,7 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
@@ -75,6 +86,7 @@ import org.eclipse.cdt.internal.core.parser.ParserLogService;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider.DependsOnOutdatedFileException;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics;
 import org.eclipse.cdt.internal.core.parser.util.LRUCache;
 import org.eclipse.cdt.utils.EFSExtensionManager;
 import org.eclipse.core.runtime.CoreException;
@@ -251,6 +263,226 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * A required source to be parsed on a thread of the {@link ParserPool}.
+	 */
+	private static class ParseRequest {
+		// The order in which the requests have been made, older requests take precedence.
+		final int fNumber;
+		final Object fTu;
+		final IIndexFileLocation fLocation;
+		final AbstractLanguage fLanguage;
+		final IScannerInfo fScannerInfo;
+		final IProgressMonitor fMonitor;
+		// The headers parsed for this request, younger requests do not parse them before this one
+		// has been written to the index. Accessed by the thread parsing the request.
+		final List<IIndexFileLocation> fClaimedHeaders = new ArrayList<>();
+		// The requests to be parsed again once the headers claimed by this one are released.
+		// Accessed by the thread writing to the index.
+		final List<ParseRequest> fWaitingRequests = new ArrayList<>();
+		// Whether the claimed headers have been released.
+		boolean fReleased;
+
+		ParseRequest(int number, Object tu, IIndexFileLocation location, AbstractLanguage language,
+				IScannerInfo scannerInfo, IProgressMonitor monitor) {
+			fNumber = number;
+			fTu = tu;
+			fLocation = location;
+			fLanguage = language;
+			fScannerInfo = scannerInfo;
+			fMonitor = monitor;
+		}
+	}
+
+	/**
+	 * The result of parsing a source file on a thread of the {@link ParserPool}.
+	 */
+	private static class ParsedFile {
+		final ParseRequest fRequest;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		long fParsingTime;
+		boolean fCanceled;
+		Throwable fError;
+		// The request that claimed a header needed for the file, if parsing has been abandoned.
+		ParseRequest fClaimant;
+
+		ParsedFile(ParseRequest request) {
+			fRequest = request;
+		}
+	}
+
+	/**
+	 * Thrown on a parser thread to abandon parsing a file that includes a header an older request
+	 * is already parsing. The file is parsed again after the other one has been written to the
+	 * index, it can then use the header from the index.
+	 */
+	private static class HeaderClaimedException extends RuntimeException {
+		final ParseRequest fClaimant;
+
+		HeaderClaimedException(ParseRequest claimant) {
+			fClaimant = claimant;
+		}
+	}
+
+	/**
+	 * A thread of the {@link ParserPool}, knows the request it is parsing.
+	 */
+	private static class ParserThread extends Thread {
+		final ParserPool fPool;
+		ParseRequest fRequest;
+
+		ParserThread(ParserPool pool, Runnable runnable, String name) {
+			super(runnable, name);
+			fPool = pool;
+		}
+
+		/**
+		 * Called when the file being parsed includes a header that has to be parsed. Takes over
+		 * the header from younger requests, the oldest request being parsed is never abandoned.
+		 *
+		 * @throws HeaderClaimedException if an older request is parsing the header.
+		 */
+		void claimHeader(IIndexFileLocation header) {
+			ParseRequest request = fRequest;
+			if (request == null)
+				return;
+			ParseRequest claimant = fPool.fHeaderClaims.merge(header, request,
+					(current, other) -> current.fNumber < other.fNumber ? current : other);
+			if (claimant != request) {
+				// Let younger requests have the headers parsed so far.
+				fPool.releaseHeaders(request);
+				throw new HeaderClaimedException(claimant);
+			}
+			request.fClaimedHeaders.add(header);
+		}
+	}
+
+	/**
+	 * Threads for parsing source files concurrently with writing the parsed files to the index.
+	 * The parsed files are put into a bounded queue, which is drained by the thread running the
+	 * indexer task. File content providers are not thread-safe, the pool hands out each provider
+	 * to one thread at a time.
+	 * <p>
+	 * The parser threads hold read locks on the writable index fragment while parsing. No parses
+	 * are started while parsed files are written, such that the writer does not wait for a
+	 * continuous stream of parses to end before it obtains the write lock.
+	 */
+	private static class ParserPool {
+		private static final AtomicInteger sThreadNumber = new AtomicInteger();
+
+		private final int fThreadCount;
+		private final ExecutorService fExecutor;
+		private final ConcurrentLinkedQueue<InternalFileContentProvider> fContentProviders;
+		private final BlockingQueue<ParsedFile> fParsedFiles;
+		private final ConcurrentHashMap<IIndexFileLocation, ParseRequest> fHeaderClaims;
+		private boolean fWriting;
+
+		ParserPool(int threadCount) {
+			fThreadCount = threadCount;
+			fContentProviders = new ConcurrentLinkedQueue<>();
+			fParsedFiles = new ArrayBlockingQueue<>(getCapacity());
+			fHeaderClaims = new ConcurrentHashMap<>();
+			ThreadFactory threadFactory = runnable -> {
+				String name = "C/C++ Indexer Parser " + sThreadNumber.incrementAndGet(); //$NON-NLS-1$
+				Thread thread = new ParserThread(this, runnable, name);
+				thread.setDaemon(true);
+				return thread;
+			};
+			fExecutor = Executors.newFixedThreadPool(threadCount, threadFactory);
+		}
+
+		int getThreadCount() {
+			return fThreadCount;
+		}
+
+		/**
+		 * Returns the maximum number of requests that may be parsed or waiting to be written at
+		 * any time, which is the size of the queue of parsed files.
+		 */
+		int getCapacity() {
+			return 2 * fThreadCount;
+		}
+
+		void submit(ParseRequest request, Function<ParseRequest, ParsedFile> parser) {
+			request.fReleased = false;
+			fExecutor.execute(() -> {
+				ParserThread thread = (ParserThread) Thread.currentThread();
+				thread.fRequest = request;
+				try {
+					fParsedFiles.add(parser.apply(request));
+				} finally {
+					thread.fRequest = null;
+				}
+			});
+		}
+
+		/**
+		 * Waits for the given number of parsed files and returns them along with the ones parsed
+		 * in the meantime.
+		 */
+		List<ParsedFile> takeParsedFiles(int count) throws InterruptedException {
+			List<ParsedFile> result = new ArrayList<>(getCapacity());
+			while (result.size() < count) {
+				result.add(fParsedFiles.take());
+			}
+			fParsedFiles.drainTo(result);
+			return result;
+		}
+
+		/**
+		 * Releases the headers claimed by the given request.
+		 *
+		 * @return the requests that have been waiting for the headers to be released.
+		 */
+		List<ParseRequest> releaseClaims(ParseRequest request) {
+			releaseHeaders(request);
+			request.fReleased = true;
+			List<ParseRequest> waiting = new ArrayList<>(request.fWaitingRequests);
+			request.fWaitingRequests.clear();
+			return waiting;
+		}
+
+		void releaseHeaders(ParseRequest request) {
+			for (IIndexFileLocation header : request.fClaimedHeaders) {
+				fHeaderClaims.remove(header, request);
+			}
+			request.fClaimedHeaders.clear();
+		}
+
+		synchronized void awaitWriter() throws InterruptedException {
+			while (fWriting) {
+				wait();
+			}
+		}
+
+		synchronized void beginWrite() {
+			fWriting = true;
+		}
+
+		synchronized void endWrite() {
+			fWriting = false;
+			notifyAll();
+		}
+
+		InternalFileContentProvider takeContentProvider() {
+			return fContentProviders.poll();
+		}
+
+		void returnContentProvider(InternalFileContentProvider contentProvider) {
+			fContentProviders.add(contentProvider);
+		}
+
+		/**
+		 * Stops the parser threads and waits for them to release their locks on the index.
+		 */
+		void shutdown() throws InterruptedException {
+			endWrite();
+			fExecutor.shutdownNow();
+			fExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		}
+	}
+
 	public static class IndexFileContent {
 		private Object[] fPreprocessingDirectives;
 		private ICPPUsingDirective[] fDirectives;
@@ -323,8 +555,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
+	// The caches are synchronized since they are also accessed by the parser threads.
+	private Map<IIndexFile, IndexFileContent> fIndexContentCache = Collections.synchronizedMap(new LRUCache<>(500));
+	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = Collections
+			.synchronizedMap(new LRUCache<>(5000));
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
 
 	private Object[] fFilesToUpdate;
@@ -338,6 +572,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fTranslationUnitSizeLimit;
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
+	private int fParserThreads = 1;
+	private int fParseRequestCount;
 	private int fSwallowOutOfMemoryError = 5;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
@@ -386,6 +622,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fIncludedFileSizeLimit = includedFileSizeLimit;
 	}
 
+	/**
+	 * Sets the number of threads that parse source files concurrently. With more than one thread
+	 * the ASTs are still written to the index one at a time by the thread running the task.
+	 */
+	public void setParserThreads(int threads) {
+		fParserThreads = Math.max(1, threads);
+	}
+
 	public void setIndexAllHeaderVersions(boolean indexAllHeaderVersions) {
 		fIndexAllHeaderVersions = indexAllHeaderVersions;
 	}
@@ -545,6 +789,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			if (getSkipReferences() == SKIP_ALL_REFERENCES) {
 				fASTOptions |= ILanguage.OPTION_SKIP_FUNCTION_BODIES;
 			}
+			if (getTelemetry() != null) {
+				fASTOptions |= ILanguage.OPTION_COLLECT_STATISTICS;
+			}
 
 			fIndex.resetCacheCounters();
 			fIndex.acquireReadLock();
@@ -873,6 +1120,18 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			return;
 
 		SubMonitor progress = SubMonitor.convert(monitor, files.size() + 1);
+		ParserPool parserPool = fParserThreads > 1 ? new ParserPool(fParserThreads) : null;
+		try {
+			parseLinkage(linkageID, map, files, parserPool, progress);
+		} finally {
+			if (parserPool != null) {
+				parserPool.shutdown();
+			}
+		}
+	}
+
+	private void parseLinkage(int linkageID, LinkageTask map, List<IIndexFileLocation> files, ParserPool parserPool,
+			SubMonitor progress) throws CoreException, InterruptedException {
 		int maxPriority = Integer.MIN_VALUE;
 		int minPriority = Integer.MAX_VALUE;
 		Map<Integer, List<IIndexFileLocation>> filesByPriority = new HashMap<>();
@@ -897,17 +1156,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (parserPool != null) {
+				if (!parseRequiredSources(linkageID, map, filesAtPriority, parserPool, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -979,6 +1243,178 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Parses the required sources among the given files on the threads of the parser pool. The
+	 * calling thread writes the parsed files to the index while the next ones are parsed. It waits
+	 * for as many parsed files as there are parser threads and writes them in one go, parsing
+	 * is held off while they are written.
+	 * <p>
+	 * A file that includes a header not in the index, which a file submitted before it is parsing
+	 * at the same time, is parsed again after the other file has been written. It then uses the
+	 * header from the index rather than parsing it, too.
+	 *
+	 * @return {@code false} if parsing was interrupted in favor of an urgent task.
+	 */
+	private boolean parseRequiredSources(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			ParserPool parserPool, SubMonitor progress) throws CoreException, InterruptedException {
+		Iterator<IIndexFileLocation> it = files.iterator();
+		Deque<ParseRequest> retries = new ArrayDeque<>();
+		int pending = 0;
+		boolean urgent = false;
+		while (true) {
+			while (!urgent && pending < parserPool.getCapacity()) {
+				ParseRequest request = retries.poll();
+				if (request == null) {
+					request = nextParseRequest(linkageID, map, it, progress);
+					if (request == null)
+						break;
+				}
+				parserPool.submit(request, this::parseSourceFile);
+				pending++;
+			}
+			if (pending == 0)
+				return !urgent;
+
+			List<ParsedFile> parsedFiles = parserPool.takeParsedFiles(Math.min(pending, parserPool.getThreadCount()));
+			pending -= parsedFiles.size();
+			parserPool.beginWrite();
+			try {
+				for (ParsedFile parsedFile : parsedFiles) {
+					ParseRequest request = parsedFile.fRequest;
+					if (parsedFile.fClaimant != null) {
+						retries.addAll(parserPool.releaseClaims(request));
+						if (parsedFile.fClaimant.fReleased) {
+							retries.add(request);
+						} else {
+							parsedFile.fClaimant.fWaitingRequests.add(request);
+						}
+					} else {
+						writeParsedFile(parsedFile, progress.split(1));
+						retries.addAll(parserPool.releaseClaims(request));
+					}
+				}
+			} finally {
+				parserPool.endWrite();
+			}
+			if (hasUrgentTasks())
+				urgent = true;
+		}
+	}
+
+	private ParseRequest nextParseRequest(int linkageID, LinkageTask map, Iterator<IIndexFileLocation> it,
+			SubMonitor progress) throws CoreException {
+		while (it.hasNext()) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				final Object tu = locTask.fTu;
+				final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+				final AbstractLanguage language = getLanguage(tu, linkageID);
+				// The parser threads only check the monitor for cancellation.
+				return new ParseRequest(fParseRequestCount++, tu, ifl, language, scannerInfo, progress.newChild(0));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Parses a source file on a thread of the parser pool. Exceptions are passed on to the thread
+	 * that writes the AST to the index.
+	 */
+	private ParsedFile parseSourceFile(ParseRequest request) {
+		ParserPool parserPool = ((ParserThread) Thread.currentThread()).fPool;
+		ParsedFile result = new ParsedFile(request);
+		if (fShowActivity) {
+			trace("Indexer: parsing " + getLabel(request.fLocation).toOSString()); //$NON-NLS-1$
+		}
+		InternalFileContentProvider contentProvider = parserPool.takeContentProvider();
+		try {
+			if (contentProvider == null) {
+				contentProvider = createFileContentProvider(request.fLanguage);
+			}
+			// The thread running the task holds a read lock on the whole index, the writable
+			// fragment is locked in addition to keep the writer from modifying it while parsing.
+			parserPool.awaitWriter();
+			IIndexFragment fragment = fIndex.getWritableFragment();
+			fragment.acquireReadLock();
+			try {
+				long start = System.currentTimeMillis();
+				result.fCodeReader = fResolver.getCodeReader(request.fTu);
+				result.fAST = createAST(contentProvider, request.fLanguage, result.fCodeReader, request.fScannerInfo,
+						fASTOptions, null, request.fMonitor);
+				result.fParsingTime = System.currentTimeMillis() - start;
+			} finally {
+				fragment.releaseReadLock();
+			}
+		} catch (HeaderClaimedException e) {
+			result.fClaimant = e.fClaimant;
+		} catch (OperationCanceledException | InterruptedException e) {
+			result.fCanceled = true;
+		} catch (RuntimeException | CoreException | Error e) {
+			result.fError = e;
+		} finally {
+			if (contentProvider != null) {
+				parserPool.returnContentProvider(contentProvider);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes a file parsed on a thread of the parser pool to the index. The error handling matches
+	 * {@link #parseFile(Object, AbstractLanguage, IIndexFileLocation, IScannerInfo, FileContext, IProgressMonitor)}.
+	 */
+	private void writeParsedFile(ParsedFile parsedFile, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
+		SubMonitor progress = SubMonitor.convert(monitor, 11);
+		boolean resultCacheCleared = false;
+		IPath path = getLabel(parsedFile.fRequest.fLocation);
+		Throwable th = parsedFile.fError;
+		if (th instanceof Error && !(th instanceof StackOverflowError) && !(th instanceof AssertionError)
+				&& !(th instanceof OutOfMemoryError)) {
+			throw (Error) th;
+		}
+		fStatistics.fParsingTime += parsedFile.fParsingTime;
+		if (th == null && !parsedFile.fCanceled) {
+			try {
+				long start = System.currentTimeMillis() - parsedFile.fParsingTime;
+				if (parsedFile.fAST == null) {
+					++fStatistics.fTooManyTokensCount;
+				} else {
+					recordParseStatistics(parsedFile.fAST);
+					writeToIndex(parsedFile.fRequest.fLanguage.getLinkageID(), parsedFile.fAST, parsedFile.fCodeReader,
+							null, progress.split(10));
+					resultCacheCleared = true; // The cache was cleared while writing to the index.
+				}
+				if (fShowActivity) {
+					long time = System.currentTimeMillis() - start;
+					trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+			} catch (OperationCanceledException e) {
+			} catch (RuntimeException | StackOverflowError | CoreException | AssertionError | OutOfMemoryError e) {
+				th = e;
+			}
+		}
+		if (th != null && !(th.getCause() instanceof DependsOnOutdatedFileException)) {
+			if (th instanceof OutOfMemoryError && --fSwallowOutOfMemoryError < 0)
+				throw (OutOfMemoryError) th;
+			swallowError(path, th);
+		}
+
+		if (!resultCacheCleared) {
+			// If the result cache has not been cleared, clear it under a write lock to reduce
+			// interference with index readers.
+			fIndex.acquireWriteLock(progress.split(1));
+			try {
+				fIndex.clearResultCache();
+			} finally {
+				fIndex.releaseWriteLock();
+			}
+		}
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1104,6 +1540,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
+				recordParseStatistics(ast);
 				writeToIndex(lang.getLinkageID(), ast, codeReader, ctx, progress.split(10));
 				resultCacheCleared = true; // The cache was cleared while writing to the index.
 			}
@@ -1141,6 +1578,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return null;
 	}
 
+	private void recordParseStatistics(IASTTranslationUnit ast) {
+		final IndexerTelemetry telemetry = getTelemetry();
+		if (telemetry != null && ast instanceof ASTTranslationUnit astTu) {
+			final ParseStatistics statistics = astTu.getParseStatistics();
+			if (statistics != null) {
+				telemetry.recordParse(ast.getFilePath(), statistics);
+			}
+		}
+	}
+
 	private AbstractLanguage getLanguage(Object tu, int linkageID) {
 		for (AbstractLanguage language : fResolver.getLanguages(tu, UnusedHeaderStrategy.useBoth)) {
 			if (language.getLinkageID() == linkageID) {
@@ -1210,6 +1657,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 
 	private final IASTTranslationUnit createAST(AbstractLanguage language, FileContent codeReader,
 			IScannerInfo scanInfo, int options, FileContext ctx, IProgressMonitor monitor) throws CoreException {
+		if (fCodeReaderFactory == null) {
+			fCodeReaderFactory = createFileContentProvider(language);
+		}
+		return createAST(fCodeReaderFactory, language, codeReader, scanInfo, options, ctx, monitor);
+	}
+
+	private final IASTTranslationUnit createAST(InternalFileContentProvider contentProvider,
+			AbstractLanguage language, FileContent codeReader, IScannerInfo scanInfo, int options, FileContext ctx,
+			IProgressMonitor monitor) throws CoreException {
 		if (codeReader == null) {
 			return null;
 		}
@@ -1220,28 +1676,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			return null;
 		}
-		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
-		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
-			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
-			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
-		} else if (fIsFastIndexer) {
-			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
+		if (fIsFastIndexer) {
+			final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
+			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) contentProvider;
 			ibfcp.setContextToHeaderGap(ctx2header);
 			ibfcp.setLinkage(language.getLinkageID());
 		}
+		final int linkageID = language.getLinkageID();
+		contentProvider.setFunctionBodyFilter(include -> needsFunctionBodies(linkageID, include));
 
-		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, fCodeReaderFactory, fIndex,
+		IASTTranslationUnit ast = language.getASTTranslationUnit(codeReader, scanInfo, contentProvider, fIndex,
 				options, getLogService());
 		if (monitor.isCanceled()) {
 			throw new OperationCanceledException();
@@ -1249,6 +1693,37 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	/**
+	 * Returns whether the parser needs to create the nodes for the function bodies of an included
+	 * file. This is not the case for files that are not written to the index, because they are
+	 * already indexed with the same significant macros.
+	 */
+	private boolean needsFunctionBodies(int linkageID, IASTPreprocessorIncludeStatement include) {
+		try {
+			final IIndexFileLocation ifl = fResolver.resolveASTPath(include.getPath());
+			return selectIndexFile(linkageID, ifl, include.getSignificantMacros()) == null;
+		} catch (CoreException e) {
+			return true;
+		}
+	}
+
+	private InternalFileContentProvider createFileContentProvider(AbstractLanguage language) {
+		InternalFileContentProvider contentProvider;
+		InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
+					language.getLinkageID(), fileContentProvider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			contentProvider = ibfcp;
+		} else {
+			contentProvider = fileContentProvider;
+		}
+		contentProvider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return contentProvider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
@@ -1474,6 +1949,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	}
 
 	public IIndexFile selectIndexFile(int linkageID, IIndexFileLocation ifl, IMacroDictionary md) throws CoreException {
+		IIndexFile file = findIndexFile(linkageID, ifl, md);
+		if (file == null && Thread.currentThread() instanceof ParserThread parserThread) {
+			// The header is going to be parsed.
+			parserThread.claimHeader(ifl);
+		}
+		return file;
+	}
+
+	private IIndexFile findIndexFile(int linkageID, IIndexFileLocation ifl, IMacroDictionary md) throws CoreException {
 		LinkageTask map = findRequestMap(linkageID);
 		if (map != null) {
 			LocationTask request = map.find(ifl);
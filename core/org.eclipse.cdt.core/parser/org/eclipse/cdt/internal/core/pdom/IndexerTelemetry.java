@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics;
+import org.eclipse.cdt.internal.core.parser.scanner.ParseStatistics.FileStatistics;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Per-file cost breakdown of an indexer run. In addition to the aggregated {@link IndexerStatistics}
+ * the time spent in preprocessing, parsing, ambiguity resolution, binding resolution and writing to
+ * the index is recorded for every file, together with the number of characters and tokens processed
+ * and the hits and misses of the chunk cache while writing the file.
+ * <p>
+ * Parsing and ambiguity resolution are attributed to the translation unit, the other costs to the
+ * file they were spent on. A header that is parsed in the context of several translation units
+ * accumulates the costs of all of them.
+ */
+public class IndexerTelemetry {
+	private static final String[] COLUMNS = { "path", "parseCount", "inclusionCount", "totalMs", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"preprocessingMs", "parsingMs", "ambiguityResolutionMs", "bindingResolutionMs", "indexWriteMs", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"chars", "tokens", "cacheHits", "cacheMisses" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	/**
+	 * The costs recorded for a single file.
+	 */
+	public static class FileRecord {
+		private final String fPath;
+		private int fParseCount;
+		private int fInclusionCount;
+		private long fPreprocessingNanos;
+		private long fParsingNanos;
+		private long fAmbiguityResolutionNanos;
+		private long fResolutionNanos;
+		private long fWriteNanos;
+		private long fCharCount;
+		private long fTokenCount;
+		private long fCacheHits;
+		private long fCacheMisses;
+
+		FileRecord(String path) {
+			fPath = path;
+		}
+
+		public String getPath() {
+			return fPath;
+		}
+
+		/**
+		 * Returns how often the file was parsed as a translation unit.
+		 */
+		public int getParseCount() {
+			return fParseCount;
+		}
+
+		/**
+		 * Returns how often the file was parsed as an included file.
+		 */
+		public int getInclusionCount() {
+			return fInclusionCount;
+		}
+
+		public long getPreprocessingNanos() {
+			return fPreprocessingNanos;
+		}
+
+		public long getParsingNanos() {
+			return fParsingNanos;
+		}
+
+		public long getAmbiguityResolutionNanos() {
+			return fAmbiguityResolutionNanos;
+		}
+
+		public long getResolutionNanos() {
+			return fResolutionNanos;
+		}
+
+		public long getWriteNanos() {
+			return fWriteNanos;
+		}
+
+		public long getTotalNanos() {
+			return fPreprocessingNanos + fParsingNanos + fAmbiguityResolutionNanos + fResolutionNanos
+					+ fWriteNanos;
+		}
+
+		public long getCharCount() {
+			return fCharCount;
+		}
+
+		public long getTokenCount() {
+			return fTokenCount;
+		}
+
+		public long getCacheHits() {
+			return fCacheHits;
+		}
+
+		public long getCacheMisses() {
+			return fCacheMisses;
+		}
+
+		@Override
+		@SuppressWarnings("nls")
+		public String toString() {
+			return fPath + ": " + millis(getTotalNanos()) + " ms (preprocessing " + millis(fPreprocessingNanos)
+					+ ", parsing " + millis(fParsingNanos) + ", ambiguities " + millis(fAmbiguityResolutionNanos)
+					+ ", resolution " + millis(fResolutionNanos) + ", index " + millis(fWriteNanos) + "), "
+					+ fTokenCount + " tokens";
+		}
+	}
+
+	private final Map<String, FileRecord> fRecords = new HashMap<>();
+
+	private FileRecord getOrCreate(String path) {
+		return fRecords.computeIfAbsent(path, FileRecord::new);
+	}
+
+	/**
+	 * Records the costs of parsing a translation unit, including the preprocessing of the
+	 * files included by it.
+	 */
+	public synchronized void recordParse(String path, ParseStatistics statistics) {
+		FileRecord tu = getOrCreate(path);
+		tu.fParseCount++;
+		tu.fParsingNanos += statistics.getParsingNanos();
+		tu.fAmbiguityResolutionNanos += statistics.getAmbiguityResolutionNanos();
+		for (FileStatistics file : statistics.getFiles()) {
+			FileRecord record = getOrCreate(file.getPath());
+			record.fPreprocessingNanos += file.getPreprocessingNanos();
+			record.fCharCount += file.getCharCount();
+			record.fTokenCount += file.getTokenCount();
+			if (record != tu) {
+				record.fInclusionCount += file.getInclusionCount();
+			}
+		}
+	}
+
+	/**
+	 * Records the time spent resolving the names of a file before it is written to the index.
+	 */
+	public synchronized void recordResolution(String path, long nanos) {
+		getOrCreate(path).fResolutionNanos += nanos;
+	}
+
+	/**
+	 * Records the time spent writing a file to the index, together with the hits and misses of the
+	 * chunk cache in that time.
+	 */
+	public synchronized void recordWrite(String path, long nanos, long cacheHits, long cacheMisses) {
+		FileRecord record = getOrCreate(path);
+		record.fWriteNanos += nanos;
+		record.fCacheHits += cacheHits;
+		record.fCacheMisses += cacheMisses;
+	}
+
+	/**
+	 * Returns the record for the given file, or {@code null}.
+	 */
+	public synchronized FileRecord getRecord(String path) {
+		return fRecords.get(path);
+	}
+
+	/**
+	 * Returns the records of all files, the most expensive ones first.
+	 */
+	public synchronized List<FileRecord> getRecords() {
+		List<FileRecord> result = new ArrayList<>(fRecords.values());
+		result.sort((r1, r2) -> Long.compare(r2.getTotalNanos(), r1.getTotalNanos()));
+		return result;
+	}
+
+	/**
+	 * Writes the records as comma separated values with a header line, the most expensive files first.
+	 * Times are given in milliseconds.
+	 */
+	public void writeCSV(Writer writer) {
+		PrintWriter out = new PrintWriter(writer);
+		out.println(String.join(",", COLUMNS)); //$NON-NLS-1$
+		for (FileRecord r : getRecords()) {
+			out.print('"');
+			out.print(r.fPath.replace("\"", "\"\"")); //$NON-NLS-1$ //$NON-NLS-2$
+			out.print('"');
+			for (Object value : values(r)) {
+				out.print(',');
+				out.print(value);
+			}
+			out.println();
+		}
+		out.flush();
+	}
+
+	/**
+	 * Writes the records as a JSON array of objects, the most expensive files first. Times are
+	 * given in milliseconds.
+	 */
+	public void writeJSON(Writer writer) throws IOException {
+		JsonWriter out = new JsonWriter(writer);
+		out.setIndent("  "); //$NON-NLS-1$
+		out.beginArray();
+		for (FileRecord r : getRecords()) {
+			out.beginObject();
+			out.name(COLUMNS[0]).value(r.fPath);
+			Object[] values = values(r);
+			for (int i = 0; i < values.length; i++) {
+				out.name(COLUMNS[i + 1]).jsonValue(values[i].toString());
+			}
+			out.endObject();
+		}
+		out.endArray();
+		out.flush();
+	}
+
+	private static Object[] values(FileRecord r) {
+		return new Object[] { r.fParseCount, r.fInclusionCount, millis(r.getTotalNanos()),
+				millis(r.fPreprocessingNanos), millis(r.fParsingNanos), millis(r.fAmbiguityResolutionNanos),
+				millis(r.fResolutionNanos), millis(r.fWriteNanos), r.fCharCount, r.fTokenCount, r.fCacheHits,
+				r.fCacheMisses };
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1000000.0); //$NON-NLS-1$
+	}
+}
@@ -21,6 +21,7 @@ public class Messages extends NLS {
 	public static String PDOMImportTask_errorInvalidArchive;
 	public static String PDOMImportTask_errorInvalidPDOMVersion;
 	public static String PDOMManager_ClosePDOMJob;
+	public static String PDOMManager_CompactPDOMJob;
 	public static String PDOMManager_creationOfIndexInterrupted;
 	public static String PDOMManager_ExistingFileCollides;
 	public static String PDOMManager_indexMonitorDetail;
@@ -32,6 +32,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -74,6 +77,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentNameVisitor;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
@@ -81,6 +85,7 @@ import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
@@ -311,10 +316,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *
+	 *  CDT 12.2 development
+	 *  221.0 - Added a trigram index of the binding names to the linkages
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(221, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(221, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(221, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -818,6 +826,15 @@ public class PDOM extends PlatformObject implements IPDOM {
 			}
 		}
 
+		// Patterns containing a literal of three or more characters are served by the trigram index.
+		char[][] literals = TrigramIndex.getRequiredLiterals(patterns[patterns.length - 1]);
+		if (literals != null) {
+			long[] trigrams = TrigramIndex.getTrigramKeys(literals);
+			if (trigrams.length > 0) {
+				return findBindingsViaTrigrams(patterns, trigrams, isFullyQualified, filter, monitor);
+			}
+		}
+
 		BindingFinder finder = new BindingFinder(patterns, isFullyQualified, filter, monitor);
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
@@ -833,6 +850,77 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return finder.getBindings();
 	}
 
+	/**
+	 * Finds the bindings that {@link BindingFinder} would find, considering only the names that contain
+	 * the given trigrams.
+	 */
+	private IIndexFragmentBinding[] findBindingsViaTrigrams(Pattern[] patterns, long[] trigrams,
+			boolean isFullyQualified, IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		final Pattern pattern = patterns[patterns.length - 1];
+		List<IIndexFragmentBinding> result = new ArrayList<>();
+		for (PDOMLinkage linkage : getLinkageList()) {
+			if (filter.acceptLinkage(linkage)) {
+				Set<Long> found = new HashSet<>();
+				for (long nameRecord : linkage.getTrigramIndex().findCandidates(trigrams)) {
+					if (monitor.isCanceled())
+						return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+
+					char[] name = linkage.getTrigramIndex().getName(nameRecord);
+					if (!pattern.matcher(new String(name)).matches())
+						continue;
+					for (PDOMBinding binding : linkage.getBindingsInAllScopes(name)) {
+						if (found.add(binding.getRecord()) && isVisitedByBindingFinder(linkage, binding, patterns,
+								isFullyQualified) && filter.acceptBinding(binding)) {
+							result.add(binding);
+						}
+					}
+				}
+			}
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
+	/**
+	 * Checks whether the binding is reachable from the linkage via nodes that may have children, and
+	 * whether the names of its enclosing nodes match the qualifying patterns.
+	 */
+	private static boolean isVisitedByBindingFinder(PDOMLinkage linkage, PDOMBinding binding, Pattern[] patterns,
+			boolean isFullyQualified) throws CoreException {
+		List<PDOMNamedNode> scopes = new ArrayList<>();
+		PDOMNode node = binding;
+		while (node.getParentNodeRec() != linkage.getRecord()) {
+			PDOMNode parent = node.getParentNode();
+			if (!(parent instanceof PDOMNamedNode namedParent) || !namedParent.mayHaveChildren())
+				return false;
+			scopes.add(namedParent);
+			node = parent;
+		}
+
+		if (binding instanceof IEnumerator && !scopes.isEmpty() && scopes.get(0) instanceof IEnumeration enumeration
+				&& !(enumeration instanceof ICPPEnumeration cppEnumeration && cppEnumeration.isScoped())) {
+			// Enumerators of unscoped enumerations are also found in the enclosing scope. A single
+			// pattern is matched there, only.
+			if (matchesScopes(scopes.subList(1, scopes.size()), patterns, isFullyQualified))
+				return true;
+			if (patterns.length == 1)
+				return false;
+		}
+		return matchesScopes(scopes, patterns, isFullyQualified);
+	}
+
+	private static boolean matchesScopes(List<PDOMNamedNode> scopes, Pattern[] patterns, boolean isFullyQualified)
+			throws CoreException {
+		final int qualifiers = patterns.length - 1;
+		if (isFullyQualified ? scopes.size() != qualifiers : scopes.size() < qualifiers)
+			return false;
+		for (int i = 0; i < qualifiers; i++) {
+			String name = new String(scopes.get(i).getNameCharArray());
+			if (!patterns[qualifiers - 1 - i].matcher(name).matches())
+				return false;
+		}
+		return true;
+	}
+
 	private Boolean getCaseSensitive(Pattern[] patterns) {
 		Boolean caseSensitive = null;
 		for (Pattern p : patterns) {
@@ -1002,40 +1090,55 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// Read-write lock rules. Readers don't conflict with other readers,
 	// Writers conflict with readers, and everyone conflicts with writers.
-	private final Object mutex = new Object();
+	// Waiting readers take precedence over a waiting writer, read locks are not bound to
+	// threads and may be nested, the writer yields to readers instead (see YieldableIndexLock).
+	// Readers and writers wait on separate conditions, such that a released read lock
+	// wakes up the writers only.
+	private final ReentrantLock mutex = new ReentrantLock();
+	private final Condition readersCondition = mutex.newCondition();
+	private final Condition writersCondition = mutex.newCondition();
 	private int lockCount;
 	private int waitingReaders;
+	private int waitingWriters;
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
+	private final PDOMLockStatistics lockStatistics = new PDOMLockStatistics();
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
-		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
-		synchronized (mutex) {
+		long t = System.nanoTime();
+		mutex.lock();
+		try {
 			++waitingReaders;
 			try {
 				while (lockCount < 0)
-					mutex.wait();
+					readersCondition.await();
 			} finally {
-				--waitingReaders;
+				if (--waitingReaders == 0 && waitingWriters > 0)
+					writersCondition.signalAll();
 			}
 			++lockCount;
 			db.setLocked(true);
 
+			t = System.nanoTime() - t;
+			lockStatistics.recordReadWait(t);
 			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
+				t /= 1000000;
 				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
 					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
 				}
 				incReadLock(fLockDebugging);
 			}
+		} finally {
+			mutex.unlock();
 		}
 	}
 
 	@Override
 	public void releaseReadLock() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			assert lockCount > 0 : "No lock to release"; //$NON-NLS-1$
 			if (sDEBUG_LOCKS) {
 				decReadLock(fLockDebugging);
@@ -1044,8 +1147,11 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastReadAccess = System.currentTimeMillis();
 			if (lockCount > 0)
 				--lockCount;
-			mutex.notifyAll();
+			if (waitingWriters > 0)
+				writersCondition.signalAll();
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		// A lock release probably means that some AST is going away. The result cache has to be
 		// cleared since it may contain objects belonging to the AST that is going away. A failure
@@ -1073,7 +1179,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor) throws InterruptedException {
 		assert !isPermanentlyReadOnly();
-		synchronized (mutex) {
+		final long t = System.nanoTime();
+		mutex.lock();
+		try {
 			if (sDEBUG_LOCKS) {
 				incWriteLock(giveupReadLocks);
 			}
@@ -1091,23 +1199,30 @@ public class PDOM extends PlatformObject implements IPDOM {
 			// Let the readers go first
 			long start = sDEBUG_LOCKS ? System.currentTimeMillis() : 0;
 			int count = 0;
-			while (lockCount > giveupReadLocks || waitingReaders > 0) {
-				mutex.wait(CANCELLATION_CHECK_INTERVAL);
-				if (monitor != null && monitor.isCanceled()) {
-					throw new OperationCanceledException();
-				}
-				count++;
-				if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
-					monitor.subTask(Messages.PDOM_waitingForWriteLock);
-				}
-				if (sDEBUG_LOCKS) {
-					start = reportBlockedWriteLock(start, giveupReadLocks);
+			++waitingWriters;
+			try {
+				while (lockCount > giveupReadLocks || waitingReaders > 0) {
+					writersCondition.await(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					count++;
+					if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
+						monitor.subTask(Messages.PDOM_waitingForWriteLock);
+					}
+					if (sDEBUG_LOCKS) {
+						start = reportBlockedWriteLock(start, giveupReadLocks);
+					}
 				}
+			} finally {
+				--waitingWriters;
 			}
 			lockCount = -1;
-			if (sDEBUG_LOCKS)
-				timeWriteLockAcquired = System.currentTimeMillis();
+			timeWriteLockAcquired = System.nanoTime();
+			lockStatistics.recordWriteWait(timeWriteLockAcquired - t);
 			db.setExclusiveLock();
+		} finally {
+			mutex.unlock();
 		}
 		if (monitor != null)
 			monitor.subTask(""); //$NON-NLS-1$
@@ -1133,27 +1248,48 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastWriteAccess = System.currentTimeMillis();
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
-		synchronized (mutex) {
+		mutex.lock();
+		try {
+			final long timeHeld = System.nanoTime() - timeWriteLockAcquired;
+			lockStatistics.recordWriteHold(timeHeld, waitingReaders > 0);
 			if (sDEBUG_LOCKS) {
-				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
-				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
-					System.out.println("Index write lock held for " + timeHeld + " ms");
+				if (timeHeld / 1000000 >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
+					System.out.println("Index write lock held for " + timeHeld / 1000000 + " ms");
 				}
 				decWriteLock(establishReadLocks);
 			}
 
 			if (lockCount < 0)
 				lockCount = establishReadLocks;
-			mutex.notifyAll();
+			readersCondition.signalAll();
+			if (waitingWriters > 0)
+				writersCondition.signalAll();
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		fireChange(event);
 	}
 
 	@Override
 	public boolean hasWaitingReaders() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			return waitingReaders > 0;
+		} finally {
+			mutex.unlock();
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the statistics about waiting for and holding the locks of this PDOM.
+	 */
+	public PDOMLockStatistics getLockStatistics() {
+		mutex.lock();
+		try {
+			return new PDOMLockStatistics(lockStatistics);
+		} finally {
+			mutex.unlock();
 		}
 	}
 
@@ -1231,36 +1367,47 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding, int options) throws CoreException {
 		ArrayList<IIndexFragmentName> names = new ArrayList<>();
+		findNames(binding, options, names::add);
+		return names.toArray(new IIndexFragmentName[names.size()]);
+	}
+
+	@Override
+	public boolean findNames(IBinding binding, int options, IIndexFragmentNameVisitor visitor) throws CoreException {
 		IIndexFragmentBinding myBinding = adaptBinding(binding);
 		if (myBinding instanceof PDOMBinding) {
 			PDOMBinding pdomBinding = (PDOMBinding) myBinding;
-			findNamesForMyBinding(pdomBinding, options, names);
+			if (!findNamesForMyBinding(pdomBinding, options, visitor))
+				return false;
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
 				PDOMBinding[] xlangBindings = getCrossLanguageBindings(binding);
 				for (PDOMBinding xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
+					if (!findNamesForMyBinding(xlangBinding, options, visitor))
+						return false;
 				}
 			}
 		} else if (myBinding instanceof PDOMMacroContainer) {
 			final PDOMMacroContainer macroContainer = (PDOMMacroContainer) myBinding;
-			findNamesForMyBinding(macroContainer, options, names);
+			if (!findNamesForMyBinding(macroContainer, options, visitor))
+				return false;
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
 				PDOMMacroContainer[] xlangBindings = getCrossLanguageBindings(macroContainer);
 				for (PDOMMacroContainer xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
+					if (!findNamesForMyBinding(xlangBinding, options, visitor))
+						return false;
 				}
 			}
 		}
-		return names.toArray(new IIndexFragmentName[names.size()]);
+		return true;
 	}
 
-	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
+	private boolean findNamesForMyBinding(PDOMBinding pdomBinding, int options, IIndexFragmentNameVisitor visitor)
 			throws CoreException {
 		PDOMName name;
 		if ((options & FIND_DECLARATIONS) != 0) {
 			for (name = pdomBinding.getFirstDeclaration(); name != null; name = name.getNextInBinding()) {
 				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
@@ -1268,31 +1415,37 @@ public class PDOM extends PlatformObject implements IPDOM {
 			for (name = pdomBinding.getFirstDefinition(); name != null; name = name.getNextInBinding()) {
 				boolean findPotentialMatches = (options & FIND_POTENTIAL_MATCHES) != 0;
 				if (isCommitted(name) && (!name.isPotentialMatch() || findPotentialMatches)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
 		if ((options & FIND_REFERENCES) != 0) {
 			for (name = pdomBinding.getFirstReference(); name != null; name = name.getNextInBinding()) {
 				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 			for (IPDOMIterator<PDOMName> iterator = pdomBinding.getExternalReferences(); iterator.hasNext();) {
 				name = iterator.next();
-				if (isCommitted(name) && !name.isPotentialMatch())
-					names.add(name);
+				if (isCommitted(name) && !name.isPotentialMatch()) {
+					if (!visitor.visit(name))
+						return false;
+				}
 			}
 		}
+		return true;
 	}
 
-	private void findNamesForMyBinding(PDOMMacroContainer container, int options, ArrayList<IIndexFragmentName> names)
-			throws CoreException {
+	private boolean findNamesForMyBinding(PDOMMacroContainer container, int options,
+			IIndexFragmentNameVisitor visitor) throws CoreException {
 		if ((options & FIND_DEFINITIONS) != 0) {
 			for (PDOMMacro macro = container.getFirstDefinition(); macro != null; macro = macro.getNextInContainer()) {
 				final IIndexFragmentName name = macro.getDefinition();
 				if (name != null && isCommitted(macro)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
@@ -1300,10 +1453,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 			for (PDOMMacroReferenceName name = container.getFirstReference(); name != null; name = name
 					.getNextInContainer()) {
 				if (isCommitted(name)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
+		return true;
 	}
 
 	public IRecordIterator getDeclarationsDefintitionsRecordIterator(IIndexBinding binding) throws CoreException {
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Statistics about the read-write lock of a {@link PDOM}. The objects returned by
+ * {@link PDOM#getLockStatistics()} are snapshots, they are not updated afterwards.
+ */
+public class PDOMLockStatistics {
+	/**
+	 * Distribution of durations. Bucket {@code i} counts the durations shorter than
+	 * {@code 2^i} milliseconds, the last bucket counts all longer durations.
+	 */
+	public static class Histogram {
+		public static final int BUCKET_COUNT = 16;
+
+		private final long[] fBuckets = new long[BUCKET_COUNT];
+		private long fCount;
+		private long fTotalNanos;
+		private long fMaxNanos;
+
+		Histogram() {
+		}
+
+		Histogram(Histogram other) {
+			System.arraycopy(other.fBuckets, 0, fBuckets, 0, BUCKET_COUNT);
+			fCount = other.fCount;
+			fTotalNanos = other.fTotalNanos;
+			fMaxNanos = other.fMaxNanos;
+		}
+
+		void record(long nanos) {
+			final long millis = nanos / 1000000;
+			final int bucket = millis == 0 ? 0 : 64 - Long.numberOfLeadingZeros(millis);
+			fBuckets[Math.min(bucket, BUCKET_COUNT - 1)]++;
+			fCount++;
+			fTotalNanos += nanos;
+			if (nanos > fMaxNanos) {
+				fMaxNanos = nanos;
+			}
+		}
+
+		/**
+		 * Returns the number of recorded durations.
+		 */
+		public long getCount() {
+			return fCount;
+		}
+
+		/**
+		 * Returns the sum of all recorded durations in milliseconds.
+		 */
+		public long getTotalMillis() {
+			return fTotalNanos / 1000000;
+		}
+
+		/**
+		 * Returns the longest recorded duration in milliseconds.
+		 */
+		public long getMaxMillis() {
+			return fMaxNanos / 1000000;
+		}
+
+		/**
+		 * Returns the number of durations in the given bucket.
+		 */
+		public long getBucketCount(int bucket) {
+			return fBuckets[bucket];
+		}
+
+		/**
+		 * Returns the exclusive upper bound of the given bucket in milliseconds, or
+		 * {@link Long#MAX_VALUE} for the last bucket.
+		 */
+		public static long getBucketLimitMillis(int bucket) {
+			return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucket;
+		}
+
+		@Override
+		@SuppressWarnings("nls")
+		public String toString() {
+			StringBuilder buf = new StringBuilder();
+			buf.append(fCount).append(" times, ").append(getTotalMillis()).append(" ms total, ");
+			buf.append(getMaxMillis()).append(" ms max");
+			if (fCount > 0) {
+				buf.append(", [");
+				int last = BUCKET_COUNT - 1;
+				while (fBuckets[last] == 0) {
+					last--;
+				}
+				for (int i = 0; i <= last; i++) {
+					if (i > 0) {
+						buf.append(' ');
+					}
+					buf.append(fBuckets[i]);
+				}
+				buf.append(']');
+			}
+			return buf.toString();
+		}
+	}
+
+	private final Histogram fReadWait;
+	private final Histogram fWriteWait;
+	private final Histogram fWriteHold;
+	private long fYieldCount;
+
+	PDOMLockStatistics() {
+		fReadWait = new Histogram();
+		fWriteWait = new Histogram();
+		fWriteHold = new Histogram();
+	}
+
+	PDOMLockStatistics(PDOMLockStatistics other) {
+		fReadWait = new Histogram(other.fReadWait);
+		fWriteWait = new Histogram(other.fWriteWait);
+		fWriteHold = new Histogram(other.fWriteHold);
+		fYieldCount = other.fYieldCount;
+	}
+
+	void recordReadWait(long nanos) {
+		fReadWait.record(nanos);
+	}
+
+	void recordWriteWait(long nanos) {
+		fWriteWait.record(nanos);
+	}
+
+	void recordWriteHold(long nanos, boolean readersWaiting) {
+		fWriteHold.record(nanos);
+		if (readersWaiting) {
+			fYieldCount++;
+		}
+	}
+
+	/**
+	 * Returns the times threads waited for a read lock.
+	 */
+	public Histogram getReadWaitTimes() {
+		return fReadWait;
+	}
+
+	/**
+	 * Returns the times threads waited for the write lock.
+	 */
+	public Histogram getWriteWaitTimes() {
+		return fWriteWait;
+	}
+
+	/**
+	 * Returns the times the write lock was held.
+	 */
+	public Histogram getWriteHoldTimes() {
+		return fWriteHold;
+	}
+
+	/**
+	 * Returns how often the write lock was released while readers were waiting for it, i.e.
+	 * how often the writer yielded to readers.
+	 */
+	public long getYieldCount() {
+		return fYieldCount;
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		return "read wait: " + fReadWait + "; write wait: " + fWriteWait + "; write hold: " + fWriteHold
+				+ "; yields: " + fYieldCount;
+	}
+}
@@ -71,6 +71,8 @@ import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
 import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation.ConstexprEvaluationContext;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
@@ -79,8 +81,10 @@ import org.eclipse.cdt.internal.core.index.IndexFactory;
 import org.eclipse.cdt.internal.core.index.IndexFileSet;
 import org.eclipse.cdt.internal.core.index.IndexerStateEvent;
 import org.eclipse.cdt.internal.core.index.provider.IndexProviderManager;
+import org.eclipse.cdt.internal.core.parser.scanner.IncludeGuardCache;
 import org.eclipse.cdt.internal.core.pdom.PDOM.IListener;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMProjectIndexLocationConverter;
 import org.eclipse.cdt.internal.core.pdom.indexer.AbstractPDOMIndexer;
@@ -125,6 +129,7 @@ import org.eclipse.core.runtime.preferences.InstanceScope;
  */
 public class PDOMManager implements IWritableIndexManager, IListener {
 	private static final String TRACE_INDEXER_SETUP = CCorePlugin.PLUGIN_ID + "/debug/indexer/setup"; //$NON-NLS-1$
+	private static final String INCLUDE_GUARD_CACHE_FILE = "includeGuards.cache"; //$NON-NLS-1$
 
 	private final class PCL implements IPreferenceChangeListener {
 		private ICProject fProject;
@@ -162,6 +167,8 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	private final Job fNotificationJob;
 
 	private final AtomicMultiSet<IIndexFileLocation> fFilesIndexedUnconditionlly = new AtomicMultiSet<>();
+	// The databases being compacted, see compactIndex()
+	private final Set<WritablePDOM> fCompactingPDOMs = new HashSet<>();
 
 	/**
 	 * Stores mapping from pdom to project, used to serialize creation of new pdoms.
@@ -242,7 +249,11 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		InstanceScope.INSTANCE.getNode(CCorePlugin.PLUGIN_ID).addPreferenceChangeListener(fPreferenceChangeListener);
 		Job.getJobManager().addJobChangeListener(fJobChangeListener);
 		adjustCacheSize();
+		updateDatabaseStorage();
+		updateParallelQueries();
+		updateConstexprEvaluationSteps();
 		updatePathCanonicalizationStrategy();
+		loadIncludeGuardCache();
 		fIndexProviderManager.startup();
 
 		fTraceIndexerSetup = String.valueOf(true).equals(Platform.getDebugOption(TRACE_INDEXER_SETUP));
@@ -286,6 +297,26 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
+		saveIncludeGuardCache();
+	}
+
+	private void loadIncludeGuardCache() {
+		File file = fileFromDatabaseName(INCLUDE_GUARD_CACHE_FILE);
+		if (file.exists()) {
+			try {
+				IncludeGuardCache.getInstance().load(file);
+			} catch (IOException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+
+	private void saveIncludeGuardCache() {
+		try {
+			IncludeGuardCache.getInstance().save(fileFromDatabaseName(INCLUDE_GUARD_CACHE_FILE));
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
 	}
 
 	protected void onPreferenceChange(PreferenceChangeEvent event) {
@@ -293,6 +324,12 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		if (prop.equals(CCorePreferenceConstants.INDEX_DB_CACHE_SIZE_PCT)
 				|| prop.equals(CCorePreferenceConstants.MAX_INDEX_DB_CACHE_SIZE_MB)) {
 			adjustCacheSize();
+		} else if (prop.equals(CCorePreferenceConstants.INDEX_DB_MAPPED_STORAGE)) {
+			updateDatabaseStorage();
+		} else if (prop.equals(CCorePreferenceConstants.INDEX_PARALLEL_QUERIES)) {
+			updateParallelQueries();
+		} else if (prop.equals(CCorePreferenceConstants.CONSTEXPR_EVALUATION_STEPS)) {
+			updateConstexprEvaluationSteps();
 		} else if (prop.equals(CCorePreferenceConstants.TODO_TASK_TAGS)
 				|| prop.equals(CCorePreferenceConstants.TODO_TASK_PRIORITIES)
 				|| prop.equals(CCorePreferenceConstants.TODO_TASK_CASE_SENSITIVE)) {
@@ -315,6 +352,27 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		ChunkCache.getSharedInstance().setMaxSize(m2);
 	}
 
+	private void updateDatabaseStorage() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean mapped = prefs.getBoolean(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.INDEX_DB_MAPPED_STORAGE,
+				false, null);
+		Database.setUseMappedStorage(mapped);
+	}
+
+	private void updateParallelQueries() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		boolean parallel = prefs.getBoolean(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.INDEX_PARALLEL_QUERIES,
+				false, null);
+		CIndex.setParallelQueries(parallel);
+	}
+
+	private void updateConstexprEvaluationSteps() {
+		IPreferencesService prefs = Platform.getPreferencesService();
+		int maxSteps = prefs.getInt(CCorePlugin.PLUGIN_ID, CCorePreferenceConstants.CONSTEXPR_EVALUATION_STEPS,
+				ConstexprEvaluationContext.MAX_CONSTEXPR_EVALUATION_STEPS, null);
+		ConstexprEvaluationContext.setMaxSteps(Math.max(1, maxSteps));
+	}
+
 	private void updatePathCanonicalizationStrategy() {
 		IPreferencesService prefs = Platform.getPreferencesService();
 		boolean canonicalize = prefs.getBoolean(CCorePlugin.PLUGIN_ID,
@@ -937,6 +995,47 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		}
 	}
 
+	/**
+	 * Schedules a job that compacts the database of the given project in the background, if enough
+	 * records have been freed since it was last compacted. Called by the indexer tasks once they
+	 * updated the index, see {@link WritablePDOM#compact(IProgressMonitor)}.
+	 */
+	public void compactIndex(ICProject cproject) {
+		final IPDOM pdom;
+		synchronized (fProjectToPDOM) {
+			pdom = fProjectToPDOM.get(cproject.getProject());
+		}
+		if (pdom instanceof WritablePDOM writablePDOM && writablePDOM.needsCompaction()) {
+			synchronized (fCompactingPDOMs) {
+				if (!fCompactingPDOMs.add(writablePDOM))
+					return;
+			}
+			Job job = new Job(Messages.PDOMManager_CompactPDOMJob) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					try {
+						writablePDOM.compact(monitor);
+					} catch (CoreException e) {
+						CCorePlugin.log(e);
+					} catch (InterruptedException e) {
+					} finally {
+						synchronized (fCompactingPDOMs) {
+							fCompactingPDOMs.remove(writablePDOM);
+						}
+					}
+					return Status.OK_STATUS;
+				}
+
+				@Override
+				public boolean belongsTo(Object family) {
+					return family == PDOMManager.this;
+				}
+			};
+			job.setSystem(true);
+			job.schedule();
+		}
+	}
+
 	void removeProject(ICProject cproject, ICElementDelta delta) {
 		synchronized (fProjectToPDOM) {
 			IProject rproject = cproject.getProject();
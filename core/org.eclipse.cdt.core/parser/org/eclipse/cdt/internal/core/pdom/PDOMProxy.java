@@ -33,6 +33,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentNameVisitor;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
 import org.eclipse.cdt.internal.core.pdom.PDOM.ChangeEvent;
 import org.eclipse.cdt.internal.core.pdom.PDOM.DebugLockInfo;
@@ -153,6 +154,15 @@ public class PDOMProxy implements IPDOM {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public synchronized boolean findNames(IBinding binding, int flags, IIndexFragmentNameVisitor visitor)
+			throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findNames(binding, flags, visitor);
+
+		return true;
+	}
+
 	@Override
 	public synchronized long getCacheHits() {
 		if (fDelegate != null)
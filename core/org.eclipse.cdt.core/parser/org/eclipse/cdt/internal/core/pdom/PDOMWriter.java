@@ -218,6 +218,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 	protected final ICanceler fCancelState = new Canceler();
 
 	private int fSkipReferences = SKIP_NO_REFERENCES;
+	private IndexerTelemetry fTelemetry;
 
 	public PDOMWriter(IndexerInputAdapter resolver) {
 		fStatistics = new IndexerStatistics();
@@ -261,6 +262,21 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		return fSkipReferences;
 	}
 
+	/**
+	 * Sets the telemetry that records the costs per file, or {@code null} to not record them.
+	 */
+	public void setTelemetry(IndexerTelemetry telemetry) {
+		fTelemetry = telemetry;
+	}
+
+	public IndexerTelemetry getTelemetry() {
+		return fTelemetry;
+	}
+
+	private static String getPath(Data data, FileInAST file) {
+		return file.includeStatement == null ? data.fAST.getFilePath() : file.includeStatement.getPath();
+	}
+
 	/**
 	 * Extracts symbols from the given AST and adds them to the index.  Ignores Data maps that are
 	 * empty and ones where storageLinkageID == {@link ILinkage#NO_LINKAGE_ID}.
@@ -323,6 +339,9 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 				YieldableIndexLock lock = new YieldableIndexLock(data.fIndex, false, progress.split(1));
 				lock.acquire();
 				boolean hasLock = true;
+				final long start = fTelemetry == null ? 0 : System.nanoTime();
+				final long cacheHits = fTelemetry == null ? 0 : data.fIndex.getCacheHits();
+				final long cacheMisses = fTelemetry == null ? 0 : data.fIndex.getCacheMisses();
 				try {
 					final boolean isReplacement = ctx != null && fileInAST.includeStatement == null;
 					IIndexFragmentFile ifile = null;
@@ -371,6 +390,10 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
 				}
 				fStatistics.fAddToIndexTime += lock.getCumulativeLockTime();
+				if (fTelemetry != null) {
+					fTelemetry.recordWrite(getPath(data, fileInAST), System.nanoTime() - start,
+							data.fIndex.getCacheHits() - cacheHits, data.fIndex.getCacheMisses() - cacheMisses);
+				}
 			}
 		}
 	}
@@ -380,6 +403,7 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		Set<ICPPInternalDeclaredVariable> variables = new HashSet<>();
 		SubMonitor progress = SubMonitor.convert(monitor, data.fSelectedFiles.length);
 		for (FileInAST file : data.fSelectedFiles) {
+			final long fileStart = fTelemetry == null ? 0 : System.nanoTime();
 			Symbols symbols = data.fSymbolMap.get(file.includeStatement);
 
 			final ArrayList<IASTName[]> names = symbols.fNames;
@@ -436,6 +460,9 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 					}
 				}
 			}
+			if (fTelemetry != null) {
+				fTelemetry.recordResolution(getPath(data, file), System.nanoTime() - fileStart);
+			}
 		}
 
 		// Precalculate types and initial values of all indexed variables to avoid doing it later when writing
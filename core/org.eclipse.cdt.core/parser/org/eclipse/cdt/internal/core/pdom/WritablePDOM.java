@@ -39,6 +39,7 @@ import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.model.TranslationUnit;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMBinding;
@@ -48,10 +49,17 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 
 public class WritablePDOM extends PDOM implements IWritableIndexFragment {
+	/** Number of chunks processed by {@link #compact(IProgressMonitor)} while holding the write lock. */
+	private static final int COMPACTION_SLICE_CHUNKS = 1024;
+	/** Percentage of the database size to be freed before {@link #needsCompaction()} returns true. */
+	private static final int COMPACTION_FREED_PERCENT = 25;
+
 	private boolean fClearedBecauseOfVersionMismatch = false;
 	private boolean fCreatedFromScratch = false;
+	private long fFreedAtCompaction;
 	private ASTFilePathResolver fPathResolver;
 	private PDOMFile fileBeingUpdated;
 	private PDOMFile uncommittedFile;
@@ -188,6 +196,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	@Override
 	public void clear() throws CoreException {
 		super.clear();
+		fFreedAtCompaction = 0;
 	}
 
 	@Override
@@ -195,6 +204,44 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		super.flush();
 	}
 
+	/**
+	 * Merges adjacent free blocks of the database and releases the free chunks at its end. Records
+	 * are not moved, so the index stays usable throughout. The write lock is held for one slice of
+	 * chunks at a time and is released in between, such that readers are blocked only briefly.
+	 *
+	 * @return the number of bytes the database file was shrunk by
+	 */
+	public long compact(IProgressMonitor monitor) throws CoreException, InterruptedException {
+		final Database db = getDB();
+		int next = 1;
+		int released = 0;
+		do {
+			if (monitor != null && monitor.isCanceled()) {
+				return 0;
+			}
+			acquireWriteLock(monitor);
+			try {
+				next = db.mergeFreeBlocks(next, COMPACTION_SLICE_CHUNKS);
+				if (next < 0) {
+					released = db.releaseFreeChunksAtEnd();
+					fFreedAtCompaction = db.getFreedBytes();
+				}
+			} finally {
+				releaseWriteLock(0, next < 0);
+			}
+		} while (next >= 0);
+		return (long) released * Database.CHUNK_SIZE;
+	}
+
+	/**
+	 * Returns whether enough records have been freed since the database was opened or last
+	 * compacted for {@link #compact(IProgressMonitor)} to be worthwhile.
+	 */
+	public boolean needsCompaction() {
+		final Database db = getDB();
+		return (db.getFreedBytes() - fFreedAtCompaction) * 100 > db.getSizeBytes() * COMPACTION_FREED_PERCENT;
+	}
+
 	@Override
 	public void setProperty(String propertyName, String value) throws CoreException {
 		if (IIndexFragment.PROPERTY_FRAGMENT_FORMAT_ID.equals(propertyName)
@@ -13,12 +13,22 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+/**
+ * Cache for the chunks of one or more databases.
+ * <p>
+ * The cache is partitioned into segments, each of them a page table managed with the CLOCK
+ * algorithm. A chunk is assigned to a segment by hashing its database and its sequence number,
+ * the segment object is used as the lock for the chunk (see {@link #getLock(Database, int)}).
+ * This way threads working on different chunks rarely contend for the same monitor.
+ */
 public final class ChunkCache {
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_LENGTH = 64;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Segment[] fSegments;
+	private final int fSegmentMask;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,82 +39,49 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		this(maxSize, computeSegmentCount(computeLength(maxSize)));
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
-		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
+	/**
+	 * Creates a cache with the given number of segments.
+	 * @param maxSize the total size of the chunks in bytes.
+	 * @param segmentCount the number of segments, rounded down to a power of two.
+	 */
+	public ChunkCache(long maxSize, int segmentCount) {
+		fSegments = new Segment[Integer.highestOneBit(Math.max(1, segmentCount))];
+		fSegmentMask = fSegments.length - 1;
+		final int length = computeLength(maxSize);
+		for (int i = 0; i < fSegments.length; i++) {
+			fSegments[i] = new Segment(segmentLength(length, i));
 		}
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Returns the lock protecting the chunk with the given sequence number of the given
+	 * database. The lock guards the cache state of the chunk as well as its entry in the
+	 * chunk table of the database.
 	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
-		}
+	Object getLock(Database db, int sequenceNumber) {
+		return getSegment(db, sequenceNumber);
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
-		}
+	public void add(Chunk chunk, boolean locked) {
+		getSegment(chunk.fDatabase, chunk.fSequenceNumber).add(chunk, locked);
+	}
+
+	public void remove(Chunk chunk) {
+		getSegment(chunk.fDatabase, chunk.fSequenceNumber).remove(chunk);
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long length = 0;
+		for (Segment segment : fSegments) {
+			length += segment.getLength();
+		}
+		return length * Database.CHUNK_SIZE;
 	}
 
 	/**
@@ -112,31 +89,141 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+	public void setMaxSize(long maxSize) {
+		final int length = computeLength(maxSize);
+		for (int i = 0; i < fSegments.length; i++) {
+			fSegments[i].setLength(segmentLength(length, i));
 		}
 	}
 
-	private int computeLength(long maxSize) {
+	/**
+	 * Returns the number of segments the cache is partitioned into.
+	 */
+	public int getSegmentCount() {
+		return fSegments.length;
+	}
+
+	private Segment getSegment(Database db, int sequenceNumber) {
+		int h = db.hashCode() + sequenceNumber * 0x9E3779B9;
+		h ^= h >>> 16;
+		return fSegments[h & fSegmentMask];
+	}
+
+	private int segmentLength(int length, int segment) {
+		final int n = fSegments.length;
+		return Math.max(1, length / n + (segment < length % n ? 1 : 0));
+	}
+
+	private static int computeSegmentCount(int length) {
+		return Math.min(MAX_SEGMENTS, Math.max(1, length / MIN_SEGMENT_LENGTH));
+	}
+
+	private static int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
+
+	private static final class Segment {
+		private Chunk[] fPageTable;
+		private boolean fTableIsFull;
+		private int fPointer;
+
+		Segment(int length) {
+			fPageTable = new Chunk[length];
+		}
+
+		synchronized void add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return;
+			}
+			if (fTableIsFull) {
+				evictChunk();
+				fPageTable[fPointer] = chunk;
+				chunk.fCacheIndex = fPointer;
+			} else {
+				fPageTable[fPointer] = chunk;
+				chunk.fCacheIndex = fPointer;
+
+				fPointer++;
+				if (fPointer == fPageTable.length) {
+					fPointer = 0;
+					fTableIsFull = true;
+				}
+			}
+		}
+
+		/**
+		 * Evicts a chunk from the page table and the chunk table.
+		 * After this method returns, {@link #fPointer}  will contain
+		 * the index of the evicted chunk within the page table.
+		 */
+		private void evictChunk() {
+			/*
+			 * Use the CLOCK algorithm to determine which chunk to evict.
+			 * i.e., if the chunk in the current slot of the page table has been
+			 * recently referenced (i.e. the reference flag is set), unset the
+			 * reference flag and move to the next slot.  Otherwise, evict the
+			 * chunk in the current slot.
+			 */
+			while (true) {
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else {
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+					fPageTable[fPointer] = null;
+					return;
+				}
+			}
+		}
+
+		synchronized void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				if (fTableIsFull) {
+					fPointer = fPageTable.length - 1;
+					fTableIsFull = false;
+				} else {
+					fPointer--;
+				}
+				final Chunk move = fPageTable[fPointer];
+				fPageTable[idx] = move;
+				move.fCacheIndex = idx;
+				fPageTable[fPointer] = null;
+				chunk.fCacheIndex = -1;
+			}
+		}
+
+		synchronized int getLength() {
+			return fPageTable.length;
+		}
+
+		synchronized void setLength(int newLength) {
+			final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
+			if (newLength > oldLength) {
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
+				fTableIsFull = false;
+				fPointer = oldLength;
+				fPageTable = newTable;
+			} else {
+				for (int i = newLength; i < oldLength; i++) {
+					final Chunk chunk = fPageTable[i];
+					chunk.fDatabase.releaseChunk(chunk);
+					chunk.fCacheIndex = -1;
+				}
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, newLength);
+				fTableIsFull = true;
+				fPointer = 0;
+				fPageTable = newTable;
+			}
+		}
+	}
 }
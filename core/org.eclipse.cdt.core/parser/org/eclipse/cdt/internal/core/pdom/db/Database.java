@@ -22,17 +22,16 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.BitSet;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +70,22 @@ import org.eclipse.osgi.util.NLS;
  * PREV_OFFSET      | pointer to previous block (of same size) (only in free blocks)
  * NEXT_OFFSET      | pointer to next block (of same size) (only in free blocks)
  *
+ * ===== memory-mapped storage
+ *
+ * With memory-mapped storage the file is mapped in regions of MAPPING_SIZE bytes and chunks that
+ * exist on disk are views of these regions rather than copies on the heap. Modifications are
+ * written straight to the mapping, therefore the file is marked incomplete before the first chunk
+ * is handed out under the exclusive lock. Chunks that were created since the last flush are not on
+ * disk yet and are held on the heap until they are flushed. The header chunk is always held on the
+ * heap.
+ *
+ * ===== locking
+ *
+ * The chunk table is guarded by the lock the ChunkCache provides for each chunk index, such that
+ * threads working on different chunks do not contend for a single monitor. Readers look up cached
+ * chunks without taking a lock at all: a chunk that is referenced from the chunk table and has a
+ * valid cache index has been read completely, and its content cannot change while no thread holds
+ * the exclusive lock.
  */
 public class Database {
 	// Public for tests only, you shouldn't need these.
@@ -99,9 +114,17 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	private static final int CHUNKS_PER_MAPPING = 16 * 1024;
+	private static final long MAPPING_SIZE = (long) CHUNKS_PER_MAPPING * CHUNK_SIZE;
+	private static final MappedByteBuffer[] NO_MAPPINGS = {};
+
+	private static volatile boolean sUseMappedStorage;
+
 	private final File fLocation;
 	private final boolean fReadOnly;
+	private final boolean fMapped;
 	private RandomAccessFile fFile;
+	private MappedByteBuffer[] fMappings = NO_MAPPINGS;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -115,39 +138,41 @@ public class Database {
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
-
-	/** Soft reference wrapper to keep track of the record for disposed strings. */
-	private static class SoftStringRef extends SoftReference<IString> {
-		private final long record;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
 
-		public SoftStringRef(IString referent, ReferenceQueue<? super IString> q) {
-			super(referent, q);
-			record = referent.getRecord();
-		}
+	// a bounded cache for strings which is used for btree lookups
+	private final StringCache stringCache = new StringCache(StringCache.DEFAULT_CAPACITY);
 
-		public long getRecord() {
-			return record;
-		}
+	/**
+	 * Construct a new Database object, creating a backing file if necessary. The database uses
+	 * memory-mapped storage if it is enabled via {@link #setUseMappedStorage(boolean)}.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, sUseMappedStorage);
 	}
 
-	// a cache for strings which is used for btree lookups; soft refs ensure garbage collection
-	private final Map<Long, Reference<IString>> stringCache = new ConcurrentHashMap<>();
-	private final ReferenceQueue<IString> stringDisposal = new ReferenceQueue<>();
-
 	/**
 	 * Construct a new Database object, creating a backing file if necessary.
 	 * @param location the local file path for the database
 	 * @param cache the cache to be used optimization
 	 * @param version the version number to store in the database (only applicable for new databases)
 	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param mappedStorage whether the chunks of the file are accessed via memory mappings rather
+	 *     than being read into heap buffers
 	 * @throws CoreException
 	 */
-	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean mappedStorage)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
+			fMapped = mappedStorage;
 			fCache = cache;
 			openFile();
 
@@ -199,6 +224,44 @@ public class Database {
 		}
 	}
 
+	private MappedByteBuffer map(long position, long size) throws IOException {
+		int retries = 0;
+		while (true) {
+			try {
+				return fFile.getChannel().map(fReadOnly ? MapMode.READ_ONLY : MapMode.READ_WRITE, position, size);
+			} catch (ClosedChannelException e) {
+				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
+				reopen(e, ++retries);
+			}
+		}
+	}
+
+	/**
+	 * Returns a view of the mapped file region for the chunk with the given index, or
+	 * {@code null} if the chunk does not yet exist on disk.
+	 */
+	private synchronized ByteBuffer getMappedChunkBuffer(int index) throws IOException {
+		final int region = index / CHUNKS_PER_MAPPING;
+		final int offsetInRegion = (index % CHUNKS_PER_MAPPING) * CHUNK_SIZE;
+		if (region >= fMappings.length) {
+			MappedByteBuffer[] newMappings = new MappedByteBuffer[region + 1];
+			System.arraycopy(fMappings, 0, newMappings, 0, fMappings.length);
+			fMappings = newMappings;
+		}
+		MappedByteBuffer mapping = fMappings[region];
+		if (mapping == null || mapping.capacity() < offsetInRegion + CHUNK_SIZE) {
+			// The region is not mapped yet, or the file has grown since it was mapped.
+			final long position = region * MAPPING_SIZE;
+			final long size = Math.min(MAPPING_SIZE, fFile.length() - position);
+			if (size < offsetInRegion + CHUNK_SIZE) {
+				return null;
+			}
+			mapping = map(position, size);
+			fMappings[region] = mapping;
+		}
+		return mapping.slice(offsetInRegion, CHUNK_SIZE);
+	}
+
 	private void reopen(ClosedChannelException e, int attempt) throws ClosedChannelException, FileNotFoundException {
 		// Only if the current thread was not interrupted we try to reopen the file.
 		if (e instanceof ClosedByInterruptException || attempt >= 20) {
@@ -223,6 +286,21 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Returns whether this database accesses its file via memory mappings.
+	 */
+	public boolean usesMappedStorage() {
+		return fMapped;
+	}
+
+	/**
+	 * Sets whether databases that are opened from now on use memory-mapped storage rather than
+	 * reading their chunks into heap buffers. Databases that are already open are not affected.
+	 */
+	public static void setUseMappedStorage(boolean value) {
+		sUseMappedStorage = value;
+	}
+
 	public int getVersion() {
 		return fVersion;
 	}
@@ -247,6 +325,8 @@ public class Database {
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		// Mapped regions must not be accessed beyond the end of the truncated file.
+		fMappings = NO_MAPPINGS;
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
@@ -274,8 +354,8 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
-			for (int i = 1; i < fChunks.length; i++) {
+		for (int i = 1; i < fChunks.length; i++) {
+			synchronized (fCache.getLock(this, i)) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
 					fCache.remove(chunk);
@@ -296,27 +376,54 @@ public class Database {
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
 
-		synchronized (fCache) {
-			assert fLocked;
-			final int index = (int) long_index;
-			if (index < 0 || index >= fChunks.length) {
-				databaseCorruptionDetected();
+		if (fMapped && fExclusiveLock && !fIsMarkedIncomplete) {
+			// Writes to mapped chunks go straight to the file.
+			markFileIncomplete();
+		}
+		assert fLocked;
+		final int index = (int) long_index;
+		if (index < 0 || index >= fChunks.length) {
+			databaseCorruptionDetected();
+		}
+		if (!fExclusiveLock) {
+			// Readers don't need to lock chunks, a cached chunk can be returned without synchronization.
+			Chunk chunk = fChunks[index];
+			if (chunk != null && chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				cacheHits.increment();
+				return chunk;
 			}
+		}
+		synchronized (fCache.getLock(this, index)) {
 			Chunk chunk = fChunks[index];
 			if (chunk == null) {
-				cacheMisses++;
-				chunk = new Chunk(this, index);
+				cacheMisses.increment();
+				chunk = createChunk(index);
 				chunk.read();
 				// Put the chunk in fChunks after it was read successfully.
 				fChunks[index] = chunk;
 			} else {
-				cacheHits++;
+				cacheHits.increment();
 			}
 			fCache.add(chunk, fExclusiveLock);
 			return chunk;
 		}
 	}
 
+	private Chunk createChunk(int index) throws CoreException {
+		if (fMapped) {
+			try {
+				ByteBuffer buffer = getMappedChunkBuffer(index);
+				if (buffer != null) {
+					return new Chunk(this, index, buffer);
+				}
+			} catch (IOException e) {
+				throw new CoreException(new DBStatus(e));
+			}
+		}
+		return new Chunk(this, index);
+	}
+
 	private void databaseCorruptionDetected() throws CoreException {
 		String msg = MessageFormat.format(Messages.getString("Database.CorruptedDatabase"), //$NON-NLS-1$
 				new Object[] { fLocation.getName() });
@@ -376,13 +483,15 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int newChunkIndex = fChunksUsed; // fChunks.length;
-
+		final int newChunkIndex = fChunksUsed; // fChunks.length;
+		synchronized (fCache.getLock(this, newChunkIndex)) {
 			final Chunk chunk = new Chunk(this, newChunkIndex);
 			chunk.fDirty = true;
 
 			if (newChunkIndex >= fChunksAllocated) {
+				// Releasing a chunk from the cache concurrently may go to the old table. The chunk
+				// then stays in the new table without a cache index and is added to the cache again
+				// or dropped when the exclusive lock is given up.
 				int increment = Math.max(1024, fChunksAllocated / 20);
 				Chunk[] newchunks = new Chunk[fChunksAllocated + increment];
 				System.arraycopy(fChunks, 0, newchunks, 0, fChunksAllocated);
@@ -417,8 +526,8 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int oldLen = fChunks.length;
+		final int oldLen = fChunks.length;
+		synchronized (fCache.getLock(this, oldLen + numChunks - 1)) {
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
 			for (int i = oldLen; i < oldLen + numChunks; i++) {
@@ -608,12 +717,9 @@ public class Database {
 	}
 
 	public IString getString(long offset) throws CoreException {
-		final Reference<IString> cachedStringReference = stringCache.get(offset);
-		if (cachedStringReference != null) {
-			final IString cachedString = cachedStringReference.get();
-			if (cachedString != null) {
-				return cachedString; // string already cached, no need to re-retrieve it :-)
-			}
+		final IString cachedString = stringCache.get(offset);
+		if (cachedString != null) {
+			return cachedString; // string already cached, no need to re-retrieve it :-)
 		}
 		final int l = getInt(offset);
 		int bytelen = l < 0 ? -l : 2 * l;
@@ -624,16 +730,7 @@ public class Database {
 	}
 
 	private IString addStringToCache(IString string) {
-		// add string to cache
-		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
-		// also remove keys from cache list upon garbage collection
-		if (stringDisposal != null) {
-			Reference<? extends IString> disposedRef = stringDisposal.poll();
-			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
-				disposedRef = stringDisposal.poll();
-			}
-		}
+		stringCache.put(string);
 		return string;
 	}
 
@@ -641,23 +738,151 @@ public class Database {
 	 * For debugging purposes, only.
 	 */
 	public void reportFreeBlocks() throws CoreException {
-		System.out.println("Allocated size: " + fChunksUsed * CHUNK_SIZE); //$NON-NLS-1$
 		System.out.println("malloc'ed: " + malloced); //$NON-NLS-1$
 		System.out.println("free'd: " + freed); //$NON-NLS-1$
-		System.out.println("wasted: " + (fChunksUsed * CHUNK_SIZE - (malloced - freed))); //$NON-NLS-1$
-		System.out.println("Free blocks"); //$NON-NLS-1$
-		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
-			int count = 0;
-			long block = getFirstBlock(bs);
+		System.out.println("wasted: " + ((long) fChunksUsed * CHUNK_SIZE - (malloced - freed))); //$NON-NLS-1$
+		System.out.println(getFragmentationReport());
+	}
+
+	/**
+	 * Returns the number of bytes freed since the database was opened or cleared.
+	 */
+	public long getFreedBytes() {
+		return freed;
+	}
+
+	/**
+	 * Computes how the free space of the database is distributed by walking the lists of free blocks.
+	 */
+	public FragmentationReport getFragmentationReport() throws CoreException {
+		assert fLocked;
+		final int[] counts = new int[MAX_BLOCK_DELTAS + 1];
+		final BitSet freeChunks = new BitSet(fChunksUsed);
+		for (int deltas = MIN_BLOCK_DELTAS; deltas <= MAX_BLOCK_DELTAS; deltas++) {
+			long block = getFirstBlock(deltas * BLOCK_SIZE_DELTA);
 			while (block != 0) {
-				++count;
+				counts[deltas]++;
+				if (deltas == MAX_BLOCK_DELTAS) {
+					freeChunks.set((int) (block / CHUNK_SIZE));
+				}
 				block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
 			}
-			if (count != 0)
-				System.out.println("Block size: " + bs + "=" + count); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		int freeChunksAtEnd = 0;
+		while (freeChunks.get(fChunksUsed - 1 - freeChunksAtEnd)) {
+			freeChunksAtEnd++;
+		}
+		return new FragmentationReport((long) fChunksUsed * CHUNK_SIZE, counts, freeChunks.cardinality(),
+				freeChunksAtEnd);
+	}
+
+	/**
+	 * Merges adjacent free blocks within the chunks starting at the given index. Records are not
+	 * moved, such that record pointers stay valid. The operation can be performed in slices to
+	 * limit the time the exclusive lock is held.
+	 *
+	 * @param firstChunk the index of the first chunk to process
+	 * @param maxChunks the maximum number of chunks to process
+	 * @return the index of the next chunk to process, or {@code -1} if the end of the database was
+	 *     reached
+	 */
+	public int mergeFreeBlocks(int firstChunk, int maxChunks) throws CoreException {
+		assert fExclusiveLock;
+		final int end = (int) Math.min((long) firstChunk + maxChunks, fChunksUsed);
+		for (int i = Math.max(firstChunk, 1); i < end; i++) {
+			mergeFreeBlocks((long) i * CHUNK_SIZE);
+		}
+		return end < fChunksUsed ? end : -1;
+	}
+
+	private void mergeFreeBlocks(final long chunkAddress) throws CoreException {
+		final Chunk chunk = getChunk(chunkAddress);
+		final long end = chunkAddress + CHUNK_SIZE;
+		long block = chunkAddress;
+		while (block < end) {
+			int blocksize = chunk.getShort(block);
+			if (blocksize == 0) {
+				return; // The chunk was set aside and never formatted.
+			}
+			if (blocksize < 0) {
+				block -= blocksize;
+				continue;
+			}
+			long next = block + blocksize;
+			int mergedSize = blocksize;
+			while (next < end) {
+				final int nextsize = chunk.getShort(next);
+				if (nextsize <= 0)
+					break;
+				mergedSize += nextsize;
+				next += nextsize;
+			}
+			if (mergedSize > CHUNK_SIZE || next > end) {
+				databaseCorruptionDetected();
+			}
+			if (mergedSize != blocksize) {
+				for (long b = block; b < next;) {
+					final int size = chunk.getShort(b);
+					removeBlock(chunk, size, b);
+					b += size;
+				}
+				addBlock(chunk, mergedSize, block);
+			}
+			block = next;
 		}
 	}
 
+	/**
+	 * Removes the chunks at the end of the database that consist of a single free block and
+	 * truncates the file accordingly.
+	 *
+	 * @return the number of chunks that were released
+	 */
+	public int releaseFreeChunksAtEnd() throws CoreException {
+		assert fExclusiveLock;
+		int newChunksUsed = fChunksUsed;
+		while (newChunksUsed > 1) {
+			final long address = (long) (newChunksUsed - 1) * CHUNK_SIZE;
+			if (getChunk(address).getShort(address) != CHUNK_SIZE)
+				break;
+			newChunksUsed--;
+		}
+		final int released = fChunksUsed - newChunksUsed;
+		if (released == 0) {
+			return 0;
+		}
+		for (int i = newChunksUsed; i < fChunksUsed; i++) {
+			final long address = (long) i * CHUNK_SIZE;
+			removeBlock(getChunk(address), CHUNK_SIZE, address);
+		}
+		try {
+			if (fFile.length() > (long) newChunksUsed * CHUNK_SIZE) {
+				fFile.getChannel().truncate((long) newChunksUsed * CHUNK_SIZE);
+			}
+		} catch (IOException e) {
+			// The file may still be mapped on some platforms, keep the free chunks.
+			CCorePlugin.log(e);
+			for (int i = newChunksUsed; i < fChunksUsed; i++) {
+				final long address = (long) i * CHUNK_SIZE;
+				addBlock(getChunk(address), CHUNK_SIZE, address);
+			}
+			return 0;
+		}
+		for (int i = newChunksUsed; i < fChunksUsed; i++) {
+			synchronized (fCache.getLock(this, i)) {
+				Chunk chunk = fChunks[i];
+				if (chunk != null) {
+					fCache.remove(chunk);
+					fChunks[i] = null;
+				}
+			}
+		}
+		fChunksUsed = newChunksUsed;
+		// Mapped regions must not be accessed beyond the end of the truncated file.
+		fMappings = NO_MAPPINGS;
+		return released;
+	}
+
 	/**
 	 * Closes the database.
 	 * <p>
@@ -674,6 +899,7 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		fMappings = NO_MAPPINGS;
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,7 +916,7 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread via the cache, protected by the lock the cache provides for the chunk.
 	 */
 	void releaseChunk(final Chunk chunk) {
 		if (!chunk.fLocked) {
@@ -723,8 +949,11 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
-					for (int i = 1; i < fChunksUsed; i++) {
+				for (int i = 1; i < fChunksUsed; i++) {
+					if (fChunks[i] == null) {
+						continue;
+					}
+					synchronized (fCache.getLock(this, i)) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
 							if (chunk.fCacheIndex < 0) {
@@ -771,8 +1000,11 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
-			for (int i = 1; i < fChunksUsed; i++) {
+		for (int i = 1; i < fChunksUsed; i++) {
+			if (fChunks[i] == null) {
+				continue;
+			}
+			synchronized (fCache.getLock(this, i)) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
 					dirtyChunks.add(chunk);
@@ -789,12 +1021,9 @@ public class Database {
 
 	private void clearStringCache() {
 		stringCache.clear();
-		while (stringDisposal.poll() != null) {
-		}
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,8 +1037,8 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
-					for (Chunk chunk : dirtyChunks) {
+				for (Chunk chunk : dirtyChunks) {
+					synchronized (fCache.getLock(this, chunk.fSequenceNumber)) {
 						chunk.fLocked = false;
 						if (chunk.fCacheIndex < 0) {
 							fChunks[chunk.fSequenceNumber] = null;
@@ -841,15 +1070,16 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
 	}
 
 	public long getSizeBytes() {
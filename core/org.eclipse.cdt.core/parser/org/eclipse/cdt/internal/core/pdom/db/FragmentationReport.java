@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+/**
+ * Describes how the free space of a {@link Database} is distributed, as computed by
+ * {@link Database#getFragmentationReport()}.
+ */
+public class FragmentationReport {
+	private final long fAllocatedBytes;
+	private final int[] fFreeBlockCounts;
+	private final long fFreeBytes;
+	private final int fFreeChunks;
+	private final int fFreeChunksAtEnd;
+
+	FragmentationReport(long allocatedBytes, int[] freeBlockCounts, int freeChunks, int freeChunksAtEnd) {
+		fAllocatedBytes = allocatedBytes;
+		fFreeBlockCounts = freeBlockCounts;
+		fFreeChunks = freeChunks;
+		fFreeChunksAtEnd = freeChunksAtEnd;
+		long freeBytes = 0;
+		for (int deltas = 0; deltas < freeBlockCounts.length; deltas++) {
+			freeBytes += (long) freeBlockCounts[deltas] * deltas * Database.BLOCK_SIZE_DELTA;
+		}
+		fFreeBytes = freeBytes;
+	}
+
+	/**
+	 * Returns the size of all chunks of the database in bytes.
+	 */
+	public long getAllocatedBytes() {
+		return fAllocatedBytes;
+	}
+
+	/**
+	 * Returns the total size of the free blocks in bytes.
+	 */
+	public long getFreeBytes() {
+		return fFreeBytes;
+	}
+
+	/**
+	 * Returns the share of the allocated bytes that is taken by free blocks.
+	 */
+	public double getFreeRatio() {
+		return fAllocatedBytes == 0 ? 0 : (double) fFreeBytes / fAllocatedBytes;
+	}
+
+	/**
+	 * Returns the number of free blocks of the given size in bytes.
+	 */
+	public int getFreeBlockCount(int blockSize) {
+		return fFreeBlockCounts[blockSize / Database.BLOCK_SIZE_DELTA];
+	}
+
+	/**
+	 * Returns the number of free blocks of all sizes.
+	 */
+	public int getFreeBlockCount() {
+		int count = 0;
+		for (int c : fFreeBlockCounts) {
+			count += c;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of chunks that consist of a single free block.
+	 */
+	public int getFreeChunks() {
+		return fFreeChunks;
+	}
+
+	/**
+	 * Returns the number of chunks at the end of the database that consist of a single free block,
+	 * i.e. the number of chunks that can be released from the file.
+	 */
+	public int getFreeChunksAtEnd() {
+		return fFreeChunksAtEnd;
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		buf.append("Allocated size: ").append(fAllocatedBytes).append('\n');
+		buf.append("Free: ").append(fFreeBytes).append(" in ").append(getFreeBlockCount()).append(" blocks\n");
+		buf.append("Free chunks: ").append(fFreeChunks).append(", at end: ").append(fFreeChunksAtEnd).append('\n');
+		buf.append("Free blocks");
+		for (int deltas = 0; deltas < fFreeBlockCounts.length; deltas++) {
+			if (fFreeBlockCounts[deltas] != 0) {
+				buf.append("\nBlock size: ").append(deltas * Database.BLOCK_SIZE_DELTA).append('=')
+						.append(fFreeBlockCounts[deltas]);
+			}
+		}
+		return buf.toString();
+	}
+}
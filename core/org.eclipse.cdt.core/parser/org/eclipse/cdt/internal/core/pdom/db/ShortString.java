@@ -168,7 +168,11 @@ public class ShortString implements IString {
 
 	@Override
 	public int compare(char[] other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null) {
+			return compare(chars, other, caseSensitive);
+		}
+		return compareStored(other, caseSensitive, false);
 	}
 
 	@Override
@@ -188,7 +192,34 @@ public class ShortString implements IString {
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(char[] other) throws CoreException {
-		return compareCompatibleWithIgnoreCase(getChars(), other);
+		final char[] chars = cachedChars;
+		if (chars != null) {
+			return compareCompatibleWithIgnoreCase(chars, other);
+		}
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		int sensitiveCmp = 0;
+
+		for (int i = 0; i < n; i++) {
+			final char c1 = getStoredChar(chunk, l, i);
+			final char c2 = other[i];
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, false); // insensitive
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		int cmp = length - other.length;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
 	}
 
 	public static int compareCompatibleWithIgnoreCase(final char[] chars, char[] other) {
@@ -221,7 +252,11 @@ public class ShortString implements IString {
 
 	@Override
 	public int comparePrefix(char[] other, boolean caseSensitive) throws CoreException {
-		return comparePrefix(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null) {
+			return comparePrefix(chars, other, caseSensitive);
+		}
+		return compareStored(other, caseSensitive, true);
 	}
 
 	public static int comparePrefix(final char[] chars, char[] other, boolean caseSensitive) {
@@ -238,6 +273,37 @@ public class ShortString implements IString {
 		return 0;
 	}
 
+	/**
+	 * Compares the characters stored in the database with the given array, without copying them
+	 * to a char array first.
+	 */
+	private int compareStored(char[] other, boolean caseSensitive, boolean prefix) throws CoreException {
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int n = Math.min(length, other.length);
+		for (int i = 0; i < n; i++) {
+			int cmp = compareChars(getStoredChar(chunk, l, i), other[i], caseSensitive);
+			if (cmp != 0)
+				return cmp;
+		}
+		if (prefix) {
+			return length < other.length ? -1 : 0;
+		}
+		return length - other.length;
+	}
+
+	/**
+	 * Returns the character at the given index, {@code l} is the stored length which is
+	 * negative for strings stored as bytes.
+	 */
+	private char getStoredChar(Chunk chunk, int l, int index) {
+		if (l < 0) {
+			return (char) (chunk.getByte(record + CHARS + index) & 0xff);
+		}
+		return chunk.getChar(record + CHARS + 2L * index);
+	}
+
 	public final int getLength() throws CoreException {
 		return Math.abs(db.getInt(record + LENGTH));
 	}
@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded cache for the {@link IString} objects of a {@link Database}, keyed by their record.
+ * <p>
+ * The cache is an open addressing table that stores the strings themselves, the key is obtained
+ * from {@link IString#getRecord()}. Thus a lookup neither boxes the record nor creates any
+ * references. A string is looked for in a short probe sequence only, when all slots of the
+ * sequence are taken on insertion, one of them is evicted. The number of cached strings is
+ * therefore bounded by the capacity of the table.
+ * <p>
+ * The cache can be used by multiple threads without locking, a slot always holds either
+ * {@code null} or a complete string.
+ */
+final class StringCache {
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+	private static final int PROBE_LENGTH = 4;
+
+	private final AtomicReferenceArray<IString> fTable;
+	private final int fMask;
+	private int fVictim;
+
+	/**
+	 * Creates a cache for at most the given number of strings, the capacity is rounded up
+	 * to a power of two.
+	 */
+	public StringCache(int capacity) {
+		int length = Integer.highestOneBit(Math.max(capacity, PROBE_LENGTH) - 1) << 1;
+		fTable = new AtomicReferenceArray<>(length);
+		fMask = length - 1;
+	}
+
+	private int indexOf(long record) {
+		int h = (int) (record ^ (record >>> 32)) * 0x9E3779B9;
+		return (h ^ (h >>> 16)) & fMask;
+	}
+
+	/**
+	 * Returns the cached string for the given record, or {@code null}.
+	 */
+	public IString get(long record) {
+		final int idx = indexOf(record);
+		for (int i = 0; i < PROBE_LENGTH; i++) {
+			final IString string = fTable.get((idx + i) & fMask);
+			if (string != null && string.getRecord() == record) {
+				return string;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the string to the cache, possibly evicting another one.
+	 */
+	public void put(IString string) {
+		final long record = string.getRecord();
+		final int idx = indexOf(record);
+		int free = -1;
+		for (int i = 0; i < PROBE_LENGTH; i++) {
+			final int slot = (idx + i) & fMask;
+			final IString cached = fTable.get(slot);
+			if (cached == null) {
+				if (free < 0) {
+					free = slot;
+				}
+			} else if (cached.getRecord() == record) {
+				fTable.set(slot, string);
+				return;
+			}
+		}
+		if (free < 0) {
+			// Round-robin eviction within the probe sequence, races on the counter are harmless.
+			free = (idx + (fVictim++ & (PROBE_LENGTH - 1))) & fMask;
+		}
+		fTable.set(free, string);
+	}
+
+	/**
+	 * Removes the string for the given record from the cache.
+	 */
+	public void remove(long record) {
+		final int idx = indexOf(record);
+		for (int i = 0; i < PROBE_LENGTH; i++) {
+			final int slot = (idx + i) & fMask;
+			final IString cached = fTable.get(slot);
+			if (cached != null && cached.getRecord() == record) {
+				fTable.set(slot, null);
+			}
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < fTable.length(); i++) {
+			fTable.set(i, null);
+		}
+	}
+
+	/**
+	 * Returns the maximum number of strings held by this cache.
+	 */
+	public int getCapacity() {
+		return fTable.length();
+	}
+
+	/**
+	 * Returns the number of strings currently held by this cache.
+	 */
+	public int size() {
+		int size = 0;
+		for (int i = 0; i < fTable.length(); i++) {
+			if (fTable.get(i) != null) {
+				size++;
+			}
+		}
+		return size;
+	}
+}
@@ -0,0 +1,466 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A persistent index of the distinct names stored in a linkage, which allows for finding the names
+ * containing a substring without visiting all of them.
+ * <p>
+ * Every name of at least three characters is split into trigrams. The characters of a trigram are
+ * converted to lower case, such that the index serves case sensitive and case insensitive queries.
+ * For each trigram the index holds a posting list of the names that contain it. A name matching a
+ * regular expression contains all literal runs the expression requires, hence it is one of the
+ * names in the shortest posting list of the trigrams of these literals. Queries return a superset
+ * of the matching names, callers need to check the names against the expression.
+ * <p>
+ * The index counts how often each name has been added, a name is removed when it has been removed
+ * as often as it has been added.
+ * <p>
+ * The index occupies two pointers in the database, see {@link #RECORD_SIZE}.
+ */
+public class TrigramIndex {
+	/** The number of bytes the index occupies at the offset it is created with. */
+	public static final int RECORD_SIZE = 2 * Database.PTR_SIZE;
+
+	private static final int NAMES = 0;
+	private static final int TRIGRAMS = Database.PTR_SIZE;
+
+	// Name record.
+	private static final int NAME_STRING = 0; // pointer to the IString
+	private static final int NAME_REFERENCES = Database.PTR_SIZE; // int
+	private static final int NAME_RECORD_SIZE = Database.PTR_SIZE + 4;
+
+	// Trigram record.
+	private static final int TRIGRAM_KEY = 0; // long
+	private static final int TRIGRAM_COUNT = 8; // int
+	private static final int TRIGRAM_POSTINGS = 12; // pointer to the first posting block
+	private static final int TRIGRAM_RECORD_SIZE = 12 + Database.PTR_SIZE;
+
+	// Posting block, the most recently allocated block comes first.
+	private static final int BLOCK_NEXT = 0; // pointer
+	private static final int BLOCK_SIZE = 4; // short
+	private static final int BLOCK_CAPACITY = 6; // short
+	private static final int BLOCK_ENTRIES = 8;
+	private static final int MIN_BLOCK_CAPACITY = 4;
+	private static final int MAX_BLOCK_CAPACITY = 256;
+
+	private final Database db;
+	private final BTree fNames;
+	private final BTree fTrigrams;
+
+	/**
+	 * Creates an index at the given offset, which must point to {@link #RECORD_SIZE} bytes that are
+	 * initially zero.
+	 */
+	public TrigramIndex(Database db, long offset) {
+		this.db = db;
+		fNames = new BTree(db, offset + NAMES, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return getString(record1).compareCompatibleWithIgnoreCase(getString(record2));
+			}
+		});
+		fTrigrams = new BTree(db, offset + TRIGRAMS, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return Long.compareUnsigned(db.getLong(record1 + TRIGRAM_KEY), db.getLong(record2 + TRIGRAM_KEY));
+			}
+		});
+	}
+
+	/**
+	 * Adds a name to the index, or counts another reference if it is already present. Names too short
+	 * to contain a trigram are ignored.
+	 */
+	public void add(char[] name) throws CoreException {
+		if (name.length < 3)
+			return;
+		long nameRecord = findName(name);
+		if (nameRecord != 0) {
+			db.putInt(nameRecord + NAME_REFERENCES, db.getInt(nameRecord + NAME_REFERENCES) + 1);
+			return;
+		}
+
+		nameRecord = db.malloc(NAME_RECORD_SIZE);
+		db.putRecPtr(nameRecord + NAME_STRING, db.newString(name).getRecord());
+		db.putInt(nameRecord + NAME_REFERENCES, 1);
+		fNames.insert(nameRecord);
+		for (long key : getTrigramKeys(new char[][] { name })) {
+			long trigram = findTrigram(key);
+			if (trigram == 0) {
+				trigram = db.malloc(TRIGRAM_RECORD_SIZE);
+				db.putLong(trigram + TRIGRAM_KEY, key);
+				fTrigrams.insert(trigram);
+			}
+			addPosting(trigram, nameRecord);
+		}
+	}
+
+	private void addPosting(long trigram, long nameRecord) throws CoreException {
+		long block = db.getRecPtr(trigram + TRIGRAM_POSTINGS);
+		int size = 0;
+		int capacity = 0;
+		if (block != 0) {
+			size = db.getShort(block + BLOCK_SIZE);
+			capacity = db.getShort(block + BLOCK_CAPACITY);
+		}
+		if (size == capacity) {
+			// Grow the capacity with the length of the list, such that long lists use large blocks.
+			capacity = Math.min(MAX_BLOCK_CAPACITY, Math.max(MIN_BLOCK_CAPACITY, 2 * capacity));
+			long newBlock = db.malloc(BLOCK_ENTRIES + capacity * Database.PTR_SIZE);
+			db.putRecPtr(newBlock + BLOCK_NEXT, block);
+			db.putShort(newBlock + BLOCK_CAPACITY, (short) capacity);
+			db.putRecPtr(trigram + TRIGRAM_POSTINGS, newBlock);
+			block = newBlock;
+			size = 0;
+		}
+		db.putRecPtr(block + BLOCK_ENTRIES + size * Database.PTR_SIZE, nameRecord);
+		db.putShort(block + BLOCK_SIZE, (short) (size + 1));
+		db.putInt(trigram + TRIGRAM_COUNT, db.getInt(trigram + TRIGRAM_COUNT) + 1);
+	}
+
+	/**
+	 * Removes a reference to a name that has been added to the index, the name is removed together
+	 * with its last reference.
+	 */
+	public void remove(char[] name) throws CoreException {
+		if (name.length < 3)
+			return;
+		long nameRecord = findName(name);
+		if (nameRecord == 0)
+			return;
+		int references = db.getInt(nameRecord + NAME_REFERENCES) - 1;
+		if (references > 0) {
+			db.putInt(nameRecord + NAME_REFERENCES, references);
+			return;
+		}
+
+		for (long key : getTrigramKeys(new char[][] { name })) {
+			long trigram = findTrigram(key);
+			if (trigram != 0) {
+				removePosting(trigram, nameRecord);
+			}
+		}
+		fNames.delete(nameRecord);
+		getString(nameRecord).delete();
+		db.free(nameRecord);
+	}
+
+	private void removePosting(long trigram, long nameRecord) throws CoreException {
+		// Only the first block may have free entries, the removed entry is replaced by its last one.
+		final long first = db.getRecPtr(trigram + TRIGRAM_POSTINGS);
+		final int size = db.getShort(first + BLOCK_SIZE);
+		for (long block = first; block != 0; block = db.getRecPtr(block + BLOCK_NEXT)) {
+			int blockSize = db.getShort(block + BLOCK_SIZE);
+			for (int j = 0; j < blockSize; j++) {
+				long entry = block + BLOCK_ENTRIES + j * Database.PTR_SIZE;
+				if (db.getRecPtr(entry) == nameRecord) {
+					db.putRecPtr(entry, db.getRecPtr(first + BLOCK_ENTRIES + (size - 1) * Database.PTR_SIZE));
+					if (size > 1) {
+						db.putShort(first + BLOCK_SIZE, (short) (size - 1));
+					} else {
+						db.putRecPtr(trigram + TRIGRAM_POSTINGS, db.getRecPtr(first + BLOCK_NEXT));
+						db.free(first);
+					}
+					int count = db.getInt(trigram + TRIGRAM_COUNT) - 1;
+					if (count > 0) {
+						db.putInt(trigram + TRIGRAM_COUNT, count);
+					} else {
+						fTrigrams.delete(trigram);
+						db.free(trigram);
+					}
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the name of the given record, as returned by {@link #findName(char[])} or
+	 * {@link #findCandidates(long[])}.
+	 */
+	public char[] getName(long nameRecord) throws CoreException {
+		return getString(nameRecord).getChars();
+	}
+
+	private IString getString(long nameRecord) throws CoreException {
+		return db.getString(db.getRecPtr(nameRecord + NAME_STRING));
+	}
+
+	/**
+	 * Returns the record of the given name, or 0 if it is not part of the index.
+	 */
+	public long findName(final char[] name) throws CoreException {
+		final long[] result = { 0 };
+		fNames.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return getString(record).compareCompatibleWithIgnoreCase(name);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	private long findTrigram(final long key) throws CoreException {
+		final long[] result = { 0 };
+		fTrigrams.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Long.compareUnsigned(db.getLong(record + TRIGRAM_KEY), key);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Returns the records of the names that contain all the given trigrams, and possibly of further
+	 * names. The names are obtained with {@link #getName(long)}.
+	 *
+	 * @param trigramKeys keys as computed by {@link #getTrigramKeys(char[][])}, must not be empty
+	 */
+	public long[] findCandidates(long[] trigramKeys) throws CoreException {
+		long shortest = 0;
+		int shortestCount = Integer.MAX_VALUE;
+		for (long key : trigramKeys) {
+			long trigram = findTrigram(key);
+			if (trigram == 0)
+				return new long[0];
+			int count = db.getInt(trigram + TRIGRAM_COUNT);
+			if (count < shortestCount) {
+				shortest = trigram;
+				shortestCount = count;
+			}
+		}
+
+		long[] result = new long[shortestCount];
+		int i = 0;
+		for (long block = db.getRecPtr(shortest + TRIGRAM_POSTINGS); block != 0; block = db
+				.getRecPtr(block + BLOCK_NEXT)) {
+			int size = db.getShort(block + BLOCK_SIZE);
+			for (int j = 0; j < size; j++) {
+				result[i++] = db.getRecPtr(block + BLOCK_ENTRIES + j * Database.PTR_SIZE);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the distinct keys of the trigrams of the given strings. Strings shorter than three
+	 * characters do not contribute any trigrams.
+	 */
+	public static long[] getTrigramKeys(char[][] strings) {
+		long[] keys = new long[0];
+		int count = 0;
+		for (char[] string : strings) {
+			for (int i = 0; i + 3 <= string.length; i++) {
+				long key = ((long) fold(string[i]) << 32) | ((long) fold(string[i + 1]) << 16) | fold(string[i + 2]);
+				if (!contains(keys, count, key)) {
+					if (count == keys.length) {
+						long[] grown = new long[Math.max(8, 2 * count)];
+						System.arraycopy(keys, 0, grown, 0, count);
+						keys = grown;
+					}
+					keys[count++] = key;
+				}
+			}
+		}
+		if (count == keys.length)
+			return keys;
+		long[] result = new long[count];
+		System.arraycopy(keys, 0, result, 0, count);
+		return result;
+	}
+
+	private static boolean contains(long[] keys, int count, long key) {
+		for (int i = 0; i < count; i++) {
+			if (keys[i] == key)
+				return true;
+		}
+		return false;
+	}
+
+	private static char fold(char c) {
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * Returns the literal runs that every string matching the given pattern contains, or
+	 * {@code null} when the pattern is not understood. Only plain and case insensitive patterns
+	 * built of literals, character classes, the dot, anchors and quantifiers are analyzed,
+	 * alternatives and groups are not.
+	 */
+	public static char[][] getRequiredLiterals(Pattern pattern) {
+		if ((pattern.flags() & ~Pattern.CASE_INSENSITIVE) != 0)
+			return null;
+
+		String regex = pattern.pattern();
+		List<char[]> literals = new ArrayList<>();
+		StringBuilder literal = new StringBuilder();
+		final int length = regex.length();
+		for (int i = 0; i < length; i++) {
+			char c = regex.charAt(i);
+			switch (c) {
+			case '\\':
+				if (++i == length)
+					return null;
+				c = regex.charAt(i);
+				if (c == 'Q') {
+					int end = regex.indexOf("\\E", i + 1); //$NON-NLS-1$
+					if (end < 0)
+						end = length;
+					literal.append(regex, i + 1, end);
+					i = end + 1;
+				} else if (Character.isLetterOrDigit(c)) {
+					// A predefined character class, a boundary, a back reference or a character
+					// given by its code.
+					addLiteral(literals, literal);
+					i = skipEscape(regex, i);
+					if (i < 0)
+						return null;
+				} else {
+					literal.append(c);
+				}
+				break;
+			case '*':
+			case '?':
+			case '{':
+				// The preceding character is optional.
+				if (literal.length() > 0)
+					literal.setLength(literal.length() - 1);
+				addLiteral(literals, literal);
+				if (c == '{') {
+					i = regex.indexOf('}', i);
+					if (i < 0)
+						return null;
+				}
+				i = skipQuantifierModifier(regex, i);
+				break;
+			case '+':
+				addLiteral(literals, literal);
+				i = skipQuantifierModifier(regex, i);
+				break;
+			case '[':
+				addLiteral(literals, literal);
+				i = skipCharacterClass(regex, i);
+				if (i < 0)
+					return null;
+				break;
+			case '.':
+			case '^':
+			case '$':
+				addLiteral(literals, literal);
+				break;
+			case '(':
+			case ')':
+			case '|':
+				return null;
+			default:
+				literal.append(c);
+			}
+		}
+		addLiteral(literals, literal);
+		return literals.toArray(new char[literals.size()][]);
+	}
+
+	private static void addLiteral(List<char[]> literals, StringBuilder literal) {
+		if (literal.length() > 0) {
+			literals.add(literal.toString().toCharArray());
+			literal.setLength(0);
+		}
+	}
+
+	/**
+	 * Returns the index of the last character of the escape sequence whose letter or digit is at
+	 * the given index, or -1 if the sequence is malformed.
+	 */
+	private static int skipEscape(String regex, int i) {
+		final int length = regex.length();
+		switch (regex.charAt(i)) {
+		case 'x':
+			if (i + 1 < length && regex.charAt(i + 1) == '{')
+				return regex.indexOf('}', i);
+			return i + 2 < length ? i + 2 : -1;
+		case 'u':
+			return i + 4 < length ? i + 4 : -1;
+		case '0':
+			// Up to three octal digits, the first one of three at most 3.
+			int end = i;
+			while (end + 1 < length && end - i < 3 && regex.charAt(end + 1) >= '0' && regex.charAt(end + 1) <= '7'
+					&& (end - i < 2 || regex.charAt(i + 1) <= '3')) {
+				end++;
+			}
+			return end > i ? end : -1;
+		case 'c':
+			return i + 1 < length ? i + 1 : -1;
+		case 'k':
+			return regex.indexOf('>', i);
+		case 'p':
+		case 'P':
+		case 'N':
+			if (i + 1 < length && regex.charAt(i + 1) == '{')
+				return regex.indexOf('}', i);
+			return i + 1 < length ? i + 1 : -1;
+		default:
+			return i;
+		}
+	}
+
+	private static int skipQuantifierModifier(String regex, int i) {
+		if (i + 1 < regex.length()) {
+			char next = regex.charAt(i + 1);
+			if (next == '?' || next == '+')
+				return i + 1;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the index of the bracket closing the character class that starts at the given index,
+	 * or -1 for nested classes, which are not supported.
+	 */
+	private static int skipCharacterClass(String regex, int start) {
+		int i = start + 1;
+		if (i < regex.length() && regex.charAt(i) == '^')
+			i++;
+		if (i < regex.length() && regex.charAt(i) == ']')
+			i++;
+		for (; i < regex.length(); i++) {
+			switch (regex.charAt(i)) {
+			case '\\':
+				i++;
+				break;
+			case '[':
+				return -1;
+			case ']':
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -20,7 +20,9 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
@@ -58,6 +60,7 @@ import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
@@ -74,12 +77,14 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	private static final int INDEX_OFFSET = PDOMNamedNode.RECORD_SIZE + 8;
 	private static final int NESTED_BINDINGS_INDEX = PDOMNamedNode.RECORD_SIZE + 12;
 	private static final int MACRO_BTREE = PDOMNamedNode.RECORD_SIZE + 16;
+	private static final int TRIGRAM_INDEX = PDOMNamedNode.RECORD_SIZE + 20;
 
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 20;
+	protected static final int RECORD_SIZE = PDOMNamedNode.RECORD_SIZE + 20 + TrigramIndex.RECORD_SIZE;
 	protected static final long[] FILE_LOCAL_REC_DUMMY = new long[] { 0 };
 
 	private BTree fMacroIndex = null; // No need for volatile, all fields of BTree are final.
+	private TrigramIndex fTrigramIndex = null; // No need for volatile, all fields of TrigramIndex are final.
 	private final PDOM fPDOM;
 	private final Database fDatabase;
 
@@ -161,6 +166,33 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return new BTree(fDatabase, record + NESTED_BINDINGS_INDEX, getNestedBindingsComparator());
 	}
 
+	/**
+	 * Returns the index of the names of all bindings in the index and in the nested bindings index.
+	 */
+	public TrigramIndex getTrigramIndex() {
+		if (fTrigramIndex == null) {
+			fTrigramIndex = new TrigramIndex(fDatabase, record + TRIGRAM_INDEX);
+		}
+		return fTrigramIndex;
+	}
+
+	/**
+	 * Returns the bindings with the given name from the index and from the nested bindings index.
+	 * The name is compared case sensitively.
+	 */
+	public List<PDOMBinding> getBindingsInAllScopes(char[] name) throws CoreException {
+		NamedNodeCollector collector = new NamedNodeCollector(this, name);
+		getIndex().accept(collector);
+		getNestedBindingsIndex().accept(collector);
+		List<PDOMBinding> result = new ArrayList<>();
+		for (PDOMNamedNode node : collector.getNodeList()) {
+			if (node instanceof PDOMBinding binding) {
+				result.add(binding);
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public void accept(final IPDOMVisitor visitor) throws CoreException {
 		if (visitor instanceof IBTreeVisitor) {
@@ -189,6 +221,9 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	@Override
 	public void addChild(PDOMNode child) throws CoreException {
 		getIndex().insert(child.getRecord());
+		if (child instanceof PDOMNamedNode namedNode) {
+			getTrigramIndex().add(namedNode.getNameCharArray());
+		}
 	}
 
 	public final PDOMBinding getBinding(long record) throws CoreException {
@@ -339,6 +374,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 	protected final void insertIntoNestedBindingsIndex(PDOMBinding pdomBinding) throws CoreException {
 		if (pdomBinding.getParentNodeRec() != record) {
 			getNestedBindingsIndex().insert(pdomBinding.getRecord());
+			getTrigramIndex().add(pdomBinding.getNameCharArray());
 		}
 	}
 
@@ -352,6 +388,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		if (pdomBinding.getParentNodeRec() != record) {
 			getNestedBindingsIndex().delete(pdomBinding.getRecord());
 		}
+		getTrigramIndex().remove(pdomBinding.getNameCharArray());
 	}
 
 	public ICPPUsingDirective[] getUsingDirectives(PDOMFile file) throws CoreException {
@@ -16,12 +16,21 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.indexer;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
+import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -34,12 +43,15 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.IndexerTelemetry;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -54,6 +66,8 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPDOMIndexerTask {
 	private static final String TRUE = Boolean.TRUE.toString();
+	private static final String TELEMETRY_FOLDER = "indexerTelemetry"; //$NON-NLS-1$
+	private static final int TELEMETRY_TOP_FILES = 10;
 
 	private AbstractPDOMIndexer fIndexer;
 	private boolean fWriteInfoToLog;
@@ -68,9 +82,14 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		setShowScannerProblems(checkDebugOption(TRACE_SCANNER_PROBLEMS, TRUE));
 		setShowSyntaxProblems(checkDebugOption(TRACE_SYNTAX_PROBLEMS, TRUE));
 		setShowProblems(checkDebugOption(TRACE_PROBLEMS, TRUE));
+		if (checkDebugOption(TRACE_TELEMETRY, TRUE)) {
+			setTelemetry(new IndexerTelemetry());
+		}
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setParserThreads(Platform.getPreferencesService().getInt(CCorePlugin.PLUGIN_ID,
+				CCorePreferenceConstants.INDEXER_PARSER_THREADS, 1, null));
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -163,6 +182,10 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		long start = System.currentTimeMillis();
 		runTask(monitor);
 		traceEnd(start, fIndex, monitor.isCanceled());
+		if (!monitor.isCanceled()) {
+			// Updating files frees the records of their previous versions.
+			CCoreInternals.getPDOMManager().compactIndex(getCProject());
+		}
 	}
 
 	/**
@@ -230,6 +253,10 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 	}
 
 	protected void traceEnd(long start, IWritableIndex index, boolean wasCancelled) {
+		if (getTelemetry() != null) {
+			exportTelemetry(getTelemetry());
+		}
+
 		// log entry
 		if (fWriteInfoToLog && !wasCancelled && index != null) {
 			final long totalTime = System.currentTimeMillis() - start;
@@ -317,6 +344,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " + //$NON-NLS-1$
 					+hits + " hits, " //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+			if (index.getWritableFragment() instanceof PDOM pdom) {
+				System.out.println(indent + " Locks: " + pdom.getLockStatistics() + "."); //$NON-NLS-1$ //$NON-NLS-2$
+			}
 
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
@@ -370,6 +400,38 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		}
 	}
 
+	/**
+	 * Writes the costs per file to the state location of the plug-in and reports the most
+	 * expensive files.
+	 */
+	private void exportTelemetry(IndexerTelemetry telemetry) {
+		final List<IndexerTelemetry.FileRecord> records = telemetry.getRecords();
+		if (records.isEmpty())
+			return;
+
+		final String name = getCProject().getElementName() + '-'
+				+ new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()); //$NON-NLS-1$
+		final File dir = CCorePlugin.getDefault().getStateLocation().append(TELEMETRY_FOLDER).toFile();
+		final File json = new File(dir, name + ".json"); //$NON-NLS-1$
+		final File csv = new File(dir, name + ".csv"); //$NON-NLS-1$
+		dir.mkdirs();
+		try (Writer out = new BufferedWriter(new FileWriter(json, StandardCharsets.UTF_8))) {
+			telemetry.writeJSON(out);
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+		try (Writer out = new BufferedWriter(new FileWriter(csv, StandardCharsets.UTF_8))) {
+			telemetry.writeCSV(out);
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+
+		System.out.println("C/C++ Indexer: Costs per file written to " + json + " and " + csv); //$NON-NLS-1$ //$NON-NLS-2$
+		for (int i = 0; i < Math.min(records.size(), TELEMETRY_TOP_FILES); i++) {
+			System.out.println("    " + records.get(i)); //$NON-NLS-1$
+		}
+	}
+
 	protected ICProject getCProject() {
 		return fIndexer.project;
 	}
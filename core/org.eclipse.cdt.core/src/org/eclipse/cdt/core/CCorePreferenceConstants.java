@@ -134,6 +134,71 @@ public class CCorePreferenceConstants {
 	 */
 	public static final String DEFAULT_MAX_INDEX_DB_CACHE_SIZE_MB = "256"; //$NON-NLS-1$
 
+	/**
+	 * Boolean preference controlling whether the index-db files are accessed via memory mappings
+	 * instead of reading their content into the index-db cache on the heap. The preference applies
+	 * to index-db files opened after it was changed.
+	 * @since 9.3
+	 */
+	public static final String INDEX_DB_MAPPED_STORAGE = CCorePlugin.PLUGIN_ID + ".indexDBMappedStorage"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether queries on an index made up of several fragments, for
+	 * instance the indexes of referenced projects, are executed on the fragments concurrently.
+	 * @since 9.3
+	 */
+	public static final String INDEX_PARALLEL_QUERIES = CCorePlugin.PLUGIN_ID + ".indexParallelQueries"; //$NON-NLS-1$
+
+	/**
+	 * Number of threads the indexer uses for parsing source files concurrently. The resulting ASTs
+	 * are always written to the index by a single thread.
+	 * @since 9.3
+	 */
+	public static final String INDEXER_PARSER_THREADS = CCorePlugin.PLUGIN_ID + ".indexerParserThreads"; //$NON-NLS-1$
+
+	/**
+	 * Default number of threads the indexer uses for parsing source files.
+	 * @since 9.3
+	 */
+	public static final String DEFAULT_INDEXER_PARSER_THREADS = "1"; //$NON-NLS-1$
+
+	/**
+	 * Memory in megabytes the editor may use for keeping the ASTs of recently used translation
+	 * units in addition to the AST of the active editor. The size of an AST is estimated from the
+	 * number of its nodes.
+	 * @since 9.3
+	 */
+	public static final String AST_CACHE_SIZE_MB = CCorePlugin.PLUGIN_ID + ".astCacheSizeMB"; //$NON-NLS-1$
+
+	/**
+	 * Default memory in megabytes for keeping ASTs of recently used translation units.
+	 * @since 9.3
+	 */
+	public static final String DEFAULT_AST_CACHE_SIZE_MB = "64"; //$NON-NLS-1$
+
+	/**
+	 * Maximum number of steps a single constexpr evaluation in the parser may perform before it is
+	 * given up. The limit protects against constexpr functions that do not terminate.
+	 * @since 9.3
+	 */
+	public static final String CONSTEXPR_EVALUATION_STEPS = CCorePlugin.PLUGIN_ID
+			+ ".constexprEvaluationSteps"; //$NON-NLS-1$
+
+	/**
+	 * Default maximum number of steps of a single constexpr evaluation.
+	 * @since 9.3
+	 */
+	public static final String DEFAULT_CONSTEXPR_EVALUATION_STEPS = "1024"; //$NON-NLS-1$
+
+	/**
+	 * Boolean preference controlling whether the reconciler reparses an edited file incrementally,
+	 * reusing the function bodies that are not affected by the edit from the AST of the previous
+	 * reconcile.
+	 * @since 9.3
+	 */
+	public static final String RECONCILER_INCREMENTAL_PARSING = CCorePlugin.PLUGIN_ID
+			+ ".reconcilerIncrementalParsing"; //$NON-NLS-1$
+
 	/**
 	 * Boolean preference controlling whether paths of non-workspace files are stored in index in canonical
 	 * form or not. Canonicalization is performed by calling {@link java.io.File#getCanonicalPath()}.
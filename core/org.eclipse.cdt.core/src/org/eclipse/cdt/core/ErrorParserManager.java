@@ -78,6 +78,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	 */
 	public static final String BUILD_CONTEXT = "build"; //$NON-NLS-1$
 
+	private static final char ESCAPE = '\u001b';
 	private static final Pattern ANSI_ESCAPE_RE = Pattern.compile("\\e\\[[\\d;]*[^\\d;]"); //$NON-NLS-1$
 
 	private int nOpens;
@@ -332,8 +333,13 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		/*
 		 * If the tool outputs colored text, it will contain ANSI escape
 		 * sequences. Remove them, since they can confuse the error parsers.
+		 * Most lines have none, so only those with an escape character are matched.
 		 */
-		String lineTrimmed = ANSI_ESCAPE_RE.matcher(line).replaceAll("").trim(); //$NON-NLS-1$
+		String lineTrimmed = line;
+		if (line.indexOf(ESCAPE) >= 0) {
+			lineTrimmed = ANSI_ESCAPE_RE.matcher(line).replaceAll(""); //$NON-NLS-1$
+		}
+		lineTrimmed = lineTrimmed.trim();
 		lineCounter++;
 
 		ProblemMarkerInfo marker = null;
@@ -678,7 +684,9 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	@Override
 	public synchronized void write(int b) throws IOException {
 		currentLine.append((char) b);
-		checkLine(false);
+		if (b == '\n') {
+			checkLine(false);
+		}
 	}
 
 	@Override
@@ -699,26 +707,23 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	// parsers (processLine method).
 	// If flush is true rest of line is checked by error parsers.
 	private void checkLine(boolean flush) {
-		String buffer = currentLine.toString();
-		int i = 0;
-		while ((i = buffer.indexOf('\n')) != -1) {
-			String line = buffer.substring(0, i);
+		int start = 0;
+		int i;
+		while ((i = currentLine.indexOf("\n", start)) != -1) { //$NON-NLS-1$
 			// get rid of any trailing '\r'
-			if (line.endsWith("\r")) { //$NON-NLS-1$
-				line = line.substring(0, line.length() - 1);
-			}
+			int end = i > start && currentLine.charAt(i - 1) == '\r' ? i - 1 : i;
+			String line = currentLine.substring(start, end);
 			processLine(line);
 			previousLine = line;
-			buffer = buffer.substring(i + 1); // skip the \n and advance
+			start = i + 1; // skip the \n and advance
 		}
-		currentLine.setLength(0);
-		if (flush) {
-			if (buffer.length() > 0) {
-				processLine(buffer);
-				previousLine = buffer;
-			}
-		} else {
-			currentLine.append(buffer);
+		// Removes the processed lines at once, rather than copying the rest of the buffer per line
+		currentLine.delete(0, start);
+		if (flush && currentLine.length() > 0) {
+			String line = currentLine.toString();
+			currentLine.setLength(0);
+			processLine(line);
+			previousLine = line;
 		}
 	}
 
@@ -29,6 +29,9 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -855,6 +858,9 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 	}
 
 	private boolean infoChanged = false;
+	// The scanner info detections of processLine(String) and the resources waiting for them
+	private ExecutorService scannerInfoExecutor;
+	private final Map<List<String>, List<IResource>> pendingScannerInfo = new HashMap<>();
 
 	@Override
 	public boolean processLine(String line) {
@@ -936,12 +942,7 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 						Path commandPath = findCommand(command.get(0));
 						if (commandPath != null) {
 							command.set(0, commandPath.toString());
-							IExtendedScannerInfo info = tc.getScannerInfo(getBuildConfiguration(), command, null,
-									resource, getBuildDirectoryURI());
-							synchronized (scannerInfoLock) {
-								scannerInfoCache.addScannerInfo(commandStrings, info, resource);
-								infoChanged = true;
-							}
+							detectScannerInfo(tc, command, commandStrings, resource);
 						}
 					}
 				}
@@ -955,6 +956,54 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 		}
 	}
 
+	/**
+	 * Detects the scanner info of the given compile command in the background. The commands of a
+	 * build are detected concurrently by a bounded number of threads, a command compiling several
+	 * resources is detected once for all of them. {@link #shutdown()} waits for the detections.
+	 */
+	private void detectScannerInfo(IToolChain tc, List<String> command, List<String> commandStrings,
+			IResource resource) throws CoreException {
+		URI buildDirectoryURI = getBuildDirectoryURI();
+		List<String> detectionCommand = new ArrayList<>(command);
+		synchronized (scannerInfoLock) {
+			List<IResource> pending = pendingScannerInfo.get(commandStrings);
+			if (pending != null) {
+				pending.add(resource);
+				return;
+			}
+			pending = new ArrayList<>();
+			pending.add(resource);
+			pendingScannerInfo.put(commandStrings, pending);
+
+			if (scannerInfoExecutor == null) {
+				scannerInfoExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+						runnable -> {
+							Thread thread = new Thread(runnable, "Scanner Info Detection"); //$NON-NLS-1$
+							thread.setDaemon(true);
+							return thread;
+						});
+			}
+			scannerInfoExecutor.execute(() -> {
+				IExtendedScannerInfo info = null;
+				try {
+					info = tc.getScannerInfo(getBuildConfiguration(), detectionCommand, null, resource,
+							buildDirectoryURI);
+				} catch (RuntimeException e) {
+					CCorePlugin.log(e);
+				}
+				synchronized (scannerInfoLock) {
+					List<IResource> resources = pendingScannerInfo.remove(commandStrings);
+					if (info != null) {
+						for (IResource rc : resources) {
+							scannerInfoCache.addScannerInfo(commandStrings, info, rc);
+						}
+						infoChanged = true;
+					}
+				}
+			});
+		}
+	}
+
 	private class ScannerInfoJob extends Job {
 		private IToolChain toolchain;
 		private List<String> command;
@@ -1124,6 +1173,20 @@ public abstract class CBuildConfiguration extends PlatformObject implements ICBu
 	public void shutdown() {
 		// TODO persist changes
 
+		ExecutorService executor;
+		synchronized (scannerInfoLock) {
+			executor = scannerInfoExecutor;
+			scannerInfoExecutor = null;
+		}
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
 		// Trigger a reindex if anything changed
 		// TODO be more surgical
 		if (infoChanged) {
@@ -19,10 +19,10 @@ package org.eclipse.cdt.core.resources;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -213,38 +213,38 @@ public abstract class ACBuilder extends IncrementalProjectBuilder implements IMa
 				type = ICModelMarker.C_MODEL_PROBLEM_MARKER;
 			}
 
-			IMarker marker = markerResource.createMarker(type);
-			marker.setAttribute(IMarker.MESSAGE, problemMarkerInfo.description);
-			marker.setAttribute(IMarker.SEVERITY, mapMarkerSeverity(problemMarkerInfo.severity));
-			marker.setAttribute(IMarker.LINE_NUMBER, problemMarkerInfo.lineNumber);
-			marker.setAttribute(IMarker.CHAR_START, problemMarkerInfo.startChar);
-			marker.setAttribute(IMarker.CHAR_END, problemMarkerInfo.endChar);
+			// Creating the marker along with its attributes is a single change of the workspace
+			Map<String, Object> markerAttributes = new HashMap<>();
+			markerAttributes.put(IMarker.MESSAGE, problemMarkerInfo.description);
+			markerAttributes.put(IMarker.SEVERITY, mapMarkerSeverity(problemMarkerInfo.severity));
+			markerAttributes.put(IMarker.LINE_NUMBER, problemMarkerInfo.lineNumber);
+			markerAttributes.put(IMarker.CHAR_START, problemMarkerInfo.startChar);
+			markerAttributes.put(IMarker.CHAR_END, problemMarkerInfo.endChar);
 			if (problemMarkerInfo.variableName != null) {
-				marker.setAttribute(ICModelMarker.C_MODEL_MARKER_VARIABLE, problemMarkerInfo.variableName);
+				markerAttributes.put(ICModelMarker.C_MODEL_MARKER_VARIABLE, problemMarkerInfo.variableName);
 			}
 			if (externalLocation != null) {
 				URI uri = URIUtil.toURI(externalLocation);
 				if (uri.getScheme() != null) {
-					marker.setAttribute(ICModelMarker.C_MODEL_MARKER_EXTERNAL_LOCATION, externalLocation);
+					markerAttributes.put(ICModelMarker.C_MODEL_MARKER_EXTERNAL_LOCATION, externalLocation);
 					String locationText = NLS.bind(CCorePlugin.getResourceString("ACBuilder.ProblemsView.Location"), //$NON-NLS-1$
 							problemMarkerInfo.lineNumber, externalLocation);
-					marker.setAttribute(IMarker.LOCATION, locationText);
+					markerAttributes.put(IMarker.LOCATION, locationText);
 				}
 			} else if (problemMarkerInfo.lineNumber == 0) {
-				marker.setAttribute(IMarker.LOCATION, " "); //$NON-NLS-1$
+				markerAttributes.put(IMarker.LOCATION, " "); //$NON-NLS-1$
 			}
 			// Set source attribute only if the marker is being set to a file from different project
 			if (project != null && !project.equals(markerResource.getProject())) {
-				marker.setAttribute(IMarker.SOURCE_ID, project.getName());
+				markerAttributes.put(IMarker.SOURCE_ID, project.getName());
 			}
 
 			// Add all other client defined attributes.
 			Map<String, String> attributes = problemMarkerInfo.getAttributes();
 			if (attributes != null) {
-				for (Entry<String, String> entry : attributes.entrySet()) {
-					marker.setAttribute(entry.getKey(), entry.getValue());
-				}
+				markerAttributes.putAll(attributes);
 			}
+			markerResource.createMarker(type, markerAttributes);
 		} catch (CoreException e) {
 			CCorePlugin.log(e.getStatus());
 		}
@@ -49,6 +49,12 @@ public class CCorePreferenceInitializer extends AbstractPreferenceInitializer {
 				CCorePreferenceConstants.DEFAULT_INDEX_DB_CACHE_SIZE_PCT);
 		defaultOptionsMap.put(CCorePreferenceConstants.MAX_INDEX_DB_CACHE_SIZE_MB,
 				CCorePreferenceConstants.DEFAULT_MAX_INDEX_DB_CACHE_SIZE_MB);
+		defaultOptionsMap.put(CCorePreferenceConstants.INDEXER_PARSER_THREADS,
+				CCorePreferenceConstants.DEFAULT_INDEXER_PARSER_THREADS);
+		defaultOptionsMap.put(CCorePreferenceConstants.AST_CACHE_SIZE_MB,
+				CCorePreferenceConstants.DEFAULT_AST_CACHE_SIZE_MB);
+		defaultOptionsMap.put(CCorePreferenceConstants.CONSTEXPR_EVALUATION_STEPS,
+				CCorePreferenceConstants.DEFAULT_CONSTEXPR_EVALUATION_STEPS);
 		defaultOptionsMap.put(CCorePreferenceConstants.WORKSPACE_LANGUAGE_MAPPINGS,
 				CCorePreferenceConstants.DEFAULT_WORKSPACE_LANGUAGE_MAPPINGS);
 		defaultOptionsMap.put(CodeReaderCache.CODE_READER_BUFFER, CodeReaderCache.DEFAULT_CACHE_SIZE_IN_MB_STRING);
@@ -64,6 +70,9 @@ public class CCorePreferenceInitializer extends AbstractPreferenceInitializer {
 		defaultPreferences.putBoolean(CCorePreferenceConstants.SHOW_SOURCE_FILES_IN_BINARIES, true);
 		defaultPreferences.putBoolean(CCorePlugin.PREF_USE_STRUCTURAL_PARSE_MODE, false);
 		defaultPreferences.putBoolean(CCorePreferenceConstants.FILE_PATH_CANONICALIZATION, true);
+		defaultPreferences.putBoolean(CCorePreferenceConstants.INDEX_DB_MAPPED_STORAGE, false);
+		defaultPreferences.putBoolean(CCorePreferenceConstants.INDEX_PARALLEL_QUERIES, false);
+		defaultPreferences.putBoolean(CCorePreferenceConstants.RECONCILER_INCREMENTAL_PARSING, false);
 		defaultPreferences.putBoolean(CCorePreferenceConstants.SHOW_SOURCE_ROOTS_AT_TOP_LEVEL_OF_PROJECT, true);
 
 		// Build defaults.
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.core.runtime.Assert;
 
@@ -38,6 +39,7 @@ public class ProcessClosure {
 		private OutputStream fOutputStream;
 		private boolean fFinished = false;
 		private String lineSeparator;
+		private Runnable fOnCompletion;
 
 		public ReaderThread(ThreadGroup group, String name, InputStream in, OutputStream out) {
 			super(group, name);
@@ -75,9 +77,20 @@ public class ProcessClosure {
 				}
 			} finally {
 				complete();
+				if (fOnCompletion != null) {
+					fOnCompletion.run();
+				}
 			}
 		}
 
+		/**
+		 * Sets the callback that is run by this thread once it has finished reading.
+		 * Must be called before the thread is started.
+		 */
+		public void setCompletionCallback(Runnable onCompletion) {
+			fOnCompletion = onCompletion;
+		}
+
 		public synchronized boolean finished() {
 			return fFinished;
 		}
@@ -135,6 +148,19 @@ public class ProcessClosure {
 	 * reader threads.
 	 */
 	public void runNonBlocking() {
+		runNonBlocking(null);
+	}
+
+	/**
+	 * Live links the launched process with the configured in/out streams using
+	 * reader threads, and runs the given callback as soon as both the output and
+	 * the error stream of the process have been read completely.
+	 *
+	 * @param onCompletion
+	 *            callback run by one of the reader threads, may be <code>null</code>.
+	 * @since 9.3
+	 */
+	public void runNonBlocking(Runnable onCompletion) {
 		ThreadGroup group = new ThreadGroup("CBuilder" + fCounter++); //$NON-NLS-1$
 
 		InputStream stdin = fProcess.getInputStream();
@@ -143,6 +169,17 @@ public class ProcessClosure {
 		fOutputReader = new ReaderThread(group, "OutputReader", stdin, fOutput); //$NON-NLS-1$
 		fErrorReader = new ReaderThread(group, "ErrorReader", stderr, fError); //$NON-NLS-1$
 
+		if (onCompletion != null) {
+			AtomicInteger running = new AtomicInteger(2);
+			Runnable readerCompleted = () -> {
+				if (running.decrementAndGet() == 0) {
+					onCompletion.run();
+				}
+			};
+			fOutputReader.setCompletionCallback(readerCompleted);
+			fErrorReader.setCompletionCallback(readerCompleted);
+		}
+
 		fOutputReader.start();
 		fErrorReader.start();
 	}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.errorparsers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Extracts the literal strings that any input matched by a regular expression must contain,
+ * such that lines of build output which cannot match are rejected without running the regular
+ * expression.
+ * <p>
+ * Only the top level of the expression is analyzed: groups, character classes and escapes
+ * other than escaped punctuation end a literal. Expressions that cannot be analyzed reliably,
+ * e.g. with alternatives at the top level or with flags, yield no literals.
+ */
+public final class RegexLiterals {
+	private static final String[] NONE = {};
+	// Escapes matching a single character or a position, the other ones consume more characters.
+	private static final String SIMPLE_ESCAPES = "dDsSwWbBAzZGhHvVRXtnrfea"; //$NON-NLS-1$
+	private static final String FLAGS = "idmsuxU-"; //$NON-NLS-1$
+
+	private RegexLiterals() {
+	}
+
+	/**
+	 * Returns the literals that an input matching the given regular expression contains, in the
+	 * order in which they occur.
+	 */
+	public static String[] getRequiredLiterals(String regex) {
+		// Quoted text is not analyzed
+		if (regex.contains("\\Q")) //$NON-NLS-1$
+			return NONE;
+		List<String> literals = new ArrayList<>();
+		StringBuilder run = new StringBuilder();
+		int length = regex.length();
+		int i = 0;
+		while (i < length) {
+			char c = regex.charAt(i);
+			int literal = -1;
+			switch (c) {
+			case '|':
+				return NONE;
+			case '(':
+				if (i + 2 < length && regex.charAt(i + 1) == '?' && FLAGS.indexOf(regex.charAt(i + 2)) >= 0)
+					return NONE;
+				i = skipGroup(regex, i);
+				break;
+			case '[':
+				i = skipClass(regex, i);
+				break;
+			case '\\':
+				if (i + 1 >= length)
+					return NONE;
+				char escaped = regex.charAt(i + 1);
+				if (Character.isLetterOrDigit(escaped)) {
+					if (SIMPLE_ESCAPES.indexOf(escaped) < 0)
+						return NONE;
+				} else {
+					literal = escaped;
+				}
+				i += 2;
+				break;
+			case '.':
+			case '^':
+			case '$':
+				i++;
+				break;
+			case '?':
+			case '*':
+			case '+':
+			case '{':
+			case ')':
+				// Not preceded by an element
+				return NONE;
+			default:
+				literal = c;
+				i++;
+				break;
+			}
+			if (i < 0)
+				return NONE;
+
+			if (i < length && isQuantifier(regex.charAt(i))) {
+				int min = getMinimum(regex, i);
+				if (min < 0)
+					return NONE;
+				i = skipQuantifier(regex, i);
+				// A repeated literal occurs, but is not necessarily followed by the next element
+				if (literal >= 0 && min > 0)
+					run.append((char) literal);
+				addRun(literals, run);
+			} else if (literal >= 0) {
+				run.append((char) literal);
+			} else {
+				addRun(literals, run);
+			}
+		}
+		addRun(literals, run);
+		return literals.toArray(NONE);
+	}
+
+	private static void addRun(List<String> literals, StringBuilder run) {
+		if (run.length() > 0) {
+			literals.add(run.toString());
+			run.setLength(0);
+		}
+	}
+
+	/**
+	 * Returns the index after the group starting at the given index, or -1 if the group is not closed.
+	 */
+	private static int skipGroup(String regex, int start) {
+		int depth = 0;
+		int i = start;
+		while (i >= 0 && i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '[') {
+				i = skipClass(regex, i);
+			} else {
+				i++;
+				if (c == '(') {
+					depth++;
+				} else if (c == ')' && --depth == 0) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index after the character class starting at the given index, or -1 if the class
+	 * is not closed.
+	 */
+	private static int skipClass(String regex, int start) {
+		int i = start + 1;
+		if (i < regex.length() && regex.charAt(i) == '^')
+			i++;
+		// A leading bracket is part of the class
+		if (i < regex.length() && regex.charAt(i) == ']')
+			i++;
+		while (i >= 0 && i < regex.length()) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '[') {
+				i = skipClass(regex, i);
+			} else if (c == ']') {
+				return i + 1;
+			} else {
+				i++;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isQuantifier(char c) {
+		return c == '?' || c == '*' || c == '+' || c == '{';
+	}
+
+	/**
+	 * Returns the minimum number of repetitions of the quantifier at the given index, or -1 if
+	 * the quantifier cannot be analyzed.
+	 */
+	private static int getMinimum(String regex, int i) {
+		switch (regex.charAt(i)) {
+		case '?':
+		case '*':
+			return 0;
+		case '+':
+			return 1;
+		default:
+			int end = i + 1;
+			while (end < regex.length() && end - i < 6 && Character.isDigit(regex.charAt(end))) {
+				end++;
+			}
+			if (end == i + 1 || end == regex.length() || regex.indexOf('}', end) < 0)
+				return -1;
+			return Integer.parseInt(regex.substring(i + 1, end));
+		}
+	}
+
+	private static int skipQuantifier(String regex, int i) {
+		int end = regex.charAt(i) == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+		// Reluctant and possessive quantifiers
+		if (end < regex.length() && (regex.charAt(end) == '?' || regex.charAt(end) == '+'))
+			end++;
+		return end;
+	}
+
+	/**
+	 * Tests whether the given line contains the literals in the given order.
+	 */
+	public static boolean containsInOrder(String line, String[] literals) {
+		int from = 0;
+		for (String literal : literals) {
+			int index = line.indexOf(literal, from);
+			if (index < 0)
+				return false;
+			from = index + literal.length();
+		}
+		return true;
+	}
+}
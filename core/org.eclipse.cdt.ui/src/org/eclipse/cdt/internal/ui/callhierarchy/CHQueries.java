@@ -118,8 +118,7 @@ public class CHQueries {
 
 	private static void findCalledBy2(IIndex index, IBinding callee, boolean includeOrdinaryCalls, ICProject project,
 			CalledByResult result) throws CoreException {
-		IIndexName[] names = index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES);
-		for (IIndexName rname : names) {
+		index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES, rname -> {
 			if (includeOrdinaryCalls || rname.couldBePolymorphicMethodCall()) {
 				IIndexName caller = rname.getEnclosingDefinition();
 				if (caller != null) {
@@ -129,7 +128,8 @@ public class CHQueries {
 					}
 				}
 			}
-		}
+			return true;
+		}, -1);
 	}
 
 	/**
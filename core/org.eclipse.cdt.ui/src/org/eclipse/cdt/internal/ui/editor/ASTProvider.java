@@ -16,8 +16,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.ui.editor;
 
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexChangeListener;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
@@ -43,7 +48,8 @@ import org.eclipse.ui.texteditor.ITextEditor;
 
 /**
  * Provides a shared AST for clients. The shared AST is
- * the AST of the active CEditor's input element.
+ * the AST of the active CEditor's input element. The ASTs of
+ * recently active editors are kept while memory permits.
  *
  * @since 4.0
  */
@@ -117,6 +123,9 @@ public final class ASTProvider {
 			if (isActiveEditor(ref)) {
 				activeEditorChanged(null);
 			}
+			if (isCEditor(ref)) {
+				editorClosed(ref.getPart(false));
+			}
 		}
 
 		@Override
@@ -199,8 +208,12 @@ public final class ASTProvider {
 
 	private final ASTCache fCache = new ASTCache();
 	private ActivationListener fActivationListener;
+	private IIndexChangeListener fIndexChangeListener;
 	private IWorkbenchPart fActiveEditor;
+	private ITranslationUnit fActiveTU;
 	private long fTimeStamp;
+	/** Modification stamps of the documents of inactive editors whose ASTs may be cached */
+	private final Map<ITranslationUnit, Long> fInactiveTimeStamps = new WeakHashMap<>();
 	private final IndexUpdateRequestor fIndexUpdateRequestor = new IndexUpdateRequestor();
 
 	/**
@@ -234,6 +247,9 @@ public final class ASTProvider {
 				windows[i].getPartService().addPartListener(fActivationListener);
 			}
 		}
+		// The ASTs of inactive editors are validated when they are used, free the memory early.
+		fIndexChangeListener = event -> fCache.disposeInactiveASTs(event.getAffectedProject());
+		CCorePlugin.getIndexManager().addIndexChangeListener(fIndexChangeListener);
 	}
 
 	private void activeEditorChanged(IWorkbenchPart editor) {
@@ -245,8 +261,14 @@ public final class ASTProvider {
 		}
 
 		synchronized (this) {
+			// Remember the modification stamp of the document the cached AST belongs to, such that
+			// the AST can be reused when the editor is activated again.
+			if (fActiveTU != null && fTimeStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+				fInactiveTimeStamps.put(fActiveTU, fTimeStamp);
+			Long timeStamp = tu != null ? fInactiveTimeStamps.remove(tu) : null;
 			fActiveEditor = editor;
-			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			fActiveTU = tu;
+			fTimeStamp = timeStamp != null ? timeStamp : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fCache.setActiveElement(tu);
 		}
 
@@ -254,6 +276,17 @@ public final class ASTProvider {
 		fIndexUpdateRequestor.updateIndexInclusion(tu);
 	}
 
+	private void editorClosed(IWorkbenchPart editor) {
+		ITranslationUnitHolder provider = editor != null ? editor.getAdapter(ITranslationUnitHolder.class) : null;
+		ITranslationUnit tu = provider != null ? provider.getTranslationUnit() : null;
+		if (tu == null)
+			return;
+		synchronized (this) {
+			fInactiveTimeStamps.remove(tu);
+		}
+		fCache.disposeInactiveAST(tu);
+	}
+
 	/**
 	 * Informs that reconciling for the given element is about to be started.
 	 *
@@ -305,7 +338,12 @@ public final class ASTProvider {
 			PlatformUI.getWorkbench().removeWindowListener(fActivationListener);
 			fActivationListener = null;
 		}
+		if (fIndexChangeListener != null) {
+			CCorePlugin.getIndexManager().removeIndexChangeListener(fIndexChangeListener);
+			fIndexChangeListener = null;
+		}
 		fCache.setActiveElement(null);
+		fCache.disposeInactiveASTs(null);
 	}
 
 	/**
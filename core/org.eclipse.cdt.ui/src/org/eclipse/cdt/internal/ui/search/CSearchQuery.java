@@ -397,16 +397,16 @@ public abstract class CSearchQuery implements ISearchQuery {
 	}
 
 	private void createMatches1(IIndex index, IBinding binding, List<IIndexName> names) throws CoreException {
-		IIndexName[] bindingNames = index.findNames(binding, flags);
-		if (fullPathFilter == null) {
-			names.addAll(Arrays.asList(bindingNames));
-		} else {
-			for (IIndexName name : bindingNames) {
+		index.findNames(binding, flags, name -> {
+			if (fullPathFilter == null) {
+				names.add(name);
+			} else {
 				String fullPath = name.getFile().getLocation().getFullPath();
 				if (fullPath != null && accept(fullPath))
 					names.add(name);
 			}
-		}
+			return true;
+		}, -1);
 	}
 
 	private boolean accept(String fullPath) {